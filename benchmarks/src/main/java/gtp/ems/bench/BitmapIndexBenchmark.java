@@ -0,0 +1,92 @@
+package gtp.ems.bench;
+
+import gtp.ems.index.EmployeeBitmapIndex;
+import gtp.ems.index.RoaringBitmap;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combined filters on the active flag, department, rating and experience,
+ * answered by streaming over the employee objects and by bitmap operations on
+ * an {@link EmployeeBitmapIndex}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BitmapIndexBenchmark {
+    private static final String DEPARTMENT = EmployeeFixture.department(7);
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Employee<UUID>> employees;
+    private EmployeeBitmapIndex<UUID> index;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        EmployeeManagementSystem<UUID> ems =
+                new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        EmployeeFixture.populate(ems, size, 64);
+        employees = ems.getAllEmployees();
+        index = new EmployeeBitmapIndex<>(ems);
+    }
+
+    @Benchmark
+    public long streamCountActiveHighPerformersInDepartment() {
+        return employees.stream()
+                .filter(employee -> employee.isActive() && employee.getDepartment().equalsIgnoreCase(DEPARTMENT)
+                        && employee.getPerformanceRating() >= 4.5)
+                .count();
+    }
+
+    @Benchmark
+    public int bitmapCountActiveHighPerformersInDepartment() {
+        return index.count(i -> RoaringBitmap.and(i.active(), i.department(DEPARTMENT), i.ratingAtLeast(4.5)));
+    }
+
+    @Benchmark
+    public long streamCountSeniorOrInactive() {
+        return employees.stream()
+                .filter(employee -> employee.getYearsOfExperience() >= 30 || !employee.isActive())
+                .count();
+    }
+
+    @Benchmark
+    public int bitmapCountSeniorOrInactive() {
+        return index.count(i -> RoaringBitmap.or(i.experienceAtLeast(30), i.inactive()));
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> streamSelectActiveHighPerformersInDepartment() {
+        return employees.stream()
+                .filter(employee -> employee.isActive() && employee.getDepartment().equalsIgnoreCase(DEPARTMENT)
+                        && employee.getPerformanceRating() >= 4.5)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> bitmapSelectActiveHighPerformersInDepartment() {
+        return index.select(i -> RoaringBitmap.and(i.active(), i.department(DEPARTMENT), i.ratingAtLeast(4.5)));
+    }
+}
@@ -0,0 +1,99 @@
+package gtp.ems.bench;
+
+import gtp.ems.analytics.ColumnAggregationEngine;
+import gtp.ems.analytics.EmployeeColumnStore;
+import gtp.ems.analytics.ScalarColumnAggregator;
+import gtp.ems.analytics.VectorColumnAggregator;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares payroll and rating aggregates computed by streaming over employee
+ * objects ({@code engine=stream}, the store's own path) with the column
+ * aggregation engine using scalar loops and SIMD kernels.
+ * <p>
+ * Scans are sequential in every case so that the comparison measures the data
+ * layout and the instructions, not the number of cores.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class ColumnAggregationBenchmark {
+    private static final String DEPARTMENT = EmployeeFixture.department(7);
+
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"stream", "scalar", "vector"})
+    public String engine;
+
+    private EmployeeManagementSystem<UUID> ems;
+    private List<Employee<UUID>> employees;
+    private ColumnAggregationEngine<UUID> columns;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        ems = new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        EmployeeFixture.populate(ems, size, 64);
+        if (engine.equals("stream")) {
+            employees = ems.getAllEmployees();
+        } else {
+            columns = new ColumnAggregationEngine<>(new EmployeeColumnStore<>(ems),
+                    engine.equals("vector") ? new VectorColumnAggregator() : new ScalarColumnAggregator());
+        }
+    }
+
+    @Benchmark
+    public double averageSalaryByDepartment() {
+        return columns == null ? ems.getAverageSalaryByDepartment(DEPARTMENT)
+                : columns.getAverageSalaryByDepartment(DEPARTMENT);
+    }
+
+    @Benchmark
+    public double totalPayroll() {
+        return columns == null ? employees.stream().mapToDouble(Employee::getSalary).sum()
+                : columns.getTotalPayroll();
+    }
+
+    @Benchmark
+    public double maxSalary() {
+        return columns == null ? employees.stream().mapToDouble(Employee::getSalary).max().orElse(0.0)
+                : columns.getMaxSalary();
+    }
+
+    @Benchmark
+    public long countHighPerformers() {
+        return columns == null ? employees.stream().filter(employee -> employee.getPerformanceRating() >= 4.5).count()
+                : columns.countHighPerformers(4.5);
+    }
+
+    @Benchmark
+    public double highPerformerPayroll() {
+        return columns == null ? employees.stream()
+                .filter(employee -> employee.getPerformanceRating() >= 4.5)
+                .mapToDouble(Employee::getSalary).sum()
+                : columns.getHighPerformerPayroll(4.5);
+    }
+}
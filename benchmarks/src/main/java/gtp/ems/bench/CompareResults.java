@@ -0,0 +1,89 @@
+package gtp.ems.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH result files written with {@code -rf csv} and prints the
+ * relative change of every benchmark/parameter combination they share.
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar gtp.ems.bench.CompareResults baseline.csv current.csv}
+ * </p>
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.csv> <current.csv>");
+            System.exit(2);
+        }
+
+        Map<String, double[]> baseline = read(Path.of(args[0]));
+        Map<String, double[]> current = read(Path.of(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, double[]> entry : current.entrySet()) {
+            double[] before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double[] after = entry.getValue();
+            double change = (after[0] - before[0]) / before[0] * 100.0;
+            boolean significant = Math.abs(after[0] - before[0]) > before[1] + after[1];
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), before[0], after[0], change, significant ? "" : " ~");
+        }
+    }
+
+    /**
+     * Reads score and error per benchmark key (name plus parameter values).
+     */
+    private static Map<String, double[]> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        List<String> header = parse(lines.getFirst());
+        int scoreColumn = header.indexOf("Score");
+        int errorColumn = header.indexOf("Score Error (99.9%)");
+        int unitColumn = header.indexOf("Unit");
+
+        Map<String, double[]> results = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> row = parse(line);
+            StringBuilder key = new StringBuilder(row.getFirst().replace("gtp.ems.bench.", ""));
+            for (int i = unitColumn + 1; i < row.size(); i++) {
+                key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(row.get(i));
+            }
+            double error = row.get(errorColumn).equals("NaN") ? 0.0 : Double.parseDouble(row.get(errorColumn));
+            results.put(key.toString(), new double[]{Double.parseDouble(row.get(scoreColumn)), error});
+        }
+        return results;
+    }
+
+    private static List<String> parse(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
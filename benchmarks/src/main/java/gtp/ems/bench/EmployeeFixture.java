@@ -0,0 +1,84 @@
+package gtp.ems.bench;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Builds deterministic employee stores for the benchmarks.
+ */
+public final class EmployeeFixture {
+    private static final String[] FIRST_NAMES = {
+            "Patrick", "Yakubu", "James", "Aaliyah", "Raymond", "Elias", "Oluchi", "Dennis",
+            "Taylor", "Spencer", "Ama", "Kofi", "Esi", "Kwame", "Abena", "Yaw"
+    };
+    private static final String[] LAST_NAMES = {
+            "Appiah", "Noblet", "Darkwa", "Johnson", "Dutton", "Reddington", "Mensah", "Owusu",
+            "Boateng", "Asante", "Addo", "Ofori", "Quaye", "Tetteh", "Nkrumah", "Danquah"
+    };
+
+    /**
+     * Seed shared by all benchmarks so every run sees the same data.
+     */
+    public static final long SEED = 42L;
+
+    private EmployeeFixture() {
+    }
+
+    /**
+     * Returns the name of the department with the given index.
+     *
+     * @param index the department index
+     * @return the department name
+     */
+    public static String department(int index) {
+        return "Dept-" + index;
+    }
+
+    /**
+     * Creates a pseudo-random employee.
+     *
+     * @param random the random source
+     * @param departments the pre-built department names to draw from
+     * @return a new employee
+     */
+    public static Employee<UUID> newEmployee(SplittableRandom random, String[] departments) {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new Employee<>(
+                new UUID(random.nextLong(), random.nextLong()),
+                name,
+                departments[random.nextInt(departments.length)],
+                30_000 + random.nextDouble() * 170_000,
+                Math.round(random.nextDouble() * 50) / 10.0,
+                random.nextInt(41),
+                random.nextInt(10) != 0);
+    }
+
+    /**
+     * Fills a store with {@code size} employees spread uniformly across
+     * {@code departmentCount} departments.
+     *
+     * @param ems the store to fill
+     * @param size the number of employees
+     * @param departmentCount the number of distinct departments
+     * @return the IDs of the employees that were added, in insertion order
+     */
+    public static UUID[] populate(EmployeeManagementSystem<UUID> ems, int size, int departmentCount) {
+        String[] departments = new String[departmentCount];
+        for (int i = 0; i < departmentCount; i++) {
+            departments[i] = department(i);
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        UUID[] ids = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            Employee<UUID> employee = newEmployee(random, departments);
+            ems.addEmployee(employee);
+            ids[i] = employee.getEmployeeId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,103 @@
+package gtp.ems.bench;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.sort.EmployeeSort;
+import gtp.ems.sort.SortKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radix sorts of employees on primitive keys against comparator sorts through
+ * {@code stream().sorted()}, for a single key and for a compound key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class EmployeeSortBenchmark {
+    private static final Comparator<Employee<UUID>> SALARY_DESCENDING =
+            Comparator.comparingDouble(Employee<UUID>::getSalary).reversed();
+    private static final Comparator<Employee<UUID>> RATING_THEN_SALARY =
+            Comparator.comparingDouble(Employee<UUID>::getPerformanceRating).reversed()
+                    .thenComparingDouble(Employee::getSalary);
+    private static final EmployeeSort RADIX_SALARY_DESCENDING = EmployeeSort.descending(SortKey.SALARY);
+    private static final EmployeeSort RADIX_RATING_THEN_SALARY =
+            EmployeeSort.descending(SortKey.PERFORMANCE_RATING).thenAscending(SortKey.SALARY);
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Employee<UUID>> employees;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        SplittableRandom random = new SplittableRandom(EmployeeFixture.SEED);
+        String[] departments = new String[64];
+        for (int i = 0; i < departments.length; i++) {
+            departments[i] = EmployeeFixture.department(i);
+        }
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeFixture.newEmployee(random, departments));
+        }
+        pool = ScanExecutor.newScanPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> streamSortBySalary() {
+        return employees.stream().sorted(SALARY_DESCENDING).toList();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> parallelStreamSortBySalary() {
+        return pool.submit(() -> employees.parallelStream().sorted(SALARY_DESCENDING).toList()).join();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> radixSortBySalary() {
+        return RADIX_SALARY_DESCENDING.sort(employees);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> parallelRadixSortBySalary() {
+        return RADIX_SALARY_DESCENDING.sort(employees, pool);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> streamSortByRatingThenSalary() {
+        return employees.stream().sorted(RATING_THEN_SALARY).toList();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> radixSortByRatingThenSalary() {
+        return RADIX_RATING_THEN_SALARY.sort(employees);
+    }
+}
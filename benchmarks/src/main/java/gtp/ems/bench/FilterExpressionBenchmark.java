@@ -0,0 +1,92 @@
+package gtp.ems.bench;
+
+import gtp.ems.filter.FilterCompiler;
+import gtp.ems.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Counts the employees matching a filter expression evaluated three ways: by
+ * walking its syntax tree, by the hidden class {@link FilterCompiler} defines
+ * for it, and by the equivalent hand-written lambda.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class FilterExpressionBenchmark {
+    private static final String DEPARTMENT = EmployeeFixture.department(7);
+    private static final String EXPRESSION =
+            "salary > 90000 and department = '" + DEPARTMENT + "' and active or rating >= 4.8";
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Employee<UUID>> employees;
+    private Predicate<Employee<UUID>> interpreted;
+    private Predicate<Employee<UUID>> compiled;
+    private Predicate<Employee<UUID>> handWritten;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        SplittableRandom random = new SplittableRandom(EmployeeFixture.SEED);
+        String[] departments = new String[64];
+        for (int i = 0; i < departments.length; i++) {
+            departments[i] = EmployeeFixture.department(i);
+        }
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeFixture.newEmployee(random, departments));
+        }
+        FilterCompiler compiler = new FilterCompiler();
+        interpreted = compiler.interpret(EXPRESSION);
+        compiled = compiler.compile(EXPRESSION);
+        handWritten = employee -> employee.getSalary() > 90_000
+                && employee.getDepartment().equalsIgnoreCase(DEPARTMENT) && employee.isActive()
+                || employee.getPerformanceRating() >= 4.8;
+    }
+
+    @Benchmark
+    public long interpreted() {
+        return count(interpreted);
+    }
+
+    @Benchmark
+    public long compiled() {
+        return count(compiled);
+    }
+
+    @Benchmark
+    public long handWritten() {
+        return count(handWritten);
+    }
+
+    private long count(Predicate<Employee<UUID>> filter) {
+        long count = 0;
+        for (Employee<UUID> employee : employees) {
+            if (filter.test(employee)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+package gtp.ems.bench;
+
+import gtp.ems.history.EmployeeHistory;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time reads from an {@link EmployeeHistory} that recorded a year of
+ * weekly raises for every employee.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class HistoryBenchmark {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant MID_YEAR = START.plusSeconds(182 * 86_400L);
+
+    @Param({"100000"})
+    public int size;
+
+    private UUID[] ids;
+    private EmployeeHistory<UUID> history;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        EmployeeManagementSystem<UUID> ems =
+                new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        ids = EmployeeFixture.populate(ems, size, 64);
+        Instant[] now = {START};
+        Clock clock = new Clock() {
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+        };
+        history = new EmployeeHistory<>(ems, clock);
+        for (int week = 1; week <= 52; week++) {
+            now[0] = START.plusSeconds(week * 7 * 86_400L);
+            ems.givePerformanceRaise(0.0, 0.1);
+        }
+        history.compact();
+    }
+
+    @Benchmark
+    public Optional<Employee<UUID>> employeeAsOf() {
+        cursor = (cursor + 1) % ids.length;
+        return history.getEmployeeAsOf(ids[cursor], MID_YEAR);
+    }
+
+    @Benchmark
+    public double payrollAsOf() {
+        return history.getPayrollAsOf(MID_YEAR);
+    }
+}
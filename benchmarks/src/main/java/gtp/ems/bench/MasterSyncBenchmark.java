@@ -0,0 +1,103 @@
+package gtp.ems.bench;
+
+import gtp.ems.ingest.MasterFileSync;
+import gtp.ems.ingest.SyncPlan;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a nightly master sync that applies only the differences with
+ * reloading every employee into an empty store. Two master files differ in
+ * 2% of their salaries, and each delta sync switches the store from one to
+ * the other.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class MasterSyncBenchmark {
+    @Param({"1000000"})
+    public int size;
+
+    private Path directory;
+    private Path[] masters;
+    private EmployeeManagementSystem<UUID> ems;
+    private MasterFileSync sync;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void writeMasters() throws IOException {
+        directory = Files.createTempDirectory("ems-master");
+        EmployeeManagementSystem<UUID> source = newStore();
+        EmployeeFixture.populate(source, size, 64);
+        List<Employee<UUID>> employees = source.getAllEmployees();
+        masters = new Path[] {directory.resolve("master-a.csv"), directory.resolve("master-b.csv")};
+        for (int file = 0; file < masters.length; file++) {
+            try (BufferedWriter writer = Files.newBufferedWriter(masters[file])) {
+                for (int i = 0; i < employees.size(); i++) {
+                    Employee<UUID> employee = employees.get(i);
+                    double raise = file == 1 && i % 50 == 0 ? 500 : 0;
+                    writer.write(String.format(Locale.ROOT, "%s,%s,%s,%s,%s,%d,%b%n", employee.getEmployeeId(),
+                            employee.getName(), employee.getDepartment(), employee.getSalary() + raise,
+                            employee.getPerformanceRating(), employee.getYearsOfExperience(), employee.isActive()));
+                }
+            }
+        }
+        ems = newStore();
+        sync = new MasterFileSync(ems);
+        sync.sync(masters[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteMasters() throws IOException {
+        for (Path master : masters) {
+            Files.deleteIfExists(master);
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public SyncPlan deltaSync() throws IOException {
+        next ^= 1;
+        return sync.sync(masters[next]);
+    }
+
+    @Benchmark
+    public int fullReload() throws IOException {
+        EmployeeManagementSystem<UUID> reloaded = newStore();
+        try (MasterFileSync reload = new MasterFileSync(reloaded)) {
+            reload.sync(masters[0]);
+        }
+        return reloaded.getAllEmployees().size();
+    }
+
+    private static EmployeeManagementSystem<UUID> newStore() {
+        return new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+    }
+}
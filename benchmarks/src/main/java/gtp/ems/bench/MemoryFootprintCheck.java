@@ -0,0 +1,123 @@
+package gtp.ems.bench;
+
+import gtp.ems.analytics.EmployeeColumnStore;
+import gtp.ems.analytics.EmployeeDistributions;
+import gtp.ems.history.EmployeeHistory;
+import gtp.ems.index.EmployeeBitmapIndex;
+import gtp.ems.ingest.MasterFileSync;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.workload.WorkforceGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compares the store's {@link MemoryFootprint} estimates with the heap it is
+ * measured to retain after a full GC: first the store itself, then the bitmap
+ * index, column store, history, distributions and master file sync following it.
+ * <p>
+ * The measurement depends on the collector settling, so it is best run in a
+ * fresh JVM with a fixed heap and nothing else running; the unit tests make
+ * the same check on a small store with a wider tolerance. It exits with
+ * status 1 if either estimate is off by more than the tolerance.
+ * </p>
+ * <p>
+ * Usage: {@code java -Xms2g -Xmx2g -cp benchmarks.jar gtp.ems.bench.MemoryFootprintCheck
+ * --employees=200000 --tolerance=0.10}
+ * </p>
+ */
+public final class MemoryFootprintCheck {
+
+    private MemoryFootprintCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int employees = Integer.parseInt(options.getOrDefault("employees", "200000"));
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.10"));
+
+        // Load and initialize every class involved before taking the baseline
+        populate(new EmployeeManagementSystem<>(), 1_000);
+        new EmployeeBitmapIndex<>(new EmployeeManagementSystem<UUID>()).close();
+        new EmployeeColumnStore<>(new EmployeeManagementSystem<UUID>()).close();
+        new EmployeeHistory<>(new EmployeeManagementSystem<UUID>()).close();
+        new EmployeeDistributions<>(new EmployeeManagementSystem<UUID>()).close();
+        new MasterFileSync(new EmployeeManagementSystem<>()).close();
+
+        long empty = usedHeap();
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        populate(ems, employees);
+        long populated = usedHeap();
+        long storeEstimate = storeBytes(ems.getMemoryFootprint());
+        boolean storeOk = report("store", storeEstimate, populated - empty, tolerance);
+
+        EmployeeBitmapIndex<UUID> index = new EmployeeBitmapIndex<>(ems);
+        EmployeeColumnStore<UUID> columns = new EmployeeColumnStore<>(ems);
+        EmployeeHistory<UUID> history = new EmployeeHistory<>(ems);
+        EmployeeDistributions<UUID> distributions = new EmployeeDistributions<>(ems);
+        MasterFileSync sync = new MasterFileSync(ems);
+        history.compact();
+        long indexed = usedHeap();
+        MemoryFootprint footprint = ems.getMemoryFootprint();
+        long structureEstimate = footprint.getBytes("bitmapIndex") + footprint.getBytes("columnStore")
+                + footprint.getBytes("history") + footprint.getBytes("distributions")
+                + footprint.getBytes("masterFileSync");
+        boolean structuresOk = report("indexes", structureEstimate, indexed - populated, tolerance);
+        Reference.reachabilityFence(index);
+        Reference.reachabilityFence(columns);
+        Reference.reachabilityFence(history);
+        Reference.reachabilityFence(distributions);
+        Reference.reachabilityFence(sync);
+
+        System.out.printf("%n%s%n", footprint);
+        if (!storeOk || !structuresOk) {
+            System.exit(1);
+        }
+    }
+
+    private static void populate(EmployeeManagementSystem<UUID> ems, int count) {
+        WorkforceGenerator generator = new WorkforceGenerator(5L);
+        for (int i = 0; i < count; i++) {
+            ems.addEmployee(generator.employee(i));
+        }
+    }
+
+    private static long storeBytes(MemoryFootprint footprint) {
+        return footprint.getBytes(MemoryFootprint.EMPLOYEE_DATABASE) + footprint.getBytes(MemoryFootprint.EMPLOYEES)
+                + footprint.getBytes(MemoryFootprint.EMPLOYEE_IDS) + footprint.getBytes(MemoryFootprint.NAMES)
+                + footprint.getBytes(MemoryFootprint.DEPARTMENTS);
+    }
+
+    private static boolean report(String what, long estimate, long measured, double tolerance) {
+        double error = (double) (estimate - measured) / measured;
+        boolean ok = Math.abs(error) <= tolerance;
+        System.out.printf("%-8s estimated %,14d bytes, measured %,14d bytes (%+.1f%%) %s%n",
+                what, estimate, measured, error * 100, ok ? "OK" : "OUTSIDE TOLERANCE");
+        return ok;
+    }
+
+    /**
+     * Returns the heap in use after collecting garbage until it stops shrinking.
+     */
+    private static long usedHeap() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(20);
+            long now = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (now >= used - 64 * 1024) {
+                return Math.min(now, used);
+            }
+            used = now;
+        }
+        return used;
+    }
+}
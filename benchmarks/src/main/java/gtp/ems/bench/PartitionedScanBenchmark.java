@@ -0,0 +1,85 @@
+package gtp.ems.bench;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how scans, sorts and top-N scale with the number of partitions of a
+ * {@link PartitionedEmployeeManagementSystem}. Each partition gets one pool
+ * thread, so {@code partitions=1} is the single-core baseline; expect close to
+ * linear speed-up up to the number of physical cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Benchmark)
+public class PartitionedScanBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int partitions;
+
+    private ForkJoinPool pool;
+    private EmployeeManagementSystem<UUID> ems;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        pool = new ForkJoinPool(partitions);
+        ems = new PartitionedEmployeeManagementSystem<>(partitions, pool, new StoreMetrics(false));
+        EmployeeFixture.populate(ems, size, 64);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getHighPerformingEmployees() {
+        return ems.getHighPerformingEmployees(4.5);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> searchEmployeesByName() {
+        return ems.searchEmployeesByName("appiah");
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getEmployeesInSalaryRange() {
+        return ems.getEmployeesInSalaryRange(60_000, 65_000);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> sortEmployeesBySalary() {
+        return ems.sortEmployeesBySalary();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getTopPaidEmployees() {
+        return ems.getTopPaidEmployees(100);
+    }
+}
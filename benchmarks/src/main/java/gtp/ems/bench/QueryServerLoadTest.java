@@ -0,0 +1,160 @@
+package gtp.ems.bench;
+
+import gtp.ems.server.EmployeeQueryServer;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.LatencyHistogram;
+import gtp.ems.workload.WorkforceGenerator;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@code GET /employees/{id}} lookups against an in-process
+ * {@link EmployeeQueryServer} over localhost and reports requests per second
+ * and client-observed latency.
+ * <p>
+ * Each client is a virtual thread holding one keep-alive connection and
+ * issuing requests back to back. The client side is a minimal HTTP/1.1
+ * reader rather than {@code java.net.http.HttpClient}, so that on small
+ * machines most of the CPU goes to the server being measured.
+ * </p>
+ * <p>
+ * Usage: {@code java -cp benchmarks.jar gtp.ems.bench.QueryServerLoadTest
+ * --employees=100000 --clients=64 --seconds=20 --max-inflight=512}
+ * </p>
+ */
+public final class QueryServerLoadTest {
+
+    private QueryServerLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        int employees = Integer.parseInt(options.getOrDefault("employees", "100000"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "20"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-inflight", "512"));
+
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID[] ids = new WorkforceGenerator(42L).populate(ems, employees);
+        EmployeeQueryServer server = new EmployeeQueryServer(ems,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), maxInFlight);
+        server.start();
+        InetSocketAddress address = server.getAddress();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Warm up connections and the JIT before measuring
+            run(executor, address, ids, clients, Math.min(5, seconds), new LatencyHistogram(), new LongAdder());
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            LongAdder failures = new LongAdder();
+            long start = System.nanoTime();
+            run(executor, address, ids, clients, seconds, latencies, failures);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%nLookups: %,d in %.1f s = %,.0f req/s (%d clients, %,d failures, %,d rejected)%n",
+                    latencies.getCount(), elapsed, latencies.getCount() / elapsed,
+                    clients, failures.sum(), server.getRejectedCount());
+            System.out.printf("Latency us: p50 %.1f  p99 %.1f  p999 %.1f  max %.1f%n",
+                    latencies.getValueAtQuantile(0.50) / 1e3, latencies.getValueAtQuantile(0.99) / 1e3,
+                    latencies.getValueAtQuantile(0.999) / 1e3, latencies.getMaxNanos() / 1e3);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void run(ExecutorService executor, InetSocketAddress address, UUID[] ids,
+                            int clients, int seconds, LatencyHistogram latencies, LongAdder failures)
+            throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        SplittableRandom root = new SplittableRandom(7L);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            SplittableRandom random = root.split();
+            futures.add(executor.submit(() -> {
+                try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                    socket.setTcpNoDelay(true);
+                    OutputStream out = socket.getOutputStream();
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    while (System.nanoTime() < deadline) {
+                        byte[] request = ("GET /employees/" + ids[random.nextInt(ids.length)]
+                                + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+                        long start = System.nanoTime();
+                        out.write(request);
+                        out.flush();
+                        int status = readResponse(in);
+                        latencies.record(System.nanoTime() - start);
+                        if (status != 200) {
+                            failures.increment();
+                        }
+                    }
+                } catch (IOException e) {
+                    failures.increment();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * Reads one response with a Content-Length body and returns its status code.
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long contentLength = 0;
+        for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Long.parseLong(line.substring(15).trim());
+            }
+        }
+        while (contentLength > 0) {
+            long skipped = in.skip(contentLength);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new IOException("Connection closed mid-body");
+                }
+                skipped = 1;
+            }
+            contentLength -= skipped;
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new IOException("Connection closed");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package gtp.ems.bench;
+
+import gtp.ems.analytics.EmployeeDistributions;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a salary percentile read from the maintained distributions with
+ * computing it by sorting the store, overall and for one department.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SalaryPercentileBenchmark {
+    private static final String DEPARTMENT = EmployeeFixture.department(3);
+
+    @Param({"1000000"})
+    public int size;
+
+    private EmployeeManagementSystem<UUID> ems;
+    private EmployeeDistributions<UUID> distributions;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        ems = new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        EmployeeFixture.populate(ems, size, 64);
+        distributions = new EmployeeDistributions<>(ems);
+    }
+
+    @Benchmark
+    public double sortedP90() {
+        List<Employee<UUID>> sorted = ems.sortEmployeesBySalary();
+        return sorted.get((int) Math.ceil(0.9 * sorted.size()) - 1).getSalary();
+    }
+
+    @Benchmark
+    public double sketchP90() {
+        return distributions.getSalaryAtQuantile(0.9);
+    }
+
+    @Benchmark
+    public double sortedDepartmentP90() {
+        double[] salaries = ems.getEmployeesByDepartment(DEPARTMENT).stream()
+                .mapToDouble(Employee::getSalary).sorted().toArray();
+        return salaries[(int) Math.ceil(0.9 * salaries.length) - 1];
+    }
+
+    @Benchmark
+    public double sketchDepartmentP90() {
+        return distributions.getSalaryAtQuantile(DEPARTMENT, 0.9);
+    }
+}
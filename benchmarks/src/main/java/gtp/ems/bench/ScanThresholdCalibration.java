@@ -0,0 +1,137 @@
+package gtp.ems.bench;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the store size at which parallel scans start to beat sequential ones
+ * on this machine, to configure {@code -Dems.scan.threshold}.
+ * <p>
+ * Run as a normal JMH benchmark to see the raw numbers, or through
+ * {@link #main(String[])} to also get a recommendation:
+ * {@code java -cp benchmarks.jar gtp.ems.bench.ScanThresholdCalibration}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ScanThresholdCalibration {
+    /**
+     * Parallel scans must be at least this much faster to count as a win, so
+     * that measurement noise does not decide the threshold.
+     */
+    private static final double MIN_SPEEDUP = 1.10;
+
+    @Param({"1000", "4000", "16000", "64000", "256000", "1000000"})
+    public int size;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    private ForkJoinPool pool;
+    private EmployeeManagementSystem<UUID> ems;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        ScanExecutor executor = ScanExecutor.sequential();
+        if (mode.equals("parallel")) {
+            pool = ScanExecutor.newScanPool(Integer.getInteger(ScanExecutor.PARALLELISM_PROPERTY,
+                    Runtime.getRuntime().availableProcessors()));
+            executor = new ScanExecutor(pool, 0);
+        }
+        ems = new EmployeeManagementSystem<>(new StoreMetrics(false), executor);
+        EmployeeFixture.populate(ems, size, 64);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getHighPerformingEmployees() {
+        return ems.getHighPerformingEmployees(4.5);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> searchEmployeesByName() {
+        return ems.searchEmployeesByName("appiah");
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getEmployeesInSalaryRange() {
+        return ems.getEmployeesInSalaryRange(60_000, 65_000);
+    }
+
+    /**
+     * Runs the calibration and prints the smallest size from which parallel
+     * scans of all measured finders together are at least 10% faster, at that
+     * size and every larger one.
+     *
+     * @param args unused
+     * @throws RunnerException if JMH fails
+     */
+    public static void main(String[] args) throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ScanThresholdCalibration.class.getSimpleName())
+                .build()).run();
+
+        // size -> {sequential total, parallel total} over all finders
+        Map<Integer, double[]> totals = new TreeMap<>();
+        for (RunResult result : results) {
+            int size = Integer.parseInt(result.getParams().getParam("size"));
+            int column = result.getParams().getParam("mode").equals("parallel") ? 1 : 0;
+            totals.computeIfAbsent(size, key -> new double[2])[column] += result.getPrimaryResult().getScore();
+        }
+
+        System.out.printf("%n%12s %16s %16s %9s%n", "Size", "Sequential us", "Parallel us", "Speed-up");
+        Integer threshold = null;
+        for (Map.Entry<Integer, double[]> entry : totals.entrySet()) {
+            double[] total = entry.getValue();
+            System.out.printf("%,12d %,16.1f %,16.1f %8.2fx%n", entry.getKey(), total[0], total[1], total[0] / total[1]);
+            if (total[0] / total[1] >= MIN_SPEEDUP) {
+                threshold = threshold == null ? entry.getKey() : threshold;
+            } else {
+                threshold = null;
+            }
+        }
+
+        if (threshold == null) {
+            System.out.println("Parallel scans never won; run with -D" + ScanExecutor.PARALLELISM_PROPERTY + "=1");
+        } else {
+            System.out.println("Recommended: -D" + ScanExecutor.THRESHOLD_PROPERTY + "=" + threshold);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package gtp.ems.bench;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.DepartmentStatistics;
+import gtp.ems.service.EmployeeLookupResult;
+import gtp.ems.service.metrics.MemoryFootprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the read operations of
+ * {@link gtp.ems.service.EmployeeManagementSystem}: lookups, finders, sorts and analytics.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class StoreReadBenchmark {
+    private static final UUID MISSING_ID = new UUID(0, 0);
+    private static final int BATCH_SIZE = 64;
+
+    private int cursor;
+
+    @Benchmark
+    public Employee<UUID> getEmployee(StoreState state) throws EmployeeNotExistException {
+        UUID[] ids = state.ids;
+        cursor = (cursor + 1) % ids.length;
+        return state.ems.getEmployee(ids[cursor]);
+    }
+
+    @Benchmark
+    public boolean getMissingEmployee(StoreState state) {
+        try {
+            return state.ems.getEmployee(MISSING_ID) != null;
+        } catch (EmployeeNotExistException e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean findMissingEmployee(StoreState state) {
+        return state.ems.findEmployee(MISSING_ID).isPresent();
+    }
+
+    @Benchmark
+    public EmployeeLookupResult<UUID> getEmployeesBatch(StoreState state) {
+        UUID[] ids = state.ids;
+        cursor = (cursor + BATCH_SIZE) % (ids.length - BATCH_SIZE);
+        return state.ems.getEmployees(Arrays.asList(ids).subList(cursor, cursor + BATCH_SIZE));
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getAllEmployees(StoreState state) {
+        return state.ems.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getEmployeesByDepartment(StoreState state) {
+        return state.ems.getEmployeesByDepartment(EmployeeFixture.department(0));
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> searchEmployeesByName(StoreState state) {
+        return state.ems.searchEmployeesByName("appiah");
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getHighPerformingEmployees(StoreState state) {
+        return state.ems.getHighPerformingEmployees(4.5);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getEmployeesInSalaryRange(StoreState state) {
+        return state.ems.getEmployeesInSalaryRange(80_000, 90_000);
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> sortEmployeesByExperience(StoreState state) {
+        return state.ems.sortEmployeesByExperience();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> sortEmployeesBySalary(StoreState state) {
+        return state.ems.sortEmployeesBySalary();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> sortEmployeesByPerformance(StoreState state) {
+        return state.ems.sortEmployeesByPerformance();
+    }
+
+    @Benchmark
+    public List<Employee<UUID>> getTopPaidEmployees(StoreState state) {
+        return state.ems.getTopPaidEmployees(10);
+    }
+
+    @Benchmark
+    public double getAverageSalaryByDepartment(StoreState state) {
+        return state.ems.getAverageSalaryByDepartment(EmployeeFixture.department(0));
+    }
+
+    @Benchmark
+    public Map<String, DepartmentStatistics> getDepartmentReport(StoreState state) {
+        return state.ems.getDepartmentReport();
+    }
+
+    @Benchmark
+    public MemoryFootprint getMemoryFootprint(StoreState state) {
+        return state.ems.getMemoryFootprint();
+    }
+}
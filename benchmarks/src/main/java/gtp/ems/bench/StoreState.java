@@ -0,0 +1,33 @@
+package gtp.ems.bench;
+
+import gtp.ems.service.EmployeeManagementSystem;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+/**
+ * A populated store shared by all threads of a benchmark, parameterized by
+ * the number of employees and the number of departments they are spread over.
+ */
+@State(Scope.Benchmark)
+public class StoreState {
+
+    @Param({"10000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"8", "64", "512"})
+    public int departments;
+
+    public EmployeeManagementSystem<UUID> ems;
+    public UUID[] ids;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        ems = new EmployeeManagementSystem<>();
+        ids = EmployeeFixture.populate(ems, size, departments);
+    }
+}
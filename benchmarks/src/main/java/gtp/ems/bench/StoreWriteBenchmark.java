@@ -0,0 +1,146 @@
+package gtp.ems.bench;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the write operations of
+ * {@link gtp.ems.service.EmployeeManagementSystem}.
+ * <p>
+ * Adds and removes change the size of the store, so they run in single-shot
+ * batches of {@value #BATCH} calls and the store is restored between
+ * iterations. Their scores are the time for a whole batch.
+ * </p>
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@State(Scope.Thread)
+public class StoreWriteBenchmark {
+    static final int BATCH = 10_000;
+
+    private int cursor;
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public boolean addEmployee(AdditionState addition, StoreState state) {
+        return state.ems.addEmployee(addition.next());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = BATCH)
+    @Measurement(iterations = 10, batchSize = BATCH)
+    public void removeEmployee(RemovalState removal, StoreState state) throws EmployeeNotExistException {
+        state.ems.removeEmployee(removal.next());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public boolean updateEmployeeDetails(StoreState state) {
+        UUID[] ids = state.ids;
+        cursor = (cursor + 1) % ids.length;
+        return state.ems.updateEmployeeDetails(ids[cursor], "salary", 50_000.0 + cursor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public void commitTransaction(StoreState state) throws EmployeeNotExistException, TransactionConflictException {
+        UUID[] ids = state.ids;
+        cursor = (cursor + 1) % ids.length;
+        EmployeeTransaction<UUID> transaction = state.ems.beginTransaction();
+        transaction.update(ids[cursor], "salary", 50_000.0 + cursor);
+        transaction.commit();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public void givePerformanceRaise(StoreState state) {
+        state.ems.givePerformanceRaise(4.5, 0.001);
+    }
+
+    /**
+     * Prepares a batch of new employees before each iteration of
+     * {@code addEmployee} and removes them again afterwards.
+     */
+    @State(Scope.Thread)
+    public static class AdditionState {
+        private Employee<UUID>[] spares;
+        private int next;
+
+        @SuppressWarnings("unchecked")
+        @Setup(Level.Iteration)
+        public void prepareSpares() {
+            SplittableRandom random = new SplittableRandom(System.nanoTime());
+            String[] departments = {EmployeeFixture.department(0)};
+            spares = new Employee[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                spares[i] = EmployeeFixture.newEmployee(random, departments);
+            }
+            next = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeSpares(StoreState state) throws EmployeeNotExistException {
+            for (int i = 0; i < next; i++) {
+                state.ems.removeEmployee(spares[i].getEmployeeId());
+            }
+        }
+
+        Employee<UUID> next() {
+            return spares[next++];
+        }
+    }
+
+    /**
+     * Pre-adds a batch of spare employees before each iteration so that
+     * {@code removeEmployee} always removes an existing record.
+     */
+    @State(Scope.Thread)
+    public static class RemovalState {
+        private UUID[] pending;
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void addSpares(StoreState state) {
+            SplittableRandom random = new SplittableRandom(System.nanoTime());
+            String[] departments = {EmployeeFixture.department(0)};
+            pending = new UUID[BATCH];
+            for (int i = 0; i < BATCH; i++) {
+                Employee<UUID> spare = EmployeeFixture.newEmployee(random, departments);
+                state.ems.addEmployee(spare);
+                pending[i] = spare.getEmployeeId();
+            }
+            next = 0;
+        }
+
+        UUID next() {
+            return pending[next++];
+        }
+    }
+}
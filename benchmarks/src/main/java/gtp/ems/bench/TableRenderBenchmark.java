@@ -0,0 +1,74 @@
+package gtp.ems.bench;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.EmployeeTableRenderer;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the employee table with one {@code printf} per row, as
+ * {@code EmployeeInfoDisplay} used to, against {@link EmployeeTableRenderer}.
+ * Both write encoded bytes to a discarding stream, so terminal speed is excluded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class TableRenderBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Employee<UUID>> employees;
+
+    @Setup(Level.Trial)
+    public void populate() {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        EmployeeFixture.populate(ems, size, 64);
+        employees = ems.getAllEmployees();
+    }
+
+    @Benchmark
+    public PrintStream printfPerRow() {
+        PrintStream out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream()), false, StandardCharsets.UTF_8);
+        for (Employee<UUID> employee : employees) {
+            out.printf("%-36s %-20s %-12s %-12s %-6.1f %-6d %-6s%n",
+                    employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                    employee.getSalaryFormatted(), employee.getPerformanceRating(),
+                    employee.getYearsOfExperience(), employee.isActive() ? "Yes" : "No");
+        }
+        out.flush();
+        return out;
+    }
+
+    @Benchmark
+    public long renderer() throws IOException {
+        return new EmployeeTableRenderer<UUID>(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8))
+                .render(employees);
+    }
+}
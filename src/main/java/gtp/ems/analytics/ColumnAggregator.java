@@ -0,0 +1,135 @@
+package gtp.ems.analytics;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Arithmetic kernels over primitive columns. Every method reads the first
+ * {@code length} elements of its arrays.
+ * <p>
+ * {@link #fastest()} returns the SIMD implementation when the JVM was started
+ * with {@code --add-modules jdk.incubator.vector} and the CPU has vector
+ * registers, and the scalar implementation otherwise. Both return the same
+ * counts; sums can differ in the last bits because SIMD adds in another order.
+ * </p>
+ */
+public interface ColumnAggregator {
+
+    /**
+     * System property that, when set to {@code false}, disables the SIMD implementation.
+     */
+    String VECTOR_PROPERTY = "ems.analytics.vector";
+
+    /**
+     * Returns the fastest implementation available in this JVM.
+     *
+     * @return the vector aggregator if supported, else the scalar one
+     */
+    static ColumnAggregator fastest() {
+        return FastestHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the name of this implementation, for logs and benchmarks.
+     *
+     * @return the implementation name
+     */
+    String name();
+
+    /**
+     * Adds up a column.
+     *
+     * @param values the column
+     * @param length the number of rows
+     * @return the sum, or 0 if there are no rows
+     */
+    double sum(double[] values, int length);
+
+    /**
+     * Finds the smallest value of a column.
+     *
+     * @param values the column
+     * @param length the number of rows
+     * @return the minimum, or positive infinity if there are no rows
+     */
+    double min(double[] values, int length);
+
+    /**
+     * Finds the largest value of a column.
+     *
+     * @param values the column
+     * @param length the number of rows
+     * @return the maximum, or negative infinity if there are no rows
+     */
+    double max(double[] values, int length);
+
+    /**
+     * Counts the rows whose value is at least a threshold.
+     *
+     * @param values the column
+     * @param length the number of rows
+     * @param threshold the inclusive lower bound
+     * @return the number of matching rows
+     */
+    int countAtLeast(double[] values, int length, double threshold);
+
+    /**
+     * Adds up a column over the rows whose filter value is at least a threshold.
+     *
+     * @param values the column to add up
+     * @param filter the column to filter on
+     * @param length the number of rows
+     * @param threshold the inclusive lower bound on the filter column
+     * @return the sum over matching rows
+     */
+    double sumWhereAtLeast(double[] values, double[] filter, int length, double threshold);
+
+    /**
+     * Counts the rows with a given key.
+     *
+     * @param keys the key column
+     * @param length the number of rows
+     * @param key the key to match
+     * @return the number of matching rows
+     */
+    int countWhereEquals(int[] keys, int length, int key);
+
+    /**
+     * Adds up a column over the rows with a given key.
+     *
+     * @param values the column to add up
+     * @param keys the key column
+     * @param length the number of rows
+     * @param key the key to match
+     * @return the sum over matching rows
+     */
+    double sumWhereEquals(double[] values, int[] keys, int length, int key);
+
+    /**
+     * Picks the implementation once, the first time one is requested.
+     */
+    final class FastestHolder {
+        private static final Logger LOGGER = Logger.getLogger(ColumnAggregator.class.getName());
+        private static final ColumnAggregator INSTANCE = create();
+
+        private FastestHolder() {
+        }
+
+        private static ColumnAggregator create() {
+            // The incubator module is only resolved when the JVM is told to add it
+            boolean available = !"false".equals(System.getProperty(VECTOR_PROPERTY))
+                    && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+            if (available) {
+                try {
+                    ColumnAggregator vector = (ColumnAggregator) Class.forName("gtp.ems.analytics.VectorColumnAggregator")
+                            .getDeclaredConstructor().newInstance();
+                    LOGGER.config(() -> "Column aggregation: " + vector.name());
+                    return vector;
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    LOGGER.log(Level.FINE, "Vector API unusable, falling back to scalar aggregation", e);
+                }
+            }
+            return new ScalarColumnAggregator();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package gtp.ems.analytics;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * A columnar copy of the numeric fields of every employee in a store, kept up
+ * to date by listening to the store's changes.
+ * <p>
+ * Salaries and ratings are held in primitive arrays, one row per employee with
+ * no gaps, so they can be aggregated by tight loops or SIMD instructions
+ * instead of walking employee objects. Departments are dictionary-encoded as
+ * int codes; codes are case-insensitive, matching the store's department
+ * lookups. Removing an employee moves the last row into its place.
+ * </p>
+ * <p>
+ * Only changes made through the store are seen: setting a field directly on an
+ * {@link Employee} leaves the columns stale.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class EmployeeColumnStore<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeManagementSystem<T> ems;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<T, Integer> rows = new HashMap<>();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private Object[] ids = new Object[INITIAL_CAPACITY];
+    double[] salaries = new double[INITIAL_CAPACITY];
+    double[] ratings = new double[INITIAL_CAPACITY];
+    int[] departments = new int[INITIAL_CAPACITY];
+    int size;
+
+    /**
+     * Constructs the columns from the current contents of a store and starts
+     * following its changes.
+     *
+     * @param ems the store to mirror
+     */
+    public EmployeeColumnStore(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+        ems.atomically(() -> {
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                employeeAdded(employee);
+            }
+            ems.addChangeListener(this);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the number of rows, which is the number of employees in the store.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return read(() -> size);
+    }
+
+    /**
+     * Returns the code of a department.
+     *
+     * @param department the department name, in any case, or null for the employees without one
+     * @return the department code, or -1 if no employee was ever in the department
+     */
+    public int departmentCode(String department) {
+        return read(() -> departmentCodes.getOrDefault(departmentKey(department), -1));
+    }
+
+    /**
+     * Adds the columns, the row map and the department dictionary to a
+     * footprint, as {@code columnStore}. The IDs belong to the store.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        footprint.add("columnStore", read(() -> {
+            long bytes = MemoryLayout.hashMapSize(rows.size()) + rows.size() * MemoryLayout.valueSize(0)
+                    + MemoryLayout.referenceArraySize(ids.length)
+                    + MemoryLayout.arraySize(salaries.length, 8)
+                    + MemoryLayout.arraySize(ratings.length, 8)
+                    + MemoryLayout.arraySize(departments.length, 4)
+                    + MemoryLayout.hashMapSize(departmentCodes.size());
+            for (String department : departmentCodes.keySet()) {
+                bytes += MemoryLayout.stringSize(department);
+            }
+            return bytes;
+        }));
+    }
+
+    /**
+     * Stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            if (size == salaries.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                ratings = Arrays.copyOf(ratings, capacity);
+                departments = Arrays.copyOf(departments, capacity);
+            }
+            int row = size++;
+            ids[row] = employee.getEmployeeId();
+            rows.put(employee.getEmployeeId(), row);
+            store(row, employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void employeeRemoved(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.remove(employee.getEmployeeId());
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                salaries[row] = salaries[last];
+                ratings[row] = ratings[last];
+                departments[row] = departments[last];
+                rows.put((T) ids[row], row);
+            }
+            ids[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(employee.getEmployeeId());
+            if (row != null) {
+                store(row, employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a computation over the columns while no change can be applied to them.
+     */
+    <R> R read(Supplier<R> computation) {
+        lock.readLock().lock();
+        try {
+            return computation.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void store(int row, Employee<T> employee) {
+        salaries[row] = employee.getSalary();
+        ratings[row] = employee.getPerformanceRating();
+        departments[row] = departmentCodes.computeIfAbsent(
+                departmentKey(employee.getDepartment()), name -> departmentCodes.size());
+    }
+
+    /**
+     * Returns the key of a department in {@code departmentCodes}; employees
+     * without a department share the null key.
+     */
+    private static String departmentKey(String department) {
+        return department == null ? null : department.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,266 @@
+package gtp.ems.analytics;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Salary and rating distributions of a store, overall and per department,
+ * updated on every change so that percentile queries never scan or sort.
+ * <p>
+ * Salary quantiles come from a {@link QuantileSketch} and are within
+ * {@value #SALARY_ACCURACY} relative error of the exact value, e.g. a true
+ * median of $80,000 is reported between $79,600 and $80,400. Rating quantiles
+ * come from a {@link FixedBucketHistogram} of {@value #RATING_BUCKETS} steps
+ * over 0 to 5 and are within 0.1 of the exact value. Salary bands are kept in
+ * a histogram of $10,000 buckets up to $300,000, the last bucket holding
+ * every higher salary.
+ * </p>
+ * <p>
+ * Departments are matched ignoring case, like the store's department lookups.
+ * Employees without a department count towards the overall distributions
+ * only. Only changes made through the store are seen.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class EmployeeDistributions<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    /**
+     * Relative error bound of salary quantiles.
+     */
+    public static final double SALARY_ACCURACY = 0.005;
+
+    /**
+     * Number of rating histogram buckets between 0 and 5.
+     */
+    public static final int RATING_BUCKETS = 50;
+
+    private static final double MAX_SALARY = 1e9;
+
+    private static final Distribution EMPTY = new Distribution();
+
+    private final EmployeeManagementSystem<T> ems;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Distribution overall = new Distribution();
+    private final Map<String, Distribution> departments = new HashMap<>();
+
+    /**
+     * Builds the distributions from the current contents of a store and starts
+     * following its changes.
+     *
+     * @param ems the store to follow
+     */
+    public EmployeeDistributions(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+        ems.atomically(() -> {
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                employeeAdded(employee);
+            }
+            ems.addChangeListener(this);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the salary at a quantile across all employees.
+     *
+     * @param quantile the quantile in the range [0.0, 1.0], e.g. 0.9 for p90
+     * @return the salary, or 0.0 if there are no employees
+     */
+    public double getSalaryAtQuantile(double quantile) {
+        return read(null, distribution -> distribution.salaries.getValueAtQuantile(quantile));
+    }
+
+    /**
+     * Returns the salary at a quantile within a department.
+     *
+     * @param department the department, in any case
+     * @param quantile the quantile in the range [0.0, 1.0], e.g. 0.9 for p90
+     * @return the salary, or 0.0 if the department has no employees
+     */
+    public double getSalaryAtQuantile(String department, double quantile) {
+        return read(department, distribution -> distribution.salaries.getValueAtQuantile(quantile));
+    }
+
+    /**
+     * Returns the performance rating at a quantile across all employees.
+     *
+     * @param quantile the quantile in the range [0.0, 1.0]
+     * @return the rating, or 0.0 if there are no employees
+     */
+    public double getRatingAtQuantile(double quantile) {
+        return read(null, distribution -> distribution.ratings.getValueAtQuantile(quantile));
+    }
+
+    /**
+     * Returns the performance rating at a quantile within a department.
+     *
+     * @param department the department, in any case
+     * @param quantile the quantile in the range [0.0, 1.0]
+     * @return the rating, or 0.0 if the department has no employees
+     */
+    public double getRatingAtQuantile(String department, double quantile) {
+        return read(department, distribution -> distribution.ratings.getValueAtQuantile(quantile));
+    }
+
+    /**
+     * Returns a copy of the salary band histogram of a department, or of all
+     * employees if {@code department} is null.
+     *
+     * @param department the department, in any case, or null
+     * @return the salary bands
+     */
+    public FixedBucketHistogram getSalaryBands(String department) {
+        return read(department, distribution -> new FixedBucketHistogram(distribution.salaryBands));
+    }
+
+    /**
+     * Returns a copy of the rating histogram of a department, or of all
+     * employees if {@code department} is null.
+     *
+     * @param department the department, in any case, or null
+     * @return the rating histogram
+     */
+    public FixedBucketHistogram getRatingHistogram(String department) {
+        return read(department, distribution -> new FixedBucketHistogram(distribution.ratings));
+    }
+
+    /**
+     * Stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+    }
+
+    /**
+     * Adds the sketches and histograms of every group to a footprint, as
+     * {@code distributions}. Each department sketch is the same size however
+     * many employees it counts.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        lock.readLock().lock();
+        try {
+            long bytes = overall.retainedBytes() + MemoryLayout.hashMapSize(departments.size());
+            for (Map.Entry<String, Distribution> entry : departments.entrySet()) {
+                bytes += MemoryLayout.stringSize(entry.getKey()) + entry.getValue().retainedBytes();
+            }
+            footprint.add("distributions", bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            overall.add(employee.getSalary(), employee.getPerformanceRating());
+            departments.computeIfAbsent(key(employee.getDepartment()), key -> new Distribution())
+                    .add(employee.getSalary(), employee.getPerformanceRating());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            overall.remove(employee.getSalary(), employee.getPerformanceRating());
+            removeFromDepartment(employee.getDepartment(), employee.getSalary(), employee.getPerformanceRating());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        if (field != EmployeeField.SALARY && field != EmployeeField.PERFORMANCE_RATING
+                && field != EmployeeField.DEPARTMENT) {
+            return;
+        }
+        double salary = employee.getSalary();
+        double rating = employee.getPerformanceRating();
+        String department = employee.getDepartment();
+        double oldSalary = field == EmployeeField.SALARY ? (Double) oldValue : salary;
+        double oldRating = field == EmployeeField.PERFORMANCE_RATING ? (Double) oldValue : rating;
+        String oldDepartment = field == EmployeeField.DEPARTMENT ? (String) oldValue : department;
+
+        lock.writeLock().lock();
+        try {
+            overall.remove(oldSalary, oldRating);
+            overall.add(salary, rating);
+            removeFromDepartment(oldDepartment, oldSalary, oldRating);
+            departments.computeIfAbsent(key(department), key -> new Distribution()).add(salary, rating);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromDepartment(String department, double salary, double rating) {
+        Distribution distribution = departments.get(key(department));
+        if (distribution != null) {
+            distribution.remove(salary, rating);
+            if (distribution.salaries.getCount() == 0) {
+                departments.remove(key(department));
+            }
+        }
+    }
+
+    private <R> R read(String department, Function<Distribution, R> query) {
+        lock.readLock().lock();
+        try {
+            Distribution distribution = department == null ? overall : departments.get(key(department));
+            return query.apply(distribution == null ? EMPTY : distribution);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the map key of a department. Employees without a department are
+     * kept under the null key, which no query reaches.
+     */
+    private static String key(String department) {
+        return department == null ? null : department.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The sketches of one group of employees.
+     */
+    private static final class Distribution {
+        final QuantileSketch salaries = new QuantileSketch(SALARY_ACCURACY, MAX_SALARY);
+        final FixedBucketHistogram salaryBands = new FixedBucketHistogram(0, 300_000, 30);
+        final FixedBucketHistogram ratings = new FixedBucketHistogram(0, 5, RATING_BUCKETS);
+
+        void add(double salary, double rating) {
+            salaries.add(salary);
+            salaryBands.add(salary);
+            ratings.add(rating);
+        }
+
+        void remove(double salary, double rating) {
+            salaries.remove(salary);
+            salaryBands.remove(salary);
+            ratings.remove(rating);
+        }
+
+        long retainedBytes() {
+            return MemoryLayout.objectSize(3, 0) + salaries.retainedBytes() + salaryBands.retainedBytes()
+                    + ratings.retainedBytes();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package gtp.ems.analytics;
+
+import gtp.ems.service.metrics.MemoryLayout;
+
+/**
+ * A histogram of equal-width buckets over a fixed range, such as salary bands
+ * or rating steps. Values can be removed as well as added, and histograms with
+ * the same layout can be merged.
+ * <p>
+ * Values below the range are counted in the first bucket and values at or
+ * above its end in the last one. Quantiles are interpolated linearly within a
+ * bucket, so for values inside the range they are off by at most one bucket
+ * width.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class FixedBucketHistogram {
+    private final double min;
+    private final double max;
+    private final long[] buckets;
+    private long count;
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param min the lower bound of the first bucket
+     * @param max the upper bound of the last bucket
+     * @param bucketCount the number of buckets
+     */
+    public FixedBucketHistogram(double min, double max, int bucketCount) {
+        if (!(max > min) || bucketCount <= 0) {
+            throw new IllegalArgumentException("Invalid histogram layout: [" + min + ", " + max + ") in " + bucketCount);
+        }
+        this.min = min;
+        this.max = max;
+        this.buckets = new long[bucketCount];
+    }
+
+    /**
+     * Constructs a copy of another histogram.
+     *
+     * @param other the histogram to copy
+     */
+    public FixedBucketHistogram(FixedBucketHistogram other) {
+        this.min = other.min;
+        this.max = other.max;
+        this.buckets = other.buckets.clone();
+        this.count = other.count;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        buckets[bucketIndex(value)]++;
+        count++;
+    }
+
+    /**
+     * Removes a value that was previously added.
+     *
+     * @param value the value to remove
+     */
+    public void remove(double value) {
+        buckets[bucketIndex(value)]--;
+        count--;
+    }
+
+    /**
+     * Adds every value of another histogram with the same layout.
+     *
+     * @param other the histogram to merge in
+     * @throws IllegalArgumentException if the layouts differ
+     */
+    public void merge(FixedBucketHistogram other) {
+        if (other.min != min || other.max != max || other.buckets.length != buckets.length) {
+            throw new IllegalArgumentException("Cannot merge histograms with different layouts");
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        count += other.count;
+    }
+
+    /**
+     * @return the number of values in the histogram
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Returns the number of values in one bucket.
+     *
+     * @param index the bucket index
+     * @return the bucket's count
+     */
+    public long getCount(int index) {
+        return buckets[index];
+    }
+
+    /**
+     * Returns the inclusive lower bound of one bucket.
+     *
+     * @param index the bucket index
+     * @return the bucket's lower bound
+     */
+    public double getLowerBound(int index) {
+        return min + (max - min) * index / buckets.length;
+    }
+
+    /**
+     * Returns the value at the given quantile, interpolated within its bucket.
+     *
+     * @param quantile the quantile in the range [0.0, 1.0], e.g. 0.5 for the median
+     * @return the value at the quantile, or 0.0 if the histogram is empty
+     */
+    public double getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        double rank = Math.min(Math.max(quantile, 0.0), 1.0) * count;
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0 && seen + buckets[i] >= rank) {
+                return getLowerBound(i) + (getLowerBound(i + 1) - getLowerBound(i)) * (rank - seen) / buckets[i];
+            }
+            seen += buckets[i];
+        }
+        return max;
+    }
+
+    private int bucketIndex(double value) {
+        int index = (int) Math.floor((value - min) * buckets.length / (max - min));
+        return Math.min(Math.max(index, 0), buckets.length - 1);
+    }
+
+    /**
+     * Returns the approximate bytes of the histogram and its buckets.
+     */
+    long retainedBytes() {
+        return MemoryLayout.objectSize(1, 24) + MemoryLayout.arraySize(buckets.length, 8);
+    }
+}
@@ -0,0 +1,163 @@
+package gtp.ems.analytics;
+
+import gtp.ems.service.metrics.MemoryLayout;
+
+/**
+ * A mergeable quantile sketch with a relative error guarantee that, unlike
+ * t-digest or KLL, also supports removing values, so it can follow a store in
+ * which salaries change and employees leave.
+ * <p>
+ * Values are counted in logarithmic buckets: bucket {@code i} holds the values
+ * in {@code (γ^(i-1), γ^i]} with {@code γ = (1 + α) / (1 - α)}, as in DDSketch.
+ * Every quantile is reported within a relative error of {@code α} of the true
+ * quantile, whatever the distribution. Values below 1 are counted as 0 and
+ * values above the configured maximum as the maximum. Memory is one int per
+ * bucket: about 2,100 buckets for 0.5% accuracy up to 10<sup>9</sup>.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class QuantileSketch {
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final int[] buckets;
+    private long belowOne;
+    private long count;
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param relativeAccuracy the maximum relative error of a quantile, e.g. 0.005 for 0.5%
+     * @param maxValue the largest value tracked exactly; larger values are clamped to it
+     */
+    public QuantileSketch(double relativeAccuracy, double maxValue) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        if (!(maxValue >= 1)) {
+            throw new IllegalArgumentException("maxValue must be at least 1: " + maxValue);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.buckets = new int[(int) Math.ceil(Math.log(maxValue) / logGamma) + 1];
+    }
+
+    /**
+     * Constructs a copy of another sketch.
+     *
+     * @param other the sketch to copy
+     */
+    public QuantileSketch(QuantileSketch other) {
+        this.relativeAccuracy = other.relativeAccuracy;
+        this.gamma = other.gamma;
+        this.logGamma = other.logGamma;
+        this.buckets = other.buckets.clone();
+        this.belowOne = other.belowOne;
+        this.count = other.count;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (value < 1) {
+            belowOne++;
+        } else {
+            buckets[bucketIndex(value)]++;
+        }
+        count++;
+    }
+
+    /**
+     * Removes a value that was previously added. Removing a value that was
+     * never added corrupts the sketch.
+     *
+     * @param value the value to remove
+     */
+    public void remove(double value) {
+        if (value < 1) {
+            belowOne--;
+        } else {
+            buckets[bucketIndex(value)]--;
+        }
+        count--;
+    }
+
+    /**
+     * Adds every value of another sketch with the same accuracy and maximum.
+     *
+     * @param other the sketch to merge in
+     * @throws IllegalArgumentException if the sketches are configured differently
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.buckets.length != buckets.length) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy or range");
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        belowOne += other.belowOne;
+        count += other.count;
+    }
+
+    /**
+     * Returns the number of values in the sketch.
+     *
+     * @return the value count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the relative error bound of {@link #getValueAtQuantile(double)}.
+     *
+     * @return the relative accuracy
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Returns the value at the given quantile, within the sketch's relative
+     * accuracy of the smallest value that at least {@code quantile} of all
+     * values are less than or equal to.
+     *
+     * @param quantile the quantile in the range [0.0, 1.0], e.g. 0.9 for p90
+     * @return the value at the quantile, or 0.0 if the sketch is empty
+     */
+    public double getValueAtQuantile(double quantile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(Math.max(quantile, 0.0), 1.0) * count));
+        long seen = belowOne;
+        if (seen >= rank) {
+            return 0.0;
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                // The point of the bucket equally far, relatively, from both bounds
+                return 2 * Math.pow(gamma, i) / (1 + gamma);
+            }
+        }
+        throw new IllegalStateException("Sketch counts are inconsistent");
+    }
+
+    private int bucketIndex(double value) {
+        return Math.min((int) Math.ceil(Math.log(value) / logGamma), buckets.length - 1);
+    }
+
+    /**
+     * Returns the approximate bytes of the sketch and its buckets.
+     */
+    long retainedBytes() {
+        return MemoryLayout.objectSize(1, 40) + MemoryLayout.arraySize(buckets.length, 4);
+    }
+}
@@ -0,0 +1,84 @@
+package gtp.ems.analytics;
+
+/**
+ * Plain loop implementation of {@link ColumnAggregator}, used when the Vector
+ * API is not available and as the reference for the vector implementation.
+ */
+public class ScalarColumnAggregator implements ColumnAggregator {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public double sum(double[] values, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int countAtLeast(double[] values, int length, double threshold) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sumWhereAtLeast(double[] values, double[] filter, int length, double threshold) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            if (filter[i] >= threshold) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public int countWhereEquals(int[] keys, int length, int key) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (keys[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sumWhereEquals(double[] values, int[] keys, int length, int key) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            if (keys[i] == key) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+}
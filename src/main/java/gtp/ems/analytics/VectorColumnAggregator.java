@@ -0,0 +1,151 @@
+package gtp.ems.analytics;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link ColumnAggregator} on the incubating Vector API.
+ * <p>
+ * Each loop processes as many rows per iteration as the widest double vector
+ * the CPU supports and finishes the remainder with scalar code. Key columns
+ * are read with an int species of half the bit size, so that an int
+ * comparison yields a mask with one lane per double.
+ * </p>
+ * <p>
+ * Only load this class after checking that {@code jdk.incubator.vector} is in
+ * the boot layer, as {@link ColumnAggregator#fastest()} does.
+ * </p>
+ */
+public class VectorColumnAggregator implements ColumnAggregator {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> KEYS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Constructs the aggregator.
+     *
+     * @throws UnsupportedOperationException if the CPU has no double vectors of
+     *         at least two lanes
+     */
+    public VectorColumnAggregator() {
+        if (DOUBLES.length() < 2) {
+            throw new UnsupportedOperationException("No SIMD support for doubles");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector(" + DOUBLES.vectorBitSize() + " bit)";
+    }
+
+    @Override
+    public double sum(double[] values, int length) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double min(double[] values, int length) {
+        DoubleVector mins = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            mins = mins.min(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < length; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] values, int length) {
+        DoubleVector maxes = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            maxes = maxes.max(DoubleVector.fromArray(DOUBLES, values, i));
+        }
+        double max = maxes.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int countAtLeast(double[] values, int length, double threshold) {
+        int count = 0;
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, values, i).compare(VectorOperators.GE, threshold).trueCount();
+        }
+        for (; i < length; i++) {
+            if (values[i] >= threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sumWhereAtLeast(double[] values, double[] filter, int length, double threshold) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            VectorMask<Double> matches = DoubleVector.fromArray(DOUBLES, filter, i).compare(VectorOperators.GE, threshold);
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i), matches);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            if (filter[i] >= threshold) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public int countWhereEquals(int[] keys, int length, int key) {
+        int count = 0;
+        int i = 0;
+        for (int bound = INTS.loopBound(length); i < bound; i += INTS.length()) {
+            count += IntVector.fromArray(INTS, keys, i).compare(VectorOperators.EQ, key).trueCount();
+        }
+        for (; i < length; i++) {
+            if (keys[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sumWhereEquals(double[] values, int[] keys, int length, int key) {
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            VectorMask<Double> matches = IntVector.fromArray(KEYS, keys, i).compare(VectorOperators.EQ, key).cast(DOUBLES);
+            sums = sums.add(DoubleVector.fromArray(DOUBLES, values, i), matches);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            if (keys[i] == key) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+}
@@ -12,9 +12,9 @@ import java.util.UUID;
 public class EmployeeNotExistException extends Exception {
 
     /**
-     * The UUID of the non-existent employee that caused this exception
+     * The ID of the non-existent employee that caused this exception
      */
-    private final UUID employeeId;
+    private final Object employeeId;
 
     /**
      * Constructs a new exception with a default message.
@@ -26,6 +26,16 @@ public class EmployeeNotExistException extends Exception {
         this.employeeId = employeeId;
     }
 
+    /**
+     * Constructs a new exception with a default message for an ID of any type.
+     *
+     * @param employeeId the ID of the non-existent employee
+     */
+    public EmployeeNotExistException(Object employeeId) {
+        super("Employee with ID " + employeeId + " does not exist");
+        this.employeeId = employeeId;
+    }
+
     /**
      * Constructs a new exception with a custom message.
      *
@@ -49,12 +59,35 @@ public class EmployeeNotExistException extends Exception {
         this.employeeId = employeeId;
     }
 
+    /**
+     * Constructs a new exception for an ID of any type, optionally without a
+     * stack trace.
+     *
+     * @param employeeId the ID of the non-existent employee
+     * @param message the detail message, or null if {@link #getMessage()} is overridden
+     * @param writableStackTrace whether to fill in the stack trace
+     */
+    protected EmployeeNotExistException(Object employeeId, String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.employeeId = employeeId;
+    }
+
     /**
      * Returns the ID of the non-existent employee that caused this exception.
      *
-     * @return the UUID of the non-existent employee
+     * @return the UUID of the non-existent employee, or null if the store uses
+     *         another ID type; see {@link #getId()}
      */
     public UUID getEmployeeId() {
+        return employeeId instanceof UUID uuid ? uuid : null;
+    }
+
+    /**
+     * Returns the ID of the non-existent employee, whatever its type.
+     *
+     * @return the ID of the non-existent employee
+     */
+    public Object getId() {
         return employeeId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package gtp.ems.exception;
+
+/**
+ * An {@link EmployeeNotExistException} that does not capture a stack trace and
+ * builds its message only when asked for it.
+ * <p>
+ * A missing ID is an expected outcome of a lookup rather than a programming
+ * error, and filling in the stack trace is most of the cost of throwing.
+ * Transactions throw this variant, since they may be retried many times; the
+ * store's public lookups keep the stack trace, and callers probing many
+ * missing IDs should use {@code findEmployee} or {@code getEmployees} instead.
+ * </p>
+ */
+public class StacklessEmployeeNotExistException extends EmployeeNotExistException {
+
+    /**
+     * Constructs a new exception.
+     *
+     * @param employeeId the ID of the non-existent employee, of any type
+     */
+    public StacklessEmployeeNotExistException(Object employeeId) {
+        super(employeeId, null, false);
+    }
+
+    @Override
+    public String getMessage() {
+        return "Employee with ID " + getId() + " does not exist";
+    }
+}
@@ -0,0 +1,40 @@
+package gtp.ems.exception;
+
+/**
+ * Exception thrown when a transaction cannot commit because an employee it
+ * read was changed or removed by another writer after it was read.
+ * <p>
+ * A conflict is an expected outcome under contention, and is usually handled
+ * by running the transaction again, so the exception carries no stack trace.
+ * </p>
+ */
+public class TransactionConflictException extends Exception {
+    /**
+     * The ID of the employee that was changed or removed.
+     */
+    private final Object employeeId;
+
+    /**
+     * Constructs a new exception.
+     *
+     * @param employeeId the ID of the employee that was changed, of any type
+     */
+    public TransactionConflictException(Object employeeId) {
+        super(null, null, false, false);
+        this.employeeId = employeeId;
+    }
+
+    /**
+     * Returns the ID of the employee that was changed or removed.
+     *
+     * @return the employee ID
+     */
+    public Object getId() {
+        return employeeId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Employee with ID " + employeeId + " was changed by another writer";
+    }
+}
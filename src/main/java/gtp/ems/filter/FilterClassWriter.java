@@ -0,0 +1,474 @@
+package gtp.ems.filter;
+
+import gtp.ems.filter.FilterNode.Operator;
+import gtp.ems.model.EmployeeField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the class file of a {@code Predicate} that evaluates one filter
+ * expression with straight-line bytecode: direct calls to the employee's
+ * getters, primitive comparisons against constants and short-circuit jumps.
+ * <p>
+ * The class is written at version 49, which needs no stack map frames and so
+ * keeps the writer small; it is verified by type inference when defined.
+ * </p>
+ */
+final class FilterClassWriter {
+    private static final int VERSION = 49;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_FIELDREF = 9;
+    private static final int TAG_METHODREF = 10;
+    private static final int TAG_NAME_AND_TYPE = 12;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int LDC_W = 0x13;
+    private static final int LDC2_W = 0x14;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int POP = 0x57;
+    private static final int DUP = 0x59;
+    private static final int I2D = 0x87;
+    private static final int DCMPL = 0x97;
+    private static final int DCMPG = 0x98;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9a;
+    private static final int IFLT = 0x9b;
+    private static final int IFGE = 0x9c;
+    private static final int IFGT = 0x9d;
+    private static final int IFLE = 0x9e;
+    private static final int GOTO = 0xa7;
+    private static final int IRETURN = 0xac;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int CHECKCAST = 0xc0;
+    private static final int IFNULL = 0xc6;
+
+    private static final String EMPLOYEE = "gtp/ems/model/Employee";
+    private static final String STRING = "java/lang/String";
+    private static final String LOCALE = "java/util/Locale";
+
+    private final Bytes pool = new Bytes();
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private int poolCount = 1;
+
+    private FilterClassWriter() {
+    }
+
+    /**
+     * Writes a class named {@code className} (in internal form) implementing
+     * {@code Predicate} whose {@code test} evaluates {@code root} and whose
+     * {@code toString} returns {@code source}.
+     *
+     * @throws IllegalArgumentException if the expression is too large for one method
+     */
+    static byte[] write(String className, FilterNode root, String source) {
+        return new FilterClassWriter().writeClass(className, root, source);
+    }
+
+    private byte[] writeClass(String className, FilterNode root, String source) {
+        int thisClass = classEntry(className);
+        int superClass = classEntry("java/lang/Object");
+        int predicate = classEntry("java/util/function/Predicate");
+
+        Bytes constructor = new Bytes();
+        constructor.u1(ALOAD_0);
+        constructor.u1(INVOKESPECIAL);
+        constructor.u2(methodEntry("java/lang/Object", "<init>", "()V"));
+        constructor.u1(RETURN);
+
+        Bytes test = new Bytes();
+        test.u1(ALOAD_1);
+        test.u1(CHECKCAST);
+        test.u2(classEntry(EMPLOYEE));
+        test.u1(ASTORE_2);
+        Label fail = new Label();
+        branch(test, root, fail, false);
+        test.u1(ICONST_1);
+        test.u1(IRETURN);
+        fail.place(test);
+        test.u1(ICONST_0);
+        test.u1(IRETURN);
+        fail.patchAll(test);
+
+        Bytes toString = new Bytes();
+        toString.u1(LDC_W);
+        toString.u2(stringEntry(source));
+        toString.u1(ARETURN);
+
+        byte[][] methods = {
+                method("<init>", "()V", constructor, 1, 1),
+                method("test", "(Ljava/lang/Object;)Z", test, 4, 3),
+                method("toString", "()Ljava/lang/String;", toString, 1, 1)
+        };
+
+        Bytes out = new Bytes();
+        out.u4(0xCAFEBABE);
+        out.u2(0);
+        out.u2(VERSION);
+        out.u2(poolCount);
+        out.bytes(pool.toArray());
+        out.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.u2(thisClass);
+        out.u2(superClass);
+        out.u2(1);
+        out.u2(predicate);
+        out.u2(0);
+        out.u2(methods.length);
+        for (byte[] method : methods) {
+            out.bytes(method);
+        }
+        out.u2(0);
+        return out.toArray();
+    }
+
+    /**
+     * Emits code that jumps to {@code target} if {@code node} evaluates to
+     * {@code jumpIf}, and falls through otherwise.
+     */
+    private void branch(Bytes code, FilterNode node, Label target, boolean jumpIf) {
+        switch (node) {
+            case FilterNode.And and -> {
+                if (jumpIf) {
+                    Label skip = new Label();
+                    branch(code, and.left(), skip, false);
+                    branch(code, and.right(), target, true);
+                    skip.place(code);
+                    skip.patchAll(code);
+                } else {
+                    branch(code, and.left(), target, false);
+                    branch(code, and.right(), target, false);
+                }
+            }
+            case FilterNode.Or or -> {
+                if (jumpIf) {
+                    branch(code, or.left(), target, true);
+                    branch(code, or.right(), target, true);
+                } else {
+                    Label skip = new Label();
+                    branch(code, or.left(), skip, true);
+                    branch(code, or.right(), target, false);
+                    skip.place(code);
+                    skip.patchAll(code);
+                }
+            }
+            case FilterNode.Not not -> branch(code, not.operand(), target, !jumpIf);
+            case FilterNode.Flag flag -> {
+                getField(code, flag.field());
+                jump(code, jumpIf ? IFNE : IFEQ, target);
+            }
+            case FilterNode.NumberComparison comparison -> {
+                getField(code, comparison.field());
+                if (comparison.field() == EmployeeField.YEARS_OF_EXPERIENCE) {
+                    code.u1(I2D);
+                }
+                code.u1(LDC2_W);
+                code.u2(doubleEntry(comparison.value()));
+                // As javac does: NaN compares so that < and <= fail with dcmpg, the rest with dcmpl
+                Operator operator = comparison.operator();
+                code.u1(operator == Operator.LT || operator == Operator.LE ? DCMPG : DCMPL);
+                jump(code, jumpIf ? ifOpcode(operator) : ifOpcode(negate(operator)), target);
+            }
+            case FilterNode.TextComparison comparison -> {
+                if (comparison.operator() == Operator.CONTAINS) {
+                    // A null field contains nothing: it leaves false for the test below
+                    Label isNull = new Label();
+                    Label test = new Label();
+                    getField(code, comparison.field());
+                    code.u1(DUP);
+                    jump(code, IFNULL, isNull);
+                    code.u1(GETSTATIC);
+                    code.u2(fieldEntry(LOCALE, "ROOT", "L" + LOCALE + ";"));
+                    code.u1(INVOKEVIRTUAL);
+                    code.u2(methodEntry(STRING, "toLowerCase", "(L" + LOCALE + ";)Ljava/lang/String;"));
+                    code.u1(LDC_W);
+                    code.u2(stringEntry(comparison.value().toLowerCase(Locale.ROOT)));
+                    code.u1(INVOKEVIRTUAL);
+                    code.u2(methodEntry(STRING, "contains", "(Ljava/lang/CharSequence;)Z"));
+                    jump(code, GOTO, test);
+                    isNull.place(code);
+                    code.u1(POP);
+                    code.u1(ICONST_0);
+                    test.place(code);
+                    isNull.patchAll(code);
+                    test.patchAll(code);
+                    jump(code, jumpIf ? IFNE : IFEQ, target);
+                } else {
+                    code.u1(LDC_W);
+                    code.u2(stringEntry(comparison.value()));
+                    getField(code, comparison.field());
+                    code.u1(INVOKEVIRTUAL);
+                    code.u2(methodEntry(STRING, "equalsIgnoreCase", "(Ljava/lang/String;)Z"));
+                    boolean jumpIfEqual = jumpIf == (comparison.operator() == Operator.EQ);
+                    jump(code, jumpIfEqual ? IFNE : IFEQ, target);
+                }
+            }
+        }
+    }
+
+    private void getField(Bytes code, EmployeeField field) {
+        String[] getter = switch (field) {
+            case NAME -> new String[]{"getName", "()Ljava/lang/String;"};
+            case DEPARTMENT -> new String[]{"getDepartment", "()Ljava/lang/String;"};
+            case SALARY -> new String[]{"getSalary", "()D"};
+            case PERFORMANCE_RATING -> new String[]{"getPerformanceRating", "()D"};
+            case YEARS_OF_EXPERIENCE -> new String[]{"getYearsOfExperience", "()I"};
+            case ACTIVE -> new String[]{"isActive", "()Z"};
+        };
+        code.u1(ALOAD_2);
+        code.u1(INVOKEVIRTUAL);
+        code.u2(methodEntry(EMPLOYEE, getter[0], getter[1]));
+    }
+
+    private static void jump(Bytes code, int opcode, Label target) {
+        target.reference(code.size());
+        code.u1(opcode);
+        code.u2(0);
+    }
+
+    private static int ifOpcode(Operator operator) {
+        return switch (operator) {
+            case EQ -> IFEQ;
+            case NE -> IFNE;
+            case LT -> IFLT;
+            case LE -> IFLE;
+            case GT -> IFGT;
+            case GE -> IFGE;
+            case CONTAINS -> throw new IllegalStateException("contains is not numeric");
+        };
+    }
+
+    /**
+     * Returns the operator whose jump, after the same comparison instruction,
+     * is taken exactly when the original one is not, NaN results included.
+     */
+    private static Operator negate(Operator operator) {
+        return switch (operator) {
+            case EQ -> Operator.NE;
+            case NE -> Operator.EQ;
+            case LT -> Operator.GE;
+            case LE -> Operator.GT;
+            case GT -> Operator.LE;
+            case GE -> Operator.LT;
+            case CONTAINS -> throw new IllegalStateException("contains is not numeric");
+        };
+    }
+
+    private byte[] method(String name, String descriptor, Bytes code, int maxStack, int maxLocals) {
+        if (code.size() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter expression is too long to compile");
+        }
+        Bytes method = new Bytes();
+        method.u2(ACC_PUBLIC);
+        method.u2(utf8Entry(name));
+        method.u2(utf8Entry(descriptor));
+        method.u2(1);
+        method.u2(utf8Entry("Code"));
+        method.u4(12 + code.size());
+        method.u2(maxStack);
+        method.u2(maxLocals);
+        method.u4(code.size());
+        method.bytes(code.toArray());
+        method.u2(0);
+        method.u2(0);
+        return method.toArray();
+    }
+
+    private int utf8Entry(String value) {
+        Integer index = poolIndex.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        byte[] utf8 = modifiedUtf8(value);
+        pool.u1(TAG_UTF8);
+        pool.u2(utf8.length);
+        pool.bytes(utf8);
+        return register("U" + value, 1);
+    }
+
+    private int classEntry(String internalName) {
+        Integer index = poolIndex.get("C" + internalName);
+        if (index != null) {
+            return index;
+        }
+        int name = utf8Entry(internalName);
+        pool.u1(TAG_CLASS);
+        pool.u2(name);
+        return register("C" + internalName, 1);
+    }
+
+    private int stringEntry(String value) {
+        Integer index = poolIndex.get("S" + value);
+        if (index != null) {
+            return index;
+        }
+        int utf8 = utf8Entry(value);
+        pool.u1(TAG_STRING);
+        pool.u2(utf8);
+        return register("S" + value, 1);
+    }
+
+    private int doubleEntry(double value) {
+        String key = "D" + Double.doubleToRawLongBits(value);
+        Integer index = poolIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        pool.u1(TAG_DOUBLE);
+        pool.u4((int) (bits >>> 32));
+        pool.u4((int) bits);
+        // Doubles take two constant pool slots
+        return register(key, 2);
+    }
+
+    private int methodEntry(String owner, String name, String descriptor) {
+        return memberEntry(TAG_METHODREF, owner, name, descriptor);
+    }
+
+    private int fieldEntry(String owner, String name, String descriptor) {
+        return memberEntry(TAG_FIELDREF, owner, name, descriptor);
+    }
+
+    private int memberEntry(int tag, String owner, String name, String descriptor) {
+        String key = (tag == TAG_FIELDREF ? "F" : "M") + owner + "." + name + descriptor;
+        Integer index = poolIndex.get(key);
+        if (index != null) {
+            return index;
+        }
+        int ownerClass = classEntry(owner);
+        int nameIndex = utf8Entry(name);
+        int descriptorIndex = utf8Entry(descriptor);
+        pool.u1(TAG_NAME_AND_TYPE);
+        pool.u2(nameIndex);
+        pool.u2(descriptorIndex);
+        int nameAndType = register("N" + name + descriptor, 1);
+        pool.u1(tag);
+        pool.u2(ownerClass);
+        pool.u2(nameAndType);
+        return register(key, 1);
+    }
+
+    private int register(String key, int slots) {
+        int index = poolCount;
+        poolCount += slots;
+        if (poolCount > 0xFFFF) {
+            throw new IllegalArgumentException("Filter expression is too long to compile");
+        }
+        poolIndex.put(key, index);
+        return index;
+    }
+
+    /**
+     * Encodes a string in the class file's modified UTF-8.
+     */
+    private static byte[] modifiedUtf8(String value) {
+        Bytes out = new Bytes();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != 0 && c < 0x80) {
+                out.u1(c);
+            } else if (c < 0x800) {
+                out.u1(0xC0 | c >> 6);
+                out.u1(0x80 | c & 0x3F);
+            } else {
+                out.u1(0xE0 | c >> 12);
+                out.u1(0x80 | c >> 6 & 0x3F);
+                out.u1(0x80 | c & 0x3F);
+            }
+        }
+        if (out.size() > 0xFFFF) {
+            throw new IllegalArgumentException("Filter expression is too long to compile");
+        }
+        return out.toArray();
+    }
+
+    /**
+     * A jump target whose position is known only once placed; the jumps to it
+     * are patched afterwards.
+     */
+    private static final class Label {
+        private final List<Integer> references = new ArrayList<>();
+        private int position = -1;
+
+        void reference(int jumpAt) {
+            references.add(jumpAt);
+        }
+
+        void place(Bytes code) {
+            position = code.size();
+        }
+
+        void patchAll(Bytes code) {
+            for (int jumpAt : references) {
+                int offset = position - jumpAt;
+                if (offset > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Filter expression is too long to compile");
+                }
+                code.set(jumpAt + 1, offset >> 8);
+                code.set(jumpAt + 2, offset);
+            }
+        }
+    }
+
+    /**
+     * A growable big-endian byte buffer.
+     */
+    private static final class Bytes {
+        private byte[] data = new byte[64];
+        private int size;
+
+        void u1(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = (byte) value;
+        }
+
+        void u2(int value) {
+            u1(value >> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void bytes(byte[] values) {
+            for (byte value : values) {
+                u1(value);
+            }
+        }
+
+        void set(int index, int value) {
+            data[index] = (byte) value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
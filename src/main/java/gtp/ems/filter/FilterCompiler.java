@@ -0,0 +1,146 @@
+package gtp.ems.filter;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compiles filter expressions such as
+ * {@code salary > 90000 and department = 'IT' and active} into predicates.
+ * <p>
+ * Each expression becomes a hidden class of its own, defined with
+ * {@link MethodHandles.Lookup#defineHiddenClass}, whose {@code test} method
+ * calls the employee's getters directly and compares against the literals as
+ * constants. The JIT compiles and inlines it like hand-written code, without
+ * the tree walk, boxing and operator dispatch of interpreting the expression
+ * for every employee. Hidden classes are unloaded once no predicate of theirs
+ * is reachable.
+ * </p>
+ * <p>
+ * Compiled predicates are cached by expression text, so a filter that is
+ * applied again costs a map lookup. The grammar is described in
+ * {@code FilterParser}: comparisons with {@code =}, {@code !=}, {@code <},
+ * {@code <=}, {@code >}, {@code >=} and {@code contains}, combined with
+ * {@code and}, {@code or}, {@code not} and parentheses. Text comparisons
+ * ignore case.
+ * </p>
+ */
+public final class FilterCompiler implements MemoryAccountable {
+    private static final int DEFAULT_CACHE_SIZE = 256;
+    private static final String CLASS_NAME = "gtp/ems/filter/CompiledFilter";
+    private static final MethodType CONSTRUCTOR = MethodType.methodType(void.class);
+
+    private final Map<String, Predicate<?>> cache;
+
+    /**
+     * Creates a compiler caching up to 256 predicates.
+     */
+    public FilterCompiler() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a compiler caching up to {@code cacheSize} predicates, evicting
+     * the least recently used first.
+     *
+     * @param cacheSize the number of predicates to keep
+     */
+    public FilterCompiler(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Negative cache size: " + cacheSize);
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Predicate<?>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled predicate for an expression, compiling it on first use.
+     *
+     * @param expression the filter expression
+     * @param <T> the type of employee ID
+     * @return a predicate evaluating the expression
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Predicate<Employee<T>> compile(String expression) {
+        Predicate<?> predicate;
+        synchronized (cache) {
+            predicate = cache.get(expression);
+        }
+        if (predicate == null) {
+            // Compiled outside the lock; a concurrent compile of the same text keeps the first result
+            Predicate<?> compiled = define(FilterParser.parse(expression), expression);
+            synchronized (cache) {
+                predicate = cache.putIfAbsent(expression, compiled);
+            }
+            if (predicate == null) {
+                predicate = compiled;
+            }
+        }
+        return (Predicate<Employee<T>>) predicate;
+    }
+
+    /**
+     * Returns a predicate that evaluates an expression by walking its syntax
+     * tree for every employee. It gives the same results as {@link #compile}
+     * and serves as a reference for it.
+     *
+     * @param expression the filter expression
+     * @param <T> the type of employee ID
+     * @return a predicate evaluating the expression
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public <T> Predicate<Employee<T>> interpret(String expression) {
+        FilterNode root = FilterParser.parse(expression);
+        return root::test;
+    }
+
+    /**
+     * Returns the number of compiled predicates currently cached.
+     *
+     * @return the cache size
+     */
+    public int getCachedCount() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Adds the cache's entries, expression texts and predicate instances to a
+     * footprint, as {@code filterCache}. The hidden classes themselves live
+     * outside the heap.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        long bytes;
+        synchronized (cache) {
+            bytes = MemoryLayout.linkedHashMapSize(cache.size()) + cache.size() * MemoryLayout.objectSize(0, 0);
+            for (String expression : cache.keySet()) {
+                bytes += MemoryLayout.stringSize(expression);
+            }
+        }
+        footprint.add("filterCache", bytes);
+    }
+
+    private static Predicate<?> define(FilterNode root, String expression) {
+        byte[] classFile = FilterClassWriter.write(CLASS_NAME, root, expression);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(classFile, true);
+            return (Predicate<?>) lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not define the class for filter: " + expression, e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package gtp.ems.filter;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+import java.util.Locale;
+
+/**
+ * The syntax tree of a filter expression. Each node can also evaluate itself
+ * on an employee, which is how {@link FilterCompiler#interpret(String)} runs
+ * an expression without compiling it.
+ */
+sealed interface FilterNode {
+
+    /**
+     * Evaluates this node on an employee by walking the tree.
+     */
+    boolean test(Employee<?> employee);
+
+    /**
+     * Both operands hold.
+     */
+    record And(FilterNode left, FilterNode right) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            return left.test(employee) && right.test(employee);
+        }
+    }
+
+    /**
+     * Either operand holds.
+     */
+    record Or(FilterNode left, FilterNode right) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            return left.test(employee) || right.test(employee);
+        }
+    }
+
+    /**
+     * The operand does not hold.
+     */
+    record Not(FilterNode operand) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            return !operand.test(employee);
+        }
+    }
+
+    /**
+     * A boolean field is true.
+     */
+    record Flag(EmployeeField field) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            return (Boolean) field.get(employee);
+        }
+    }
+
+    /**
+     * A numeric field compared with a number, with the semantics of Java's
+     * double comparisons: every comparison with NaN is false except {@code !=}.
+     */
+    record NumberComparison(EmployeeField field, Operator operator, double value) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            double actual = ((Number) field.get(employee)).doubleValue();
+            return switch (operator) {
+                case EQ -> actual == value;
+                case NE -> actual != value;
+                case LT -> actual < value;
+                case LE -> actual <= value;
+                case GT -> actual > value;
+                case GE -> actual >= value;
+                case CONTAINS -> throw new IllegalStateException("contains on " + field);
+            };
+        }
+    }
+
+    /**
+     * A text field compared with a string, ignoring case.
+     */
+    record TextComparison(EmployeeField field, Operator operator, String value) implements FilterNode {
+        @Override
+        public boolean test(Employee<?> employee) {
+            String actual = (String) field.get(employee);
+            return switch (operator) {
+                case EQ -> value.equalsIgnoreCase(actual);
+                case NE -> !value.equalsIgnoreCase(actual);
+                case CONTAINS -> actual != null
+                        && actual.toLowerCase(Locale.ROOT).contains(value.toLowerCase(Locale.ROOT));
+                default -> throw new IllegalStateException(operator + " on " + field);
+            };
+        }
+    }
+
+    /**
+     * The comparison operators of the filter language.
+     */
+    enum Operator {
+        EQ, NE, LT, LE, GT, GE, CONTAINS
+    }
+}
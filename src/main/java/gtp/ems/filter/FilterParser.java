@@ -0,0 +1,283 @@
+package gtp.ems.filter;
+
+import gtp.ems.filter.FilterNode.Operator;
+import gtp.ems.model.EmployeeField;
+
+import java.util.Locale;
+
+/**
+ * A recursive-descent parser for filter expressions.
+ * <pre>
+ * expression := term ( ("or" | "||") term )*
+ * term       := factor ( ("and" | "&amp;&amp;") factor )*
+ * factor     := ("not" | "!") factor | "(" expression ")" | field [ operator literal ]
+ * operator   := "=" | "==" | "!=" | "&lt;&gt;" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" | "contains"
+ * literal    := number | 'text' | "text" | true | false
+ * </pre>
+ * Keywords and field names are case-insensitive. A field on its own must be
+ * boolean ({@code active}); besides the names accepted by
+ * {@link EmployeeField#fromName(String)}, {@code rating}, {@code experience}
+ * and {@code years} are accepted.
+ * <p>
+ * Since the syntax tree is evaluated and compiled recursively, expressions
+ * nested more than {@value #MAX_NESTING} levels deep in parentheses and
+ * negations, or with more than {@value #MAX_CONDITIONS} conditions, are
+ * rejected.
+ * </p>
+ */
+final class FilterParser {
+    /**
+     * The deepest nesting of parentheses and negations accepted.
+     */
+    static final int MAX_NESTING = 64;
+
+    /**
+     * The most conditions accepted in one expression.
+     */
+    static final int MAX_CONDITIONS = 1_000;
+
+    private final String source;
+    private int position;
+    private int nesting;
+    private int conditions;
+
+    private FilterParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parses an expression.
+     *
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    static FilterNode parse(String source) {
+        FilterParser parser = new FilterParser(source);
+        parser.skipWhitespace();
+        if (parser.atEnd()) {
+            throw new IllegalArgumentException("Empty filter expression");
+        }
+        FilterNode node = parser.expression();
+        if (!parser.atEnd()) {
+            throw parser.error("Unexpected '" + parser.source.charAt(parser.position) + "'");
+        }
+        return node;
+    }
+
+    private FilterNode expression() {
+        FilterNode node = term();
+        while (keyword("or") || symbol("||")) {
+            node = new FilterNode.Or(node, term());
+        }
+        return node;
+    }
+
+    private FilterNode term() {
+        FilterNode node = factor();
+        while (keyword("and") || symbol("&&")) {
+            node = new FilterNode.And(node, factor());
+        }
+        return node;
+    }
+
+    private FilterNode factor() {
+        int start = position;
+        if (keyword("not") || (!peek("!=") && symbol("!"))) {
+            enter(start);
+            FilterNode node = new FilterNode.Not(factor());
+            nesting--;
+            return node;
+        }
+        if (symbol("(")) {
+            enter(start);
+            FilterNode node = expression();
+            if (!symbol(")")) {
+                throw error("Expected ')'");
+            }
+            nesting--;
+            return node;
+        }
+        if (++conditions > MAX_CONDITIONS) {
+            throw error("More than " + MAX_CONDITIONS + " conditions");
+        }
+        int fieldStart = position;
+        EmployeeField field = field(identifier());
+        if (field == null) {
+            throw error("Unknown field '" + source.substring(fieldStart, position) + "'", fieldStart);
+        }
+        Operator operator = operator();
+        if (operator == null) {
+            if (field.getType() != Boolean.class) {
+                throw error("Expected a comparison after '" + field.getFieldName() + "'");
+            }
+            return new FilterNode.Flag(field);
+        }
+        return comparison(field, operator);
+    }
+
+    private void enter(int at) {
+        if (++nesting > MAX_NESTING) {
+            throw error("Nested more than " + MAX_NESTING + " levels deep", at);
+        }
+    }
+
+    private FilterNode comparison(EmployeeField field, Operator operator) {
+        int literalStart = position;
+        if (field.getType() == Boolean.class) {
+            boolean value;
+            if (keyword("true")) {
+                value = true;
+            } else if (keyword("false")) {
+                value = false;
+            } else {
+                throw error("Expected true or false");
+            }
+            if (operator != Operator.EQ && operator != Operator.NE) {
+                throw error("Only = and != apply to '" + field.getFieldName() + "'", literalStart);
+            }
+            FilterNode flag = new FilterNode.Flag(field);
+            return value == (operator == Operator.EQ) ? flag : new FilterNode.Not(flag);
+        }
+        if (field.getType() == String.class) {
+            if (operator != Operator.EQ && operator != Operator.NE && operator != Operator.CONTAINS) {
+                throw error("Only =, != and contains apply to '" + field.getFieldName() + "'", literalStart);
+            }
+            return new FilterNode.TextComparison(field, operator, string());
+        }
+        if (operator == Operator.CONTAINS) {
+            throw error("contains does not apply to '" + field.getFieldName() + "'", literalStart);
+        }
+        return new FilterNode.NumberComparison(field, operator, number());
+    }
+
+    private Operator operator() {
+        if (symbol("==") || symbol("=")) {
+            return Operator.EQ;
+        }
+        if (symbol("!=") || symbol("<>")) {
+            return Operator.NE;
+        }
+        if (symbol("<=")) {
+            return Operator.LE;
+        }
+        if (symbol("<")) {
+            return Operator.LT;
+        }
+        if (symbol(">=")) {
+            return Operator.GE;
+        }
+        if (symbol(">")) {
+            return Operator.GT;
+        }
+        if (keyword("contains")) {
+            return Operator.CONTAINS;
+        }
+        return null;
+    }
+
+    private static EmployeeField field(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "rating" -> EmployeeField.PERFORMANCE_RATING;
+            case "experience", "years" -> EmployeeField.YEARS_OF_EXPERIENCE;
+            case "active" -> EmployeeField.ACTIVE;
+            default -> EmployeeField.fromName(name);
+        };
+    }
+
+    private String identifier() {
+        int start = position;
+        while (!atEnd() && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        if (start == position) {
+            throw error(atEnd() ? "Unexpected end of expression" : "Expected a field name");
+        }
+        String identifier = source.substring(start, position);
+        skipWhitespace();
+        return identifier;
+    }
+
+    private String string() {
+        if (atEnd() || (source.charAt(position) != '\'' && source.charAt(position) != '"')) {
+            throw error("Expected a quoted string");
+        }
+        char quote = source.charAt(position++);
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (atEnd()) {
+                throw error("Unterminated string");
+            }
+            char c = source.charAt(position++);
+            if (c == quote) {
+                // A doubled quote stands for the quote itself
+                if (atEnd() || source.charAt(position) != quote) {
+                    break;
+                }
+                position++;
+            }
+            value.append(c);
+        }
+        skipWhitespace();
+        return value.toString();
+    }
+
+    private double number() {
+        int start = position;
+        if (!atEnd() && (source.charAt(position) == '-' || source.charAt(position) == '+')) {
+            position++;
+        }
+        while (!atEnd() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.'
+                || source.charAt(position) == '_')) {
+            position++;
+        }
+        String text = source.substring(start, position).replace("_", "");
+        try {
+            double value = Double.parseDouble(text);
+            skipWhitespace();
+            return value;
+        } catch (NumberFormatException e) {
+            throw error("Expected a number", start);
+        }
+    }
+
+    private boolean keyword(String keyword) {
+        int end = position + keyword.length();
+        if (!source.regionMatches(true, position, keyword, 0, keyword.length())
+                || end < source.length() && (Character.isLetterOrDigit(source.charAt(end)) || source.charAt(end) == '_')) {
+            return false;
+        }
+        position = end;
+        skipWhitespace();
+        return true;
+    }
+
+    private boolean symbol(String symbol) {
+        if (!peek(symbol)) {
+            return false;
+        }
+        position += symbol.length();
+        skipWhitespace();
+        return true;
+    }
+
+    private boolean peek(String symbol) {
+        return source.startsWith(symbol, position);
+    }
+
+    private void skipWhitespace() {
+        while (!atEnd() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private boolean atEnd() {
+        return position >= source.length();
+    }
+
+    private IllegalArgumentException error(String message) {
+        return error(message, position);
+    }
+
+    private IllegalArgumentException error(String message, int at) {
+        return new IllegalArgumentException(message + " at position " + (at + 1) + " in filter: " + source);
+    }
+}
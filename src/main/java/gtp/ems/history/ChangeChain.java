@@ -0,0 +1,342 @@
+package gtp.ems.history;
+
+import gtp.ems.model.EmployeeField;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The time-ordered changes of one employee, encoded into a growable byte array.
+ * <p>
+ * Each record starts with a tag byte and the number of milliseconds since the
+ * previous record as a varint. A {@link #FULL} record holds every field and is
+ * written when the employee is added and again after every
+ * {@link EmployeeHistory#CHECKPOINT_INTERVAL} updates; an {@link #UPDATE}
+ * record holds one field, with the field's ordinal in the low bits of the tag.
+ * Doubles are stored as the XOR with the field's previous value with zero
+ * bytes at either end dropped, integers as a zigzag varint of the difference,
+ * and strings as varint indexes into the history's {@link StringTable}.
+ * </p>
+ * <p>
+ * The time and offset of every full record are kept in an index, so a reader
+ * finds the last full record before the requested time by binary search and
+ * decodes at most a checkpoint interval of updates after it.
+ * </p>
+ * <p>
+ * This class is not thread-safe; {@link EmployeeHistory} guards it.
+ * </p>
+ */
+final class ChangeChain {
+    static final int UPDATE = 0x00;
+    static final int FULL = 0x40;
+    static final int REMOVE = 0x80;
+    private static final int KIND_MASK = 0xC0;
+
+    private static final EmployeeField[] FIELDS = EmployeeField.values();
+    // Object header and fields of a chain, and the header of each of its arrays
+    private static final int CHAIN_OVERHEAD = 48;
+    private static final int ARRAY_OVERHEAD = 16;
+
+    private byte[] bytes = new byte[32];
+    private int length;
+    private long lastTimestamp;
+    private int updatesSinceCheckpoint;
+    private long[] checkpointTimes = new long[1];
+    private int[] checkpointOffsets = new int[1];
+    private int checkpointCount;
+    private int recordCount;
+
+    /**
+     * Appends the full state of an employee and indexes it as a checkpoint.
+     */
+    void appendFull(long timestamp, State state, StringTable strings) {
+        if (checkpointCount == checkpointTimes.length) {
+            checkpointTimes = Arrays.copyOf(checkpointTimes, checkpointCount * 2 + 1);
+            checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpointCount * 2 + 1);
+        }
+        timestamp = Math.max(timestamp, lastTimestamp);
+        checkpointTimes[checkpointCount] = timestamp;
+        checkpointOffsets[checkpointCount] = length;
+        checkpointCount++;
+        writeHeader(FULL, timestamp);
+        writeVarint(strings.indexOf(state.name));
+        writeVarint(strings.indexOf(state.department));
+        writeDouble(state.salary, 0.0);
+        writeDouble(state.performanceRating, 0.0);
+        writeVarint(zigzag(state.yearsOfExperience));
+        writeByte(state.active ? 1 : 0);
+        updatesSinceCheckpoint = 0;
+    }
+
+    /**
+     * Appends a change of one field, delta-encoded against its old value.
+     *
+     * @return true if a checkpoint is due
+     */
+    boolean appendUpdate(long timestamp, EmployeeField field, Object oldValue, Object newValue, StringTable strings) {
+        writeHeader(UPDATE | field.ordinal(), Math.max(timestamp, lastTimestamp));
+        switch (field) {
+            case NAME, DEPARTMENT -> writeVarint(strings.indexOf((String) newValue));
+            case SALARY, PERFORMANCE_RATING -> writeDouble((Double) newValue, (Double) oldValue);
+            case YEARS_OF_EXPERIENCE -> writeVarint(zigzag((Integer) newValue - (Integer) oldValue));
+            case ACTIVE -> writeByte((Boolean) newValue ? 1 : 0);
+        }
+        return ++updatesSinceCheckpoint >= EmployeeHistory.CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Appends the removal of the employee.
+     */
+    void appendRemove(long timestamp) {
+        writeHeader(REMOVE, Math.max(timestamp, lastTimestamp));
+    }
+
+    /**
+     * Reconstructs the employee's fields as of a time.
+     *
+     * @return the state, or null if the employee did not exist at that time
+     */
+    State stateAt(long timestamp, StringTable strings) {
+        int checkpoint = lastCheckpointAtOrBefore(timestamp);
+        if (checkpoint < 0) {
+            return null;
+        }
+        Reader reader = new Reader(checkpoint);
+        State state = new State();
+        boolean present = false;
+        while (reader.hasNext() && reader.peekTime() <= timestamp) {
+            present = reader.next(state, strings);
+        }
+        return present ? state : null;
+    }
+
+    /**
+     * Decodes every value a field has held, oldest first, including the value
+     * it had whenever the employee was added.
+     */
+    void fieldHistory(EmployeeField field, StringTable strings, List<FieldChange> changes) {
+        Reader reader = new Reader(0);
+        State state = new State();
+        while (reader.hasNext()) {
+            int tag = bytes[reader.position] & 0xFF;
+            boolean wasPresent = reader.present;
+            reader.next(state, strings);
+            boolean added = (tag & KIND_MASK) == FULL && !wasPresent;
+            if (added || tag == (UPDATE | field.ordinal())) {
+                changes.add(new FieldChange(reader.time, field, state.get(field)));
+            }
+        }
+    }
+
+    /**
+     * @return the number of records in the chain, checkpoints included
+     */
+    int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return the approximate number of bytes the chain occupies
+     */
+    long sizeInBytes() {
+        return CHAIN_OVERHEAD + 3 * ARRAY_OVERHEAD + bytes.length
+                + checkpointTimes.length * 8L + checkpointOffsets.length * 4L;
+    }
+
+    /**
+     * Trims the buffers to their used length.
+     */
+    void trim() {
+        bytes = Arrays.copyOf(bytes, length);
+        checkpointTimes = Arrays.copyOf(checkpointTimes, checkpointCount);
+        checkpointOffsets = Arrays.copyOf(checkpointOffsets, checkpointCount);
+    }
+
+    private int lastCheckpointAtOrBefore(long timestamp) {
+        int low = 0;
+        int high = checkpointCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (checkpointTimes[mid] <= timestamp) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private void writeHeader(int tag, long timestamp) {
+        writeByte(tag);
+        writeVarint(timestamp - lastTimestamp);
+        lastTimestamp = timestamp;
+        recordCount++;
+    }
+
+    /**
+     * Writes the XOR of a double with the previous value as a byte holding the
+     * number of leading and trailing zero bytes, followed by the bytes between;
+     * an unchanged value is a single zero byte.
+     * Nearby round values, such as salaries, share their leading and trailing
+     * bytes and take two to four bytes.
+     */
+    private void writeDouble(double value, double previous) {
+        long xor = Double.doubleToRawLongBits(value) ^ Double.doubleToRawLongBits(previous);
+        if (xor == 0) {
+            writeByte(0);
+            return;
+        }
+        int leading = Long.numberOfLeadingZeros(xor) / 8;
+        int trailing = Long.numberOfTrailingZeros(xor) / 8;
+        writeByte(0x80 | leading << 4 | trailing);
+        for (int shift = 56 - leading * 8; shift >= trailing * 8; shift -= 8) {
+            writeByte((int) (xor >>> shift));
+        }
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, length + (length >> 1) + 16);
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes records forward from a full record.
+     */
+    private final class Reader {
+        int position;
+        long time;
+        boolean present;
+        private boolean first = true;
+
+        /**
+         * Starts at a full record, whose time is taken from the index.
+         */
+        Reader(int checkpoint) {
+            this.position = checkpointOffsets[checkpoint];
+            this.time = checkpointTimes[checkpoint];
+        }
+
+        boolean hasNext() {
+            return position < length;
+        }
+
+        long peekTime() {
+            if (first) {
+                return time;
+            }
+            int saved = position + 1;
+            long delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = bytes[saved++];
+                delta |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return time + delta;
+                }
+            }
+        }
+
+        /**
+         * Applies the next record to the state.
+         *
+         * @return true if the employee exists after the record
+         */
+        boolean next(State state, StringTable strings) {
+            int tag = bytes[position++] & 0xFF;
+            long delta = readVarint();
+            if (!first) {
+                time += delta;
+            }
+            first = false;
+            switch (tag & KIND_MASK) {
+                case FULL -> {
+                    state.name = strings.get((int) readVarint());
+                    state.department = strings.get((int) readVarint());
+                    state.salary = readDouble(0.0);
+                    state.performanceRating = readDouble(0.0);
+                    state.yearsOfExperience = (int) unzigzag(readVarint());
+                    state.active = bytes[position++] != 0;
+                    present = true;
+                }
+                case REMOVE -> present = false;
+                default -> {
+                    switch (FIELDS[tag & ~KIND_MASK]) {
+                        case NAME -> state.name = strings.get((int) readVarint());
+                        case DEPARTMENT -> state.department = strings.get((int) readVarint());
+                        case SALARY -> state.salary = readDouble(state.salary);
+                        case PERFORMANCE_RATING -> state.performanceRating = readDouble(state.performanceRating);
+                        case YEARS_OF_EXPERIENCE -> state.yearsOfExperience += (int) unzigzag(readVarint());
+                        case ACTIVE -> state.active = bytes[position++] != 0;
+                    }
+                }
+            }
+            return present;
+        }
+
+        private long readVarint() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        private double readDouble(double previous) {
+            int header = bytes[position++] & 0xFF;
+            long xor = 0;
+            if (header != 0) {
+                int leading = (header >>> 4) & 0x07;
+                int trailing = header & 0x0F;
+                for (int shift = 56 - leading * 8; shift >= trailing * 8; shift -= 8) {
+                    xor |= (long) (bytes[position++] & 0xFF) << shift;
+                }
+            }
+            return Double.longBitsToDouble(Double.doubleToRawLongBits(previous) ^ xor);
+        }
+    }
+
+    /**
+     * The mutable fields of one employee.
+     */
+    static final class State {
+        String name;
+        String department;
+        double salary;
+        double performanceRating;
+        int yearsOfExperience;
+        boolean active;
+
+        Object get(EmployeeField field) {
+            return switch (field) {
+                case NAME -> name;
+                case DEPARTMENT -> department;
+                case SALARY -> salary;
+                case PERFORMANCE_RATING -> performanceRating;
+                case YEARS_OF_EXPERIENCE -> yearsOfExperience;
+                case ACTIVE -> active;
+            };
+        }
+    }
+}
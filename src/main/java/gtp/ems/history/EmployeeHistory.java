@@ -0,0 +1,303 @@
+package gtp.ems.history;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An append-only history of every change made to a store, for questions such
+ * as "what was this employee's salary on 1 March" or "what was the payroll at
+ * the end of last quarter".
+ * <p>
+ * Every addition, removal and field update, including the salary changes of
+ * {@link EmployeeManagementSystem#givePerformanceRaise(double, double)}, is
+ * stamped with the clock's time and appended to the employee's own change
+ * chain. Chains are delta-encoded byte arrays: times are stored as the gap to
+ * the previous change, and each update holds only the changed field, encoded
+ * against its previous value, so a salary change typically takes well under
+ * ten bytes. After every {@value #CHECKPOINT_INTERVAL} updates a chain stores the
+ * employee's full state again, so reconstructing an employee at any time
+ * decodes at most that many updates, and reconstructing the whole store
+ * decodes each chain once.
+ * </p>
+ * <p>
+ * The history starts when it is constructed, with the store's contents at that
+ * time, and sees only changes made through the store. Changes stamped earlier
+ * than the previous change of the same employee, e.g. after the clock was set
+ * back, are recorded at the time of that previous change.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class EmployeeHistory<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    /**
+     * The number of updates between two full records of an employee.
+     */
+    public static final int CHECKPOINT_INTERVAL = 32;
+
+    private final EmployeeManagementSystem<T> ems;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<T, ChangeChain> chains = new HashMap<>();
+    private final StringTable strings = new StringTable();
+
+    /**
+     * Starts recording the history of a store, stamping changes with the system clock.
+     *
+     * @param ems the store to follow
+     */
+    public EmployeeHistory(EmployeeManagementSystem<T> ems) {
+        this(ems, Clock.systemUTC());
+    }
+
+    /**
+     * Starts recording the history of a store.
+     *
+     * @param ems the store to follow
+     * @param clock the clock that stamps each change
+     */
+    public EmployeeHistory(EmployeeManagementSystem<T> ems, Clock clock) {
+        this.ems = ems;
+        this.clock = clock;
+        ems.atomically(() -> {
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                employeeAdded(employee);
+            }
+            ems.addChangeListener(this);
+            return null;
+        });
+    }
+
+    /**
+     * Reconstructs an employee as they were at a point in time.
+     *
+     * @param employeeId the ID of the employee
+     * @param time the point in time
+     * @return a copy of the employee as of that time, or an empty Optional if
+     *         the employee did not exist then
+     */
+    public Optional<Employee<T>> getEmployeeAsOf(T employeeId, Instant time) {
+        long millis = time.toEpochMilli();
+        lock.readLock().lock();
+        try {
+            ChangeChain chain = chains.get(employeeId);
+            ChangeChain.State state = chain == null ? null : chain.stateAt(millis, strings);
+            return Optional.ofNullable(state == null ? null : toEmployee(employeeId, state));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstructs every employee who existed at a point in time.
+     *
+     * @param time the point in time
+     * @return copies of the employees as of that time, in no particular order
+     */
+    public List<Employee<T>> getEmployeesAsOf(Instant time) {
+        long millis = time.toEpochMilli();
+        List<Employee<T>> employees = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<T, ChangeChain> entry : chains.entrySet()) {
+                ChangeChain.State state = entry.getValue().stateAt(millis, strings);
+                if (state != null) {
+                    employees.add(toEmployee(entry.getKey(), state));
+                }
+            }
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calculates the sum of the salaries of every employee who existed at a point in time.
+     *
+     * @param time the point in time
+     * @return the payroll as of that time, or 0.0 if there were no employees
+     */
+    public double getPayrollAsOf(Instant time) {
+        long millis = time.toEpochMilli();
+        double payroll = 0.0;
+        lock.readLock().lock();
+        try {
+            for (ChangeChain chain : chains.values()) {
+                ChangeChain.State state = chain.stateAt(millis, strings);
+                if (state != null) {
+                    payroll += state.salary;
+                }
+            }
+            return payroll;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the values one field of an employee has taken, oldest first: its
+     * value whenever the employee was added and every update after that.
+     *
+     * @param employeeId the ID of the employee
+     * @param field the field, e.g. {@link EmployeeField#SALARY} or {@link EmployeeField#DEPARTMENT}
+     * @return the field's values over time, or an empty list if the employee has no history
+     */
+    public List<FieldChange> getFieldHistory(T employeeId, EmployeeField field) {
+        List<FieldChange> changes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            ChangeChain chain = chains.get(employeeId);
+            if (chain != null) {
+                chain.fieldHistory(field, strings, changes);
+            }
+            return changes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of records in the history, checkpoints included
+     */
+    public long getRecordCount() {
+        lock.readLock().lock();
+        try {
+            long count = 0;
+            for (ChangeChain chain : chains.values()) {
+                count += chain.recordCount();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the memory taken by the change chains, excluding the map that
+     * holds them and the shared table of names and departments.
+     *
+     * @return the approximate size in bytes
+     */
+    public long getSizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long size = 0;
+            for (ChangeChain chain : chains.values()) {
+                size += chain.sizeInBytes();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the change chains, the map that holds them and the string table to
+     * a footprint, as {@code history}. Names and departments are counted by
+     * the store, including those the history keeps after they were changed.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        lock.readLock().lock();
+        try {
+            long bytes = MemoryLayout.hashMapSize(chains.size()) + strings.sizeInBytes();
+            for (ChangeChain chain : chains.values()) {
+                bytes += chain.sizeInBytes();
+            }
+            footprint.add("history", bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the spare capacity of every change chain, e.g. after a bulk
+     * load. Chains grow again as changes arrive.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            chains.values().forEach(ChangeChain::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops recording the store's changes. The recorded history stays readable.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        long now = clock.millis();
+        lock.writeLock().lock();
+        try {
+            chains.computeIfAbsent(employee.getEmployeeId(), id -> new ChangeChain())
+                    .appendFull(now, toState(employee), strings);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        long now = clock.millis();
+        lock.writeLock().lock();
+        try {
+            ChangeChain chain = chains.get(employee.getEmployeeId());
+            if (chain != null) {
+                chain.appendRemove(now);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        long now = clock.millis();
+        lock.writeLock().lock();
+        try {
+            ChangeChain chain = chains.get(employee.getEmployeeId());
+            if (chain != null && chain.appendUpdate(now, field, oldValue, newValue, strings)) {
+                chain.appendFull(now, toState(employee), strings);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static ChangeChain.State toState(Employee<?> employee) {
+        ChangeChain.State state = new ChangeChain.State();
+        state.name = employee.getName();
+        state.department = employee.getDepartment();
+        state.salary = employee.getSalary();
+        state.performanceRating = employee.getPerformanceRating();
+        state.yearsOfExperience = employee.getYearsOfExperience();
+        state.active = employee.isActive();
+        return state;
+    }
+
+    private Employee<T> toEmployee(T employeeId, ChangeChain.State state) {
+        return new Employee<>(employeeId, state.name, state.department, state.salary,
+                state.performanceRating, state.yearsOfExperience, state.active);
+    }
+}
@@ -0,0 +1,47 @@
+package gtp.ems.history;
+
+import gtp.ems.model.EmployeeField;
+
+import java.time.Instant;
+
+/**
+ * One value of an employee's field in its history: the value the field took
+ * at a point in time, either through an update or when the employee was added.
+ */
+public final class FieldChange {
+    private final long timestampMillis;
+    private final EmployeeField field;
+    private final Object value;
+
+    FieldChange(long timestampMillis, EmployeeField field, Object value) {
+        this.timestampMillis = timestampMillis;
+        this.field = field;
+        this.value = value;
+    }
+
+    /**
+     * @return when the field took this value
+     */
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    /**
+     * @return the field
+     */
+    public EmployeeField getField() {
+        return field;
+    }
+
+    /**
+     * @return the value, boxed as described by {@link EmployeeField#getType()}
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return getTimestamp() + " " + field.getFieldName() + "=" + value;
+    }
+}
@@ -0,0 +1,62 @@
+package gtp.ems.history;
+
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each distinct name and department a small index, so that change
+ * chains store a varint instead of the string. Index 0 stands for null.
+ * <p>
+ * This class is not thread-safe; {@link EmployeeHistory} guards it.
+ * </p>
+ */
+final class StringTable {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    StringTable() {
+        strings.add(null);
+    }
+
+    /**
+     * Returns the index of a string, adding it if it is new.
+     */
+    int indexOf(String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer index = indexes.get(value);
+        if (index == null) {
+            index = strings.size();
+            indexes.put(value, index);
+            strings.add(value);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the string with an index.
+     */
+    String get(int index) {
+        return strings.get(index);
+    }
+
+    /**
+     * @return the approximate number of bytes of the table, excluding the strings
+     */
+    long sizeInBytes() {
+        return MemoryLayout.hashMapSize(indexes.size()) + indexes.size() * MemoryLayout.valueSize(0)
+                + MemoryLayout.arrayListSize(strings.size());
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    int size() {
+        return strings.size() - 1;
+    }
+}
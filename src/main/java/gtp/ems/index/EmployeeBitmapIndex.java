@@ -0,0 +1,433 @@
+package gtp.ems.index;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bitmap indexes over the low-cardinality attributes of the employees in a
+ * store: the active flag, the department, and the performance rating and
+ * years of experience in buckets of {@value #RATING_BUCKET_WIDTH} and
+ * {@value #EXPERIENCE_BUCKET_WIDTH}. The index follows the store's changes.
+ * <p>
+ * Every employee gets a dense row number, reused after it is removed, and
+ * each attribute value maps to the {@link RoaringBitmap} of the rows having
+ * it. A combined filter such as "active IT staff with a rating of at least
+ * 4.5" is then an intersection of three bitmaps, and its count is the
+ * cardinality of the result, without reading any employee. Ranges that do not
+ * start or end on a bucket boundary read the employees of the boundary
+ * buckets only.
+ * </p>
+ * <p>
+ * Row sets are only meaningful until the next change, since rows are reused;
+ * {@link #count(Function)} and {@link #select(Function)} evaluate a filter and
+ * use its result while no change can be applied.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class EmployeeBitmapIndex<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    /**
+     * The width of the performance rating buckets.
+     */
+    public static final double RATING_BUCKET_WIDTH = 0.5;
+
+    /**
+     * The width, in years, of the experience buckets.
+     */
+    public static final int EXPERIENCE_BUCKET_WIDTH = 5;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final EmployeeManagementSystem<T> ems;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<T, Integer> rows = new HashMap<>();
+    private final RoaringBitmap all = new RoaringBitmap();
+    private final RoaringBitmap active = new RoaringBitmap();
+    private final Map<String, Integer> departmentCodes = new HashMap<>();
+    private final List<RoaringBitmap> departments = new ArrayList<>();
+    private final NavigableMap<Integer, RoaringBitmap> ratings = new TreeMap<>();
+    private final NavigableMap<Integer, RoaringBitmap> experience = new TreeMap<>();
+    private Employee<?>[] employees = new Employee<?>[INITIAL_CAPACITY];
+    private int[] departmentOf = new int[INITIAL_CAPACITY];
+    private int[] ratingBucketOf = new int[INITIAL_CAPACITY];
+    private int[] experienceBucketOf = new int[INITIAL_CAPACITY];
+    private int[] freeRows = new int[16];
+    private int freeCount;
+    private int rowLimit;
+
+    /**
+     * Indexes the current contents of a store and starts following its changes.
+     *
+     * @param ems the store to index
+     */
+    public EmployeeBitmapIndex(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+        ems.atomically(() -> {
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                employeeAdded(employee);
+            }
+            ems.addChangeListener(this);
+            return null;
+        });
+    }
+
+    /**
+     * @return the rows of every employee
+     */
+    public RoaringBitmap all() {
+        return read(all::copy);
+    }
+
+    /**
+     * @return the rows of the active employees
+     */
+    public RoaringBitmap active() {
+        return read(active::copy);
+    }
+
+    /**
+     * @return the rows of the inactive employees
+     */
+    public RoaringBitmap inactive() {
+        return read(() -> all.andNot(active));
+    }
+
+    /**
+     * @param department a department name, in any case, or null for the employees without one
+     * @return the rows of the employees in the department
+     */
+    public RoaringBitmap department(String department) {
+        return read(() -> {
+            Integer code = departmentCodes.get(departmentKey(department));
+            return code == null ? new RoaringBitmap() : departments.get(code).copy();
+        });
+    }
+
+    /**
+     * @param minRating the minimum rating (inclusive)
+     * @return the rows of the employees rated at least {@code minRating}
+     */
+    public RoaringBitmap ratingAtLeast(double minRating) {
+        return ratingBetween(minRating, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param minRating the minimum rating (inclusive)
+     * @param maxRating the maximum rating (inclusive)
+     * @return the rows of the employees rated within the range
+     */
+    public RoaringBitmap ratingBetween(double minRating, double maxRating) {
+        return read(() -> range(ratings, RATING_BUCKET_WIDTH, minRating, maxRating,
+                Employee::getPerformanceRating));
+    }
+
+    /**
+     * @param minYears the minimum years of experience (inclusive)
+     * @return the rows of the employees with at least that experience
+     */
+    public RoaringBitmap experienceAtLeast(int minYears) {
+        return experienceBetween(minYears, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param minYears the minimum years of experience (inclusive)
+     * @param maxYears the maximum years of experience (inclusive)
+     * @return the rows of the employees whose experience is within the range
+     */
+    public RoaringBitmap experienceBetween(int minYears, int maxYears) {
+        return read(() -> range(experience, EXPERIENCE_BUCKET_WIDTH, minYears,
+                maxYears == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : maxYears,
+                Employee::getYearsOfExperience));
+    }
+
+    /**
+     * Counts the employees selected by a filter built from this index's
+     * bitmaps, for example
+     * {@code index.count(i -> RoaringBitmap.and(i.active(), i.department("IT")))}.
+     *
+     * @param filter combines bitmaps of this index into the selected rows
+     * @return the number of selected employees
+     */
+    public int count(Function<EmployeeBitmapIndex<T>, RoaringBitmap> filter) {
+        return read(() -> filter.apply(this).getCardinality());
+    }
+
+    /**
+     * Returns the employees selected by a filter built from this index's bitmaps.
+     *
+     * @param filter combines bitmaps of this index into the selected rows
+     * @return the selected employees, in row order
+     */
+    @SuppressWarnings("unchecked")
+    public List<Employee<T>> select(Function<EmployeeBitmapIndex<T>, RoaringBitmap> filter) {
+        return read(() -> {
+            RoaringBitmap selected = filter.apply(this);
+            List<Employee<T>> result = new ArrayList<>(selected.getCardinality());
+            selected.forEach(row -> {
+                if (row < rowLimit && employees[row] != null) {
+                    result.add((Employee<T>) employees[row]);
+                }
+            });
+            return result;
+        });
+    }
+
+    /**
+     * @return the approximate number of bytes taken by the bitmaps
+     */
+    public long getSizeInBytes() {
+        return read(() -> {
+            long bytes = all.getSizeInBytes() + active.getSizeInBytes();
+            for (RoaringBitmap bitmap : departments) {
+                bytes += bitmap.getSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : ratings.values()) {
+                bytes += bitmap.getSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : experience.values()) {
+                bytes += bitmap.getSizeInBytes();
+            }
+            return bytes;
+        });
+    }
+
+    /**
+     * Adds the bitmaps, the row map and the per-row arrays to a footprint, as
+     * {@code bitmapIndex}. The employees and IDs the rows refer to belong to the store.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        footprint.add("bitmapIndex", read(() -> {
+            long bytes = MemoryLayout.hashMapSize(rows.size()) + rows.size() * MemoryLayout.valueSize(0)
+                    + MemoryLayout.referenceArraySize(employees.length)
+                    + MemoryLayout.arraySize(departmentOf.length, 4)
+                    + MemoryLayout.arraySize(ratingBucketOf.length, 4)
+                    + MemoryLayout.arraySize(experienceBucketOf.length, 4)
+                    + MemoryLayout.arraySize(freeRows.length, 4)
+                    + all.getRetainedBytes() + active.getRetainedBytes()
+                    + MemoryLayout.hashMapSize(departmentCodes.size())
+                    + MemoryLayout.arrayListSize(departments.size())
+                    + MemoryLayout.treeMapSize(ratings.size()) + MemoryLayout.treeMapSize(experience.size());
+            for (String department : departmentCodes.keySet()) {
+                bytes += MemoryLayout.stringSize(department);
+            }
+            for (RoaringBitmap bitmap : departments) {
+                bytes += bitmap.getRetainedBytes();
+            }
+            for (RoaringBitmap bitmap : ratings.values()) {
+                bytes += bitmap.getRetainedBytes();
+            }
+            for (RoaringBitmap bitmap : experience.values()) {
+                bytes += bitmap.getRetainedBytes();
+            }
+            return bytes;
+        }));
+    }
+
+    /**
+     * Stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            if (rows.containsKey(employee.getEmployeeId())) {
+                return;
+            }
+            int row = freeCount > 0 ? freeRows[--freeCount] : newRow();
+            rows.put(employee.getEmployeeId(), row);
+            employees[row] = employee;
+            all.add(row);
+            if (employee.isActive()) {
+                active.add(row);
+            }
+            departmentOf[row] = departmentCode(employee.getDepartment());
+            departments.get(departmentOf[row]).add(row);
+            ratingBucketOf[row] = bucketOf(employee.getPerformanceRating(), RATING_BUCKET_WIDTH);
+            ratings.computeIfAbsent(ratingBucketOf[row], bucket -> new RoaringBitmap()).add(row);
+            experienceBucketOf[row] = bucketOf(employee.getYearsOfExperience(), EXPERIENCE_BUCKET_WIDTH);
+            experience.computeIfAbsent(experienceBucketOf[row], bucket -> new RoaringBitmap()).add(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.remove(employee.getEmployeeId());
+            if (row == null) {
+                return;
+            }
+            employees[row] = null;
+            all.remove(row);
+            active.remove(row);
+            departments.get(departmentOf[row]).remove(row);
+            removeFromBucket(ratings, ratingBucketOf[row], row);
+            removeFromBucket(experience, experienceBucketOf[row], row);
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(employee.getEmployeeId());
+            if (row == null) {
+                return;
+            }
+            switch (field) {
+                case ACTIVE -> {
+                    if (employee.isActive()) {
+                        active.add(row);
+                    } else {
+                        active.remove(row);
+                    }
+                }
+                case DEPARTMENT -> {
+                    departments.get(departmentOf[row]).remove(row);
+                    departmentOf[row] = departmentCode(employee.getDepartment());
+                    departments.get(departmentOf[row]).add(row);
+                }
+                case PERFORMANCE_RATING -> {
+                    int bucket = bucketOf(employee.getPerformanceRating(), RATING_BUCKET_WIDTH);
+                    if (bucket != ratingBucketOf[row]) {
+                        removeFromBucket(ratings, ratingBucketOf[row], row);
+                        ratingBucketOf[row] = bucket;
+                        ratings.computeIfAbsent(bucket, key -> new RoaringBitmap()).add(row);
+                    }
+                }
+                case YEARS_OF_EXPERIENCE -> {
+                    int bucket = bucketOf(employee.getYearsOfExperience(), EXPERIENCE_BUCKET_WIDTH);
+                    if (bucket != experienceBucketOf[row]) {
+                        removeFromBucket(experience, experienceBucketOf[row], row);
+                        experienceBucketOf[row] = bucket;
+                        experience.computeIfAbsent(bucket, key -> new RoaringBitmap()).add(row);
+                    }
+                }
+                default -> {
+                    // Not indexed
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the rows whose value is within a range: whole buckets inside the
+     * range by bitmap, and the boundary buckets by reading their employees.
+     */
+    @SuppressWarnings("unchecked")
+    private RoaringBitmap range(NavigableMap<Integer, RoaringBitmap> buckets, double width, double min, double max,
+                                ToDoubleFunction<Employee<T>> value) {
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+            return new RoaringBitmap();
+        }
+        int lowBucket = bucketOf(min, width);
+        int highBucket = bucketOf(max, width);
+        RoaringBitmap result = new RoaringBitmap();
+        for (Map.Entry<Integer, RoaringBitmap> entry : buckets.subMap(lowBucket, true, highBucket, true).entrySet()) {
+            int bucket = entry.getKey();
+            boolean partial = bucket == lowBucket && min > bucket * width
+                    || bucket == highBucket && max != Double.POSITIVE_INFINITY;
+            if (!partial) {
+                result = result.or(entry.getValue());
+                continue;
+            }
+            RoaringBitmap matches = new RoaringBitmap();
+            entry.getValue().forEach(row -> {
+                double v = value.applyAsDouble((Employee<T>) employees[row]);
+                if (v >= min && v <= max) {
+                    matches.add(row);
+                }
+            });
+            result = result.or(matches);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the bucket of a value; NaN has a bucket of its own that no range reaches.
+     */
+    private static int bucketOf(double value, double width) {
+        if (Double.isNaN(value)) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) Math.max(Math.floor(value / width), Integer.MIN_VALUE + 1);
+    }
+
+    private static void removeFromBucket(Map<Integer, RoaringBitmap> buckets, int bucket, int row) {
+        RoaringBitmap bitmap = buckets.get(bucket);
+        bitmap.remove(row);
+        if (bitmap.isEmpty()) {
+            buckets.remove(bucket);
+        }
+    }
+
+    private int departmentCode(String department) {
+        return departmentCodes.computeIfAbsent(departmentKey(department), name -> {
+            departments.add(new RoaringBitmap());
+            return departments.size() - 1;
+        });
+    }
+
+    /**
+     * Returns the key of a department in {@code departmentCodes}; employees
+     * without a department share the null key.
+     */
+    private static String departmentKey(String department) {
+        return department == null ? null : department.toLowerCase(Locale.ROOT);
+    }
+
+    private int newRow() {
+        if (rowLimit == employees.length) {
+            int capacity = rowLimit + (rowLimit >> 1);
+            employees = Arrays.copyOf(employees, capacity);
+            departmentOf = Arrays.copyOf(departmentOf, capacity);
+            ratingBucketOf = Arrays.copyOf(ratingBucketOf, capacity);
+            experienceBucketOf = Arrays.copyOf(experienceBucketOf, capacity);
+        }
+        return rowLimit++;
+    }
+
+    private <R> R read(Supplier<R> computation) {
+        lock.readLock().lock();
+        try {
+            return computation.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
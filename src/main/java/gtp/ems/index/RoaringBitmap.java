@@ -0,0 +1,642 @@
+package gtp.ems.index;
+
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A compressed set of non-negative ints in the style of Roaring bitmaps.
+ * <p>
+ * The 32-bit values are split by their high 16 bits into chunks of 65,536
+ * values. Each non-empty chunk is stored in a container chosen by its
+ * cardinality: a sorted {@code char} array while it holds at most
+ * {@value #ARRAY_MAX} values, otherwise a 65,536-bit bitmap. A sparse set thus
+ * takes two bytes per value and a dense one an eighth of a byte, and
+ * {@link #and}, {@link #or} and {@link #andNot} work chunk by chunk, a word at a
+ * time when both sides are bitmaps. Run-length containers are not used; row
+ * IDs of an index are reused, so sets are rarely long runs.
+ * </p>
+ * <p>
+ * Instances are not thread-safe. The set operations return new bitmaps and
+ * leave their operands unchanged.
+ * </p>
+ */
+public final class RoaringBitmap {
+    /**
+     * The maximum cardinality of an array container.
+     */
+    static final int ARRAY_MAX = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Constructs an empty bitmap.
+     */
+    public RoaringBitmap() {
+    }
+
+    /**
+     * Constructs a bitmap holding the given values.
+     *
+     * @param values the values to add
+     * @return the new bitmap
+     */
+    public static RoaringBitmap of(int... values) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value : values) {
+            bitmap.add(value);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value, at least 0
+     * @return true if the value was not already present
+     */
+    public boolean add(int value) {
+        checkValue(value);
+        char high = (char) (value >>> 16);
+        int index = indexOf(high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        if (container instanceof ArrayContainer array && array.cardinality == ARRAY_MAX
+                && !array.contains((char) value)) {
+            container = array.toBitmap();
+            containers[index] = container;
+        }
+        return container.add((char) value);
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value the value
+     * @return true if the value was present
+     */
+    public boolean remove(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = indexOf((char) (value >>> 16));
+        if (index < 0 || !containers[index].remove((char) value)) {
+            return false;
+        }
+        Container container = containers[index];
+        if (container.cardinality() == 0) {
+            delete(index);
+        } else if (container instanceof BitmapContainer bitmap && bitmap.cardinality <= ARRAY_MAX) {
+            containers[index] = bitmap.toArray();
+        }
+        return true;
+    }
+
+    /**
+     * @param value a value
+     * @return true if the bitmap holds the value
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = indexOf((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * @return the number of values in the bitmap
+     */
+    public int getCardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return true if the bitmap holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls an action for each value, in ascending order.
+     *
+     * @param action the action
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    /**
+     * @return the values in ascending order
+     */
+    public int[] toArray() {
+        int[] values = new int[getCardinality()];
+        int[] next = {0};
+        forEach(value -> values[next[0]++] = value);
+        return values;
+    }
+
+    /**
+     * @return the approximate number of bytes taken by the containers
+     */
+    public long getSizeInBytes() {
+        long bytes = size * 2L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i] instanceof ArrayContainer array ? array.cardinality * 2L : BITMAP_WORDS * 8L;
+        }
+        return bytes;
+    }
+
+    /**
+     * @return the estimated heap bytes retained by this bitmap, object headers included
+     */
+    public long getRetainedBytes() {
+        long bytes = MemoryLayout.objectSize(2, 4) + MemoryLayout.arraySize(keys.length, 2)
+                + MemoryLayout.referenceArraySize(containers.length);
+        for (int i = 0; i < size; i++) {
+            bytes += MemoryLayout.objectSize(1, 4) + (containers[i] instanceof ArrayContainer array
+                    ? MemoryLayout.arraySize(array.values.length, 2) : MemoryLayout.arraySize(BITMAP_WORDS, 8));
+        }
+        return bytes;
+    }
+
+    /**
+     * @return a copy of this bitmap
+     */
+    public RoaringBitmap copy() {
+        RoaringBitmap copy = new RoaringBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Intersects bitmaps.
+     *
+     * @param first the first bitmap
+     * @param others the other bitmaps
+     * @return a new bitmap of the values present in every bitmap
+     */
+    public static RoaringBitmap and(RoaringBitmap first, RoaringBitmap... others) {
+        RoaringBitmap result = first;
+        for (RoaringBitmap other : others) {
+            result = result.and(other);
+        }
+        return result == first ? first.copy() : result;
+    }
+
+    /**
+     * Unites bitmaps.
+     *
+     * @param first the first bitmap
+     * @param others the other bitmaps
+     * @return a new bitmap of the values present in any bitmap
+     */
+    public static RoaringBitmap or(RoaringBitmap first, RoaringBitmap... others) {
+        RoaringBitmap result = first;
+        for (RoaringBitmap other : others) {
+            result = result.or(other);
+        }
+        return result == first ? first.copy() : result;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap of the values present in both bitmaps
+     */
+    public RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.appendNonEmpty(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap of the values present in either bitmap
+     */
+    public RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                result.appendNonEmpty(keys[i], containers[i].copy());
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.appendNonEmpty(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.appendNonEmpty(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param other another bitmap
+     * @return a new bitmap of the values present in this bitmap but not in the other
+     */
+    public RoaringBitmap andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.appendNonEmpty(keys[i], andNot(containers[i], other.containers[j]));
+            } else {
+                result.appendNonEmpty(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringBitmap other) || size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || containers[i].cardinality() != other.containers[i].cardinality()
+                    || and(containers[i], other.containers[i]).cardinality() != containers[i].cardinality()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int[] hash = {1};
+        forEach(value -> hash[0] = 31 * hash[0] + value);
+        return hash[0];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach(value -> text.append(text.length() > 1 ? "," : "").append(value));
+        return text.append('}').toString();
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+    }
+
+    private int indexOf(char high) {
+        // Appends in ascending order are the common case
+        if (size > 0 && keys[size - 1] == high) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insert(int index, char high, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    private void delete(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        containers[--size] = null;
+    }
+
+    private void appendNonEmpty(char high, Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, high, container);
+        }
+    }
+
+    private static Container and(Container first, Container second) {
+        if (first instanceof BitmapContainer a && second instanceof BitmapContainer b) {
+            long[] words = new long[BITMAP_WORDS];
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] = a.words[w] & b.words[w];
+            }
+            return BitmapContainer.of(words);
+        }
+        if (first instanceof ArrayContainer a && second instanceof ArrayContainer b) {
+            char[] values = new char[Math.min(a.cardinality, b.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.cardinality && j < b.cardinality) {
+                if (a.values[i] < b.values[j]) {
+                    i++;
+                } else if (a.values[i] > b.values[j]) {
+                    j++;
+                } else {
+                    values[count++] = a.values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+        ArrayContainer array = (ArrayContainer) (first instanceof ArrayContainer ? first : second);
+        Container other = array == first ? second : first;
+        char[] values = new char[array.cardinality];
+        int count = 0;
+        for (int i = 0; i < array.cardinality; i++) {
+            if (other.contains(array.values[i])) {
+                values[count++] = array.values[i];
+            }
+        }
+        return new ArrayContainer(values, count);
+    }
+
+    private static Container or(Container first, Container second) {
+        if (first instanceof ArrayContainer a && second instanceof ArrayContainer b
+                && a.cardinality + b.cardinality <= ARRAY_MAX) {
+            char[] values = new char[a.cardinality + b.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.cardinality || j < b.cardinality) {
+                if (j == b.cardinality || i < a.cardinality && a.values[i] < b.values[j]) {
+                    values[count++] = a.values[i++];
+                } else if (i == a.cardinality || a.values[i] > b.values[j]) {
+                    values[count++] = b.values[j++];
+                } else {
+                    values[count++] = a.values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+        long[] words = first.toWords();
+        if (second instanceof BitmapContainer b) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= b.words[w];
+            }
+        } else {
+            ArrayContainer b = (ArrayContainer) second;
+            for (int i = 0; i < b.cardinality; i++) {
+                words[b.values[i] >>> 6] |= 1L << b.values[i];
+            }
+        }
+        return BitmapContainer.of(words);
+    }
+
+    private static Container andNot(Container first, Container second) {
+        if (first instanceof ArrayContainer a) {
+            char[] values = new char[a.cardinality];
+            int count = 0;
+            for (int i = 0; i < a.cardinality; i++) {
+                if (!second.contains(a.values[i])) {
+                    values[count++] = a.values[i];
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+        long[] words = first.toWords();
+        if (second instanceof BitmapContainer b) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= ~b.words[w];
+            }
+        } else {
+            ArrayContainer b = (ArrayContainer) second;
+            for (int i = 0; i < b.cardinality; i++) {
+                words[b.values[i] >>> 6] &= ~(1L << b.values[i]);
+            }
+        }
+        return BitmapContainer.of(words);
+    }
+
+    /**
+     * The low 16 bits of the values of one chunk.
+     */
+    private abstract static sealed class Container permits ArrayContainer, BitmapContainer {
+        abstract boolean add(char value);
+
+        abstract boolean remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract void forEach(int high, IntConsumer action);
+
+        abstract Container copy();
+
+        /**
+         * Returns the container's values as a new array of bitmap words.
+         */
+        abstract long[] toWords();
+    }
+
+    private static final class ArrayContainer extends Container {
+        char[] values;
+        int cardinality;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        boolean add(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return false;
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        BitmapContainer toBitmap() {
+            return new BitmapContainer(toWords(), cardinality);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        final long[] words;
+        int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Wraps words in a bitmap container, or an array container if they hold few values.
+         */
+        static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality > ARRAY_MAX) {
+                return new BitmapContainer(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality).toArray();
+        }
+
+        @Override
+        boolean add(char value) {
+            long before = words[value >>> 6];
+            long after = before | 1L << value;
+            words[value >>> 6] = after;
+            if (before == after) {
+                return false;
+            }
+            cardinality++;
+            return true;
+        }
+
+        @Override
+        boolean remove(char value) {
+            long before = words[value >>> 6];
+            long after = before & ~(1L << value);
+            words[value >>> 6] = after;
+            if (before == after) {
+                return false;
+            }
+            cardinality--;
+            return true;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    action.accept(high | w << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        ArrayContainer toArray() {
+            char[] values = new char[Math.max(cardinality, 1)];
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[count++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gtp.ems.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits one line of comma-separated values. A value may be enclosed in
+ * double quotes to contain commas, with {@code ""} standing for a quote inside
+ * it; unquoted values are trimmed.
+ */
+final class CsvLine {
+    private CsvLine() {
+    }
+
+    /**
+     * Splits a line into its values.
+     *
+     * @param line the line, without its line terminator
+     * @return the values
+     * @throws IllegalArgumentException if a quoted value is not closed
+     */
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        int i = 0;
+        while (true) {
+            while (i < line.length() && line.charAt(i) == ' ') {
+                i++;
+            }
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted value");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            value.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        value.append(c);
+                    }
+                }
+                while (i < line.length() && line.charAt(i) != ',') {
+                    i++;
+                }
+                values.add(value.toString());
+            } else {
+                int end = line.indexOf(',', i);
+                values.add(line.substring(i, end < 0 ? line.length() : end).trim());
+                i = end < 0 ? line.length() : end;
+            }
+            value.setLength(0);
+            if (i >= line.length()) {
+                return values;
+            }
+            i++;
+        }
+    }
+}
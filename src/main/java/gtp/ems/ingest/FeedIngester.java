@@ -0,0 +1,598 @@
+package gtp.ems.ingest;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches a directory for HR feed files and applies their records to a store
+ * as they arrive. Feed files end in {@code .csv} and hold one
+ * {@link FeedRecord} per line.
+ * <p>
+ * Files present at {@link #start()} and files created or appended to later
+ * are parsed concurrently by a pool of parser threads, reading the file as a
+ * stream rather than loading it. Parsed records are handed to apply lanes by a
+ * hash of the employee ID, and each lane applies its records in batches under
+ * a single {@link EmployeeManagementSystem#atomically} call. A lane works
+ * through files in the order they were picked up, so the changes of one
+ * employee are applied in file order and, within a file, in line order, while
+ * different employees are applied in parallel.
+ * </p>
+ * <p>
+ * After a batch has been applied in every lane, the byte offset it ended at is
+ * saved in a checkpoint file, and a restarted ingester resumes each file from
+ * its saved offset. Records applied after the last saved offset are applied
+ * again after a crash; adding an existing employee, updating a field to the
+ * value it already has or deleting a missing employee are then rejected or
+ * harmless. A line is only read once its line terminator has been written,
+ * so files can be appended to while they are being ingested.
+ * </p>
+ * <p>
+ * Invalid lines are logged and skipped. An ingester cannot be started again
+ * once closed; a new one resumes from the checkpoint.
+ * </p>
+ */
+public class FeedIngester implements Closeable {
+    /**
+     * The default number of records parsed before they are handed to the lanes.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    /**
+     * The name of the checkpoint file kept in the watched directory by default.
+     */
+    public static final String DEFAULT_CHECKPOINT_NAME = ".ems-ingest-offsets";
+
+    private static final Logger LOGGER = Logger.getLogger(FeedIngester.class.getName());
+    private static final String FEED_SUFFIX = ".csv";
+    private static final int QUEUED_BATCHES_PER_SLOT = 8;
+    private static final Batch END_OF_FILE = new Batch(null, List.of());
+    private static final FileSlot SHUTDOWN = new FileSlot();
+
+    private final EmployeeManagementSystem<UUID> ems;
+    private final Path directory;
+    private final OffsetCheckpoint checkpoint;
+    private final int batchSize;
+    private final ExecutorService parsers;
+    private final Lane[] lanes;
+    private final Map<String, FeedFile> files = new HashMap<>();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private int pendingWork;
+    private volatile boolean running;
+    private boolean closed;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Constructs an ingester with the default checkpoint, one parser and lane
+     * per processor, and the default batch size.
+     *
+     * @param ems the store to apply records to
+     * @param directory the directory to watch
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public FeedIngester(EmployeeManagementSystem<UUID> ems, Path directory) throws IOException {
+        this(ems, directory, directory.resolve(DEFAULT_CHECKPOINT_NAME),
+                Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs an ingester.
+     *
+     * @param ems the store to apply records to
+     * @param directory the directory to watch
+     * @param checkpointFile the file that records how far each feed file was applied
+     * @param parallelism the number of parser threads and of apply lanes
+     * @param batchSize the number of records parsed before they are handed to the lanes
+     * @throws IOException if the checkpoint cannot be read
+     */
+    public FeedIngester(EmployeeManagementSystem<UUID> ems, Path directory, Path checkpointFile,
+                        int parallelism, int batchSize) throws IOException {
+        if (parallelism <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("parallelism and batchSize must be positive");
+        }
+        this.ems = ems;
+        this.directory = directory;
+        this.checkpoint = new OffsetCheckpoint(checkpointFile);
+        this.batchSize = batchSize;
+        AtomicInteger parserCount = new AtomicInteger();
+        this.parsers = Executors.newFixedThreadPool(parallelism, runnable -> Thread.ofPlatform().daemon()
+                .name("ems-ingest-parser-" + parserCount.incrementAndGet()).unstarted(runnable));
+        this.lanes = new Lane[parallelism];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * Starts watching the directory and ingests the files already in it, in
+     * name order.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Ingester is closed");
+        }
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < lanes.length; i++) {
+            Lane lane = lanes[i];
+            lane.thread = Thread.ofPlatform().daemon().name("ems-ingest-lane-" + (i + 1)).start(lane::run);
+        }
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        scan();
+        watcher = Thread.ofPlatform().daemon().name("ems-ingest-watcher").start(this::watch);
+    }
+
+    /**
+     * Stops watching, finishes applying the records already parsed, saves the
+     * checkpoint and waits for every thread to finish.
+     */
+    @Override
+    public void close() throws IOException {
+        boolean wasRunning;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            wasRunning = running;
+            running = false;
+        }
+        parsers.shutdown();
+        if (!wasRunning) {
+            return;
+        }
+        watchService.close();
+        try {
+            watcher.join();
+            // Parsers stop at their next record; lanes drain what was parsed
+            parsers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            for (Lane lane : lanes) {
+                lane.slots.add(SHUTDOWN);
+            }
+            for (Lane lane : lanes) {
+                lane.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every file picked up so far has been parsed, applied and
+     * checkpointed. Files whose watch events have not arrived yet are not
+     * waited for.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if the ingester is idle, false on timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pendingWork > 0) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of records applied to the store
+     */
+    public long getAppliedRecords() {
+        return applied.sum();
+    }
+
+    /**
+     * @return the number of lines that could not be parsed and of records the
+     *         store rejected, such as adding an existing employee
+     */
+    public long getRejectedRecords() {
+        return rejected.sum();
+    }
+
+    private void watch() {
+        try {
+            while (running) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() != StandardWatchEventKinds.OVERFLOW) {
+                        admit(directory.resolve((Path) event.context()));
+                        continue;
+                    }
+                    try {
+                        scan();
+                    } catch (IOException e) {
+                        LOGGER.log(Level.WARNING, "Cannot list feed directory " + directory, e);
+                    }
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private void scan() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FEED_SUFFIX)) {
+            stream.forEach(paths::add);
+        }
+        paths.sort(null);
+        paths.forEach(this::admit);
+    }
+
+    /**
+     * Queues a file for parsing, giving it a slot in every lane behind the
+     * files queued before it. A file that is already being parsed is parsed
+     * again from where it stopped once it finishes.
+     */
+    private synchronized void admit(Path path) {
+        String name = path.getFileName().toString();
+        if (!running || !name.endsWith(FEED_SUFFIX) || !Files.isRegularFile(path)) {
+            return;
+        }
+        FeedFile file = files.computeIfAbsent(name, key -> new FeedFile(key, checkpoint.get(key)));
+        if (file.parsing) {
+            file.rescan = true;
+            return;
+        }
+        file.parsing = true;
+        pendingWork++;
+        FileSlot[] slots = new FileSlot[lanes.length];
+        for (int i = 0; i < lanes.length; i++) {
+            slots[i] = new FileSlot();
+            lanes[i].slots.add(slots[i]);
+        }
+        parsers.execute(() -> parse(path, file, slots));
+    }
+
+    private void parse(Path path, FeedFile file, FileSlot[] slots) {
+        long offset;
+        synchronized (this) {
+            offset = file.readOffset;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < offset) {
+                LOGGER.warning(() -> "Feed file " + file.name + " shrank below its checkpoint; reading it again");
+                offset = 0;
+                synchronized (this) {
+                    file.dispatchedOffset = 0;
+                }
+            }
+            LineReader reader = new LineReader(channel, offset);
+            List<List<FeedRecord>> batches = newBatches();
+            int count = 0;
+            String line;
+            while (running && (line = reader.readLine()) != null) {
+                try {
+                    FeedRecord record = FeedRecord.parse(line);
+                    if (record != null) {
+                        batches.get(laneOf(record.getEmployeeId())).add(record);
+                        count++;
+                    }
+                } catch (IllegalArgumentException e) {
+                    rejected.increment();
+                    long lineOffset = reader.offset - reader.lineLength;
+                    LOGGER.warning(() -> "Skipping invalid record in " + file.name + " at byte " + lineOffset
+                            + ": " + e.getMessage());
+                }
+                if (count == batchSize) {
+                    dispatch(file, slots, batches, reader.offset);
+                    batches = newBatches();
+                    count = 0;
+                }
+            }
+            if (reader.offset > offset) {
+                dispatch(file, slots, batches, reader.offset);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot read feed file " + file.name, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (FileSlot slot : slots) {
+                slot.endOfFile();
+            }
+            synchronized (this) {
+                file.readOffset = file.dispatchedOffset;
+                file.parsing = false;
+                pendingWork--;
+                if (file.rescan) {
+                    file.rescan = false;
+                    admit(path);
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    private List<List<FeedRecord>> newBatches() {
+        List<List<FeedRecord>> batches = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            batches.add(new ArrayList<>());
+        }
+        return batches;
+    }
+
+    /**
+     * Hands one batch of a file to the lanes; its end offset is saved once every
+     * lane has applied its part.
+     */
+    private void dispatch(FeedFile file, FileSlot[] slots, List<List<FeedRecord>> batches, long endOffset)
+            throws InterruptedException {
+        int parts = 0;
+        for (List<FeedRecord> batch : batches) {
+            if (!batch.isEmpty()) {
+                parts++;
+            }
+        }
+        BatchGroup group = new BatchGroup(file, endOffset, parts);
+        synchronized (this) {
+            file.uncommitted.add(group);
+            file.dispatchedOffset = endOffset;
+            pendingWork++;
+        }
+        if (parts == 0) {
+            commit(group);
+            return;
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            if (!batches.get(i).isEmpty()) {
+                slots[i].batches.put(new Batch(group, batches.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Records that one lane applied its part of a batch group.
+     */
+    private void complete(BatchGroup group) {
+        if (group.remainingParts.decrementAndGet() == 0) {
+            commit(group);
+        }
+    }
+
+    /**
+     * Marks a batch group as applied and saves the end offset of the groups
+     * of its file that are now applied, in order. If the checkpoint cannot be
+     * saved, the failure is logged and the offset is saved with the next
+     * group, so that the lane keeps running.
+     */
+    private void commit(BatchGroup group) {
+        synchronized (this) {
+            try {
+                group.done = true;
+                FeedFile file = group.file;
+                long committed = -1;
+                while (!file.uncommitted.isEmpty() && file.uncommitted.peek().done) {
+                    committed = file.uncommitted.poll().endOffset;
+                }
+                if (committed >= 0) {
+                    checkpoint.commit(file.name, committed);
+                }
+            } catch (UncheckedIOException e) {
+                LOGGER.log(Level.WARNING, "Failed to save the feed checkpoint; retrying with the next batch", e);
+            } finally {
+                pendingWork--;
+                notifyAll();
+            }
+        }
+    }
+
+    private int laneOf(UUID employeeId) {
+        return Math.floorMod(employeeId.hashCode(), lanes.length);
+    }
+
+    private void apply(FeedRecord record) {
+        boolean accepted = switch (record.getType()) {
+            case ADD -> ems.addEmployee(record.getEmployee());
+            case UPDATE -> ems.updateEmployeeDetails(record.getEmployeeId(), record.getField().getFieldName(),
+                    record.getValue());
+            case DELETE -> {
+                try {
+                    ems.removeEmployee(record.getEmployeeId());
+                    yield true;
+                } catch (EmployeeNotExistException e) {
+                    yield false;
+                }
+            }
+        };
+        if (accepted) {
+            applied.increment();
+        } else {
+            rejected.increment();
+            LOGGER.fine(() -> "Store rejected feed record " + record);
+        }
+    }
+
+    /**
+     * Applies the records of one hash range of employees, one file at a time.
+     */
+    private final class Lane {
+        final BlockingQueue<FileSlot> slots = new LinkedBlockingQueue<>();
+        Thread thread;
+
+        void run() {
+            try {
+                while (true) {
+                    FileSlot slot = slots.take();
+                    if (slot == SHUTDOWN) {
+                        return;
+                    }
+                    while (true) {
+                        Batch batch = slot.batches.take();
+                        if (batch == END_OF_FILE) {
+                            break;
+                        }
+                        try {
+                            ems.atomically(() -> {
+                                batch.records.forEach(FeedIngester.this::apply);
+                                return null;
+                            });
+                        } catch (RuntimeException e) {
+                            LOGGER.log(Level.SEVERE, "Failed to apply feed batch of " + batch.group.file.name, e);
+                        }
+                        complete(batch.group);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * One file's batches for one lane.
+     */
+    private static final class FileSlot {
+        final BlockingQueue<Batch> batches = new LinkedBlockingQueue<>(QUEUED_BATCHES_PER_SLOT);
+
+        /**
+         * Marks the end of the file's batches, waiting for room if needed.
+         */
+        void endOfFile() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    batches.put(END_OF_FILE);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The records of one lane from one batch group.
+     */
+    private record Batch(BatchGroup group, List<FeedRecord> records) {
+    }
+
+    /**
+     * A batch of consecutive records of a file, split across the lanes.
+     */
+    private static final class BatchGroup {
+        final FeedFile file;
+        final long endOffset;
+        final AtomicInteger remainingParts;
+        boolean done;
+
+        BatchGroup(FeedFile file, long endOffset, int parts) {
+            this.file = file;
+            this.endOffset = endOffset;
+            this.remainingParts = new AtomicInteger(parts);
+        }
+    }
+
+    /**
+     * The progress of one feed file, guarded by the ingester.
+     */
+    private static final class FeedFile {
+        final String name;
+        final ArrayDeque<BatchGroup> uncommitted = new ArrayDeque<>();
+        long readOffset;
+        long dispatchedOffset;
+        boolean parsing;
+        boolean rescan;
+
+        FeedFile(String name, long offset) {
+            this.name = name;
+            this.readOffset = offset;
+            this.dispatchedOffset = offset;
+        }
+    }
+
+    /**
+     * Reads complete UTF-8 lines from a channel, tracking the byte offset
+     * after the last line returned.
+     */
+    private static final class LineReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private byte[] line = new byte[256];
+        long offset;
+        int lineLength;
+
+        LineReader(FileChannel channel, long offset) throws IOException {
+            this.channel = channel;
+            this.offset = offset;
+            channel.position(offset);
+            buffer.flip();
+        }
+
+        /**
+         * @return the next line without its terminator, or null at the end of
+         *         the file or before a line that is not terminated yet
+         */
+        String readLine() throws IOException {
+            int length = 0;
+            while (true) {
+                if (!buffer.hasRemaining()) {
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    buffer.flip();
+                    if (read <= 0) {
+                        return null;
+                    }
+                }
+                byte b = buffer.get();
+                if (b == '\n') {
+                    lineLength = length + 1;
+                    offset += lineLength;
+                    int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+                    return new String(line, 0, end, StandardCharsets.UTF_8);
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, length * 2);
+                }
+                line[length++] = b;
+            }
+        }
+    }
+}
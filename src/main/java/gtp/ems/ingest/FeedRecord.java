@@ -0,0 +1,181 @@
+package gtp.ems.ingest;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * One change from an HR feed file. Each line of a feed holds one record as
+ * comma-separated values:
+ * <pre>
+ * ADD,&lt;id&gt;,&lt;name&gt;,&lt;department&gt;,&lt;salary&gt;,&lt;performanceRating&gt;,&lt;yearsOfExperience&gt;,&lt;isActive&gt;
+ * UPDATE,&lt;id&gt;,&lt;field&gt;,&lt;value&gt;
+ * DELETE,&lt;id&gt;
+ * </pre>
+ * The record type and field names are case-insensitive, and field names are
+ * the ones accepted by {@code EmployeeManagementSystem.updateEmployeeDetails}.
+ * Values containing commas can be quoted. Blank lines and lines starting with
+ * {@code #} are ignored.
+ */
+public final class FeedRecord {
+    /**
+     * The kind of change a record makes.
+     */
+    public enum Type {
+        ADD, UPDATE, DELETE
+    }
+
+    private final Type type;
+    private final UUID employeeId;
+    private final Employee<UUID> employee;
+    private final EmployeeField field;
+    private final Object value;
+
+    private FeedRecord(Type type, UUID employeeId, Employee<UUID> employee, EmployeeField field, Object value) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.employee = employee;
+        this.field = field;
+        this.value = value;
+    }
+
+    /**
+     * Parses one line of a feed.
+     *
+     * @param line the line, without its line terminator
+     * @return the record, or null if the line is blank or a comment
+     * @throws IllegalArgumentException if the line is not a valid record
+     */
+    public static FeedRecord parse(String line) {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        List<String> values = CsvLine.split(trimmed);
+        Type type;
+        try {
+            type = Type.valueOf(values.get(0).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown record type: " + values.get(0));
+        }
+        int expected = switch (type) {
+            case ADD -> 8;
+            case UPDATE -> 4;
+            case DELETE -> 2;
+        };
+        if (values.size() != expected) {
+            throw new IllegalArgumentException(type + " needs " + expected + " values but has " + values.size());
+        }
+        UUID employeeId = UUID.fromString(values.get(1));
+        return switch (type) {
+            case ADD -> new FeedRecord(type, employeeId, parseEmployee(values, 1), null, null);
+            case UPDATE -> {
+                EmployeeField field = EmployeeField.fromName(values.get(2));
+                if (field == null) {
+                    throw new IllegalArgumentException("Unknown field: " + values.get(2));
+                }
+                yield new FeedRecord(type, employeeId, null, field, parseValue(field, values.get(3)));
+            }
+            case DELETE -> new FeedRecord(type, employeeId, null, null, null);
+        };
+    }
+
+    /**
+     * Parses an employee from seven consecutive values: ID, name, department,
+     * salary, performance rating, years of experience and active flag.
+     *
+     * @throws IllegalArgumentException if a value is invalid, including a blank
+     *         name or department, which the store would not accept in an update
+     */
+    static Employee<UUID> parseEmployee(List<String> values, int from) {
+        return new Employee<>(UUID.fromString(values.get(from)), parseText(values.get(from + 1), EmployeeField.NAME),
+                parseText(values.get(from + 2), EmployeeField.DEPARTMENT),
+                parseDouble(values.get(from + 3)), parseDouble(values.get(from + 4)),
+                Integer.parseInt(values.get(from + 5)), parseBoolean(values.get(from + 6)));
+    }
+
+    private static Object parseValue(EmployeeField field, String value) {
+        if (field.getType() == Double.class) {
+            return parseDouble(value);
+        }
+        if (field.getType() == Integer.class) {
+            return Integer.parseInt(value);
+        }
+        if (field.getType() == Boolean.class) {
+            return parseBoolean(value);
+        }
+        return parseText(value, field);
+    }
+
+    private static String parseText(String value, EmployeeField field) {
+        if (value.isBlank()) {
+            throw new IllegalArgumentException("Blank " + field.getFieldName());
+        }
+        return value;
+    }
+
+    private static double parseDouble(String value) {
+        double parsed = Double.parseDouble(value);
+        if (!Double.isFinite(parsed)) {
+            throw new NumberFormatException("Not a finite number: " + value);
+        }
+        return parsed;
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+
+    /**
+     * @return the kind of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the ID of the employee the record changes
+     */
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * @return the employee to add, or null if this is not an {@link Type#ADD} record
+     */
+    public Employee<UUID> getEmployee() {
+        return employee;
+    }
+
+    /**
+     * @return the updated field, or null if this is not an {@link Type#UPDATE} record
+     */
+    public EmployeeField getField() {
+        return field;
+    }
+
+    /**
+     * @return the new value of the field, or null if this is not an {@link Type#UPDATE} record
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case ADD -> "ADD " + employee;
+            case UPDATE -> "UPDATE " + employeeId + " " + field.getFieldName() + "=" + value;
+            case DELETE -> "DELETE " + employeeId;
+        };
+    }
+}
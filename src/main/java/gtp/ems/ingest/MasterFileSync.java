@@ -0,0 +1,300 @@
+package gtp.ems.ingest;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.logging.Logger;
+
+/**
+ * Brings a store in line with a full master extract of every employee,
+ * changing only the employees that differ.
+ * <p>
+ * The master file has one employee per line as comma-separated values:
+ * {@code id,name,department,salary,performanceRating,yearsOfExperience,isActive}.
+ * A first line starting with {@code id} is taken as a header; blank lines and
+ * lines starting with {@code #} are ignored.
+ * </p>
+ * <p>
+ * The sync keeps a 64-bit hash of the contents of every employee in the store,
+ * updated through the store's change listeners. {@link #plan(Path)} streams
+ * the file, hashes each record and compares it with the stored hash, so an
+ * unchanged employee costs a parse and a map lookup and is never compared
+ * field by field. Employees in the store that the file does not mention are
+ * planned for deletion. {@link #apply(SyncPlan)} then makes only those
+ * changes, through the store's add, update and remove operations, updating
+ * only the fields that differ, so listeners, metrics and replication see a
+ * nightly sync as the few changes it really is.
+ * </p>
+ * <p>
+ * Lines that cannot be parsed are counted and logged; if their ID can still
+ * be read, that employee is left as it is rather than deleted.
+ * </p>
+ */
+public class MasterFileSync implements EmployeeChangeListener<UUID>, MemoryAccountable, AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(MasterFileSync.class.getName());
+    private static final int APPLY_BATCH_SIZE = 1_000;
+    private static final EmployeeField[] FIELDS = EmployeeField.values();
+
+    private final EmployeeManagementSystem<UUID> ems;
+    private final Map<UUID, Entry> hashes = new ConcurrentHashMap<>();
+    private volatile int generation;
+
+    /**
+     * Hashes the current contents of a store and starts following its changes.
+     *
+     * @param ems the store to keep in sync
+     */
+    public MasterFileSync(EmployeeManagementSystem<UUID> ems) {
+        this.ems = ems;
+        ems.atomically(() -> {
+            for (Employee<UUID> employee : ems.getAllEmployees()) {
+                employeeAdded(employee);
+            }
+            ems.addChangeListener(this);
+            return null;
+        });
+    }
+
+    /**
+     * Computes the changes that would make the store match a master file, then applies them.
+     *
+     * @param masterFile the master file
+     * @return the changes that were applied
+     * @throws IOException if the file cannot be read
+     */
+    public SyncPlan sync(Path masterFile) throws IOException {
+        SyncPlan plan = plan(masterFile);
+        apply(plan);
+        LOGGER.info(() -> "Synced " + masterFile.getFileName() + ": " + plan);
+        return plan;
+    }
+
+    /**
+     * Streams a master file and computes the changes that would make the store
+     * match it, without changing the store.
+     *
+     * @param masterFile the master file
+     * @return the inserts, updates and deletes
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized SyncPlan plan(Path masterFile) throws IOException {
+        int current = ++generation;
+        List<Employee<UUID>> inserts = new ArrayList<>();
+        List<Employee<UUID>> updates = new ArrayList<>();
+        long unchanged = 0;
+        long invalidLines = 0;
+        try (BufferedReader reader = Files.newBufferedReader(masterFile, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")
+                        || lineNumber == 1 && trimmed.regionMatches(true, 0, "id", 0, 2)) {
+                    continue;
+                }
+                List<String> values = null;
+                try {
+                    values = CsvLine.split(trimmed);
+                    if (values.size() != 7) {
+                        throw new IllegalArgumentException("Expected 7 values but found " + values.size());
+                    }
+                    Employee<UUID> employee = FeedRecord.parseEmployee(values, 0);
+                    Entry entry = hashes.get(employee.getEmployeeId());
+                    if (entry == null) {
+                        inserts.add(employee);
+                    } else {
+                        entry.generation = current;
+                        if (entry.hash == contentHash(employee)) {
+                            unchanged++;
+                        } else {
+                            updates.add(employee);
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    invalidLines++;
+                    markSeen(values, current);
+                    long number = lineNumber;
+                    LOGGER.warning(() -> "Skipping invalid line " + number + " of " + masterFile.getFileName()
+                            + ": " + e.getMessage());
+                }
+            }
+        }
+
+        List<UUID> deletes = new ArrayList<>();
+        hashes.forEach((id, entry) -> {
+            if (entry.generation != current) {
+                deletes.add(id);
+            }
+        });
+        return new SyncPlan(inserts, updates, deletes, unchanged, invalidLines);
+    }
+
+    /**
+     * Applies a plan to the store in batches, each under one
+     * {@link EmployeeManagementSystem#atomically} call. Updates change only
+     * the fields that differ from the store at the time they are applied.
+     *
+     * @param plan the plan to apply
+     * @return the number of store mutations made: additions, field updates and removals
+     */
+    public long apply(SyncPlan plan) {
+        return applyInBatches(plan.getInserts(), this::upsert)
+                + applyInBatches(plan.getUpdates(), this::upsert)
+                + applyInBatches(plan.getDeletes(), employeeId -> {
+                    try {
+                        ems.removeEmployee(employeeId);
+                        return 1;
+                    } catch (EmployeeNotExistException e) {
+                        return 0;
+                    }
+                });
+    }
+
+    private <E> long applyInBatches(List<E> items, ToLongFunction<E> change) {
+        long mutations = 0;
+        for (int from = 0; from < items.size(); from += APPLY_BATCH_SIZE) {
+            List<E> batch = items.subList(from, Math.min(from + APPLY_BATCH_SIZE, items.size()));
+            mutations += ems.atomically(() -> {
+                long count = 0;
+                for (E item : batch) {
+                    count += change.applyAsLong(item);
+                }
+                return count;
+            });
+        }
+        return mutations;
+    }
+
+    /**
+     * Stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+    }
+
+    /**
+     * Adds the hash map and its entries to a footprint, as {@code masterFileSync}.
+     * The IDs it is keyed by belong to the store.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        footprint.add("masterFileSync", MemoryLayout.concurrentHashMapSize(hashes.size())
+                + hashes.size() * MemoryLayout.objectSize(0, 12));
+    }
+
+    @Override
+    public void employeeAdded(Employee<UUID> employee) {
+        hashes.put(employee.getEmployeeId(), new Entry(contentHash(employee), generation));
+    }
+
+    @Override
+    public void employeeRemoved(Employee<UUID> employee) {
+        hashes.remove(employee.getEmployeeId());
+    }
+
+    @Override
+    public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue, Object newValue) {
+        Entry entry = hashes.get(employee.getEmployeeId());
+        if (entry != null) {
+            entry.hash = contentHash(employee);
+        }
+    }
+
+    /**
+     * Computes a 64-bit hash of every field of an employee except its ID.
+     *
+     * @param employee the employee
+     * @return the hash
+     */
+    public static long contentHash(Employee<?> employee) {
+        long hash = 0xCBF29CE484222325L;
+        hash = mix(hash, employee.getName());
+        hash = mix(hash, employee.getDepartment());
+        hash = mix(hash, Double.doubleToLongBits(employee.getSalary()));
+        hash = mix(hash, Double.doubleToLongBits(employee.getPerformanceRating()));
+        hash = mix(hash, employee.getYearsOfExperience());
+        return mix(hash, employee.isActive() ? 1 : 0);
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1L);
+        }
+        // FNV-1a over the characters, then the length to separate adjacent strings
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash, value.length());
+    }
+
+    private static long mix(long hash, long value) {
+        hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Adds an employee, or updates the fields that differ if it exists.
+     */
+    private int upsert(Employee<UUID> target) {
+        Employee<UUID> current = ems.findEmployee(target.getEmployeeId()).orElse(null);
+        if (current == null) {
+            return ems.addEmployee(target) ? 1 : 0;
+        }
+        int updated = 0;
+        for (EmployeeField field : FIELDS) {
+            Object value = field.get(target);
+            if (!Objects.equals(field.get(current), value)
+                    && ems.updateEmployeeDetails(target.getEmployeeId(), field.getFieldName(), value)) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    private void markSeen(List<String> values, int current) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        try {
+            Entry entry = hashes.get(UUID.fromString(values.get(0)));
+            if (entry != null) {
+                entry.generation = current;
+            }
+        } catch (IllegalArgumentException e) {
+            // No usable ID either
+        }
+    }
+
+    /**
+     * The content hash of one employee and the last plan that saw it in the file.
+     */
+    private static final class Entry {
+        volatile long hash;
+        volatile int generation;
+
+        Entry(long hash, int generation) {
+            this.hash = hash;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package gtp.ems.ingest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * The byte offset up to which each feed file has been applied, saved in a
+ * properties file keyed by file name.
+ * <p>
+ * Every change is written to a temporary file, forced to disk, that then
+ * replaces the checkpoint, so a crash leaves either the old or the new
+ * checkpoint behind. The offsets are kept in memory even if saving fails, so
+ * the next successful save includes them.
+ * </p>
+ */
+final class OffsetCheckpoint {
+    private final Path file;
+    private final Properties offsets = new Properties();
+
+    /**
+     * Loads a checkpoint, or starts an empty one if the file does not exist.
+     */
+    OffsetCheckpoint(Path file) throws IOException {
+        this.file = file;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            offsets.load(reader);
+        } catch (NoSuchFileException e) {
+            // First run
+        }
+    }
+
+    /**
+     * Returns the offset up to which a feed file has been applied.
+     */
+    synchronized long get(String fileName) {
+        return Long.parseLong(offsets.getProperty(fileName, "0"));
+    }
+
+    /**
+     * Records that a feed file has been applied up to an offset and saves the checkpoint.
+     *
+     * @throws UncheckedIOException if the checkpoint cannot be saved
+     */
+    synchronized void commit(String fileName, long offset) {
+        offsets.setProperty(fileName, Long.toString(offset));
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                offsets.store(writer, "Applied byte offset of each feed file");
+                writer.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save checkpoint " + file, e);
+        }
+    }
+}
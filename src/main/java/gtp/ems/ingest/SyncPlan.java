@@ -0,0 +1,77 @@
+package gtp.ems.ingest;
+
+import gtp.ems.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The differences between a store and a master file found by
+ * {@link MasterFileSync#plan(java.nio.file.Path)}: employees to insert, to
+ * update and to delete so that the store matches the file.
+ */
+public final class SyncPlan {
+    private final List<Employee<UUID>> inserts;
+    private final List<Employee<UUID>> updates;
+    private final List<UUID> deletes;
+    private final long unchanged;
+    private final long invalidLines;
+
+    SyncPlan(List<Employee<UUID>> inserts, List<Employee<UUID>> updates, List<UUID> deletes,
+             long unchanged, long invalidLines) {
+        this.inserts = Collections.unmodifiableList(inserts);
+        this.updates = Collections.unmodifiableList(updates);
+        this.deletes = Collections.unmodifiableList(deletes);
+        this.unchanged = unchanged;
+        this.invalidLines = invalidLines;
+    }
+
+    /**
+     * @return the employees in the file but not in the store
+     */
+    public List<Employee<UUID>> getInserts() {
+        return inserts;
+    }
+
+    /**
+     * @return the employees whose record in the file differs from the store, as in the file
+     */
+    public List<Employee<UUID>> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * @return the IDs of the employees in the store but not in the file
+     */
+    public List<UUID> getDeletes() {
+        return deletes;
+    }
+
+    /**
+     * @return the number of employees identical in the store and the file
+     */
+    public long getUnchanged() {
+        return unchanged;
+    }
+
+    /**
+     * @return the number of lines of the file that could not be parsed
+     */
+    public long getInvalidLines() {
+        return invalidLines;
+    }
+
+    /**
+     * @return true if the store already matches the file
+     */
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return inserts.size() + " inserts, " + updates.size() + " updates, " + deletes.size() + " deletes, "
+                + unchanged + " unchanged, " + invalidLines + " invalid lines";
+    }
+}
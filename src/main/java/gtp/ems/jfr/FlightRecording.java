@@ -0,0 +1,89 @@
+package gtp.ems.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Starts a Flight Recorder recording configured by the {@code ems.jfc} profile
+ * shipped with the application.
+ * <p>
+ * The profile enables the {@link StoreOperationEvent} and {@link UiActionEvent}
+ * events and is layered over the JDK's {@code default} profile, so GC and
+ * allocation events land in the same recording.
+ * </p>
+ */
+public final class FlightRecording {
+    private static final Logger LOGGER = Logger.getLogger(FlightRecording.class.getName());
+
+    /**
+     * System property naming the file a recording should be written to.
+     * No recording is started when it is absent.
+     */
+    public static final String FILE_PROPERTY = "ems.jfr.file";
+
+    /**
+     * Classpath location of the EMS event profile.
+     */
+    public static final String PROFILE_RESOURCE = "/ems/jfr/ems.jfc";
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Starts a recording if the {@value #FILE_PROPERTY} system property is set.
+     * The recording is dumped to that file when the JVM exits.
+     *
+     * @return the started recording, or null if none was requested or it failed to start
+     */
+    public static Recording startIfRequested() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+
+        try {
+            Recording recording = new Recording(loadSettings());
+            recording.setName("ems");
+            recording.setDestination(Path.of(file));
+            recording.setToDisk(true);
+            recording.setDumpOnExit(true);
+            recording.start();
+            LOGGER.info(() -> "Started flight recording to " + file);
+            return recording;
+        } catch (IOException | ParseException e) {
+            LOGGER.log(Level.WARNING, "Failed to start flight recording", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the JDK default settings overlaid with the EMS profile.
+     *
+     * @return the merged recording settings
+     * @throws IOException if the profile cannot be read
+     * @throws ParseException if the profile is malformed
+     */
+    public static Map<String, String> loadSettings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+
+        try (InputStream in = FlightRecording.class.getResourceAsStream(PROFILE_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing flight recorder profile " + PROFILE_RESOURCE);
+            }
+            Configuration profile = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+            settings.putAll(profile.getSettings());
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,71 @@
+package gtp.ems.jfr;
+
+import gtp.ems.service.StoreOperation;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for every read and write on an
+ * {@link gtp.ems.service.EmployeeManagementSystem}.
+ * <p>
+ * Fields are only filled in once the event is known to be committed, so while
+ * no recording is running the event costs nothing beyond the begin/end calls,
+ * which the JIT removes.
+ * </p>
+ */
+@Name("gtp.ems.StoreOperation")
+@Label("Store Operation")
+@Category({"Employee Management System", "Store"})
+@Description("A read or write on the employee store")
+@StackTrace(false)
+public class StoreOperationEvent extends Event {
+
+    @Label("Operation")
+    @Description("The store method that was invoked")
+    String operation;
+
+    @Label("Write")
+    @Description("Whether the operation modifies the store")
+    boolean write;
+
+    @Label("Result Size")
+    @Description("Number of employees returned or affected")
+    int resultSize;
+
+    @Label("Employee ID")
+    @Description("The employee targeted by single-record operations")
+    String employeeId;
+
+    /**
+     * Creates an event and starts its timing.
+     *
+     * @return the started event
+     */
+    public static StoreOperationEvent start() {
+        StoreOperationEvent event = new StoreOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and commits the event if a recording wants it.
+     *
+     * @param operation the operation that was performed
+     * @param resultSize the number of employees returned or affected
+     * @param employeeId the targeted employee, or null for scans
+     */
+    public void complete(StoreOperation operation, int resultSize, Object employeeId) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation.getMethodName();
+            this.write = operation.isMutating();
+            this.resultSize = resultSize;
+            this.employeeId = employeeId == null ? null : employeeId.toString();
+            commit();
+        }
+    }
+}
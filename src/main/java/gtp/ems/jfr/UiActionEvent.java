@@ -0,0 +1,54 @@
+package gtp.ems.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning a UI action from handler entry until the
+ * employee table has been updated.
+ */
+@Name("gtp.ems.UiAction")
+@Label("UI Action")
+@Category({"Employee Management System", "UI"})
+@Description("A user action in the employee management window")
+@StackTrace(false)
+public class UiActionEvent extends Event {
+
+    @Label("Action")
+    @Description("The controller handler that ran")
+    String action;
+
+    @Label("Row Count")
+    @Description("Number of rows in the employee table after the action")
+    int rowCount;
+
+    /**
+     * Creates an event for a handler and starts its timing.
+     *
+     * @param action the name of the handler
+     * @return the started event
+     */
+    public static UiActionEvent start(String action) {
+        UiActionEvent event = new UiActionEvent();
+        event.action = action;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Stops timing and commits the event if a recording wants it.
+     *
+     * @param rowCount the number of rows shown in the table after the action
+     */
+    public void complete(int rowCount) {
+        end();
+        if (shouldCommit()) {
+            this.rowCount = rowCount;
+            commit();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package gtp.ems.model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Objects;
 
 /**
@@ -9,6 +11,16 @@ import java.util.Objects;
  * @param <T> the type of the employee ID (e.g., String, Integer)
  */
 public class Employee<T> implements Comparable<Employee<T>> {
+    private static final VarHandle VERSION;
+
+    static {
+        try {
+            VERSION = MethodHandles.lookup().findVarHandle(Employee.class, "version", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final T employeeId;
     private String name;
     private String department;
@@ -16,6 +28,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
     private double performanceRating;
     private int yearsOfExperience;
     private boolean isActive;
+    private volatile long version;
 
     /**
      * Constructs a new Employee with the specified details.
@@ -64,6 +77,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setName(String name) {
         this.name = name;
+        incrementVersion();
     }
 
     /**
@@ -82,6 +96,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setDepartment(String department) {
         this.department = department;
+        incrementVersion();
     }
 
     /**
@@ -103,6 +118,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setSalary(double salary) {
         this.salary = salary;
+        incrementVersion();
     }
 
     /**
@@ -121,6 +137,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setPerformanceRating(double performanceRating) {
         this.performanceRating = performanceRating;
+        incrementVersion();
     }
 
     /**
@@ -139,6 +156,7 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setYearsOfExperience(int yearsOfExperience) {
         this.yearsOfExperience = yearsOfExperience;
+        incrementVersion();
     }
 
     /**
@@ -157,6 +175,25 @@ public class Employee<T> implements Comparable<Employee<T>> {
      */
     public void setActive(boolean active) {
         isActive = active;
+        incrementVersion();
+    }
+
+    /**
+     * Returns the version stamp of this employee, which every setter
+     * increments atomically after changing its field, so that setters called
+     * concurrently are all counted. A reader that reads the version
+     * first and the fields after sees field values at least as recent as the
+     * version, so an unchanged version later proves that nothing it read has
+     * been overwritten since.
+     *
+     * @return the number of changes made to this employee
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    private void incrementVersion() {
+        VERSION.getAndAdd(this, 1L);
     }
 
     /**
@@ -0,0 +1,95 @@
+package gtp.ems.model;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Enumerates the mutable fields of an {@link Employee}, with typed access to
+ * each. Field names are the ones accepted by
+ * {@code EmployeeManagementSystem.updateEmployeeDetails}.
+ */
+public enum EmployeeField {
+    NAME("name", String.class, Employee::getName,
+            (employee, value) -> employee.setName((String) value)),
+    DEPARTMENT("department", String.class, Employee::getDepartment,
+            (employee, value) -> employee.setDepartment((String) value)),
+    SALARY("salary", Double.class, Employee::getSalary,
+            (employee, value) -> employee.setSalary((Double) value)),
+    PERFORMANCE_RATING("performanceRating", Double.class, Employee::getPerformanceRating,
+            (employee, value) -> employee.setPerformanceRating((Double) value)),
+    YEARS_OF_EXPERIENCE("yearsOfExperience", Integer.class, Employee::getYearsOfExperience,
+            (employee, value) -> employee.setYearsOfExperience((Integer) value)),
+    ACTIVE("isActive", Boolean.class, Employee::isActive,
+            (employee, value) -> employee.setActive((Boolean) value));
+
+    private final String fieldName;
+    private final Class<?> type;
+    private final Function<Employee<?>, Object> getter;
+    private final BiConsumer<Employee<?>, Object> setter;
+
+    EmployeeField(String fieldName, Class<?> type, Function<Employee<?>, Object> getter,
+                  BiConsumer<Employee<?>, Object> setter) {
+        this.fieldName = fieldName;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Looks up a field by name, ignoring case.
+     *
+     * @param fieldName the field name, e.g. {@code "salary"} or {@code "isActive"}
+     * @return the field, or null if there is no field with that name
+     */
+    public static EmployeeField fromName(String fieldName) {
+        if (fieldName == null) {
+            return null;
+        }
+        for (EmployeeField field : values()) {
+            if (field.fieldName.equalsIgnoreCase(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name used to address this field in updates.
+     *
+     * @return the field name
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Returns the boxed type of the field's values.
+     *
+     * @return the value type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Reads this field from an employee.
+     *
+     * @param employee the employee
+     * @return the current (boxed) value
+     */
+    public Object get(Employee<?> employee) {
+        return getter.apply(employee);
+    }
+
+    /**
+     * Writes this field on an employee.
+     *
+     * @param employee the employee
+     * @param value the new value
+     * @throws ClassCastException if the value is not of this field's type
+     * @throws NullPointerException if the value is null for a primitive field
+     */
+    public void set(Employee<?> employee, Object value) {
+        setter.accept(employee, value);
+    }
+}
@@ -0,0 +1,35 @@
+package gtp.ems.query;
+
+import gtp.ems.model.Employee;
+
+/**
+ * Receives the employees that start or stop matching a {@link StandingQuery}.
+ * <p>
+ * Callbacks run inside the store's change notification, on the mutating
+ * thread while the store's write lock is held, so they must return quickly
+ * and must not modify the store. Exceptions thrown by a callback are logged
+ * and do not affect the change or other queries.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public interface MatchListener<T> {
+
+    /**
+     * Called when an employee starts matching the query, because it was added
+     * or one of its fields changed.
+     *
+     * @param employee the employee, after the change
+     */
+    default void entered(Employee<T> employee) {
+    }
+
+    /**
+     * Called when an employee stops matching the query, because it was
+     * removed or one of its fields changed.
+     *
+     * @param employee the employee, after the change
+     */
+    default void left(Employee<T> employee) {
+    }
+}
@@ -0,0 +1,159 @@
+package gtp.ems.query;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * A named result set kept by {@link MaterializedViews}: the employees
+ * matching a predicate, optionally kept in order.
+ * <p>
+ * The view is updated by every change to the store, so {@link #open()} only
+ * copies its members. An ordered view keeps its members in a sorted set
+ * keyed by a copy of each employee taken when it last changed, since the
+ * store's employees are updated in place; a change that moves an employee
+ * re-inserts it in O(log n).
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public final class MaterializedView<T> {
+    private final String name;
+    private final Predicate<? super Employee<T>> predicate;
+    private final Comparator<? super Employee<T>> order;
+    private final Map<T, Member<T>> members = new LinkedHashMap<>();
+    private final TreeSet<Member<T>> ordered;
+    private long sequence;
+
+    MaterializedView(String name, Predicate<? super Employee<T>> predicate, Comparator<? super Employee<T>> order) {
+        this.name = name;
+        this.predicate = predicate;
+        this.order = order;
+        this.ordered = order == null ? null : new TreeSet<>(Comparator
+                .<Member<T>, Employee<T>>comparing(member -> member.key, order)
+                .thenComparingLong(member -> member.sequence));
+    }
+
+    /**
+     * @return the name the view was defined with
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the view keeps its members in order
+     */
+    public boolean isOrdered() {
+        return ordered != null;
+    }
+
+    /**
+     * Returns the view's current members, in order for an ordered view and
+     * otherwise in the order they joined the view. Takes time proportional to
+     * the size of the view, not of the store.
+     *
+     * @return a new list of the employees in the view
+     */
+    public synchronized List<Employee<T>> open() {
+        List<Employee<T>> result = new ArrayList<>(members.size());
+        if (ordered == null) {
+            members.values().forEach(member -> result.add(member.employee));
+        } else {
+            ordered.forEach(member -> result.add(member.employee));
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of employees in the view
+     */
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     * @param employeeId an employee ID
+     * @return true if that employee is in the view
+     */
+    public synchronized boolean contains(T employeeId) {
+        return members.containsKey(employeeId);
+    }
+
+    /**
+     * Adds, moves or drops an employee that was added or changed.
+     */
+    synchronized void refresh(Employee<T> employee) {
+        if (!predicate.test(employee)) {
+            remove(employee);
+            return;
+        }
+        Member<T> member = members.get(employee.getEmployeeId());
+        if (member == null) {
+            member = new Member<>(employee, keyOf(employee), sequence++);
+            members.put(employee.getEmployeeId(), member);
+            if (ordered != null) {
+                ordered.add(member);
+            }
+        } else if (ordered != null && order.compare(member.key, employee) != 0) {
+            ordered.remove(member);
+            member.key = keyOf(employee);
+            ordered.add(member);
+        }
+    }
+
+    /**
+     * Drops an employee that was removed or no longer matches.
+     */
+    synchronized void remove(Employee<T> employee) {
+        Member<T> member = members.remove(employee.getEmployeeId());
+        if (member != null && ordered != null) {
+            ordered.remove(member);
+        }
+    }
+
+    /**
+     * Returns the approximate bytes of the view's membership and, for an
+     * ordered view, of the sorted set and the employee copies it is keyed by.
+     */
+    synchronized long retainedBytes() {
+        int count = members.size();
+        long bytes = MemoryLayout.objectSize(5, 8) + MemoryLayout.stringSize(name)
+                + MemoryLayout.linkedHashMapSize(count) + count * MemoryLayout.objectSize(2, 8);
+        if (ordered != null) {
+            bytes += MemoryLayout.objectSize(1, 0) + MemoryLayout.treeMapSize(count) + count * MemoryLayout.EMPLOYEE;
+        }
+        return bytes;
+    }
+
+    private Employee<T> keyOf(Employee<T> employee) {
+        if (ordered == null) {
+            return null;
+        }
+        return new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                employee.getSalary(), employee.getPerformanceRating(), employee.getYearsOfExperience(),
+                employee.isActive());
+    }
+
+    /**
+     * An employee in the view, with the copy it is ordered by.
+     */
+    private static final class Member<T> {
+        final Employee<T> employee;
+        final long sequence;
+        Employee<T> key;
+
+        Member(Employee<T> employee, Employee<T> key, long sequence) {
+            this.employee = employee;
+            this.key = key;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package gtp.ems.query;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Named views over a store, each defined by a predicate and an optional
+ * ordering and kept up to date by every change, so that opening a fixed
+ * filter such as "active employees" costs the size of its result instead of
+ * a scan and sort of the whole store.
+ * <p>
+ * Defining a view scans the store once. From then on each addition, update
+ * and removal re-evaluates the changed employee against every view, which
+ * adds, moves or drops it; see {@link MaterializedView}. Views are meant to
+ * be few and their predicates cheap, since every write pays for each of them.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class MaterializedViews<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    private final EmployeeManagementSystem<T> ems;
+    private final Map<String, MaterializedView<T>> views = new ConcurrentHashMap<>();
+
+    /**
+     * Starts following the changes of a store.
+     *
+     * @param ems the store to follow
+     */
+    public MaterializedViews(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+        ems.addChangeListener(this);
+    }
+
+    /**
+     * Defines an unordered view, which lists its members in the order they joined it.
+     *
+     * @param name the view's name
+     * @param predicate decides whether an employee is in the view
+     * @return the new view
+     * @throws IllegalArgumentException if a view with that name already exists
+     */
+    public MaterializedView<T> define(String name, Predicate<? super Employee<T>> predicate) {
+        return define(name, predicate, null);
+    }
+
+    /**
+     * Defines a view and fills it from the current contents of the store.
+     *
+     * @param name the view's name
+     * @param predicate decides whether an employee is in the view
+     * @param order the order of the view's members, or null for the order they joined it
+     * @return the new view
+     * @throws IllegalArgumentException if a view with that name already exists
+     */
+    public MaterializedView<T> define(String name, Predicate<? super Employee<T>> predicate,
+                                      Comparator<? super Employee<T>> order) {
+        MaterializedView<T> view = new MaterializedView<>(Objects.requireNonNull(name),
+                Objects.requireNonNull(predicate), order);
+        return ems.atomically(() -> {
+            if (views.containsKey(name)) {
+                throw new IllegalArgumentException("View " + name + " already exists");
+            }
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                view.refresh(employee);
+            }
+            views.put(name, view);
+            return view;
+        });
+    }
+
+    /**
+     * @param name a view's name
+     * @return the view with that name, if defined
+     */
+    public Optional<MaterializedView<T>> getView(String name) {
+        return Optional.ofNullable(views.get(name));
+    }
+
+    /**
+     * Returns the current members of a view.
+     *
+     * @param name the view's name
+     * @return a new list of the employees in the view
+     * @throws IllegalArgumentException if no view has that name
+     */
+    public List<Employee<T>> open(String name) {
+        MaterializedView<T> view = views.get(name);
+        if (view == null) {
+            throw new IllegalArgumentException("No view named " + name);
+        }
+        return view.open();
+    }
+
+    /**
+     * @return the names of the defined views
+     */
+    public Set<String> getViewNames() {
+        return Set.copyOf(views.keySet());
+    }
+
+    /**
+     * Drops a view, which stops being updated.
+     *
+     * @param name the view's name
+     * @return true if the view existed
+     */
+    public boolean drop(String name) {
+        return views.remove(name) != null;
+    }
+
+    /**
+     * Adds every view's membership to a footprint, as {@code materializedViews}.
+     * The employees a view refers to belong to the store.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        long bytes = MemoryLayout.concurrentHashMapSize(views.size());
+        for (MaterializedView<T> view : views.values()) {
+            bytes += view.retainedBytes();
+        }
+        footprint.add("materializedViews", bytes);
+    }
+
+    /**
+     * Drops every view and stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+        views.clear();
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        refresh(employee);
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        for (MaterializedView<T> view : views.values()) {
+            view.remove(employee);
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        refresh(employee);
+    }
+
+    private void refresh(Employee<T> employee) {
+        for (MaterializedView<T> view : views.values()) {
+            view.refresh(employee);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package gtp.ems.query;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Continuous queries over a store: a client registers a predicate once and is
+ * told whenever an employee starts or stops matching it, instead of polling
+ * a finder and comparing the results.
+ * <p>
+ * Each query declares the fields its predicate reads, and queries are indexed
+ * by field, so a field update is evaluated only against the queries that read
+ * that field: a department change never runs a salary-range query. An added
+ * employee is evaluated against every query, and a removed one leaves every
+ * query it matched.
+ * </p>
+ * <p>
+ * Notifications are delivered synchronously from the store's change
+ * listeners; see {@link MatchListener}. Employees already in the store when a
+ * query is registered are taken as its initial matches without notification.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class StandingQueries<T> implements EmployeeChangeListener<T>, MemoryAccountable, AutoCloseable {
+    private final EmployeeManagementSystem<T> ems;
+    private final List<StandingQuery<T>> queries = new CopyOnWriteArrayList<>();
+    private final Map<EmployeeField, List<StandingQuery<T>>> queriesByField = new EnumMap<>(EmployeeField.class);
+    private final LongAdder evaluations = new LongAdder();
+
+    /**
+     * Starts following the changes of a store.
+     *
+     * @param ems the store to follow
+     */
+    public StandingQueries(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+        for (EmployeeField field : EmployeeField.values()) {
+            queriesByField.put(field, new CopyOnWriteArrayList<>());
+        }
+        ems.addChangeListener(this);
+    }
+
+    /**
+     * Registers a standing query.
+     *
+     * @param predicate decides whether an employee matches
+     * @param listener notified when employees start or stop matching
+     * @param field a field the predicate reads
+     * @param moreFields any other fields the predicate reads
+     * @return the registered query
+     */
+    public StandingQuery<T> register(Predicate<? super Employee<T>> predicate, MatchListener<T> listener,
+                                     EmployeeField field, EmployeeField... moreFields) {
+        StandingQuery<T> query = new StandingQuery<>(this, Objects.requireNonNull(predicate),
+                EnumSet.of(field, moreFields), Objects.requireNonNull(listener));
+        ems.atomically(() -> {
+            for (Employee<T> employee : ems.getAllEmployees()) {
+                query.seed(employee);
+            }
+            queries.add(query);
+            for (EmployeeField read : query.getFields()) {
+                queriesByField.get(read).add(query);
+            }
+            return null;
+        });
+        return query;
+    }
+
+    /**
+     * Registers a query matching the employees whose salary is within a range,
+     * the standing form of {@link EmployeeManagementSystem#getEmployeesInSalaryRange(double, double)}.
+     *
+     * @param minSalary the minimum salary (inclusive)
+     * @param maxSalary the maximum salary (inclusive)
+     * @param listener notified when employees start or stop matching
+     * @return the registered query
+     */
+    public StandingQuery<T> registerSalaryRange(double minSalary, double maxSalary, MatchListener<T> listener) {
+        return register(employee -> employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary,
+                listener, EmployeeField.SALARY);
+    }
+
+    /**
+     * Registers a query matching the employees whose performance rating meets a threshold,
+     * the standing form of {@link EmployeeManagementSystem#getHighPerformingEmployees(double)}.
+     *
+     * @param minRating the minimum performance rating threshold
+     * @param listener notified when employees start or stop matching
+     * @return the registered query
+     */
+    public StandingQuery<T> registerHighPerforming(double minRating, MatchListener<T> listener) {
+        return register(employee -> employee.getPerformanceRating() >= minRating,
+                listener, EmployeeField.PERFORMANCE_RATING);
+    }
+
+    /**
+     * @return the number of registered queries
+     */
+    public int getQueryCount() {
+        return queries.size();
+    }
+
+    /**
+     * @return the number of times a query predicate has been evaluated for a change
+     */
+    public long getEvaluationCount() {
+        return evaluations.sum();
+    }
+
+    void unregister(StandingQuery<T> query) {
+        if (queries.remove(query)) {
+            for (EmployeeField field : query.getFields()) {
+                queriesByField.get(field).remove(query);
+            }
+        }
+    }
+
+    /**
+     * Unregisters every query and stops following the store's changes.
+     */
+    @Override
+    public void close() {
+        ems.removeChangeListener(this);
+        queries.clear();
+        queriesByField.values().forEach(List::clear);
+    }
+
+    /**
+     * Adds the queries, their match sets and the per-field lists to a
+     * footprint, as {@code standingQueries}.
+     */
+    @Override
+    public void accountMemory(MemoryFootprint footprint) {
+        long bytes = MemoryLayout.referenceArraySize(queries.size())
+                + MemoryLayout.objectSize(3, 4) + MemoryLayout.referenceArraySize(queriesByField.size());
+        for (List<StandingQuery<T>> byField : queriesByField.values()) {
+            bytes += MemoryLayout.objectSize(2, 0) + MemoryLayout.referenceArraySize(byField.size());
+        }
+        for (StandingQuery<T> query : queries) {
+            bytes += query.retainedBytes();
+        }
+        footprint.add("standingQueries", bytes);
+    }
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        evaluate(queries, employee);
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        for (StandingQuery<T> query : queries) {
+            query.remove(employee);
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        evaluate(queriesByField.get(field), employee);
+    }
+
+    private void evaluate(List<StandingQuery<T>> affected, Employee<T> employee) {
+        for (StandingQuery<T> query : affected) {
+            query.evaluate(employee);
+        }
+        evaluations.add(affected.size());
+    }
+}
@@ -0,0 +1,127 @@
+package gtp.ems.query;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A query registered with {@link StandingQueries}: a predicate over employees,
+ * the fields it reads, and the IDs of the employees currently matching it.
+ * Closing it stops its notifications.
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public final class StandingQuery<T> implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(StandingQuery.class.getName());
+
+    private final StandingQueries<T> owner;
+    private final Predicate<? super Employee<T>> predicate;
+    private final Set<EmployeeField> fields;
+    private final MatchListener<T> listener;
+    private final Set<T> matching = ConcurrentHashMap.newKeySet();
+
+    StandingQuery(StandingQueries<T> owner, Predicate<? super Employee<T>> predicate, Set<EmployeeField> fields,
+                  MatchListener<T> listener) {
+        this.owner = owner;
+        this.predicate = predicate;
+        this.fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+        this.listener = listener;
+    }
+
+    /**
+     * @return the fields the query's predicate reads
+     */
+    public Set<EmployeeField> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return the number of employees currently matching the query
+     */
+    public int getMatchCount() {
+        return matching.size();
+    }
+
+    /**
+     * @param employeeId an employee ID
+     * @return true if that employee currently matches the query
+     */
+    public boolean matches(T employeeId) {
+        return matching.contains(employeeId);
+    }
+
+    /**
+     * Stops notifying this query's listener.
+     */
+    @Override
+    public void close() {
+        owner.unregister(this);
+    }
+
+    /**
+     * Records whether an employee matches without notifying, when the query is registered.
+     */
+    void seed(Employee<T> employee) {
+        if (predicate.test(employee)) {
+            matching.add(employee.getEmployeeId());
+        }
+    }
+
+    /**
+     * Re-evaluates an employee that was added or changed and notifies if its membership changed.
+     */
+    void evaluate(Employee<T> employee) {
+        boolean matches;
+        try {
+            matches = predicate.test(employee);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Standing query predicate failed for " + employee.getEmployeeId(), e);
+            return;
+        }
+        if (matches) {
+            if (matching.add(employee.getEmployeeId())) {
+                notify(employee, true);
+            }
+        } else if (matching.remove(employee.getEmployeeId())) {
+            notify(employee, false);
+        }
+    }
+
+    /**
+     * Drops an employee that was removed, notifying if it matched.
+     */
+    void remove(Employee<T> employee) {
+        if (matching.remove(employee.getEmployeeId())) {
+            notify(employee, false);
+        }
+    }
+
+    /**
+     * Returns the approximate bytes of the query and its match set. The IDs
+     * in the set belong to the store.
+     */
+    long retainedBytes() {
+        return MemoryLayout.objectSize(5, 0) + MemoryLayout.objectSize(3, 8)
+                + MemoryLayout.objectSize(2, 0) + MemoryLayout.concurrentHashMapSize(matching.size());
+    }
+
+    private void notify(Employee<T> employee, boolean entered) {
+        try {
+            if (entered) {
+                listener.entered(employee);
+            } else {
+                listener.left(employee);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Match listener failed for " + employee.getEmployeeId(), e);
+        }
+    }
+}
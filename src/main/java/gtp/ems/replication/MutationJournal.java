@@ -0,0 +1,155 @@
+package gtp.ems.replication;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An in-memory, bounded, ordered log of the changes made to a store.
+ * <p>
+ * The journal listens to the store and assigns every change the next sequence
+ * number, starting at 1. It keeps the most recent {@code capacity} records in
+ * a ring buffer; a reader that falls further behind than that can no longer
+ * catch up from the log and must reload from a snapshot.
+ * </p>
+ * <p>
+ * Each journal has a random, non-zero epoch. Sequence numbers are only
+ * meaningful together with the epoch, so that a follower can tell when it
+ * reconnects to a restarted leader.
+ * </p>
+ */
+public class MutationJournal implements EmployeeChangeListener<UUID> {
+    private final MutationRecord[] ring;
+    private final long epoch;
+    private long head;
+    private long headTimestampMillis;
+
+    /**
+     * Constructs an empty journal.
+     *
+     * @param capacity the number of most recent records to retain
+     */
+    public MutationJournal(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.ring = new MutationRecord[capacity];
+        long random = ThreadLocalRandom.current().nextLong();
+        this.epoch = random == 0 ? 1 : random;
+        this.headTimestampMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public void employeeAdded(Employee<UUID> employee) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            append(MutationRecord.added(head + 1, now, copyOf(employee)));
+        }
+    }
+
+    @Override
+    public void employeeRemoved(Employee<UUID> employee) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            append(MutationRecord.removed(head + 1, now, employee.getEmployeeId()));
+        }
+    }
+
+    @Override
+    public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue, Object newValue) {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            append(MutationRecord.updated(head + 1, now, employee.getEmployeeId(), field, newValue));
+        }
+    }
+
+    private void append(MutationRecord record) {
+        head = record.getSequence();
+        headTimestampMillis = record.getTimestampMillis();
+        ring[(int) (head % ring.length)] = record;
+        notifyAll();
+    }
+
+    /**
+     * Returns this journal's epoch.
+     *
+     * @return a random non-zero identifier of this journal's sequence space
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the sequence number of the latest record, or 0 if nothing has been logged.
+     *
+     * @return the head sequence
+     */
+    public synchronized long getHeadSequence() {
+        return head;
+    }
+
+    /**
+     * Returns when the latest record was logged, or when the journal was
+     * created if nothing has been logged.
+     *
+     * @return the head timestamp in epoch milliseconds
+     */
+    public synchronized long getHeadTimestampMillis() {
+        return headTimestampMillis;
+    }
+
+    /**
+     * Returns the sequence number of the oldest record still retained.
+     *
+     * @return the oldest readable sequence
+     */
+    public synchronized long getOldestSequence() {
+        return Math.max(1, head - ring.length + 1);
+    }
+
+    /**
+     * Reads records starting at {@code fromSequence}, waiting up to
+     * {@code waitMillis} for the first one if the reader is already at the head.
+     *
+     * @param fromSequence the first sequence to return
+     * @param maxRecords the maximum number of records to return
+     * @param waitMillis how long to wait for a new record
+     * @return the records in sequence order, empty if none arrived in time, or
+     *         null if {@code fromSequence} is no longer retained
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized List<MutationRecord> read(long fromSequence, int maxRecords, long waitMillis)
+            throws InterruptedException {
+        if (fromSequence < getOldestSequence()) {
+            return null;
+        }
+        long deadline = System.currentTimeMillis() + waitMillis;
+        while (fromSequence > head) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return List.of();
+            }
+            wait(remaining);
+        }
+        if (fromSequence < getOldestSequence()) {
+            return null;
+        }
+        long to = Math.min(head, fromSequence + maxRecords - 1);
+        List<MutationRecord> records = new ArrayList<>((int) (to - fromSequence + 1));
+        for (long sequence = fromSequence; sequence <= to; sequence++) {
+            records.add(ring[(int) (sequence % ring.length)]);
+        }
+        return records;
+    }
+
+    static Employee<UUID> copyOf(Employee<UUID> employee) {
+        return new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                employee.getSalary(), employee.getPerformanceRating(), employee.getYearsOfExperience(),
+                employee.isActive());
+    }
+}
@@ -0,0 +1,150 @@
+package gtp.ems.replication;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+import java.util.UUID;
+
+/**
+ * One entry of the replication log: a single add, remove or field update,
+ * stamped with its position in the log and the leader's wall-clock time.
+ */
+public final class MutationRecord {
+
+    /**
+     * The kind of change a record describes.
+     */
+    public enum Type {
+        ADD, REMOVE, UPDATE
+    }
+
+    private final long sequence;
+    private final long timestampMillis;
+    private final Type type;
+    private final UUID employeeId;
+    private final Employee<UUID> employee;
+    private final EmployeeField field;
+    private final Object value;
+
+    private MutationRecord(long sequence, long timestampMillis, Type type, UUID employeeId,
+                           Employee<UUID> employee, EmployeeField field, Object value) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
+        this.type = type;
+        this.employeeId = employeeId;
+        this.employee = employee;
+        this.field = field;
+        this.value = value;
+    }
+
+    /**
+     * Creates a record of an added employee.
+     *
+     * @param sequence the log position
+     * @param timestampMillis the time of the change
+     * @param employee a private copy of the employee as it was added
+     * @return the record
+     */
+    public static MutationRecord added(long sequence, long timestampMillis, Employee<UUID> employee) {
+        return new MutationRecord(sequence, timestampMillis, Type.ADD, employee.getEmployeeId(), employee, null, null);
+    }
+
+    /**
+     * Creates a record of a removed employee.
+     *
+     * @param sequence the log position
+     * @param timestampMillis the time of the change
+     * @param employeeId the ID of the removed employee
+     * @return the record
+     */
+    public static MutationRecord removed(long sequence, long timestampMillis, UUID employeeId) {
+        return new MutationRecord(sequence, timestampMillis, Type.REMOVE, employeeId, null, null, null);
+    }
+
+    /**
+     * Creates a record of a single field update.
+     *
+     * @param sequence the log position
+     * @param timestampMillis the time of the change
+     * @param employeeId the ID of the updated employee
+     * @param field the updated field
+     * @param value the new value
+     * @return the record
+     */
+    public static MutationRecord updated(long sequence, long timestampMillis, UUID employeeId,
+                                         EmployeeField field, Object value) {
+        return new MutationRecord(sequence, timestampMillis, Type.UPDATE, employeeId, null, field, value);
+    }
+
+    /**
+     * Returns the position of this record in the log.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns when the change was made on the leader.
+     *
+     * @return the timestamp in epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the record type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the ID of the changed employee.
+     *
+     * @return the employee ID
+     */
+    public UUID getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * Returns the added employee. Only set for {@link Type#ADD} records.
+     *
+     * @return the employee, or null
+     */
+    public Employee<UUID> getEmployee() {
+        return employee;
+    }
+
+    /**
+     * Returns the updated field. Only set for {@link Type#UPDATE} records.
+     *
+     * @return the field, or null
+     */
+    public EmployeeField getField() {
+        return field;
+    }
+
+    /**
+     * Returns the new field value. Only set for {@link Type#UPDATE} records.
+     *
+     * @return the value, or null
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return switch (type) {
+            case ADD -> sequence + " ADD " + employeeId;
+            case REMOVE -> sequence + " REMOVE " + employeeId;
+            case UPDATE -> sequence + " UPDATE " + employeeId + " " + field.getFieldName() + "=" + value;
+        };
+    }
+}
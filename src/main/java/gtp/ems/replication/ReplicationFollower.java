@@ -0,0 +1,281 @@
+package gtp.ems.replication;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a local {@link EmployeeManagementSystem} in sync with a {@link ReplicationLeader}.
+ * <p>
+ * A single background thread connects to the leader, loads a snapshot when
+ * needed and then applies changes in log order. If the connection drops, the
+ * follower reconnects and resumes from its last applied sequence; the leader
+ * sends a fresh snapshot if that is no longer possible.
+ * </p>
+ * <p>
+ * The replica is meant for reads only; changes made to it directly are not
+ * sent back to the leader and may be overwritten. While a snapshot is being
+ * loaded, readers of the replica may see a partially loaded store.
+ * </p>
+ */
+public class ReplicationFollower implements ReplicationFollowerMXBean, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ReplicationFollower.class.getName());
+    private static final long RECONNECT_DELAY_MILLIS = 500;
+
+    private final EmployeeManagementSystem<UUID> replica;
+    private final InetSocketAddress leader;
+    private final int readTimeoutMillis;
+
+    private final Object progress = new Object();
+    private volatile long epoch;
+    private volatile long appliedSequence;
+    private volatile long appliedTimestampMillis;
+    private volatile long leaderSequence;
+    private volatile long leaderTimestampMillis;
+    private volatile long snapshotCount;
+    private volatile boolean connected;
+    private volatile boolean running;
+    private volatile Socket socket;
+    private Thread worker;
+
+    /**
+     * Constructs a follower that applies the leader's changes to {@code replica}.
+     *
+     * @param replica the local store to keep in sync
+     * @param leader the leader's replication address
+     * @param readTimeoutMillis how long to wait for data or a heartbeat before reconnecting
+     */
+    public ReplicationFollower(EmployeeManagementSystem<UUID> replica, InetSocketAddress leader, int readTimeoutMillis) {
+        this.replica = replica;
+        this.leader = leader;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    /**
+     * Starts following the leader in the background. A stopped follower can be
+     * started again and resumes from where it stopped.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("ems-replication-follower").start(this::run);
+    }
+
+    /**
+     * Stops following and waits for the background thread to finish.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+    }
+
+    /**
+     * Waits until the replica has been synced with the leader and applied
+     * every change up to {@code sequence}.
+     *
+     * @param sequence the leader sequence to wait for
+     * @param timeout the maximum time to wait
+     * @param unit the unit of {@code timeout}
+     * @return true if the sequence was reached, false on timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitSequence(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (progress) {
+            while (epoch == 0 || appliedSequence < sequence) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                progress.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    @Override
+    public long getLagRecords() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    @Override
+    public long getLagMillis() {
+        return appliedSequence >= leaderSequence ? 0 : Math.max(0, leaderTimestampMillis - appliedTimestampMillis);
+    }
+
+    @Override
+    public long getSnapshotCount() {
+        return snapshotCount;
+    }
+
+    /**
+     * Registers this follower's MBean under {@code gtp.ems:type=ReplicationFollower}.
+     *
+     * @param name a name distinguishing this follower from others in the JVM
+     */
+    public void registerMBean(String name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = new ObjectName("gtp.ems:type=ReplicationFollower,name=" + ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Failed to register replication follower MBean", e);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(leader, readTimeoutMillis);
+                connection.setSoTimeout(readTimeoutMillis);
+                connection.setTcpNoDelay(true);
+                follow(connection);
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.FINE, "Replication connection to " + leader + " lost", e);
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 64 * 1024));
+
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeInt(ReplicationProtocol.VERSION);
+        out.writeLong(epoch);
+        out.writeLong(appliedSequence);
+        out.flush();
+
+        if (in.readInt() != ReplicationProtocol.MAGIC || in.readInt() != ReplicationProtocol.VERSION) {
+            throw new IOException("Leader speaks an unknown replication protocol");
+        }
+        long leaderEpoch = in.readLong();
+        connected = true;
+        LOGGER.info(() -> "Connected to replication leader " + leader);
+
+        while (running) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case ReplicationProtocol.SNAPSHOT -> loadSnapshot(in, leaderEpoch);
+                case ReplicationProtocol.HEARTBEAT -> {
+                    leaderSequence = in.readLong();
+                    leaderTimestampMillis = in.readLong();
+                }
+                default -> apply(ReplicationProtocol.readRecord(in, tag));
+            }
+        }
+    }
+
+    private void loadSnapshot(DataInputStream in, long leaderEpoch) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        int count = in.readInt();
+
+        // Forget the resume position first, so that a connection lost halfway
+        // through loading leads to a fresh snapshot rather than a tail resume
+        epoch = 0;
+        for (Employee<UUID> existing : replica.getAllEmployees()) {
+            try {
+                replica.removeEmployee(existing.getEmployeeId());
+            } catch (EmployeeNotExistException e) {
+                // Already gone; nothing to clear
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            replica.addEmployee(ReplicationProtocol.readEmployee(in));
+        }
+
+        epoch = leaderEpoch;
+        snapshotCount++;
+        advance(sequence, timestamp);
+        LOGGER.info(() -> "Loaded snapshot of " + count + " employees at sequence " + sequence);
+    }
+
+    private void apply(MutationRecord record) {
+        try {
+            switch (record.getType()) {
+                case ADD -> replica.addEmployee(record.getEmployee());
+                case REMOVE -> replica.removeEmployee(record.getEmployeeId());
+                case UPDATE -> replica.updateEmployeeDetails(record.getEmployeeId(),
+                        record.getField().getFieldName(), record.getValue());
+            }
+        } catch (EmployeeNotExistException e) {
+            LOGGER.warning(() -> "Replicated change for unknown employee: " + record);
+        }
+        advance(record.getSequence(), record.getTimestampMillis());
+    }
+
+    private void advance(long sequence, long timestampMillis) {
+        synchronized (progress) {
+            appliedSequence = sequence;
+            appliedTimestampMillis = timestampMillis;
+            if (leaderSequence < sequence) {
+                leaderSequence = sequence;
+                leaderTimestampMillis = timestampMillis;
+            }
+            progress.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package gtp.ems.replication;
+
+/**
+ * JMX management interface for the replication state of one follower.
+ */
+public interface ReplicationFollowerMXBean {
+
+    /**
+     * @return true while connected to the leader
+     */
+    boolean isConnected();
+
+    /**
+     * @return the sequence of the last change applied to the replica
+     */
+    long getAppliedSequence();
+
+    /**
+     * @return the leader's latest sequence, as last reported by the leader
+     */
+    long getLeaderSequence();
+
+    /**
+     * @return how many changes the replica is behind the leader
+     */
+    long getLagRecords();
+
+    /**
+     * @return how much older, in milliseconds, the last applied change is than
+     *         the leader's latest change; 0 when caught up
+     */
+    long getLagMillis();
+
+    /**
+     * @return how many snapshots have been loaded since the follower started
+     */
+    long getSnapshotCount();
+}
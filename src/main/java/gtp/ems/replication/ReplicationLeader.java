@@ -0,0 +1,217 @@
+package gtp.ems.replication;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ships the changes made to a store to any number of {@link ReplicationFollower}s over TCP.
+ * <p>
+ * The leader attaches a {@link MutationJournal} to the store. Each follower
+ * connection is served by its own virtual thread. A follower that can resume
+ * from its last applied sequence is sent the journal tail; any other follower
+ * first receives a consistent snapshot of the store, taken while writers are
+ * briefly held off, and then the tail from the snapshot's sequence. When there
+ * is nothing to send, heartbeats report the leader's head so that followers
+ * can measure their lag.
+ * </p>
+ */
+public class ReplicationLeader implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ReplicationLeader.class.getName());
+    private static final int BATCH_SIZE = 1024;
+
+    private final EmployeeManagementSystem<UUID> ems;
+    private final MutationJournal journal;
+    private final long heartbeatMillis;
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+
+    private ServerSocket serverSocket;
+    private volatile boolean running;
+
+    /**
+     * Constructs a leader for a store and starts journaling its changes.
+     *
+     * @param ems the store to replicate
+     * @param journalCapacity how many recent changes to keep for followers that reconnect
+     * @param heartbeatMillis how often to send a heartbeat when idle
+     */
+    public ReplicationLeader(EmployeeManagementSystem<UUID> ems, int journalCapacity, long heartbeatMillis) {
+        this.ems = ems;
+        this.journal = new MutationJournal(journalCapacity);
+        this.heartbeatMillis = heartbeatMillis;
+        ems.atomically(() -> {
+            ems.addChangeListener(journal);
+            return null;
+        });
+    }
+
+    /**
+     * Binds the replication port and starts accepting followers.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        running = true;
+        Thread.ofPlatform().daemon().name("ems-replication-acceptor").start(this::acceptLoop);
+        LOGGER.info(() -> "Replication leader listening on " + serverSocket.getLocalSocketAddress()
+                + " (epoch " + Long.toHexString(journal.getEpoch()) + ")");
+    }
+
+    /**
+     * Returns the port the leader listens on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the journal of changes being shipped.
+     *
+     * @return the journal
+     */
+    public MutationJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the number of currently connected followers.
+     *
+     * @return the follower count
+     */
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Stops accepting followers, disconnects the current ones and detaches from the store.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        running = false;
+        ems.removeChangeListener(journal);
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket follower : followers) {
+            follower.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread.ofVirtual().name("ems-replication-" + socket.getRemoteSocketAddress())
+                        .start(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    LOGGER.log(Level.WARNING, "Failed to accept follower", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+
+            if (in.readInt() != ReplicationProtocol.MAGIC || in.readInt() != ReplicationProtocol.VERSION) {
+                LOGGER.warning(() -> "Rejected follower with unknown protocol: " + socket.getRemoteSocketAddress());
+                return;
+            }
+            long followerEpoch = in.readLong();
+            long followerSequence = in.readLong();
+            out.writeInt(ReplicationProtocol.MAGIC);
+            out.writeInt(ReplicationProtocol.VERSION);
+            out.writeLong(journal.getEpoch());
+
+            long next;
+            if (followerEpoch == journal.getEpoch()
+                    && followerSequence <= journal.getHeadSequence()
+                    && followerSequence + 1 >= journal.getOldestSequence()) {
+                next = followerSequence + 1;
+                LOGGER.info(() -> "Follower " + socket.getRemoteSocketAddress() + " resuming after " + followerSequence);
+            } else {
+                next = sendSnapshot(out) + 1;
+            }
+
+            while (running) {
+                List<MutationRecord> batch = journal.read(next, BATCH_SIZE, heartbeatMillis);
+                if (batch == null) {
+                    LOGGER.info(() -> "Follower " + socket.getRemoteSocketAddress() + " fell behind the journal");
+                    next = sendSnapshot(out) + 1;
+                    continue;
+                }
+                for (MutationRecord record : batch) {
+                    ReplicationProtocol.writeRecord(out, record);
+                    next = record.getSequence() + 1;
+                }
+                out.writeByte(ReplicationProtocol.HEARTBEAT);
+                out.writeLong(journal.getHeadSequence());
+                out.writeLong(journal.getHeadTimestampMillis());
+                out.flush();
+            }
+        } catch (SocketException e) {
+            LOGGER.fine(() -> "Follower disconnected: " + e.getMessage());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Replication to " + socket.getRemoteSocketAddress() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    /**
+     * Sends a copy of every employee, taken together with the journal head so
+     * that the tail can continue exactly where the snapshot ends.
+     *
+     * @return the sequence the snapshot corresponds to
+     */
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        long[] position = new long[2];
+        List<Employee<UUID>> employees = ems.atomically(() -> {
+            position[0] = journal.getHeadSequence();
+            position[1] = journal.getHeadTimestampMillis();
+            List<Employee<UUID>> copies = new ArrayList<>();
+            ems.getEmployeeIterator().forEachRemaining(employee -> copies.add(MutationJournal.copyOf(employee)));
+            return copies;
+        });
+
+        out.writeByte(ReplicationProtocol.SNAPSHOT);
+        out.writeLong(position[0]);
+        out.writeLong(position[1]);
+        out.writeInt(employees.size());
+        for (Employee<UUID> employee : employees) {
+            ReplicationProtocol.writeEmployee(out, employee);
+        }
+        out.flush();
+        LOGGER.info(() -> "Sent snapshot of " + employees.size() + " employees at sequence " + position[0]);
+        return position[0];
+    }
+}
@@ -0,0 +1,96 @@
+package gtp.ems.replication;
+
+import gtp.ems.server.EmployeeQueryServer;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Runs a replication leader or follower in its own JVM, optionally serving
+ * its store over HTTP, so that replication can be exercised across processes.
+ * <p>
+ * Leader: {@code --role=leader --port=7400 --http-port=8080 --employees=100000 --journal=1000000}<br>
+ * Follower: {@code --role=follower --leader=127.0.0.1:7400 --http-port=8081}
+ * </p>
+ * <p>
+ * Edits sent to the leader's HTTP port appear on every follower's HTTP port;
+ * each follower's lag is published over JMX under {@code gtp.ems:type=ReplicationFollower}.
+ * </p>
+ */
+public final class ReplicationNode {
+    private static final Logger LOGGER = Logger.getLogger(ReplicationNode.class.getName());
+
+    private ReplicationNode() {
+    }
+
+    /**
+     * Command-line entry point. Runs until the JVM is stopped.
+     *
+     * @param args the command-line options
+     * @throws IOException if a port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+
+        String role = options.getOrDefault("role", "leader");
+        String host = options.getOrDefault("host", "127.0.0.1");
+        long heartbeatMillis = Long.parseLong(options.getOrDefault("heartbeat-ms", "200"));
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        ems.getMetrics().registerMBeans(role);
+
+        Runnable shutdown;
+        if (role.equals("leader")) {
+            int employees = Integer.parseInt(options.getOrDefault("employees", "0"));
+            if (employees > 0) {
+                new WorkforceGenerator(Long.parseLong(options.getOrDefault("seed", "42"))).populate(ems, employees);
+                LOGGER.info(() -> "Populated leader with " + employees + " generated employees");
+            }
+            ReplicationLeader leader = new ReplicationLeader(ems,
+                    Integer.parseInt(options.getOrDefault("journal", "1000000")), heartbeatMillis);
+            leader.start(new InetSocketAddress(host, Integer.parseInt(options.getOrDefault("port", "7400"))));
+            shutdown = () -> closeQuietly(leader);
+        } else if (role.equals("follower")) {
+            String[] leaderAddress = options.getOrDefault("leader", "127.0.0.1:7400").split(":");
+            ReplicationFollower follower = new ReplicationFollower(ems,
+                    new InetSocketAddress(leaderAddress[0], Integer.parseInt(leaderAddress[1])),
+                    (int) (heartbeatMillis * 10));
+            follower.registerMBean(options.getOrDefault("name", "follower"));
+            follower.start();
+            shutdown = () -> closeQuietly(follower);
+        } else {
+            throw new IllegalArgumentException("--role must be leader or follower: " + role);
+        }
+
+        EmployeeQueryServer server = null;
+        if (options.containsKey("http-port")) {
+            server = new EmployeeQueryServer(ems,
+                    new InetSocketAddress(host, Integer.parseInt(options.get("http-port"))), 512);
+            server.start();
+        }
+        EmployeeQueryServer httpServer = server;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (httpServer != null) {
+                httpServer.stop(1);
+            }
+            shutdown.run();
+        }, "ems-replication-shutdown"));
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            LOGGER.fine(() -> "Error during shutdown: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package gtp.ems.replication;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Wire format shared by {@link ReplicationLeader} and {@link ReplicationFollower}.
+ * <p>
+ * After connecting, the follower sends {@code MAGIC, VERSION, epoch, appliedSequence}
+ * and the leader answers {@code MAGIC, VERSION, epoch}. The leader then sends a
+ * stream of tagged messages: an optional {@code SNAPSHOT} (sequence, timestamp,
+ * count, employees), followed by {@code ADD}, {@code REMOVE} and {@code UPDATE}
+ * records, interleaved with {@code HEARTBEAT}s carrying the leader's head
+ * sequence and its timestamp. A {@code SNAPSHOT} may be sent again at any time
+ * if the follower falls too far behind the leader's journal.
+ * </p>
+ */
+final class ReplicationProtocol {
+    static final int MAGIC = 0x454D5352;
+    static final int VERSION = 1;
+
+    static final byte SNAPSHOT = 1;
+    static final byte ADD = 2;
+    static final byte REMOVE = 3;
+    static final byte UPDATE = 4;
+    static final byte HEARTBEAT = 5;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeRecord(DataOutputStream out, MutationRecord record) throws IOException {
+        switch (record.getType()) {
+            case ADD -> {
+                out.writeByte(ADD);
+                out.writeLong(record.getSequence());
+                out.writeLong(record.getTimestampMillis());
+                writeEmployee(out, record.getEmployee());
+            }
+            case REMOVE -> {
+                out.writeByte(REMOVE);
+                out.writeLong(record.getSequence());
+                out.writeLong(record.getTimestampMillis());
+                writeId(out, record.getEmployeeId());
+            }
+            case UPDATE -> {
+                out.writeByte(UPDATE);
+                out.writeLong(record.getSequence());
+                out.writeLong(record.getTimestampMillis());
+                writeId(out, record.getEmployeeId());
+                out.writeByte(record.getField().ordinal());
+                writeValue(out, record.getField(), record.getValue());
+            }
+        }
+    }
+
+    /**
+     * Reads the body of a record message whose tag has already been consumed.
+     */
+    static MutationRecord readRecord(DataInputStream in, byte tag) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        switch (tag) {
+            case ADD:
+                return MutationRecord.added(sequence, timestamp, readEmployee(in));
+            case REMOVE:
+                return MutationRecord.removed(sequence, timestamp, readId(in));
+            case UPDATE:
+                UUID employeeId = readId(in);
+                EmployeeField field = EmployeeField.values()[in.readUnsignedByte()];
+                return MutationRecord.updated(sequence, timestamp, employeeId, field, readValue(in, field));
+            default:
+                throw new IOException("Unknown record tag " + tag);
+        }
+    }
+
+    static void writeEmployee(DataOutputStream out, Employee<UUID> employee) throws IOException {
+        writeId(out, employee.getEmployeeId());
+        writeString(out, employee.getName());
+        writeString(out, employee.getDepartment());
+        out.writeDouble(employee.getSalary());
+        out.writeDouble(employee.getPerformanceRating());
+        out.writeInt(employee.getYearsOfExperience());
+        out.writeBoolean(employee.isActive());
+    }
+
+    static Employee<UUID> readEmployee(DataInputStream in) throws IOException {
+        return new Employee<>(readId(in), readString(in), readString(in),
+                in.readDouble(), in.readDouble(), in.readInt(), in.readBoolean());
+    }
+
+    private static void writeId(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readId(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeValue(DataOutputStream out, EmployeeField field, Object value) throws IOException {
+        switch (field) {
+            case NAME, DEPARTMENT -> writeString(out, (String) value);
+            case SALARY, PERFORMANCE_RATING -> out.writeDouble((Double) value);
+            case YEARS_OF_EXPERIENCE -> out.writeInt((Integer) value);
+            case ACTIVE -> out.writeBoolean((Boolean) value);
+        }
+    }
+
+    private static Object readValue(DataInputStream in, EmployeeField field) throws IOException {
+        return switch (field) {
+            case NAME, DEPARTMENT -> readString(in);
+            case SALARY, PERFORMANCE_RATING -> in.readDouble();
+            case YEARS_OF_EXPERIENCE -> in.readInt();
+            case ACTIVE -> in.readBoolean();
+        };
+    }
+}
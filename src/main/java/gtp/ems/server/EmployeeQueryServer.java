@@ -0,0 +1,378 @@
+package gtp.ems.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Serves an {@link EmployeeManagementSystem} over HTTP using the JDK's built-in
+ * {@link HttpServer}, with one virtual thread per request.
+ * <p>
+ * Endpoints (all responses are JSON):
+ * </p>
+ * <ul>
+ *   <li>{@code GET /employees} - all employees, or filtered by one of
+ *       {@code department}, {@code name}, {@code minRating}, {@code minSalary}+{@code maxSalary},
+ *       {@code sort} ({@code experience|salary|performance}) or {@code top}</li>
+ *   <li>{@code POST /employees?name=&department=&salary=&rating=&experience=&active=} - add an employee</li>
+ *   <li>{@code GET|DELETE /employees/{id}} - look up or remove one employee</li>
+ *   <li>{@code PATCH /employees/{id}?field=&value=} - update one field</li>
+ *   <li>{@code GET /departments/{name}/average-salary}</li>
+ *   <li>{@code POST /raises?minRating=&percent=}</li>
+ *   <li>{@code GET /health}</li>
+ * </ul>
+ * <p>
+ * At most {@code maxInFlight} requests are processed at once. Requests beyond
+ * that are rejected immediately with {@code 503 Service Unavailable} and a
+ * {@code Retry-After} header instead of queueing without bound.
+ * </p>
+ */
+public class EmployeeQueryServer {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeQueryServer.class.getName());
+    private static final String JSON = "application/json";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final EmployeeManagementSystem<UUID> ems;
+    private final InetSocketAddress address;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final LongAdder rejected = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Constructs a server for a store. The server is not started.
+     *
+     * @param ems the store to serve
+     * @param address the address to bind; port 0 picks a free port
+     * @param maxInFlight the maximum number of requests processed concurrently
+     */
+    public EmployeeQueryServer(EmployeeManagementSystem<UUID> ems, InetSocketAddress address, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.ems = ems;
+        this.address = address;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Binds the socket and starts serving requests.
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        // The JDK server flushes headers separately from the body, so without
+        // TCP_NODELAY each keep-alive response stalls on the client's delayed ACK.
+        // The property is read once, when the first server is created.
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(address, maxInFlight);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        server.createContext("/employees", limited(this::handleEmployees));
+        server.createContext("/departments", limited(this::handleDepartments));
+        server.createContext("/raises", limited(this::handleRaises));
+        server.createContext("/health", exchange -> {
+            try (exchange) {
+                sendString(exchange, 200, "status", "UP");
+            }
+        });
+        server.start();
+        LOGGER.info(() -> "Employee query server listening on " + getAddress());
+    }
+
+    /**
+     * Stops accepting requests and waits up to {@code delaySeconds} for
+     * in-flight requests to finish.
+     *
+     * @param delaySeconds the maximum time to wait for running requests
+     */
+    public synchronized void stop(int delaySeconds) {
+        if (server != null) {
+            server.stop(delaySeconds);
+            executor.close();
+            server = null;
+            LOGGER.info("Employee query server stopped");
+        }
+    }
+
+    /**
+     * Returns the address the server is bound to.
+     *
+     * @return the bound address, including the actual port
+     */
+    public InetSocketAddress getAddress() {
+        return server == null ? address : server.getAddress();
+    }
+
+    /**
+     * Returns how many requests were turned away because the in-flight limit was reached.
+     *
+     * @return the rejected request count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private HttpHandler limited(HttpHandler handler) {
+        return exchange -> {
+            try (exchange) {
+                if (!inFlight.tryAcquire()) {
+                    rejected.increment();
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendString(exchange, 503, "error", "Too many requests in flight");
+                    return;
+                }
+                try {
+                    handler.handle(exchange);
+                } catch (IllegalArgumentException e) {
+                    sendString(exchange, 400, "error", e.getMessage());
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Failed to handle " + exchange.getRequestURI(), e);
+                    sendString(exchange, 500, "error", "Internal server error");
+                } finally {
+                    inFlight.release();
+                }
+            }
+        };
+    }
+
+    private void handleEmployees(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] segments = pathSegments(exchange);
+        Map<String, String> query = queryParameters(exchange);
+
+        if (segments.length == 1) {
+            switch (method) {
+                case "GET" -> sendEmployees(exchange, findEmployees(query));
+                case "POST" -> addEmployee(exchange, query);
+                default -> sendString(exchange, 405, "error", "Method not allowed");
+            }
+            return;
+        }
+
+        UUID employeeId = parseId(segments[1]);
+        switch (method) {
+            case "GET" -> {
+                Employee<UUID> employee = ems.findEmployee(employeeId).orElse(null);
+                if (employee != null) {
+                    sendEmployee(exchange, 200, employee);
+                } else {
+                    sendString(exchange, 404, "error", "Employee with ID " + employeeId + " does not exist");
+                }
+            }
+            case "DELETE" -> {
+                try {
+                    ems.removeEmployee(employeeId);
+                    exchange.sendResponseHeaders(204, -1);
+                } catch (EmployeeNotExistException e) {
+                    sendString(exchange, 404, "error", e.getMessage());
+                }
+            }
+            case "PATCH" -> {
+                String field = required(query, "field");
+                Object value = parseFieldValue(field, required(query, "value"));
+                if (ems.updateEmployeeDetails(employeeId, field, value)) {
+                    exchange.sendResponseHeaders(204, -1);
+                } else {
+                    sendString(exchange, 404, "error", "No employee " + employeeId + " or unknown field " + field);
+                }
+            }
+            default -> sendString(exchange, 405, "error", "Method not allowed");
+        }
+    }
+
+    private List<Employee<UUID>> findEmployees(Map<String, String> query) {
+        if (query.containsKey("filter")) {
+            return ems.filterEmployees(query.get("filter"));
+        }
+        if (query.containsKey("department")) {
+            return ems.getEmployeesByDepartment(query.get("department"));
+        }
+        if (query.containsKey("name")) {
+            return ems.searchEmployeesByName(query.get("name"));
+        }
+        if (query.containsKey("minRating")) {
+            return ems.getHighPerformingEmployees(parseDouble(query, "minRating"));
+        }
+        if (query.containsKey("minSalary") || query.containsKey("maxSalary")) {
+            return ems.getEmployeesInSalaryRange(parseDouble(query, "minSalary"), parseDouble(query, "maxSalary"));
+        }
+        if (query.containsKey("top")) {
+            return ems.getTopPaidEmployees(Integer.parseInt(query.get("top")));
+        }
+        if (query.containsKey("sort")) {
+            return switch (query.get("sort")) {
+                case "experience" -> ems.sortEmployeesByExperience();
+                case "salary" -> ems.sortEmployeesBySalary();
+                case "performance" -> ems.sortEmployeesByPerformance();
+                default -> throw new IllegalArgumentException("Unknown sort: " + query.get("sort"));
+            };
+        }
+        return ems.getAllEmployees();
+    }
+
+    private void addEmployee(HttpExchange exchange, Map<String, String> query) throws IOException {
+        Employee<UUID> employee = new Employee<>(
+                UUID.randomUUID(),
+                required(query, "name"),
+                required(query, "department"),
+                parseDouble(query, "salary"),
+                parseDouble(query, "rating"),
+                Integer.parseInt(required(query, "experience")),
+                Boolean.parseBoolean(query.getOrDefault("active", "true")));
+        if (ems.addEmployee(employee)) {
+            sendEmployee(exchange, 201, employee);
+        } else {
+            sendString(exchange, 409, "error", "Employee already exists");
+        }
+    }
+
+    private void handleDepartments(HttpExchange exchange) throws IOException {
+        String[] segments = pathSegments(exchange);
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendString(exchange, 405, "error", "Method not allowed");
+        } else if (segments.length == 3 && segments[2].equals("average-salary")) {
+            double average = ems.getAverageSalaryByDepartment(segments[1]);
+            sendObject(exchange, 200, writer -> writer.writeNumberObject("averageSalary", average));
+        } else {
+            sendString(exchange, 404, "error", "Not found");
+        }
+    }
+
+    private void handleRaises(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("POST")) {
+            sendString(exchange, 405, "error", "Method not allowed");
+            return;
+        }
+        Map<String, String> query = queryParameters(exchange);
+        ems.givePerformanceRaise(parseDouble(query, "minRating"), parseDouble(query, "percent"));
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void sendEmployees(HttpExchange exchange, List<Employee<UUID>> employees) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (JsonEmployeeWriter writer = new JsonEmployeeWriter(exchange.getResponseBody())) {
+            writer.beginArray();
+            for (Employee<UUID> employee : employees) {
+                writer.writeElement(employee);
+            }
+            writer.endArray();
+        }
+    }
+
+    private static void sendEmployee(HttpExchange exchange, int status, Employee<UUID> employee) throws IOException {
+        sendObject(exchange, status, writer -> writer.writeEmployee(employee));
+    }
+
+    private static void sendString(HttpExchange exchange, int status, String name, String value) throws IOException {
+        sendObject(exchange, status, writer -> writer.writeStringObject(name, value));
+    }
+
+    /**
+     * Sends a small single-object body with a fixed Content-Length rather than
+     * chunked framing; only list responses are large enough to need streaming.
+     */
+    private static void sendObject(HttpExchange exchange, int status, JsonBody body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (JsonEmployeeWriter writer = new JsonEmployeeWriter(bytes, 512)) {
+            body.write(writer);
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            bytes.writeTo(out);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonEmployeeWriter writer) throws IOException;
+    }
+
+    private static String[] pathSegments(HttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = path.replaceAll("^/+|/+$", "").split("/+");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = URLDecoder.decode(segments[i], StandardCharsets.UTF_8);
+        }
+        return segments;
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            parameters.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                    parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+        }
+        return parameters;
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static double parseDouble(Map<String, String> query, String name) {
+        try {
+            return Double.parseDouble(required(query, name));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number");
+        }
+    }
+
+    private static UUID parseId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid employee ID: " + value);
+        }
+    }
+
+    private static Object parseFieldValue(String field, String value) {
+        try {
+            return switch (field.toLowerCase()) {
+                case "salary", "performancerating" -> Double.parseDouble(value);
+                case "yearsofexperience" -> Integer.parseInt(value);
+                case "isactive" -> Boolean.parseBoolean(value);
+                default -> value;
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package gtp.ems.server;
+
+import gtp.ems.ingest.FeedIngester;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Runs the employee store without the JavaFX client, serving it over HTTP.
+ * <p>
+ * Options: {@code --host=127.0.0.1 --port=8080 --max-inflight=512
+ * --employees=0 --seed=42 --partitions=0 --ingest-dir=}. When {@code --employees} is positive,
+ * the store is pre-populated from a {@link WorkforceGenerator}. When
+ * {@code --partitions} is positive, the store is a
+ * {@link PartitionedEmployeeManagementSystem} with that many partitions. When
+ * {@code --ingest-dir} is set, HR feed files dropped into that directory are
+ * applied by a {@link FeedIngester}.
+ * </p>
+ */
+public final class HeadlessServer {
+    private static final Logger LOGGER = Logger.getLogger(HeadlessServer.class.getName());
+
+    private HeadlessServer() {
+    }
+
+    /**
+     * Command-line entry point. Starts the server and keeps running until the JVM is stopped.
+     *
+     * @param args the command-line options
+     * @throws IOException if the server cannot bind its port or the feed directory cannot be watched
+     */
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+
+        String host = options.getOrDefault("host", "127.0.0.1");
+        int port = Integer.parseInt(options.getOrDefault("port", "8080"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-inflight", "512"));
+        int employees = Integer.parseInt(options.getOrDefault("employees", "0"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "0"));
+        String ingestDir = options.get("ingest-dir");
+
+        EmployeeManagementSystem<UUID> ems = partitions > 0
+                ? new PartitionedEmployeeManagementSystem<>(partitions)
+                : new EmployeeManagementSystem<>();
+        ems.getMetrics().registerMBeans("headless");
+        if (employees > 0) {
+            new WorkforceGenerator(seed).populate(ems, employees);
+            LOGGER.info(() -> "Populated store with " + employees + " generated employees");
+        }
+
+        EmployeeQueryServer server = new EmployeeQueryServer(ems, new InetSocketAddress(host, port), maxInFlight);
+        server.start();
+        FeedIngester ingester = ingestDir == null ? null : new FeedIngester(ems, Path.of(ingestDir));
+        if (ingester != null) {
+            ingester.start();
+            LOGGER.info(() -> "Ingesting HR feed files from " + ingestDir);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            if (ingester != null) {
+                try {
+                    ingester.close();
+                } catch (IOException e) {
+                    LOGGER.warning(() -> "Failed to stop feed ingester: " + e.getMessage());
+                }
+            }
+        }, "ems-server-shutdown"));
+    }
+}
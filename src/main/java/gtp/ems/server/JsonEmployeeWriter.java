@@ -0,0 +1,221 @@
+package gtp.ems.server;
+
+import gtp.ems.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams employees as JSON straight into an {@link OutputStream}.
+ * <p>
+ * Output is encoded into a reusable byte buffer that is flushed whenever it
+ * fills up, so arbitrarily large result sets are written without building an
+ * intermediate {@code String} or holding more than one buffer of output.
+ * </p>
+ */
+public class JsonEmployeeWriter implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+    private boolean firstElement = true;
+
+    /**
+     * Constructs a writer with a 64 KB buffer.
+     *
+     * @param out the stream to write to
+     */
+    public JsonEmployeeWriter(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a writer with a custom buffer size.
+     *
+     * @param out the stream to write to
+     * @param bufferSize the number of bytes buffered before each flush
+     */
+    public JsonEmployeeWriter(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    /**
+     * Starts a JSON array.
+     *
+     * @throws IOException if the underlying stream fails
+     */
+    public void beginArray() throws IOException {
+        writeByte('[');
+        firstElement = true;
+    }
+
+    /**
+     * Writes one employee as an element of the current array.
+     *
+     * @param employee the employee to write
+     * @throws IOException if the underlying stream fails
+     */
+    public void writeElement(Employee<?> employee) throws IOException {
+        if (!firstElement) {
+            writeByte(',');
+        }
+        firstElement = false;
+        writeEmployee(employee);
+    }
+
+    /**
+     * Ends the current JSON array.
+     *
+     * @throws IOException if the underlying stream fails
+     */
+    public void endArray() throws IOException {
+        writeByte(']');
+    }
+
+    /**
+     * Writes a single employee as a JSON object.
+     *
+     * @param employee the employee to write
+     * @throws IOException if the underlying stream fails
+     */
+    public void writeEmployee(Employee<?> employee) throws IOException {
+        writeAscii("{\"employeeId\":");
+        writeString(String.valueOf(employee.getEmployeeId()));
+        writeAscii(",\"name\":");
+        writeString(employee.getName());
+        writeAscii(",\"department\":");
+        writeString(employee.getDepartment());
+        writeAscii(",\"salary\":");
+        writeNumber(employee.getSalary());
+        writeAscii(",\"performanceRating\":");
+        writeNumber(employee.getPerformanceRating());
+        writeAscii(",\"yearsOfExperience\":");
+        writeAscii(Integer.toString(employee.getYearsOfExperience()));
+        writeAscii(employee.isActive() ? ",\"active\":true}" : ",\"active\":false}");
+    }
+
+    /**
+     * Writes a JSON object with a single field, e.g. {@code {"averageSalary":1.0}}.
+     *
+     * @param name the field name
+     * @param value the numeric value
+     * @throws IOException if the underlying stream fails
+     */
+    public void writeNumberObject(String name, double value) throws IOException {
+        writeByte('{');
+        writeString(name);
+        writeByte(':');
+        writeNumber(value);
+        writeByte('}');
+    }
+
+    /**
+     * Writes a JSON object with a single string field, e.g. {@code {"error":"..."}}.
+     *
+     * @param name the field name
+     * @param value the string value
+     * @throws IOException if the underlying stream fails
+     */
+    public void writeStringObject(String name, String value) throws IOException {
+        writeByte('{');
+        writeString(name);
+        writeByte(':');
+        writeString(value);
+        writeByte('}');
+    }
+
+    /**
+     * Writes any buffered bytes to the underlying stream.
+     *
+     * @throws IOException if the underlying stream fails
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    /**
+     * Writes a number, or null for NaN and infinities, which JSON cannot represent.
+     */
+    private void writeNumber(double value) throws IOException {
+        writeAscii(Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeAscii("null");
+            return;
+        }
+        writeByte('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                writeByte('\\');
+                writeByte(c);
+            } else if (c < 0x20) {
+                writeAscii("\\u00");
+                writeByte(HEX[c >> 4]);
+                writeByte(HEX[c & 0xF]);
+            } else if (c < 0x80) {
+                writeByte(c);
+            } else if (c < 0x800) {
+                writeByte(0xC0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                writeByte(0xF0 | (codePoint >> 18));
+                writeByte(0x80 | ((codePoint >> 12) & 0x3F));
+                writeByte(0x80 | ((codePoint >> 6) & 0x3F));
+                writeByte(0x80 | (codePoint & 0x3F));
+            } else {
+                writeByte(0xE0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3F));
+                writeByte(0x80 | (c & 0x3F));
+            }
+        }
+        writeByte('"');
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        if (position + length > buffer.length) {
+            drain();
+        }
+        if (length > buffer.length) {
+            for (int i = 0; i < length; i++) {
+                writeByte(value.charAt(i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    private void drain() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+}
@@ -0,0 +1,194 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+
+/**
+ * Summary statistics of one department: headcount, active headcount, salary
+ * sum, minimum, maximum, mean and standard deviation, and mean rating and
+ * experience.
+ * <p>
+ * Instances are accumulators: {@link #accept(Employee)} adds one employee and
+ * {@link #combine(DepartmentStatistics)} merges another accumulator, so that
+ * each thread of a parallel scan can fill its own and the results can be
+ * merged afterwards. The salary variance is maintained with Welford's update
+ * and merged with Chan's formula, which stay accurate where a sum of squares
+ * would lose precision.
+ * </p>
+ * <p>
+ * Like {@link java.util.DoubleSummaryStatistics}, this class is not thread-safe.
+ * </p>
+ */
+public class DepartmentStatistics {
+    /**
+     * Order of a department report: by name ignoring case, with the employees
+     * without a department last, under the null key.
+     */
+    static final Comparator<String> DEPARTMENT_ORDER = Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER);
+
+    private long count;
+    private long activeCount;
+    private double salarySum;
+    private double salaryMin = Double.POSITIVE_INFINITY;
+    private double salaryMax = Double.NEGATIVE_INFINITY;
+    private double salaryMean;
+    private double salaryM2;
+    private double ratingSum;
+    private long experienceSum;
+
+    /**
+     * Returns a collector that computes the statistics of every department in
+     * one pass. Each container of a parallel stream gets its own map of
+     * accumulators, which are merged when the stream combines its results.
+     * <p>
+     * The resulting map is sorted by department name and, like the store's
+     * department lookups, ignores case: spellings of a department that differ
+     * only in case are merged under one of them. Employees without a
+     * department are reported under the null key, after every department.
+     * </p>
+     *
+     * @param <T> the type of employee ID
+     * @return the report collector
+     */
+    public static <T> Collector<Employee<T>, ?, Map<String, DepartmentStatistics>> collector() {
+        return Collector.of(
+                HashMap<String, DepartmentStatistics>::new,
+                (report, employee) -> report.computeIfAbsent(employee.getDepartment(), key -> new DepartmentStatistics())
+                        .accept(employee),
+                DepartmentStatistics::merge,
+                report -> Collections.unmodifiableMap(merge(new TreeMap<>(DEPARTMENT_ORDER), report)));
+    }
+
+    /**
+     * Merges the accumulators of {@code source} into {@code target}.
+     *
+     * @param target the report to merge into
+     * @param source the report to merge
+     * @return {@code target}
+     */
+    static Map<String, DepartmentStatistics> merge(Map<String, DepartmentStatistics> target,
+                                                   Map<String, DepartmentStatistics> source) {
+        source.forEach((department, statistics) ->
+                target.computeIfAbsent(department, key -> new DepartmentStatistics()).combine(statistics));
+        return target;
+    }
+
+    /**
+     * Adds one employee to these statistics.
+     *
+     * @param employee the employee to add
+     */
+    public void accept(Employee<?> employee) {
+        double salary = employee.getSalary();
+        count++;
+        if (employee.isActive()) {
+            activeCount++;
+        }
+        salarySum += salary;
+        salaryMin = Math.min(salaryMin, salary);
+        salaryMax = Math.max(salaryMax, salary);
+        double delta = salary - salaryMean;
+        salaryMean += delta / count;
+        salaryM2 += delta * (salary - salaryMean);
+        ratingSum += employee.getPerformanceRating();
+        experienceSum += employee.getYearsOfExperience();
+    }
+
+    /**
+     * Merges another accumulator into this one.
+     *
+     * @param other the statistics to merge
+     */
+    public void combine(DepartmentStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.salaryMean - salaryMean;
+        salaryMean += delta * other.count / total;
+        salaryM2 += other.salaryM2 + delta * delta * count * other.count / total;
+        count = total;
+        activeCount += other.activeCount;
+        salarySum += other.salarySum;
+        salaryMin = Math.min(salaryMin, other.salaryMin);
+        salaryMax = Math.max(salaryMax, other.salaryMax);
+        ratingSum += other.ratingSum;
+        experienceSum += other.experienceSum;
+    }
+
+    /**
+     * @return the number of employees
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the number of active employees
+     */
+    public long getActiveCount() {
+        return activeCount;
+    }
+
+    /**
+     * @return the sum of all salaries
+     */
+    public double getSalarySum() {
+        return salarySum;
+    }
+
+    /**
+     * @return the lowest salary, or 0.0 if there are no employees
+     */
+    public double getSalaryMin() {
+        return count == 0 ? 0.0 : salaryMin;
+    }
+
+    /**
+     * @return the highest salary, or 0.0 if there are no employees
+     */
+    public double getSalaryMax() {
+        return count == 0 ? 0.0 : salaryMax;
+    }
+
+    /**
+     * @return the average salary, or 0.0 if there are no employees
+     */
+    public double getSalaryMean() {
+        return salaryMean;
+    }
+
+    /**
+     * @return the population standard deviation of salaries, or 0.0 if there
+     *         are no employees
+     */
+    public double getSalaryStandardDeviation() {
+        return count == 0 ? 0.0 : Math.sqrt(salaryM2 / count);
+    }
+
+    /**
+     * @return the average performance rating, or 0.0 if there are no employees
+     */
+    public double getRatingMean() {
+        return count == 0 ? 0.0 : ratingSum / count;
+    }
+
+    /**
+     * @return the average years of experience, or 0.0 if there are no employees
+     */
+    public double getExperienceMean() {
+        return count == 0 ? 0.0 : (double) experienceSum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DepartmentStatistics{count=%d, active=%d, salaryMean=%.2f, salaryStdDev=%.2f}",
+                count, activeCount, salaryMean, getSalaryStandardDeviation());
+    }
+}
@@ -0,0 +1,47 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+/**
+ * Receives notifications of every change made to an {@link EmployeeManagementSystem}.
+ * <p>
+ * Callbacks run on the mutating thread while the store's write lock is held,
+ * after the change has been applied, so listeners observe changes in the order
+ * they were made and must return quickly. Listeners must not modify the store.
+ * An exception thrown by a listener is logged; it neither undoes the change
+ * nor keeps the other listeners from being notified.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public interface EmployeeChangeListener<T> {
+
+    /**
+     * Called after an employee was added.
+     *
+     * @param employee the added employee
+     */
+    default void employeeAdded(Employee<T> employee) {
+    }
+
+    /**
+     * Called after an employee was removed.
+     *
+     * @param employee the removed employee
+     */
+    default void employeeRemoved(Employee<T> employee) {
+    }
+
+    /**
+     * Called after one field of an employee changed, including salary changes
+     * made by {@link EmployeeManagementSystem#givePerformanceRaise(double, double)}.
+     *
+     * @param employee the updated employee
+     * @param field the field that changed
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     */
+    default void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+    }
+}
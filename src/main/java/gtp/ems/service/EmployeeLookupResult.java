@@ -0,0 +1,44 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of looking up several employees at once with
+ * {@link EmployeeManagementSystem#getEmployees(java.util.Collection)}: the
+ * employees that were found and the IDs that were not.
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public final class EmployeeLookupResult<T> {
+    private final List<Employee<T>> found;
+    private final List<T> missingIds;
+
+    EmployeeLookupResult(List<Employee<T>> found, List<T> missingIds) {
+        this.found = Collections.unmodifiableList(found);
+        this.missingIds = Collections.unmodifiableList(missingIds);
+    }
+
+    /**
+     * @return the employees found, in the order their IDs were given
+     */
+    public List<Employee<T>> getFound() {
+        return found;
+    }
+
+    /**
+     * @return the IDs for which no employee exists, in the order they were given
+     */
+    public List<T> getMissingIds() {
+        return missingIds;
+    }
+
+    /**
+     * @return true if every ID was found
+     */
+    public boolean isComplete() {
+        return missingIds.isEmpty();
+    }
+}
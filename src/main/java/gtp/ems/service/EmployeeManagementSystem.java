@@ -1,23 +1,150 @@
 package gtp.ems.service;
 
 import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.filter.FilterCompiler;
+import gtp.ems.jfr.StoreOperationEvent;
 import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.metrics.MemoryAccountable;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+import gtp.ems.service.metrics.StoreMetrics;
+import gtp.ems.sort.EmployeeSort;
+import gtp.ems.sort.SortKey;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * A system for managing employee records with various operations including
  * CRUD operations, searching, sorting, and reporting.
+ * <p>
+ * The system is safe for concurrent use. Mutations are serialized by a write
+ * lock, while queries run without locking over the weakly consistent views of
+ * the underlying {@link ConcurrentHashMap} and may observe concurrent writes.
+ * Scans of large stores run in parallel as decided by the store's {@link ScanExecutor}.
+ * </p>
+ * <p>
+ * Every operation is measured by the store's {@link StoreMetrics} and emits a
+ * {@link StoreOperationEvent} when a flight recording is running. Every change
+ * is reported to the registered {@link EmployeeChangeListener}s; a listener
+ * that throws is logged and does not stop the change or the other listeners.
+ * </p>
+ * <p>
+ * {@link #getMemoryFootprint()} estimates the heap retained by the store and
+ * by the listeners that implement {@link MemoryAccountable}; the estimate is
+ * also published through the store's {@link StoreMetrics} MBean.
+ * </p>
  *
  * @param <T> the type of employee ID used in the system
  */
 public class EmployeeManagementSystem<T> {
+    private static final Logger LOGGER = Logger.getLogger(EmployeeManagementSystem.class.getName());
+    private static final EmployeeSort BY_EXPERIENCE = EmployeeSort.descending(SortKey.YEARS_OF_EXPERIENCE);
+    private static final EmployeeSort BY_SALARY = EmployeeSort.ascending(SortKey.SALARY);
+    private static final EmployeeSort BY_PERFORMANCE = EmployeeSort.ascending(SortKey.PERFORMANCE_RATING);
+    private static final FilterCompiler FILTER_COMPILER = new FilterCompiler();
+    private static final int DEFAULT_TRANSACTION_ATTEMPTS = 16;
+
     private final Map<T, Employee<T>> employeeDatabase;
+    private final StoreMetrics metrics;
+    private final ScanExecutor scanExecutor;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final List<EmployeeChangeListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final StoreFootprint<T> storeFootprint = new StoreFootprint<>();
 
     /**
-     * Constructs a new empty EmployeeManagementSystem.
+     * Constructs a new empty EmployeeManagementSystem. Metrics are enabled
+     * according to the {@value StoreMetrics#ENABLED_PROPERTY} system property.
      */
     public EmployeeManagementSystem() {
-        this.employeeDatabase = new HashMap<>();
+        this(new StoreMetrics());
+    }
+
+    /**
+     * Constructs a new empty EmployeeManagementSystem that records
+     * per-operation latencies into the given metrics.
+     *
+     * @param metrics the metrics to record into
+     */
+    public EmployeeManagementSystem(StoreMetrics metrics) {
+        this(metrics, ScanExecutor.defaultExecutor());
+    }
+
+    /**
+     * Constructs a new empty EmployeeManagementSystem that records
+     * per-operation latencies into the given metrics and runs scans with the
+     * given executor.
+     *
+     * @param metrics the metrics to record into
+     * @param scanExecutor decides when and where scans run in parallel
+     */
+    public EmployeeManagementSystem(StoreMetrics metrics, ScanExecutor scanExecutor) {
+        this.employeeDatabase = new ConcurrentHashMap<>();
+        this.metrics = metrics;
+        this.scanExecutor = scanExecutor;
+        listeners.add(storeFootprint);
+        metrics.setMemoryFootprintSource(this::getMemoryFootprint);
+    }
+
+    /**
+     * Returns the per-operation counters and latency histograms of this store.
+     *
+     * @return the store metrics
+     */
+    public StoreMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the executor that decides how this store's scans run.
+     *
+     * @return the scan executor
+     */
+    public ScanExecutor getScanExecutor() {
+        return scanExecutor;
+    }
+
+    /**
+     * Registers a listener to be notified of every subsequent change.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(EmployeeChangeListener<T> listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(EmployeeChangeListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Runs an action while no mutation can take place, so that it observes a
+     * consistent state of the store and of any change listeners. Writers block
+     * until the action returns, so it should be short.
+     *
+     * @param action the action to run
+     * @param <R> the result type
+     * @return the action's result
+     */
+    public <R> R atomically(Supplier<R> action) {
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -28,31 +155,123 @@ public class EmployeeManagementSystem<T> {
      *         was null or an employee with the same ID already exists
      */
     public boolean addEmployee(Employee<T> employee) {
-        if (employee == null || employeeDatabase.containsKey(employee.getEmployeeId())) {
-            return false;
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean added = false;
+        writeLock.lock();
+        try {
+            if (employee == null || employee.getEmployeeId() == null
+                    || employeeDatabase.containsKey(employee.getEmployeeId())) {
+                return false;
+            }
+            employeeDatabase.put(employee.getEmployeeId(), employee);
+            notifyAdded(employee);
+            added = true;
+            return true;
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.ADD_EMPLOYEE, start, event, added ? 1 : 0,
+                    employee == null ? null : employee.getEmployeeId());
         }
-        employeeDatabase.put(employee.getEmployeeId(), employee);
-        return true;
     }
 
+    /**
+     * Returns the employee with the given ID.
+     *
+     * @param employeeId the ID of the employee
+     * @return the employee
+     * @throws EmployeeNotExistException if there is no such employee
+     */
     public Employee<T> getEmployee(T employeeId) throws EmployeeNotExistException {
-        Employee<T> employee = employeeDatabase.get(employeeId);
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        Employee<T> employee = null;
+        try {
+            employee = lookup(employeeId);
 
-        if (employee == null) {
-            throw new EmployeeNotExistException((UUID) employeeId);
+            if (employee == null) {
+                throw new EmployeeNotExistException(employeeId);
+            }
+
+            return employee;
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEE, start, event, employee == null ? 0 : 1, employeeId);
         }
+    }
 
-        return employee;
+    /**
+     * Looks up the employee with the given ID without throwing if it does not exist.
+     *
+     * @param employeeId the ID of the employee
+     * @return the employee, or an empty Optional if there is no such employee
+     */
+    public Optional<Employee<T>> findEmployee(T employeeId) {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        Employee<T> employee = null;
+        try {
+            employee = lookup(employeeId);
+            return Optional.ofNullable(employee);
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEE, start, event, employee == null ? 0 : 1, employeeId);
+        }
+    }
+
+    /**
+     * Looks up many employees in one call. IDs that are not found are reported
+     * rather than thrown, so probing missing IDs costs no more than finding them.
+     *
+     * @param employeeIds the IDs to look up
+     * @return the employees found, in the order of their IDs, and the IDs not found
+     */
+    public EmployeeLookupResult<T> getEmployees(Collection<T> employeeIds) {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> found = new ArrayList<>(employeeIds.size());
+        List<T> missing = new ArrayList<>();
+        try {
+            for (T employeeId : employeeIds) {
+                Employee<T> employee = lookup(employeeId);
+                if (employee == null) {
+                    missing.add(employeeId);
+                } else {
+                    found.add(employee);
+                }
+            }
+            return new EmployeeLookupResult<>(found, missing);
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEES, start, event, found.size(), null);
+        }
+    }
+
+    /**
+     * Returns the employee with the given ID without recording metrics.
+     */
+    Employee<T> lookup(T employeeId) {
+        return employeeId == null ? null : employeeDatabase.get(employeeId);
     }
 
     /**
      * Removes an employee from the system.
      *
      * @param employeeId the ID of the employee to remove
+     * @throws EmployeeNotExistException if there is no such employee
      */
     public void removeEmployee(UUID employeeId) throws EmployeeNotExistException {
-        if (employeeDatabase.remove(employeeId) == null) {
-            throw new EmployeeNotExistException(employeeId, "No employee with id " + employeeId);
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean removed = false;
+        writeLock.lock();
+        try {
+            Employee<T> employee = employeeId == null ? null : employeeDatabase.remove(employeeId);
+            if (employee == null) {
+                throw new EmployeeNotExistException(employeeId, "No employee with id " + employeeId);
+            }
+            notifyRemoved(employee);
+            removed = true;
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.REMOVE_EMPLOYEE, start, event, removed ? 1 : 0, employeeId);
         }
     }
 
@@ -63,41 +282,266 @@ public class EmployeeManagementSystem<T> {
      * @param field the field to update (name, department, salary, etc.)
      * @param newValue the new value for the field
      * @return true if the update was successful, false if the employee wasn't found
-     *         or the field/newValue combination was invalid
-     * @throws ClassCastException if the newValue type doesn't match the field type
+     *         or the field/newValue combination was invalid: the value does not
+     *         have the field's type, or it is a null or blank name or department
      */
     public boolean updateEmployeeDetails(UUID employeeId, String field, Object newValue) {
-        Employee<T> employee = employeeDatabase.get(employeeId);
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean updated = false;
+        writeLock.lock();
+        try {
+            Employee<T> employee = employeeId == null ? null : employeeDatabase.get(employeeId);
+            if (employee == null) {
+                return false;
+            }
+
+            EmployeeField employeeField = EmployeeField.fromName(field);
+            if (employeeField == null || !accepts(employeeField, newValue)) {
+                return false;
+            }
+
+            Object oldValue = employeeField.get(employee);
+            employeeField.set(employee, newValue);
+            notifyUpdated(employee, employeeField, oldValue, newValue);
+            updated = true;
+            return true;
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.UPDATE_EMPLOYEE_DETAILS, start, event, updated ? 1 : 0, employeeId);
+        }
+    }
+
+    /**
+     * Removes many employees under a single acquisition of the write lock, so
+     * that listeners and {@link #atomically} observers see them go together.
+     * IDs that are not found are reported rather than thrown.
+     *
+     * @param employeeIds the IDs of the employees to remove
+     * @return the employees removed, in the order of their IDs, and the IDs not found
+     */
+    public EmployeeLookupResult<T> removeEmployees(Collection<T> employeeIds) {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> removed = new ArrayList<>(employeeIds.size());
+        List<T> missing = new ArrayList<>();
+        writeLock.lock();
+        try {
+            for (T employeeId : employeeIds) {
+                Employee<T> employee = removeLocked(employeeId);
+                if (employee == null) {
+                    missing.add(employeeId);
+                } else {
+                    removed.add(employee);
+                }
+            }
+            return new EmployeeLookupResult<>(removed, missing);
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.REMOVE_EMPLOYEES, start, event, removed.size(), null);
+        }
+    }
+
+    /**
+     * Sets one field to the same value on many employees under a single
+     * acquisition of the write lock. IDs that are not found are skipped.
+     *
+     * @param employeeIds the IDs of the employees to update
+     * @param field the field to update, as for {@link #updateEmployeeDetails}
+     * @param newValue the new value for the field
+     * @return the number of employees updated; 0 if the field does not exist,
+     *         the value does not have the field's type, or it is a blank name
+     *         or department
+     */
+    public int updateEmployees(Collection<T> employeeIds, String field, Object newValue) {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        int updated = 0;
+        EmployeeField employeeField = EmployeeField.fromName(field);
+        if (employeeField == null || !accepts(employeeField, newValue)) {
+            finish(StoreOperation.UPDATE_EMPLOYEES, start, event, 0, null);
+            return 0;
+        }
+        writeLock.lock();
+        try {
+            for (T employeeId : employeeIds) {
+                if (updateLocked(employeeId, employeeField, newValue)) {
+                    updated++;
+                }
+            }
+            return updated;
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.UPDATE_EMPLOYEES, start, event, updated, null);
+        }
+    }
+
+    /**
+     * Returns whether a value can be assigned to a field: it has the field's
+     * type and, for the name and department, is not blank. Every update path
+     * (single, bulk and transactional) applies this rule.
+     */
+    static boolean accepts(EmployeeField field, Object value) {
+        if (field.getType() == String.class) {
+            return value instanceof String text && !text.isBlank();
+        }
+        return field.getType().isInstance(value);
+    }
+
+    /**
+     * Removes an employee and notifies the listeners. The caller holds the
+     * write lock.
+     *
+     * @return the employee removed, or null if there was none
+     */
+    Employee<T> removeLocked(T employeeId) {
+        Employee<T> employee = employeeId == null ? null : employeeDatabase.remove(employeeId);
+        if (employee != null) {
+            notifyRemoved(employee);
+        }
+        return employee;
+    }
+
+    /**
+     * Sets a field of an employee and notifies the listeners. The caller
+     * holds the write lock and has checked that the value fits the field.
+     *
+     * @return false if there is no such employee
+     */
+    boolean updateLocked(T employeeId, EmployeeField field, Object newValue) {
+        Employee<T> employee = lookup(employeeId);
         if (employee == null) {
             return false;
         }
+        Object oldValue = field.get(employee);
+        field.set(employee, newValue);
+        notifyUpdated(employee, field, oldValue, newValue);
+        return true;
+    }
+
+    /**
+     * Starts an optimistic transaction over this store. Nothing is locked
+     * until it commits; see {@link EmployeeTransaction}.
+     *
+     * @return a new transaction
+     */
+    public EmployeeTransaction<T> beginTransaction() {
+        return new EmployeeTransaction<>(this);
+    }
+
+    /**
+     * Runs work in a transaction and commits it, running the work again in a
+     * new transaction whenever the commit conflicts, up to 16 times.
+     *
+     * @param body the work to run
+     * @param <R> the result type
+     * @return the result of the run that committed
+     * @throws EmployeeNotExistException if the work needs an employee that does not exist
+     * @throws TransactionConflictException if every attempt conflicted
+     */
+    public <R> R transact(TransactionBody<T, R> body) throws EmployeeNotExistException, TransactionConflictException {
+        return transact(body, DEFAULT_TRANSACTION_ATTEMPTS);
+    }
+
+    /**
+     * Runs work in a transaction and commits it, running the work again in a
+     * new transaction whenever the commit conflicts.
+     *
+     * @param body the work to run
+     * @param maxAttempts the number of times to run the work at most
+     * @param <R> the result type
+     * @return the result of the run that committed
+     * @throws EmployeeNotExistException if the work needs an employee that does not exist
+     * @throws TransactionConflictException if every attempt conflicted
+     * @throws IllegalArgumentException if {@code maxAttempts} is not positive
+     */
+    public <R> R transact(TransactionBody<T, R> body, int maxAttempts)
+            throws EmployeeNotExistException, TransactionConflictException {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        TransactionConflictException conflict = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            EmployeeTransaction<T> transaction = beginTransaction();
+            R result = body.run(transaction);
+            try {
+                transaction.commit();
+                return result;
+            } catch (TransactionConflictException e) {
+                conflict = e;
+            }
+        }
+        throw conflict;
+    }
 
+    /**
+     * Validates a transaction and applies its updates under the write lock.
+     */
+    void commit(EmployeeTransaction<T> transaction) throws TransactionConflictException {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean committed = false;
+        writeLock.lock();
         try {
-            switch (field.toLowerCase()) {
-                case "name":
-                    employee.setName((String) newValue);
-                    break;
-                case "department":
-                    employee.setDepartment((String) newValue);
-                    break;
-                case "salary":
-                    employee.setSalary((double) newValue);
-                    break;
-                case "performancerating":
-                    employee.setPerformanceRating((double) newValue);
-                    break;
-                case "yearsofexperience":
-                    employee.setYearsOfExperience((int) newValue);
-                    break;
-                case "isactive":
-                    employee.setActive((boolean) newValue);
-                    break;
-                default:
-                    return false;
+            transaction.validate(this::lookup);
+            for (EmployeeTransaction.StagedUpdate<T> update : transaction.getUpdates()) {
+                applyUpdate(update);
+            }
+            committed = true;
+        } finally {
+            writeLock.unlock();
+            finish(StoreOperation.COMMIT_TRANSACTION, start, event, committed ? transaction.getUpdateCount() : 0, null);
+        }
+    }
+
+    /**
+     * Applies a staged update and notifies the listeners. The caller holds
+     * the write lock.
+     */
+    void applyUpdate(EmployeeTransaction.StagedUpdate<T> update) {
+        Employee<T> employee = update.employee();
+        Object oldValue = update.field().get(employee);
+        update.field().set(employee, update.newValue());
+        notifyUpdated(employee, update.field(), oldValue, update.newValue());
+    }
+
+    /**
+     * Notifies the listeners of an added employee. A listener that throws is
+     * logged so that the others still see the change.
+     */
+    private void notifyAdded(Employee<T> employee) {
+        for (EmployeeChangeListener<T> listener : listeners) {
+            try {
+                listener.employeeAdded(employee);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener failed for " + employee.getEmployeeId(), e);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of a removed employee, like {@link #notifyAdded}.
+     */
+    private void notifyRemoved(Employee<T> employee) {
+        for (EmployeeChangeListener<T> listener : listeners) {
+            try {
+                listener.employeeRemoved(employee);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener failed for " + employee.getEmployeeId(), e);
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners of an updated field, like {@link #notifyAdded}.
+     */
+    private void notifyUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        for (EmployeeChangeListener<T> listener : listeners) {
+            try {
+                listener.employeeUpdated(employee, field, oldValue, newValue);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Change listener failed for " + employee.getEmployeeId(), e);
             }
-            return true;
-        } catch (ClassCastException e) {
-            return false;
         }
     }
 
@@ -107,7 +551,15 @@ public class EmployeeManagementSystem<T> {
      * @return a list containing all employees
      */
     public List<Employee<T>> getAllEmployees() {
-        return new ArrayList<>(employeeDatabase.values());
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = new ArrayList<>(employeeDatabase.values());
+            return result;
+        } finally {
+            finish(StoreOperation.GET_ALL_EMPLOYEES, start, event, result.size(), null);
+        }
     }
 
     /**
@@ -117,9 +569,18 @@ public class EmployeeManagementSystem<T> {
      * @return a list of employees in the specified department
      */
     public List<Employee<T>> getEmployeesByDepartment(String department) {
-        return employeeDatabase.values().stream()
-                .filter(employee -> employee.getDepartment().equalsIgnoreCase(department))
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                    .filter(employee -> employee.getDepartment() != null
+                            && employee.getDepartment().equalsIgnoreCase(department))
+                    .toList());
+            return result;
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEES_BY_DEPARTMENT, start, event, result.size(), null);
+        }
     }
 
     /**
@@ -129,9 +590,18 @@ public class EmployeeManagementSystem<T> {
      * @return a list of employees whose names contain the search term
      */
     public List<Employee<T>> searchEmployeesByName(String searchTerm) {
-        return employeeDatabase.values().stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(searchTerm.toLowerCase()))
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            String term = searchTerm.toLowerCase();
+            result = scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                    .filter(employee -> employee.getName().toLowerCase().contains(term))
+                    .toList());
+            return result;
+        } finally {
+            finish(StoreOperation.SEARCH_EMPLOYEES_BY_NAME, start, event, result.size(), null);
+        }
     }
 
     /**
@@ -141,9 +611,17 @@ public class EmployeeManagementSystem<T> {
      * @return a list of employees meeting or exceeding the performance rating
      */
     public List<Employee<T>> getHighPerformingEmployees(double minRating) {
-        return employeeDatabase.values().stream()
-                .filter(employee -> employee.getPerformanceRating() >= minRating)
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                    .filter(employee -> employee.getPerformanceRating() >= minRating)
+                    .toList());
+            return result;
+        } finally {
+            finish(StoreOperation.GET_HIGH_PERFORMING_EMPLOYEES, start, event, result.size(), null);
+        }
     }
 
     /**
@@ -154,13 +632,113 @@ public class EmployeeManagementSystem<T> {
      * @return a list of employees within the salary range
      */
     public List<Employee<T>> getEmployeesInSalaryRange(double minSalary, double maxSalary) {
-        return employeeDatabase.values().stream()
-                .filter(employee -> employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary)
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                    .filter(employee -> employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary)
+                    .toList());
+            return result;
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEES_IN_SALARY_RANGE, start, event, result.size(), null);
+        }
+    }
+
+    /**
+     * Retrieves the employees matching a filter expression, such as
+     * {@code salary > 90000 and department = 'IT' and active}. The expression
+     * is compiled once into a predicate class and cached by its text; see
+     * {@link FilterCompiler}.
+     *
+     * @param expression the filter expression
+     * @return a list of employees matching the expression
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public List<Employee<T>> filterEmployees(String expression) {
+        Predicate<Employee<T>> filter = FILTER_COMPILER.compile(expression);
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                    .filter(filter)
+                    .toList());
+            return result;
+        } finally {
+            finish(StoreOperation.FILTER_EMPLOYEES, start, event, result.size(), null);
+        }
+    }
+
+    /**
+     * Streams all employees in the system to subscribers as they request them.
+     * <p>
+     * The streaming queries scan the store lazily, honor each subscriber's
+     * demand and stop when cancelled; see {@link EmployeeQueryPublisher}.
+     * They are not timed by the store metrics, since how long they take is
+     * set by the subscriber.
+     * </p>
+     *
+     * @return a publisher of all employees
+     */
+    public EmployeeQueryPublisher<T> publishAllEmployees() {
+        return publish(employee -> true);
+    }
+
+    /**
+     * Streams the employees belonging to a specific department.
+     *
+     * @param department the department to filter by
+     * @return a publisher of the employees in the specified department
+     * @see #getEmployeesByDepartment(String)
+     */
+    public EmployeeQueryPublisher<T> publishEmployeesByDepartment(String department) {
+        Objects.requireNonNull(department);
+        return publish(employee -> department.equalsIgnoreCase(employee.getDepartment()));
+    }
+
+    /**
+     * Streams the employees whose names contain a term (case-insensitive).
+     *
+     * @param searchTerm the term to search for in employee names
+     * @return a publisher of the employees whose names contain the search term
+     * @see #searchEmployeesByName(String)
+     */
+    public EmployeeQueryPublisher<T> publishEmployeesByName(String searchTerm) {
+        String term = searchTerm.toLowerCase();
+        return publish(employee -> employee.getName().toLowerCase().contains(term));
+    }
+
+    /**
+     * Streams the employees whose performance rating meets a threshold.
+     *
+     * @param minRating the minimum performance rating threshold
+     * @return a publisher of the employees meeting or exceeding the performance rating
+     * @see #getHighPerformingEmployees(double)
+     */
+    public EmployeeQueryPublisher<T> publishHighPerformingEmployees(double minRating) {
+        return publish(employee -> employee.getPerformanceRating() >= minRating);
     }
 
     /**
-     * Provides an iterator for all employees in the system.
+     * Streams the employees within a specific salary range.
+     *
+     * @param minSalary the minimum salary (inclusive)
+     * @param maxSalary the maximum salary (inclusive)
+     * @return a publisher of the employees within the salary range
+     * @see #getEmployeesInSalaryRange(double, double)
+     */
+    public EmployeeQueryPublisher<T> publishEmployeesInSalaryRange(double minSalary, double maxSalary) {
+        return publish(employee -> employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary);
+    }
+
+    private EmployeeQueryPublisher<T> publish(Predicate<Employee<T>> filter) {
+        return new EmployeeQueryPublisher<>(this::getEmployeeIterator, filter);
+    }
+
+    /**
+     * Provides an iterator for all employees in the system. The iterator is
+     * weakly consistent and never throws {@link ConcurrentModificationException}.
      *
      * @return an iterator for all employees
      */
@@ -175,51 +753,57 @@ public class EmployeeManagementSystem<T> {
      * @return a sorted list of employees
      */
     public List<Employee<T>> sortEmployeesByExperience() {
-        return employeeDatabase.values().stream()
-                .sorted()
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = sort(BY_EXPERIENCE);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_EXPERIENCE, start, event, result.size(), null);
+        }
     }
 
     /**
-     * Sorts employees by salary (descending order).
+     * Sorts employees by salary (ascending order).
      *
      * @return a sorted list of employees
      */
     public List<Employee<T>> sortEmployeesBySalary() {
-        return employeeDatabase.values().stream()
-                .sorted(new EmployeeSalaryComparator<>())
-                .toList();
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = sort(BY_SALARY);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_SALARY, start, event, result.size(), null);
+        }
     }
 
     /**
-     * Sorts employees by performance rating (descending order).
+     * Sorts employees by performance rating (ascending order).
      *
      * @return a sorted list of employees
      */
     public List<Employee<T>> sortEmployeesByPerformance() {
-        return employeeDatabase.values().stream()
-                .sorted(new EmployeePerformanceComparator<>())
-                .toList();
-    }
-
-    /**
-     * Comparator for sorting employees by salary (descending order).
-     */
-    private static class EmployeeSalaryComparator<T> implements Comparator<Employee<T>> {
-        @Override
-        public int compare(Employee<T> firstEmployee, Employee<T> secondEmployee) {
-            return Double.compare(firstEmployee.getSalary(), secondEmployee.getSalary());
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = sort(BY_PERFORMANCE);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_PERFORMANCE, start, event, result.size(), null);
         }
     }
 
     /**
-     * Comparator for sorting employees by performance rating (descending order).
+     * Sorts all employees with a radix sort, in parallel on the scan
+     * executor's pool if the store is large enough.
      */
-    private static class EmployeePerformanceComparator<T> implements Comparator<Employee<T>> {
-        @Override
-        public int compare(Employee<T> firstEmployee, Employee<T> secondEmployee) {
-            return Double.compare(firstEmployee.getPerformanceRating(), secondEmployee.getPerformanceRating());
-        }
+    private List<Employee<T>> sort(EmployeeSort order) {
+        return order.sort(employeeDatabase.values(), scanExecutor.poolFor(employeeDatabase.size()));
     }
 
     /**
@@ -229,12 +813,38 @@ public class EmployeeManagementSystem<T> {
      * @param raisePercentage the percentage raise to apply
      */
     public void givePerformanceRaise(double minRating, double raisePercentage) {
-        employeeDatabase.values().stream()
-                .filter(employee -> employee.getPerformanceRating() >= minRating)
-                .forEach(employee -> {
-                    double newSalary = employee.getSalary() * (1 + raisePercentage / 100);
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        int raised = 0;
+        try {
+            raised = applyPerformanceRaise(minRating, raisePercentage);
+        } finally {
+            finish(StoreOperation.GIVE_PERFORMANCE_RAISE, start, event, raised, null);
+        }
+    }
+
+    /**
+     * Applies a performance raise under the write lock without recording metrics.
+     *
+     * @return the number of employees who received the raise
+     */
+    int applyPerformanceRaise(double minRating, double raisePercentage) {
+        int raised = 0;
+        writeLock.lock();
+        try {
+            for (Employee<T> employee : employeeDatabase.values()) {
+                if (employee.getPerformanceRating() >= minRating) {
+                    double oldSalary = employee.getSalary();
+                    double newSalary = oldSalary * (1 + raisePercentage / 100);
                     employee.setSalary(newSalary);
-                });
+                    notifyUpdated(employee, EmployeeField.SALARY, oldSalary, newSalary);
+                    raised++;
+                }
+            }
+            return raised;
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -244,10 +854,19 @@ public class EmployeeManagementSystem<T> {
      * @return a list of the highest paid employees
      */
     public List<Employee<T>> getTopPaidEmployees(int count) {
-        return employeeDatabase.values().stream()
-                .sorted(new EmployeeSalaryComparator<>())
-                .limit(count)
-                .toList();
+        if (count < 0) {
+            throw new IllegalArgumentException(Integer.toString(count));
+        }
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            List<Employee<T>> sorted = sort(BY_SALARY);
+            result = List.copyOf(sorted.subList(0, Math.min(count, sorted.size())));
+            return result;
+        } finally {
+            finish(StoreOperation.GET_TOP_PAID_EMPLOYEES, start, event, result.size(), null);
+        }
     }
 
     /**
@@ -257,10 +876,102 @@ public class EmployeeManagementSystem<T> {
      * @return the average salary, or 0.0 if the department has no employees
      */
     public double getAverageSalaryByDepartment(String department) {
-        return employeeDatabase.values().stream()
-                .filter(employee -> employee.getDepartment().equalsIgnoreCase(department))
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        long counted = 0;
+        try {
+            DoubleSummaryStatistics statistics = departmentSalaryStatistics(department);
+            counted = statistics.getCount();
+            return statistics.getAverage();
+        } finally {
+            finish(StoreOperation.GET_AVERAGE_SALARY_BY_DEPARTMENT, start, event, (int) counted, null);
+        }
+    }
+
+    /**
+     * Summarizes the salaries of one department without recording metrics.
+     */
+    DoubleSummaryStatistics departmentSalaryStatistics(String department) {
+        return scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                .filter(employee -> employee.getDepartment() != null
+                        && employee.getDepartment().equalsIgnoreCase(department))
                 .mapToDouble(Employee::getSalary)
-                .average()
-                .orElse(0.0);
+                .summaryStatistics());
+    }
+
+    /**
+     * Computes the statistics of every department in a single scan of the
+     * store, instead of one scan per department and metric.
+     *
+     * @return the statistics of each department, sorted by department name and
+     *         looked up ignoring case, with the employees without a department
+     *         last under the null key; empty if there are no employees
+     */
+    public Map<String, DepartmentStatistics> getDepartmentReport() {
+        long start = metrics.start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        Map<String, DepartmentStatistics> report = Map.of();
+        try {
+            report = departmentReport();
+            return report;
+        } finally {
+            finish(StoreOperation.GET_DEPARTMENT_REPORT, start, event, report.size(), null);
+        }
+    }
+
+    /**
+     * Computes the department report without recording metrics.
+     */
+    Map<String, DepartmentStatistics> departmentReport() {
+        return scanExecutor.scan(employeeDatabase.values(), employees -> employees
+                .collect(DepartmentStatistics.collector()));
+    }
+
+    /**
+     * Estimates the heap retained by this store, by the change listeners
+     * following it that implement {@link MemoryAccountable}, and by the
+     * compiled filter cache shared by all stores, from the sizes of the
+     * structures with {@link MemoryLayout} rather than a heap walk. The
+     * store's own figures are running totals kept by its writes, so they cost
+     * the same for any number of employees; each listener sizes its own
+     * structures.
+     *
+     * @return the estimated bytes retained by each component
+     */
+    public MemoryFootprint getMemoryFootprint() {
+        MemoryFootprint footprint = new MemoryFootprint();
+        accountMemory(footprint, Collections.newSetFromMap(new IdentityHashMap<>()), null);
+        FILTER_COMPILER.accountMemory(footprint);
+        return footprint;
+    }
+
+    /**
+     * Adds this store's employees and listeners to a footprint. Listeners in
+     * {@code accounted} and departments in {@code departments} are not
+     * counted again, so that partitions sharing them count them once; a null
+     * {@code departments} means the store is counted on its own.
+     */
+    void accountMemory(MemoryFootprint footprint, Set<Object> accounted, Set<String> departments) {
+        writeLock.lock();
+        try {
+            storeFootprint.accountMemory(footprint, employeeDatabase.size(), departments);
+        } finally {
+            writeLock.unlock();
+        }
+        for (EmployeeChangeListener<T> listener : listeners) {
+            if (listener instanceof MemoryAccountable accountable && accounted.add(listener)) {
+                accountable.accountMemory(footprint);
+            }
+        }
+    }
+
+    /**
+     * Records the completion of an operation in the store metrics and, if a
+     * flight recording is running, commits its event.
+     */
+    protected void finish(StoreOperation operation, long start, StoreOperationEvent event,
+                        int resultSize, Object employeeId) {
+        metrics.record(operation, start);
+        event.complete(operation, resultSize, employeeId);
     }
-}
\ No newline at end of file
+}
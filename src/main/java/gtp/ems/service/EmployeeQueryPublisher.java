@@ -0,0 +1,201 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A query over a store that emits its matches one at a time to
+ * {@link Flow.Subscriber}s, as they are requested, instead of building a list.
+ * <p>
+ * Every subscription runs its own scan over a weakly consistent iterator of
+ * the store, so it may observe concurrent writes, just like the list-returning
+ * queries. The scan only advances as far as the subscriber's outstanding
+ * demand: after {@code request(n)} it finds and emits at most {@code n} more
+ * matches, then stops until more are requested. Cancelling stops the scan at
+ * the next element and releases the iterator.
+ * </p>
+ * <p>
+ * Signals are delivered on an executor, by default a new virtual thread per
+ * burst of demand, so a subscriber may block in {@code onNext} while writing
+ * to a socket or file without holding up the thread that called {@code request}.
+ * Signals to one subscriber never overlap.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the store
+ */
+public final class EmployeeQueryPublisher<T> implements Flow.Publisher<Employee<T>> {
+    private static final Executor DEFAULT_EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ems-publisher-", 0).factory());
+
+    private final Supplier<Iterator<Employee<T>>> source;
+    private final Predicate<Employee<T>> filter;
+    private final Executor executor;
+
+    EmployeeQueryPublisher(Supplier<Iterator<Employee<T>>> source, Predicate<Employee<T>> filter) {
+        this(source, filter, DEFAULT_EXECUTOR);
+    }
+
+    EmployeeQueryPublisher(Supplier<Iterator<Employee<T>>> source, Predicate<Employee<T>> filter, Executor executor) {
+        this.source = source;
+        this.filter = filter;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns a publisher of the same query that delivers its signals on the given executor.
+     *
+     * @param executor the executor to deliver signals on
+     * @return the new publisher
+     */
+    public EmployeeQueryPublisher<T> deliverOn(Executor executor) {
+        return new EmployeeQueryPublisher<>(source, filter, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * Starts a new scan for a subscriber. Nothing is read from the store
+     * until the subscriber requests elements.
+     *
+     * @param subscriber the subscriber
+     * @throws NullPointerException if the subscriber is null
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Employee<T>> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new QuerySubscription(subscriber));
+    }
+
+    /**
+     * One scan. {@link #drain()} is the only code that signals the subscriber
+     * or touches the iterator; the {@code pending} counter ensures a single
+     * thread runs it at a time and that demand or cancellation arriving while
+     * it runs is picked up before it returns.
+     */
+    private final class QuerySubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super Employee<T>> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+        private Iterator<Employee<T>> iterator;
+        private boolean done;
+
+        QuerySubscription(Flow.Subscriber<? super Employee<T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+            } else {
+                requested.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (invalidRequest != null) {
+                terminate();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted != demand) {
+                Employee<T> next;
+                try {
+                    next = nextMatch();
+                } catch (RuntimeException e) {
+                    terminate();
+                    subscriber.onError(e);
+                    return;
+                }
+                if (next == null) {
+                    boolean completed = !cancelled;
+                    terminate();
+                    if (completed) {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                subscriber.onNext(next);
+                emitted++;
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+            }
+            if (demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+        }
+
+        /**
+         * Advances the scan to the next matching employee, or returns null at the end of the store
+         * or once the subscription is cancelled, which is checked between employees so that
+         * cancelling a scan over a large store with few matches stops it promptly.
+         */
+        private Employee<T> nextMatch() {
+            if (iterator == null) {
+                iterator = source.get();
+            }
+            while (!cancelled && iterator.hasNext()) {
+                Employee<T> employee = iterator.next();
+                if (filter.test(employee)) {
+                    return employee;
+                }
+            }
+            return null;
+        }
+
+        private void terminate() {
+            done = true;
+            cancelled = true;
+            iterator = null;
+        }
+    }
+}
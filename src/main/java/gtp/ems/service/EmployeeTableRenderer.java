@@ -0,0 +1,237 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Writes employees as the fixed-width table of {@link EmployeeInfoDisplay},
+ * fast enough for millions of rows.
+ * <p>
+ * Rows are formatted into one reused {@link StringBuilder} with hand-written
+ * padding and number formatting instead of a format string per row, and are
+ * written to the target in chunks of {@code chunkSize} characters, so a large
+ * table costs a few hundred writes rather than one synchronized
+ * {@code printf} per row. The output matches
+ * {@code printf("%-36s %-20s %-12s %-12s %-6.1f %-6d %-6s%n", ...)} in the root
+ * locale: numbers always use a '.' decimal separator.
+ * </p>
+ * <p>
+ * With {@link #withPaging(int, BooleanSupplier)} the table is flushed after
+ * every page and rendering continues only if the pager agrees, repeating the
+ * header on each page.
+ * </p>
+ * <p>
+ * A renderer is not thread-safe and does not close its target.
+ * </p>
+ *
+ * @param <T> the type of employee ID
+ */
+public class EmployeeTableRenderer<T> {
+    /**
+     * The default number of characters buffered before writing to the target.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private static final int[] WIDTHS = {36, 20, 12, 12, 6, 6, 6};
+    private static final String RULE = "-".repeat(104);
+    private static final String NEWLINE = System.lineSeparator();
+    // Below this, a scaled value is precise to well within the tie tolerance below
+    private static final double FAST_FORMAT_LIMIT = 1e9;
+
+    private final Writer out;
+    private final int chunkSize;
+    private final StringBuilder buffer;
+    private int rowsPerPage;
+    private BooleanSupplier pager;
+
+    /**
+     * Constructs a renderer with the default chunk size.
+     *
+     * @param out the writer to render to
+     */
+    public EmployeeTableRenderer(Writer out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a renderer.
+     *
+     * @param out the writer to render to
+     * @param chunkSize the number of characters to buffer before each write
+     */
+    public EmployeeTableRenderer(Writer out, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.out = out;
+        this.chunkSize = chunkSize;
+        this.buffer = new StringBuilder(chunkSize + 256);
+    }
+
+    /**
+     * Constructs a renderer that writes UTF-8 to a channel, such as a file or socket.
+     *
+     * @param channel the channel to render to
+     * @param <T> the type of employee ID
+     * @return the renderer
+     */
+    public static <T> EmployeeTableRenderer<T> toChannel(WritableByteChannel channel) {
+        return new EmployeeTableRenderer<>(Channels.newWriter(channel, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Splits the table into pages. After each full page the output is flushed
+     * and {@code pager} is asked whether to continue, e.g. by waiting for a key
+     * press; if it returns false, rendering stops.
+     *
+     * @param rowsPerPage the number of rows per page, or 0 to disable paging
+     * @param pager decides whether to render the next page
+     * @return this renderer
+     */
+    public EmployeeTableRenderer<T> withPaging(int rowsPerPage, BooleanSupplier pager) {
+        this.rowsPerPage = Math.max(rowsPerPage, 0);
+        this.pager = pager;
+        return this;
+    }
+
+    /**
+     * Renders the header followed by one row per employee, then flushes.
+     *
+     * @param employees the employees to render
+     * @return the number of rows rendered, fewer than the number of employees
+     *         if the pager stopped rendering
+     * @throws IOException if writing fails
+     */
+    public long render(Iterable<Employee<T>> employees) throws IOException {
+        long rows = 0;
+        appendHeader();
+        for (Employee<T> employee : employees) {
+            if (rowsPerPage > 0 && rows > 0 && rows % rowsPerPage == 0) {
+                flush();
+                if (!pager.getAsBoolean()) {
+                    return rows;
+                }
+                appendHeader();
+            }
+            appendRow(employee);
+            rows++;
+            if (buffer.length() >= chunkSize) {
+                writeBuffer();
+            }
+        }
+        flush();
+        return rows;
+    }
+
+    /**
+     * Writes any buffered output and flushes the target.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+        out.flush();
+    }
+
+    private void writeBuffer() throws IOException {
+        if (!buffer.isEmpty()) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+    }
+
+    private void appendHeader() {
+        buffer.append(RULE).append(NEWLINE);
+        appendCell("ID", 0);
+        appendCell("Name", 1);
+        appendCell("Department", 2);
+        appendCell("Salary", 3);
+        appendCell("Rating", 4);
+        appendCell("Exp", 5);
+        appendCell("Active", 6);
+        buffer.append(NEWLINE).append(RULE).append(NEWLINE);
+    }
+
+    private void appendRow(Employee<T> employee) {
+        int cell = buffer.length();
+        buffer.append(employee.getEmployeeId());
+        pad(cell, 0);
+        appendCell(employee.getName(), 1);
+        appendCell(employee.getDepartment(), 2);
+        cell = startCell(3);
+        appendFixed(employee.getSalary(), 2);
+        pad(cell, 3);
+        cell = startCell(4);
+        appendFixed(employee.getPerformanceRating(), 1);
+        pad(cell, 4);
+        cell = startCell(5);
+        buffer.append(employee.getYearsOfExperience());
+        pad(cell, 5);
+        appendCell(employee.isActive() ? "Yes" : "No", 6);
+        buffer.append(NEWLINE);
+    }
+
+    private void appendCell(String value, int column) {
+        int cell = startCell(column);
+        buffer.append(value);
+        pad(cell, column);
+    }
+
+    /**
+     * Appends the separator before a column and returns where its value starts.
+     */
+    private int startCell(int column) {
+        if (column > 0) {
+            buffer.append(' ');
+        }
+        return buffer.length();
+    }
+
+    /**
+     * Left-justifies a value by padding it with spaces to its column's width.
+     * Longer values are kept whole and push the rest of the row right.
+     */
+    private void pad(int cellStart, int column) {
+        for (int i = buffer.length() - cellStart; i < WIDTHS[column]; i++) {
+            buffer.append(' ');
+        }
+    }
+
+    /**
+     * Appends a number with one or two decimals exactly as {@code %.1f} or
+     * {@code %.2f} would in the root locale, without a format string.
+     */
+    private void appendFixed(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            buffer.append(String.format(Locale.ROOT, "%." + decimals + "f", value));
+            return;
+        }
+        if (Double.compare(value, 0.0) < 0) {
+            buffer.append('-');
+        }
+        long scale = decimals == 1 ? 10 : 100;
+        double scaled = Math.abs(value) * scale;
+        if (scaled >= FAST_FORMAT_LIMIT || Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-6) {
+            // Formatter rounds the shortest decimal representation half up, which
+            // near a tie can differ from rounding the binary value
+            buffer.append(BigDecimal.valueOf(Math.abs(value)).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+            return;
+        }
+        long units = (long) Math.floor(scaled + 0.5);
+        buffer.append(units / scale).append('.');
+        long remainder = units % scale;
+        if (decimals == 2 && remainder < 10) {
+            buffer.append('0');
+        }
+        buffer.append(remainder);
+    }
+}
@@ -0,0 +1,189 @@
+package gtp.ems.service;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.StacklessEmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An optimistic transaction over several employees of a store.
+ * <p>
+ * Reads record the {@linkplain Employee#getVersion() version} of each employee
+ * they touch and updates are only staged, so nothing is locked while the
+ * transaction runs. {@link #commit()} takes the store's write lock (the
+ * locks of the partitions involved, for a partitioned store), checks that no
+ * employee read has been changed or removed since, and applies every staged
+ * update in order, or none of them. Change listeners see the updates
+ * together, while the lock is held.
+ * </p>
+ * <p>
+ * An employee that is updated without having been read is read implicitly by
+ * its first update, so a conflicting change made after that point is
+ * detected. A transaction belongs to the thread that runs it and commits at
+ * most once.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public final class EmployeeTransaction<T> {
+    private final EmployeeManagementSystem<T> ems;
+    private final Map<T, ReadStamp<T>> reads = new LinkedHashMap<>();
+    private final List<StagedUpdate<T>> updates = new ArrayList<>();
+    private boolean finished;
+
+    EmployeeTransaction(EmployeeManagementSystem<T> ems) {
+        this.ems = ems;
+    }
+
+    /**
+     * Reads an employee, recording its version the first time. The employee
+     * returned is a copy of the store's record with this transaction's staged
+     * updates to it applied, so a transaction sees its own writes; changing
+     * the copy does not change the store, and its version is not the
+     * record's. If another writer changes the record before the commit, the
+     * commit fails.
+     *
+     * @param employeeId the ID of the employee
+     * @return a copy of the employee as this transaction sees it
+     * @throws EmployeeNotExistException if there is no such employee
+     */
+    public Employee<T> read(T employeeId) throws EmployeeNotExistException {
+        checkOpen();
+        Employee<T> employee = stamp(employeeId).employee();
+        Employee<T> copy = new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                employee.getSalary(), employee.getPerformanceRating(), employee.getYearsOfExperience(),
+                employee.isActive());
+        for (StagedUpdate<T> update : updates) {
+            if (update.employee() == employee) {
+                update.field().set(copy, update.newValue());
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Stages an update of one field of an employee, to be applied on commit.
+     *
+     * @param employeeId the ID of the employee to update
+     * @param field the field to update, as accepted by
+     *              {@link EmployeeManagementSystem#updateEmployeeDetails}
+     * @param newValue the new value for the field
+     * @throws EmployeeNotExistException if there is no such employee
+     * @throws IllegalArgumentException if the field does not exist, the value
+     *         does not have the field's type, or it is a blank name or department
+     */
+    public void update(T employeeId, String field, Object newValue) throws EmployeeNotExistException {
+        EmployeeField employeeField = EmployeeField.fromName(field);
+        if (employeeField == null) {
+            throw new IllegalArgumentException("Unknown field: " + field);
+        }
+        if (!EmployeeManagementSystem.accepts(employeeField, newValue)) {
+            throw new IllegalArgumentException("Invalid value for " + field + ": " + newValue);
+        }
+        checkOpen();
+        updates.add(new StagedUpdate<>(employeeId, stamp(employeeId).employee(), employeeField, newValue));
+    }
+
+    /**
+     * Validates the reads and applies the staged updates atomically.
+     *
+     * @throws TransactionConflictException if an employee read has been
+     *         changed or removed since; no update is applied
+     * @throws IllegalStateException if the transaction has already committed
+     */
+    public void commit() throws TransactionConflictException {
+        checkOpen();
+        finished = true;
+        ems.commit(this);
+    }
+
+    /**
+     * @return the number of employees read so far
+     */
+    public int getReadCount() {
+        return reads.size();
+    }
+
+    /**
+     * @return the number of updates staged so far
+     */
+    public int getUpdateCount() {
+        return updates.size();
+    }
+
+    /**
+     * Returns the IDs of the employees read, which include every employee updated.
+     */
+    Set<T> getEmployeeIds() {
+        return Collections.unmodifiableSet(reads.keySet());
+    }
+
+    /**
+     * Returns the staged updates in the order they were made.
+     */
+    List<StagedUpdate<T>> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Checks that every employee read is still the same record at the same
+     * version. The caller holds the write locks covering those employees.
+     *
+     * @param lookup finds the current record of an ID
+     * @throws TransactionConflictException for the first employee that changed
+     */
+    void validate(Function<T, Employee<T>> lookup) throws TransactionConflictException {
+        for (Map.Entry<T, ReadStamp<T>> entry : reads.entrySet()) {
+            ReadStamp<T> stamp = entry.getValue();
+            Employee<T> current = lookup.apply(entry.getKey());
+            if (current != stamp.employee() || current.getVersion() != stamp.version()) {
+                throw new TransactionConflictException(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Returns the read stamp of an employee, recording the record and its
+     * version on the first access. The version is read before any field, so
+     * that fields read afterwards are at least as recent.
+     */
+    private ReadStamp<T> stamp(T employeeId) throws EmployeeNotExistException {
+        ReadStamp<T> stamp = reads.get(employeeId);
+        if (stamp == null) {
+            Employee<T> employee = ems.lookup(employeeId);
+            if (employee == null) {
+                throw new StacklessEmployeeNotExistException(employeeId);
+            }
+            stamp = new ReadStamp<>(employee, employee.getVersion());
+            reads.put(employeeId, stamp);
+        }
+        return stamp;
+    }
+
+    private void checkOpen() {
+        if (finished) {
+            throw new IllegalStateException("Transaction has already committed");
+        }
+    }
+
+    /**
+     * An employee as read, with the version it had.
+     */
+    private record ReadStamp<T>(Employee<T> employee, long version) {
+    }
+
+    /**
+     * An update waiting for the commit.
+     */
+    record StagedUpdate<T>(T employeeId, Employee<T> employee, EmployeeField field, Object newValue) {
+    }
+}
@@ -0,0 +1,623 @@
+package gtp.ems.service;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.jfr.StoreOperationEvent;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+import gtp.ems.service.metrics.StoreMetrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * An {@link EmployeeManagementSystem} that shards employees across several
+ * independent partitions by a hash of their ID.
+ * <p>
+ * Single-employee operations go to the owning partition only, so writes to
+ * different partitions do not contend on a common lock. Scans fan out to every
+ * partition on a {@link ForkJoinPool} and their results are gathered in
+ * partition order. Sorts and top-N queries sort or select within each
+ * partition in parallel and combine the partial results with a k-way merge,
+ * keeping the ordering of the unpartitioned store.
+ * </p>
+ * <p>
+ * The partitions are plain {@link EmployeeManagementSystem} instances with
+ * metrics disabled; operations are measured once, at this level. Partitions
+ * scan sequentially, since the fan-out already spreads a scan over the pool.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+public class PartitionedEmployeeManagementSystem<T> extends EmployeeManagementSystem<T> {
+    private static final Comparator<Employee<?>> BY_SALARY = Comparator.comparingDouble(Employee::getSalary);
+    private static final Comparator<Employee<?>> BY_PERFORMANCE =
+            Comparator.comparingDouble(Employee::getPerformanceRating);
+
+    private final EmployeeManagementSystem<T>[] partitions;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a store with one partition per available processor, scanning
+     * on the pool of the {@linkplain ScanExecutor#defaultExecutor() default scan executor}.
+     */
+    public PartitionedEmployeeManagementSystem() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a store with the given number of partitions, scanning on the
+     * pool of the {@linkplain ScanExecutor#defaultExecutor() default scan
+     * executor} rather than the common pool, so that partition scans do not
+     * compete with parallel streams and other users of the common pool.
+     *
+     * @param partitionCount the number of partitions
+     */
+    public PartitionedEmployeeManagementSystem(int partitionCount) {
+        this(partitionCount, ScanExecutor.defaultExecutor().getPool(), new StoreMetrics());
+    }
+
+    /**
+     * Constructs a store with the given number of partitions.
+     *
+     * @param partitionCount the number of partitions
+     * @param pool the pool that per-partition scans run on, or null to query
+     *             the partitions one after another on the calling thread
+     * @param metrics the metrics to record into
+     * @throws IllegalArgumentException if {@code partitionCount} is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public PartitionedEmployeeManagementSystem(int partitionCount, ForkJoinPool pool, StoreMetrics metrics) {
+        super(metrics);
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("partitionCount must be positive: " + partitionCount);
+        }
+        this.pool = pool;
+        this.partitions = (EmployeeManagementSystem<T>[]) new EmployeeManagementSystem<?>[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        }
+    }
+
+    /**
+     * Returns the number of partitions.
+     *
+     * @return the partition count
+     */
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Registers a listener with every partition. Changes to different
+     * partitions may be reported concurrently, but changes to any one employee
+     * are reported in order.
+     *
+     * @param listener the listener to add
+     */
+    @Override
+    public void addChangeListener(EmployeeChangeListener<T> listener) {
+        for (EmployeeManagementSystem<T> partition : partitions) {
+            partition.addChangeListener(listener);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(EmployeeChangeListener<T> listener) {
+        for (EmployeeManagementSystem<T> partition : partitions) {
+            partition.removeChangeListener(listener);
+        }
+    }
+
+    /**
+     * Runs an action while every partition is locked against mutation.
+     * Partitions are always locked in the same order.
+     *
+     * @param action the action to run
+     * @param <R> the result type
+     * @return the action's result
+     */
+    @Override
+    public <R> R atomically(Supplier<R> action) {
+        return atomically(0, action);
+    }
+
+    private <R> R atomically(int partition, Supplier<R> action) {
+        if (partition == partitions.length) {
+            return action.get();
+        }
+        return partitions[partition].atomically(() -> atomically(partition + 1, action));
+    }
+
+    /**
+     * Runs an action while the given partitions, in ascending order, are
+     * locked against mutation.
+     */
+    private <R> R atomically(int[] partitionIndexes, int next, Supplier<R> action) {
+        if (next == partitionIndexes.length) {
+            return action.get();
+        }
+        return partitions[partitionIndexes[next]].atomically(() -> atomically(partitionIndexes, next + 1, action));
+    }
+
+    @Override
+    public boolean addEmployee(Employee<T> employee) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean added = false;
+        try {
+            added = employee != null && partitionFor(employee.getEmployeeId()).addEmployee(employee);
+            return added;
+        } finally {
+            finish(StoreOperation.ADD_EMPLOYEE, start, event, added ? 1 : 0,
+                    employee == null ? null : employee.getEmployeeId());
+        }
+    }
+
+    @Override
+    Employee<T> lookup(T employeeId) {
+        return partitionFor(employeeId).lookup(employeeId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void removeEmployee(UUID employeeId) throws EmployeeNotExistException {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean removed = false;
+        try {
+            partitionFor((T) employeeId).removeEmployee(employeeId);
+            removed = true;
+        } finally {
+            finish(StoreOperation.REMOVE_EMPLOYEE, start, event, removed ? 1 : 0, employeeId);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean updateEmployeeDetails(UUID employeeId, String field, Object newValue) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean updated = false;
+        try {
+            updated = partitionFor((T) employeeId).updateEmployeeDetails(employeeId, field, newValue);
+            return updated;
+        } finally {
+            finish(StoreOperation.UPDATE_EMPLOYEE_DETAILS, start, event, updated ? 1 : 0, employeeId);
+        }
+    }
+
+    /**
+     * Removes many employees while the partitions owning them are locked, in
+     * partition order, so the removals are seen together.
+     *
+     * @param employeeIds the IDs of the employees to remove
+     * @return the employees removed, in the order of their IDs, and the IDs not found
+     */
+    @Override
+    public EmployeeLookupResult<T> removeEmployees(Collection<T> employeeIds) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> removed = new ArrayList<>(employeeIds.size());
+        List<T> missing = new ArrayList<>();
+        try {
+            atomically(partitionIndexes(employeeIds), 0, () -> {
+                for (T employeeId : employeeIds) {
+                    Employee<T> employee = partitionFor(employeeId).removeLocked(employeeId);
+                    if (employee == null) {
+                        missing.add(employeeId);
+                    } else {
+                        removed.add(employee);
+                    }
+                }
+                return null;
+            });
+            return new EmployeeLookupResult<>(removed, missing);
+        } finally {
+            finish(StoreOperation.REMOVE_EMPLOYEES, start, event, removed.size(), null);
+        }
+    }
+
+    /**
+     * Updates many employees while the partitions owning them are locked, in
+     * partition order, so the updates are seen together.
+     *
+     * @param employeeIds the IDs of the employees to update
+     * @param field the field to update
+     * @param newValue the new value for the field
+     * @return the number of employees updated; 0 if the field does not exist,
+     *         the value does not have the field's type, or it is a blank name
+     *         or department
+     */
+    @Override
+    public int updateEmployees(Collection<T> employeeIds, String field, Object newValue) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        int updated = 0;
+        try {
+            EmployeeField employeeField = EmployeeField.fromName(field);
+            if (employeeField == null || !accepts(employeeField, newValue)) {
+                return 0;
+            }
+            updated = atomically(partitionIndexes(employeeIds), 0, () -> {
+                int count = 0;
+                for (T employeeId : employeeIds) {
+                    if (partitionFor(employeeId).updateLocked(employeeId, employeeField, newValue)) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            return updated;
+        } finally {
+            finish(StoreOperation.UPDATE_EMPLOYEES, start, event, updated, null);
+        }
+    }
+
+    /**
+     * Validates a transaction and applies its updates while the partitions of
+     * the employees it read are locked, in partition order, so transactions
+     * on disjoint partitions commit concurrently. Each update is applied by
+     * its own partition, which notifies that partition's listeners.
+     */
+    @Override
+    void commit(EmployeeTransaction<T> transaction) throws TransactionConflictException {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        boolean committed = false;
+        try {
+            TransactionConflictException conflict = atomically(partitionIndexes(transaction.getEmployeeIds()), 0, () -> {
+                try {
+                    transaction.validate(this::lookup);
+                } catch (TransactionConflictException e) {
+                    return e;
+                }
+                for (EmployeeTransaction.StagedUpdate<T> update : transaction.getUpdates()) {
+                    partitionFor(update.employeeId()).applyUpdate(update);
+                }
+                return null;
+            });
+            if (conflict != null) {
+                throw conflict;
+            }
+            committed = true;
+        } finally {
+            finish(StoreOperation.COMMIT_TRANSACTION, start, event, committed ? transaction.getUpdateCount() : 0, null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> getAllEmployees() {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = new ArrayList<>(concat(scatter(EmployeeManagementSystem::getAllEmployees)));
+            return result;
+        } finally {
+            finish(StoreOperation.GET_ALL_EMPLOYEES, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> getEmployeesByDepartment(String department) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = concat(scatter(partition -> partition.getEmployeesByDepartment(department)));
+            return result;
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEES_BY_DEPARTMENT, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> searchEmployeesByName(String searchTerm) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = concat(scatter(partition -> partition.searchEmployeesByName(searchTerm)));
+            return result;
+        } finally {
+            finish(StoreOperation.SEARCH_EMPLOYEES_BY_NAME, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> getHighPerformingEmployees(double minRating) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = concat(scatter(partition -> partition.getHighPerformingEmployees(minRating)));
+            return result;
+        } finally {
+            finish(StoreOperation.GET_HIGH_PERFORMING_EMPLOYEES, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> getEmployeesInSalaryRange(double minSalary, double maxSalary) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = concat(scatter(partition -> partition.getEmployeesInSalaryRange(minSalary, maxSalary)));
+            return result;
+        } finally {
+            finish(StoreOperation.GET_EMPLOYEES_IN_SALARY_RANGE, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> filterEmployees(String expression) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = concat(scatter(partition -> partition.filterEmployees(expression)));
+            return result;
+        } finally {
+            finish(StoreOperation.FILTER_EMPLOYEES, start, event, result.size(), null);
+        }
+    }
+
+    /**
+     * Provides an iterator over all partitions in turn. Like the partitions'
+     * own iterators it is weakly consistent, and it reads each partition only
+     * as it is advanced, so streaming queries never copy a partition.
+     *
+     * @return an iterator for all employees
+     */
+    @Override
+    public Iterator<Employee<T>> getEmployeeIterator() {
+        return new Iterator<>() {
+            private int next;
+            private Iterator<Employee<T>> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && next < partitions.length) {
+                    current = partitions[next++].getEmployeeIterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public Employee<T> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    @Override
+    public List<Employee<T>> sortEmployeesByExperience() {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = merge(scatter(EmployeeManagementSystem::sortEmployeesByExperience),
+                    Comparator.naturalOrder(), Integer.MAX_VALUE);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_EXPERIENCE, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> sortEmployeesBySalary() {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = merge(scatter(EmployeeManagementSystem::sortEmployeesBySalary), BY_SALARY, Integer.MAX_VALUE);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_SALARY, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> sortEmployeesByPerformance() {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = merge(scatter(EmployeeManagementSystem::sortEmployeesByPerformance),
+                    BY_PERFORMANCE, Integer.MAX_VALUE);
+            return result;
+        } finally {
+            finish(StoreOperation.SORT_EMPLOYEES_BY_PERFORMANCE, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    public List<Employee<T>> getTopPaidEmployees(int count) {
+        long start = getMetrics().start();
+        StoreOperationEvent event = StoreOperationEvent.start();
+        List<Employee<T>> result = List.of();
+        try {
+            result = merge(scatter(partition -> partition.getTopPaidEmployees(count)), BY_SALARY, count);
+            return result;
+        } finally {
+            finish(StoreOperation.GET_TOP_PAID_EMPLOYEES, start, event, result.size(), null);
+        }
+    }
+
+    @Override
+    DoubleSummaryStatistics departmentSalaryStatistics(String department) {
+        DoubleSummaryStatistics total = new DoubleSummaryStatistics();
+        for (DoubleSummaryStatistics statistics
+                : scatter(partition -> partition.departmentSalaryStatistics(department))) {
+            total.combine(statistics);
+        }
+        return total;
+    }
+
+    @Override
+    Map<String, DepartmentStatistics> departmentReport() {
+        Map<String, DepartmentStatistics> report = new TreeMap<>(DepartmentStatistics.DEPARTMENT_ORDER);
+        for (Map<String, DepartmentStatistics> partial : scatter(EmployeeManagementSystem::departmentReport)) {
+            DepartmentStatistics.merge(report, partial);
+        }
+        return Collections.unmodifiableMap(report);
+    }
+
+    @Override
+    int applyPerformanceRaise(double minRating, double raisePercentage) {
+        int raised = 0;
+        for (int count : scatter(partition -> partition.applyPerformanceRaise(minRating, raisePercentage))) {
+            raised += count;
+        }
+        return raised;
+    }
+
+    /**
+     * Adds every partition's employees to a footprint, counting the partition
+     * table under {@value MemoryFootprint#EMPLOYEE_DATABASE} and each listener,
+     * which is registered with every partition, and each department name
+     * once.
+     */
+    @Override
+    void accountMemory(MemoryFootprint footprint, Set<Object> accounted, Set<String> departments) {
+        footprint.add(MemoryFootprint.EMPLOYEE_DATABASE, MemoryLayout.referenceArraySize(partitions.length));
+        Set<String> shared = departments == null ? new HashSet<>() : departments;
+        for (EmployeeManagementSystem<T> partition : partitions) {
+            partition.accountMemory(footprint, accounted, shared);
+        }
+    }
+
+    /**
+     * Returns the partition that owns an ID. Null IDs map to the first
+     * partition, which rejects them the same way an unpartitioned store does.
+     */
+    private EmployeeManagementSystem<T> partitionFor(T employeeId) {
+        return partitions[partitionIndex(employeeId)];
+    }
+
+    /**
+     * Returns the distinct partitions owning some IDs, in ascending order.
+     */
+    private int[] partitionIndexes(Collection<T> employeeIds) {
+        return employeeIds.stream()
+                .mapToInt(this::partitionIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private int partitionIndex(T employeeId) {
+        if (employeeId == null) {
+            return 0;
+        }
+        int hash = employeeId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    /**
+     * Runs a query against every partition in parallel and returns the
+     * per-partition results in partition order.
+     */
+    private <R> List<R> scatter(Function<EmployeeManagementSystem<T>, R> query) {
+        if (partitions.length == 1) {
+            return List.of(query.apply(partitions[0]));
+        }
+        if (pool == null) {
+            List<R> results = new ArrayList<>(partitions.length);
+            for (EmployeeManagementSystem<T> partition : partitions) {
+                results.add(query.apply(partition));
+            }
+            return results;
+        }
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(partitions.length);
+        for (EmployeeManagementSystem<T> partition : partitions) {
+            tasks.add(pool.submit(() -> query.apply(partition)));
+        }
+        List<R> results = new ArrayList<>(partitions.length);
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private static <E> List<E> concat(List<List<E>> parts) {
+        int size = 0;
+        for (List<E> part : parts) {
+            size += part.size();
+        }
+        List<E> result = new ArrayList<>(size);
+        for (List<E> part : parts) {
+            result.addAll(part);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Merges lists that are each sorted by {@code comparator} into one sorted
+     * list of at most {@code limit} elements, using a heap over the head of each list.
+     */
+    static <E> List<E> merge(List<List<E>> runs, Comparator<? super E> comparator, int limit) {
+        PriorityQueue<Run<E>> heap = new PriorityQueue<>(Math.max(1, runs.size()),
+                (first, second) -> comparator.compare(first.head(), second.head()));
+        long total = 0;
+        for (List<E> run : runs) {
+            if (!run.isEmpty()) {
+                heap.add(new Run<>(run));
+                total += run.size();
+            }
+        }
+
+        List<E> merged = new ArrayList<>((int) Math.min(total, limit));
+        while (!heap.isEmpty() && merged.size() < limit) {
+            Run<E> run = heap.poll();
+            merged.add(run.head());
+            if (run.advance()) {
+                heap.add(run);
+            }
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    /**
+     * A cursor over one sorted input of a k-way merge.
+     */
+    private static final class Run<E> {
+        private final List<E> elements;
+        private int position;
+
+        Run(List<E> elements) {
+            this.elements = elements;
+        }
+
+        E head() {
+            return elements.get(position);
+        }
+
+        boolean advance() {
+            return ++position < elements.size();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package gtp.ems.service;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Decides how the store's scans are executed: sequentially for small
+ * collections, and as parallel streams on a dedicated {@link ForkJoinPool}
+ * once the collection reaches a size threshold.
+ * <p>
+ * Running parallel scans on their own pool rather than the common pool keeps
+ * large scans from starving the JavaFX thread, {@code CompletableFuture}s and
+ * other users of the common pool, and bounds the CPU that scans can take.
+ * </p>
+ * <p>
+ * The default executor is configured with the system properties
+ * {@value #PARALLELISM_PROPERTY} (default: available processors) and
+ * {@value #THRESHOLD_PROPERTY} (default: {@value #DEFAULT_THRESHOLD} elements).
+ * A parallelism of 1 disables parallel scans. Use the calibration benchmark in
+ * the benchmarks module to pick the threshold for a given machine.
+ * </p>
+ */
+public class ScanExecutor {
+    private static final Logger LOGGER = Logger.getLogger(ScanExecutor.class.getName());
+
+    /**
+     * System property holding the number of threads of the default scan pool.
+     */
+    public static final String PARALLELISM_PROPERTY = "ems.scan.parallelism";
+
+    /**
+     * System property holding the collection size at which scans go parallel.
+     */
+    public static final String THRESHOLD_PROPERTY = "ems.scan.threshold";
+
+    /**
+     * The parallel threshold used when none is configured.
+     */
+    public static final int DEFAULT_THRESHOLD = 50_000;
+
+    private static final ScanExecutor SEQUENTIAL = new ScanExecutor(null, Integer.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    /**
+     * Constructs an executor that runs scans of at least {@code parallelThreshold}
+     * elements in parallel on {@code pool}.
+     *
+     * @param pool the pool to run parallel scans on, or null to never go parallel
+     * @param parallelThreshold the minimum collection size for a parallel scan
+     */
+    public ScanExecutor(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns an executor that always scans sequentially.
+     *
+     * @return the sequential executor
+     */
+    public static ScanExecutor sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * Returns the JVM-wide executor configured from system properties. Its pool
+     * is created on first use and shared by every store that uses it.
+     *
+     * @return the default executor
+     */
+    public static ScanExecutor defaultExecutor() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a pool of daemon threads named {@code ems-scan-N}.
+     *
+     * @param parallelism the number of threads
+     * @return the new pool
+     */
+    public static ForkJoinPool newScanPool(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ems-scan-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Runs a stream query over a collection, in parallel on this executor's
+     * pool if the collection is large enough.
+     *
+     * @param source the collection to scan
+     * @param query the query to apply to the collection's stream
+     * @param <E> the element type
+     * @param <R> the result type
+     * @return the query result
+     */
+    public <E, R> R scan(Collection<E> source, Function<Stream<E>, R> query) {
+        if (pool == null || source.size() < parallelThreshold) {
+            return query.apply(source.stream());
+        }
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            return query.apply(source.parallelStream());
+        }
+        // A parallel stream's tasks run in the pool of the thread that starts it
+        return pool.submit(() -> query.apply(source.parallelStream())).join();
+    }
+
+    /**
+     * Returns the pool that work over a collection of the given size should
+     * run on, for parallel algorithms that do not use streams.
+     *
+     * @param size the collection size
+     * @return this executor's pool, or null if the work should run sequentially
+     */
+    public ForkJoinPool poolFor(int size) {
+        return size < parallelThreshold ? null : pool;
+    }
+
+    /**
+     * Returns the pool that this executor's parallel scans run on.
+     *
+     * @return the pool, or null if scans are always sequential
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the minimum collection size for a parallel scan.
+     *
+     * @return the parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Returns the number of threads available to parallel scans.
+     *
+     * @return the parallelism, or 1 if scans are always sequential
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    private static final class DefaultHolder {
+        private static final ScanExecutor INSTANCE = create();
+
+        private static ScanExecutor create() {
+            int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+            int threshold = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+            LOGGER.config(() -> "Scan executor: parallelism " + parallelism + ", threshold " + threshold);
+            return parallelism <= 1 ? SEQUENTIAL : new ScanExecutor(newScanPool(parallelism), threshold);
+        }
+    }
+}
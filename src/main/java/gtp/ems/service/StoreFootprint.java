@@ -0,0 +1,99 @@
+package gtp.ems.service;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Running totals of the heap taken by a store's employee IDs and strings,
+ * kept up to date by the store's changes so that its footprint is computed
+ * without visiting every employee.
+ * <p>
+ * Departments are counted once per distinct value, as if employees shared a
+ * single string for each, with a count of the employees in each so that the
+ * total follows additions and removals. Only changes made through the store
+ * are seen: setting a
+ * name or department directly on an {@link Employee} leaves the totals stale.
+ * This class is not thread-safe; the store's write lock guards it.
+ * </p>
+ *
+ * @param <T> the type of employee ID used in the system
+ */
+final class StoreFootprint<T> implements EmployeeChangeListener<T> {
+    private final Map<String, Integer> departments = new HashMap<>();
+    private long idBytes;
+    private long nameBytes;
+    private long departmentBytes;
+
+    @Override
+    public void employeeAdded(Employee<T> employee) {
+        idBytes += MemoryLayout.valueSize(employee.getEmployeeId());
+        nameBytes += MemoryLayout.stringSize(employee.getName());
+        addDepartment(employee.getDepartment());
+    }
+
+    @Override
+    public void employeeRemoved(Employee<T> employee) {
+        idBytes -= MemoryLayout.valueSize(employee.getEmployeeId());
+        nameBytes -= MemoryLayout.stringSize(employee.getName());
+        removeDepartment(employee.getDepartment());
+    }
+
+    @Override
+    public void employeeUpdated(Employee<T> employee, EmployeeField field, Object oldValue, Object newValue) {
+        if (field == EmployeeField.NAME) {
+            nameBytes += MemoryLayout.stringSize((String) newValue) - MemoryLayout.stringSize((String) oldValue);
+        } else if (field == EmployeeField.DEPARTMENT) {
+            removeDepartment((String) oldValue);
+            addDepartment((String) newValue);
+        }
+    }
+
+    /**
+     * Adds the totals for {@code count} employees to a footprint, including
+     * the department counts themselves. Departments already in
+     * {@code accountedDepartments} are not counted again; if it is null, the
+     * running total is used as is.
+     */
+    void accountMemory(MemoryFootprint footprint, int count, Set<String> accountedDepartments) {
+        footprint.add(MemoryFootprint.EMPLOYEE_DATABASE, MemoryLayout.concurrentHashMapSize(count));
+        footprint.add(MemoryFootprint.EMPLOYEES, count * MemoryLayout.EMPLOYEE);
+        footprint.add(MemoryFootprint.EMPLOYEE_IDS, idBytes);
+        footprint.add(MemoryFootprint.NAMES, nameBytes);
+        long bytes = MemoryLayout.hashMapSize(departments.size()) + departments.size() * MemoryLayout.valueSize(0);
+        if (accountedDepartments == null) {
+            bytes += departmentBytes;
+        } else {
+            for (String department : departments.keySet()) {
+                if (accountedDepartments.add(department)) {
+                    bytes += MemoryLayout.stringSize(department);
+                }
+            }
+        }
+        footprint.add(MemoryFootprint.DEPARTMENTS, bytes);
+    }
+
+    private void addDepartment(String department) {
+        if (department != null && departments.merge(department, 1, Integer::sum) == 1) {
+            departmentBytes += MemoryLayout.stringSize(department);
+        }
+    }
+
+    private void removeDepartment(String department) {
+        Integer count = department == null ? null : departments.get(department);
+        if (count == null) {
+            return;
+        }
+        if (count == 1) {
+            departments.remove(department);
+            departmentBytes -= MemoryLayout.stringSize(department);
+        } else {
+            departments.put(department, count - 1);
+        }
+    }
+}
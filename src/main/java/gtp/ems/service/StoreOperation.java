@@ -0,0 +1,55 @@
+package gtp.ems.service;
+
+/**
+ * Enumerates the operations exposed by {@link EmployeeManagementSystem}.
+ * Used to key per-operation instrumentation such as latency metrics.
+ */
+public enum StoreOperation {
+    ADD_EMPLOYEE("addEmployee", true),
+    GET_EMPLOYEE("getEmployee", false),
+    GET_EMPLOYEES("getEmployees", false),
+    REMOVE_EMPLOYEE("removeEmployee", true),
+    REMOVE_EMPLOYEES("removeEmployees", true),
+    UPDATE_EMPLOYEE_DETAILS("updateEmployeeDetails", true),
+    UPDATE_EMPLOYEES("updateEmployees", true),
+    COMMIT_TRANSACTION("commitTransaction", true),
+    GET_ALL_EMPLOYEES("getAllEmployees", false),
+    GET_EMPLOYEES_BY_DEPARTMENT("getEmployeesByDepartment", false),
+    SEARCH_EMPLOYEES_BY_NAME("searchEmployeesByName", false),
+    GET_HIGH_PERFORMING_EMPLOYEES("getHighPerformingEmployees", false),
+    GET_EMPLOYEES_IN_SALARY_RANGE("getEmployeesInSalaryRange", false),
+    FILTER_EMPLOYEES("filterEmployees", false),
+    SORT_EMPLOYEES_BY_EXPERIENCE("sortEmployeesByExperience", false),
+    SORT_EMPLOYEES_BY_SALARY("sortEmployeesBySalary", false),
+    SORT_EMPLOYEES_BY_PERFORMANCE("sortEmployeesByPerformance", false),
+    GIVE_PERFORMANCE_RAISE("givePerformanceRaise", true),
+    GET_TOP_PAID_EMPLOYEES("getTopPaidEmployees", false),
+    GET_AVERAGE_SALARY_BY_DEPARTMENT("getAverageSalaryByDepartment", false),
+    GET_DEPARTMENT_REPORT("getDepartmentReport", false);
+
+    private final String methodName;
+    private final boolean mutating;
+
+    StoreOperation(String methodName, boolean mutating) {
+        this.methodName = methodName;
+        this.mutating = mutating;
+    }
+
+    /**
+     * Returns the name of the service method this operation corresponds to.
+     *
+     * @return the method name
+     */
+    public String getMethodName() {
+        return methodName;
+    }
+
+    /**
+     * Returns whether this operation modifies the employee store.
+     *
+     * @return true for writes, false for reads
+     */
+    public boolean isMutating() {
+        return mutating;
+    }
+}
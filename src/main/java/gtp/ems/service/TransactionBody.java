@@ -0,0 +1,26 @@
+package gtp.ems.service;
+
+import gtp.ems.exception.EmployeeNotExistException;
+
+/**
+ * The work of a transaction run by
+ * {@link EmployeeManagementSystem#transact(TransactionBody)}: it reads
+ * employees and stages updates through the transaction it is given, and may
+ * be run more than once if the commit conflicts.
+ *
+ * @param <T> the type of employee ID used in the system
+ * @param <R> the type of the result
+ */
+@FunctionalInterface
+public interface TransactionBody<T, R> {
+
+    /**
+     * Reads and stages updates through a transaction. The store commits the
+     * transaction after this method returns.
+     *
+     * @param transaction the transaction to work through
+     * @return the result of the work
+     * @throws EmployeeNotExistException if an employee the work needs does not exist
+     */
+    R run(EmployeeTransaction<T> transaction) throws EmployeeNotExistException;
+}
@@ -0,0 +1,18 @@
+package gtp.ems.service.metrics;
+
+/**
+ * A structure that can estimate the heap it retains, such as an index or a
+ * cache following a store. Change listeners that implement this interface are
+ * included in the store's {@link MemoryFootprint}.
+ */
+public interface MemoryAccountable {
+
+    /**
+     * Adds the estimated bytes this structure retains to a footprint, using
+     * {@link MemoryLayout}. Objects owned by the store, such as employees and
+     * their strings, are not counted again.
+     *
+     * @param footprint the footprint to add to
+     */
+    void accountMemory(MemoryFootprint footprint);
+}
@@ -0,0 +1,89 @@
+package gtp.ems.service.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The estimated heap bytes retained by a store, broken down by component.
+ * <p>
+ * A footprint is filled in by the store and by every
+ * {@link MemoryAccountable} structure that follows it. Each object is
+ * counted once, under the component that owns it: an employee's name is
+ * counted under {@value #NAMES} even when an index also refers to it.
+ * </p>
+ */
+public class MemoryFootprint {
+    /**
+     * The employee map's table and entries.
+     */
+    public static final String EMPLOYEE_DATABASE = "employeeDatabase";
+
+    /**
+     * The employee objects.
+     */
+    public static final String EMPLOYEES = "employees";
+
+    /**
+     * The employee ID objects.
+     */
+    public static final String EMPLOYEE_IDS = "employeeIds";
+
+    /**
+     * The employee name strings.
+     */
+    public static final String NAMES = "names";
+
+    /**
+     * The distinct department strings and the store's count of each.
+     */
+    public static final String DEPARTMENTS = "departments";
+
+    private final Map<String, Long> components = new LinkedHashMap<>();
+
+    /**
+     * Adds bytes to a component, creating it if it is new.
+     *
+     * @param component the component name
+     * @param bytes the number of bytes to add
+     */
+    public void add(String component, long bytes) {
+        components.merge(component, bytes, Long::sum);
+    }
+
+    /**
+     * Returns the bytes of one component.
+     *
+     * @param component the component name
+     * @return its size in bytes, or 0 if it has not been accounted for
+     */
+    public long getBytes(String component) {
+        return components.getOrDefault(component, 0L);
+    }
+
+    /**
+     * @return the components and their sizes in bytes, in the order they were first added
+     */
+    public Map<String, Long> getComponents() {
+        return Collections.unmodifiableMap(components);
+    }
+
+    /**
+     * @return the sum of all components
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long bytes : components.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        components.forEach((component, bytes) ->
+                text.append(String.format("%-18s %,14d bytes%n", component, bytes)));
+        return text.append(String.format("%-18s %,14d bytes", "total", getTotalBytes())).toString();
+    }
+}
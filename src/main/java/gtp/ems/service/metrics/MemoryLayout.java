@@ -0,0 +1,233 @@
+package gtp.ems.service.metrics;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+/**
+ * Estimates the heap size of objects from the running JVM's object layout,
+ * for per-structure memory accounting without walking the heap.
+ * <p>
+ * The header and reference sizes are read from the HotSpot flags
+ * {@code UseCompressedOops}, {@code UseCompressedClassPointers} and
+ * {@code ObjectAlignmentInBytes} when they are available; otherwise the
+ * defaults of a 64-bit JVM with a heap under 32 GB are assumed. Field padding
+ * is ignored, and collection capacities are estimated from their sizes as if
+ * they had grown by insertion, so the figures are estimates to within a few
+ * percent rather than exact sizes.
+ * </p>
+ */
+public final class MemoryLayout {
+    /**
+     * The size of a reference field or array element.
+     */
+    public static final int REFERENCE;
+
+    /**
+     * The size of an object header.
+     */
+    public static final int OBJECT_HEADER;
+
+    /**
+     * The size of an array header, including its length.
+     */
+    public static final int ARRAY_HEADER;
+
+    /**
+     * The alignment of every object.
+     */
+    public static final int ALIGNMENT;
+
+    static {
+        boolean compressedOops = true;
+        boolean compressedClassPointers = true;
+        int alignment = 8;
+        try {
+            HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            compressedOops = Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue());
+            compressedClassPointers = Boolean.parseBoolean(
+                    hotSpot.getVMOption("UseCompressedClassPointers").getValue());
+            alignment = Integer.parseInt(hotSpot.getVMOption("ObjectAlignmentInBytes").getValue());
+        } catch (RuntimeException e) {
+            // Not a HotSpot JVM: keep the defaults
+        }
+        REFERENCE = compressedOops ? 4 : 8;
+        OBJECT_HEADER = compressedClassPointers ? 12 : 16;
+        ARRAY_HEADER = OBJECT_HEADER + 4;
+        ALIGNMENT = alignment;
+    }
+
+    /**
+     * The size of an {@link gtp.ems.model.Employee} object, excluding its ID and strings.
+     */
+    public static final long EMPLOYEE = objectSize(3, 29);
+
+    private static final long HASH_MAP = objectSize(4, 16);
+    private static final long HASH_MAP_NODE = objectSize(3, 4);
+    private static final long LINKED_HASH_MAP = objectSize(6, 17);
+    private static final long LINKED_HASH_MAP_ENTRY = objectSize(5, 4);
+    private static final long CONCURRENT_HASH_MAP = objectSize(7, 20);
+    private static final long TREE_MAP = objectSize(6, 8);
+    private static final long TREE_MAP_ENTRY = objectSize(5, 1);
+    private static final long ARRAY_LIST = objectSize(1, 8);
+    private static final long STRING = objectSize(1, 6);
+
+    private MemoryLayout() {
+    }
+
+    /**
+     * Rounds a size up to the object alignment.
+     *
+     * @param bytes the unaligned size
+     * @return the aligned size
+     */
+    public static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    /**
+     * Returns the size of an object with the given fields.
+     *
+     * @param references the number of reference fields
+     * @param primitiveBytes the total size of the primitive fields
+     * @return the size in bytes
+     */
+    public static long objectSize(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Returns the size of an array.
+     *
+     * @param length the array length
+     * @param elementBytes the size of one element
+     * @return the size in bytes
+     */
+    public static long arraySize(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * Returns the size of an array of references, excluding the objects referred to.
+     *
+     * @param length the array length
+     * @return the size in bytes
+     */
+    public static long referenceArraySize(int length) {
+        return arraySize(length, REFERENCE);
+    }
+
+    /**
+     * Returns the size of a string and its character array, taking compact
+     * (Latin-1) strings into account.
+     *
+     * @param value the string, or null
+     * @return the size in bytes, or 0 for null
+     */
+    public static long stringSize(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = value.length();
+        int bytesPerChar = 1;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING + arraySize(length * bytesPerChar, 1);
+    }
+
+    /**
+     * Returns the size of a value such as an employee ID or a boxed number.
+     * Strings, UUIDs and boxed primitives are sized exactly; other objects are
+     * counted as an empty object.
+     *
+     * @param value the value, or null
+     * @return the size in bytes, or 0 for null
+     */
+    public static long valueSize(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return stringSize(string);
+        }
+        if (value instanceof UUID || value instanceof Long || value instanceof Double) {
+            return objectSize(0, value instanceof UUID ? 16 : 8);
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return objectSize(0, 4);
+        }
+        return objectSize(0, 0);
+    }
+
+    /**
+     * Returns the size of a {@link java.util.HashMap} and its entries,
+     * excluding the keys and values.
+     *
+     * @param entries the number of entries
+     * @return the size in bytes
+     */
+    public static long hashMapSize(int entries) {
+        return HASH_MAP + tableSize(entries) + entries * HASH_MAP_NODE;
+    }
+
+    /**
+     * Returns the size of a {@link java.util.LinkedHashMap} and its entries,
+     * excluding the keys and values.
+     *
+     * @param entries the number of entries
+     * @return the size in bytes
+     */
+    public static long linkedHashMapSize(int entries) {
+        return LINKED_HASH_MAP + tableSize(entries) + entries * LINKED_HASH_MAP_ENTRY;
+    }
+
+    /**
+     * Returns the size of a {@link java.util.concurrent.ConcurrentHashMap}
+     * and its entries, excluding the keys and values.
+     *
+     * @param entries the number of entries
+     * @return the size in bytes
+     */
+    public static long concurrentHashMapSize(int entries) {
+        return CONCURRENT_HASH_MAP + tableSize(entries) + entries * HASH_MAP_NODE;
+    }
+
+    /**
+     * Returns the size of a {@link java.util.TreeMap} or {@link java.util.TreeSet}
+     * and its entries, excluding the keys and values.
+     *
+     * @param entries the number of entries
+     * @return the size in bytes
+     */
+    public static long treeMapSize(int entries) {
+        return TREE_MAP + entries * TREE_MAP_ENTRY;
+    }
+
+    /**
+     * Returns the size of an {@link java.util.ArrayList}, excluding its
+     * elements, assuming its capacity has grown to fit them.
+     *
+     * @param size the number of elements
+     * @return the size in bytes
+     */
+    public static long arrayListSize(int size) {
+        return ARRAY_LIST + referenceArraySize(Math.max(size, 10));
+    }
+
+    /**
+     * Returns the size of a hash table that grew to hold the given number of
+     * entries at the default load factor of 0.75.
+     */
+    private static long tableSize(int entries) {
+        int capacity = 16;
+        while (entries > capacity - (capacity >>> 2) && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        return referenceArraySize(capacity);
+    }
+}
@@ -0,0 +1,75 @@
+package gtp.ems.service.metrics;
+
+import gtp.ems.service.StoreOperation;
+
+/**
+ * Call counter and latency histogram for a single store operation.
+ */
+public class OperationStats implements OperationStatsMXBean {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final StoreOperation operation;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Constructs empty statistics for an operation.
+     *
+     * @param operation the operation being measured
+     */
+    public OperationStats(StoreOperation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param elapsedNanos the call latency in nanoseconds
+     */
+    public void record(long elapsedNanos) {
+        histogram.record(elapsedNanos);
+    }
+
+    /**
+     * Returns the underlying histogram.
+     *
+     * @return the latency histogram
+     */
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.getMethodName();
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return histogram.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return histogram.getValueAtQuantile(0.50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return histogram.getValueAtQuantile(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return histogram.getValueAtQuantile(0.999) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return histogram.getMaxNanos() / NANOS_PER_MICRO;
+    }
+}
@@ -0,0 +1,44 @@
+package gtp.ems.service.metrics;
+
+/**
+ * JMX view of the call count and latency distribution of a single
+ * {@link gtp.ems.service.EmployeeManagementSystem} operation.
+ * All latencies are reported in microseconds.
+ */
+public interface OperationStatsMXBean {
+
+    /**
+     * @return the name of the service method being measured
+     */
+    String getOperation();
+
+    /**
+     * @return the number of completed calls
+     */
+    long getCount();
+
+    /**
+     * @return the mean call latency
+     */
+    double getMeanMicros();
+
+    /**
+     * @return the median call latency
+     */
+    double getP50Micros();
+
+    /**
+     * @return the 99th percentile call latency
+     */
+    double getP99Micros();
+
+    /**
+     * @return the 99.9th percentile call latency
+     */
+    double getP999Micros();
+
+    /**
+     * @return the slowest observed call latency
+     */
+    double getMaxMicros();
+}
@@ -0,0 +1,197 @@
+package gtp.ems.service.metrics;
+
+import gtp.ems.service.StoreOperation;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-operation counters and latency histograms for an employee store.
+ * <p>
+ * Call sites bracket an operation with {@link #start()} and
+ * {@link #record(StoreOperation, long)}. While metrics are disabled,
+ * {@code start()} returns 0 without reading the clock and {@code record}
+ * returns immediately, so the instrumentation costs one volatile read per call.
+ * </p>
+ * <p>
+ * The store also reports its {@link MemoryFootprint} here, so that the
+ * estimate is available over JMX. It is computed each time it is read.
+ * </p>
+ */
+public class StoreMetrics implements StoreMetricsMXBean {
+    private static final Logger LOGGER = Logger.getLogger(StoreMetrics.class.getName());
+
+    /**
+     * System property that enables metrics for newly created stores.
+     */
+    public static final String ENABLED_PROPERTY = "ems.metrics.enabled";
+
+    private static final StoreOperation[] OPERATIONS = StoreOperation.values();
+
+    private final OperationStats[] stats = new OperationStats[OPERATIONS.length];
+    private volatile boolean enabled;
+    private volatile Supplier<MemoryFootprint> footprintSource = MemoryFootprint::new;
+
+    /**
+     * Constructs metrics that are enabled according to the
+     * {@value #ENABLED_PROPERTY} system property.
+     */
+    public StoreMetrics() {
+        this(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     * Constructs metrics with an explicit initial state.
+     *
+     * @param enabled whether operations are measured from the start
+     */
+    public StoreMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (StoreOperation operation : OPERATIONS) {
+            stats[operation.ordinal()] = new OperationStats(operation);
+        }
+    }
+
+    /**
+     * Marks the start of an operation.
+     *
+     * @return an opaque start timestamp to pass to {@link #record}, or 0 if disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the completion of an operation started with {@link #start()}.
+     *
+     * @param operation the operation that completed
+     * @param startNanos the value returned by {@link #start()}
+     */
+    public void record(StoreOperation operation, long startNanos) {
+        if (startNanos != 0L) {
+            stats[operation.ordinal()].record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Returns the statistics collected for one operation.
+     *
+     * @param operation the operation to look up
+     * @return its statistics
+     */
+    public OperationStats get(StoreOperation operation) {
+        return stats[operation.ordinal()];
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getTotalCount() {
+        long total = 0;
+        for (OperationStats operationStats : stats) {
+            total += operationStats.getCount();
+        }
+        return total;
+    }
+
+    @Override
+    public void reset() {
+        for (OperationStats operationStats : stats) {
+            operationStats.getHistogram().reset();
+        }
+    }
+
+    /**
+     * Sets where the memory footprint reported by this MBean comes from. A
+     * store sets itself as the source when it is constructed.
+     *
+     * @param footprintSource computes the store's current footprint
+     */
+    public void setMemoryFootprintSource(Supplier<MemoryFootprint> footprintSource) {
+        this.footprintSource = footprintSource;
+    }
+
+    /**
+     * @return the current memory footprint of the store these metrics belong to
+     */
+    public MemoryFootprint getMemoryFootprint() {
+        return footprintSource.get();
+    }
+
+    @Override
+    public long getEstimatedRetainedBytes() {
+        return getMemoryFootprint().getTotalBytes();
+    }
+
+    @Override
+    public Map<String, Long> getEstimatedRetainedBytesByComponent() {
+        return getMemoryFootprint().getComponents();
+    }
+
+    /**
+     * Registers this store's MBean and one MBean per operation with the platform
+     * MBean server under the {@code gtp.ems} domain. Existing registrations with
+     * the same store name are replaced.
+     *
+     * @param storeName a name distinguishing this store from others in the JVM
+     */
+    public void registerMBeans(String storeName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, objectName(storeName, null), this);
+            for (OperationStats operationStats : stats) {
+                register(server, objectName(storeName, operationStats.getOperation()), operationStats);
+            }
+            LOGGER.config(() -> "Registered store metrics MBeans for store: " + storeName);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Failed to register store metrics MBeans", e);
+        }
+    }
+
+    /**
+     * Removes the MBeans registered by {@link #registerMBeans(String)}.
+     *
+     * @param storeName the name the MBeans were registered under
+     */
+    public void unregisterMBeans(String storeName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            unregister(server, objectName(storeName, null));
+            for (OperationStats operationStats : stats) {
+                unregister(server, objectName(storeName, operationStats.getOperation()));
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Failed to unregister store metrics MBeans", e);
+        }
+    }
+
+    private static ObjectName objectName(String storeName, String operation) throws JMException {
+        String name = "gtp.ems:type=StoreMetrics,name=" + ObjectName.quote(storeName);
+        return new ObjectName(operation == null ? name : name + ",operation=" + operation);
+    }
+
+    private static void register(MBeanServer server, ObjectName name, Object mbean) throws JMException {
+        unregister(server, name);
+        server.registerMBean(mbean, name);
+    }
+
+    private static void unregister(MBeanServer server, ObjectName name) throws JMException {
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package gtp.ems.service.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX management interface for the metrics of one employee store.
+ */
+public interface StoreMetricsMXBean {
+
+    /**
+     * @return true if operations are currently being measured
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns measurement on or off at runtime.
+     *
+     * @param enabled true to start measuring, false to stop
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return the total number of measured calls across all operations
+     */
+    long getTotalCount();
+
+    /**
+     * Clears the counters and histograms of every operation.
+     */
+    void reset();
+
+    /**
+     * @return the estimated heap bytes retained by the store and its indexes
+     *         and caches, or 0 if no store reports its footprint here
+     */
+    long getEstimatedRetainedBytes();
+
+    /**
+     * @return the estimated heap bytes retained by each component of the store
+     */
+    Map<String, Long> getEstimatedRetainedBytesByComponent();
+}
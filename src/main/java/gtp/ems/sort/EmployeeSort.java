@@ -0,0 +1,272 @@
+package gtp.ems.sort;
+
+import gtp.ems.model.Employee;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A sort of employees on one or more primitive keys, each ascending or
+ * descending, by LSD radix sort instead of comparisons.
+ * <p>
+ * Sorting copies the key of every employee into a {@code long} array, once
+ * per key, encoded so that unsigned order is the sort order (see
+ * {@link SortKey}). Each key is then sorted one byte at a time, least
+ * significant byte first, moving the keys together with the employees'
+ * positions; a byte that is the same for every employee is skipped, so a key
+ * with a narrow range takes fewer than its eight passes. Keys are sorted
+ * from the last to the first, and every pass is stable, so earlier keys take
+ * precedence and employees that tie on every key keep their input order.
+ * The employees themselves are only touched to read their keys and, at the
+ * end, to be put in sorted order.
+ * </p>
+ * <p>
+ * Given a pool, large inputs are split into one chunk per thread: each pass
+ * counts digits per chunk in parallel, then scatters each chunk to its own
+ * precomputed offsets, which keeps the pass stable. The result is the same as
+ * a stable comparison sort with {@link #comparator()}.
+ * </p>
+ */
+public final class EmployeeSort {
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int MIN_CHUNK_SIZE = 1 << 15;
+
+    private final SortKey[] keys;
+    private final boolean[] descending;
+
+    private EmployeeSort(SortKey[] keys, boolean[] descending) {
+        this.keys = keys;
+        this.descending = descending;
+    }
+
+    /**
+     * @param key the key to sort on
+     * @return a sort on the key, smallest first
+     */
+    public static EmployeeSort ascending(SortKey key) {
+        return new EmployeeSort(new SortKey[0], new boolean[0]).then(key, false);
+    }
+
+    /**
+     * @param key the key to sort on
+     * @return a sort on the key, largest first
+     */
+    public static EmployeeSort descending(SortKey key) {
+        return new EmployeeSort(new SortKey[0], new boolean[0]).then(key, true);
+    }
+
+    /**
+     * @param key the key to sort employees on when they tie on this sort's keys
+     * @return a sort that also sorts on the key, smallest first
+     */
+    public EmployeeSort thenAscending(SortKey key) {
+        return then(key, false);
+    }
+
+    /**
+     * @param key the key to sort employees on when they tie on this sort's keys
+     * @return a sort that also sorts on the key, largest first
+     */
+    public EmployeeSort thenDescending(SortKey key) {
+        return then(key, true);
+    }
+
+    private EmployeeSort then(SortKey key, boolean reversed) {
+        SortKey[] moreKeys = Arrays.copyOf(keys, keys.length + 1);
+        boolean[] moreDescending = Arrays.copyOf(descending, descending.length + 1);
+        moreKeys[keys.length] = key;
+        moreDescending[keys.length] = reversed;
+        return new EmployeeSort(moreKeys, moreDescending);
+    }
+
+    /**
+     * Returns a comparator that orders employees as this sort does.
+     *
+     * @param <T> the type of employee ID
+     * @return the equivalent comparator
+     */
+    public <T> Comparator<Employee<T>> comparator() {
+        Comparator<Employee<T>> comparator = (first, second) -> 0;
+        for (int k = 0; k < keys.length; k++) {
+            SortKey key = keys[k];
+            Comparator<Employee<T>> byKey =
+                    (first, second) -> Long.compareUnsigned(key.encode(first), key.encode(second));
+            comparator = comparator.thenComparing(descending[k] ? byKey.reversed() : byKey);
+        }
+        return comparator;
+    }
+
+    /**
+     * Sorts employees on the calling thread.
+     *
+     * @param employees the employees to sort
+     * @param <T> the type of employee ID
+     * @return an unmodifiable list of the employees in sorted order
+     */
+    public <T> List<Employee<T>> sort(Collection<Employee<T>> employees) {
+        return sort(employees, null);
+    }
+
+    /**
+     * Sorts employees, in parallel on a pool if there are enough of them.
+     *
+     * @param employees the employees to sort
+     * @param pool the pool to sort on, or null to sort on the calling thread
+     * @param <T> the type of employee ID
+     * @return an unmodifiable list of the employees in sorted order
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<Employee<T>> sort(Collection<Employee<T>> employees, ForkJoinPool pool) {
+        Object[] items = employees.toArray();
+        int chunks = pool == null ? 1 : Math.min(pool.getParallelism(), items.length / MIN_CHUNK_SIZE);
+        Object[] sorted;
+        if (chunks <= 1) {
+            sorted = new Run(items, 1).sort();
+        } else if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            sorted = new Run(items, chunks).sort();
+        } else {
+            // Parallel streams run in the pool of the thread that starts them
+            sorted = pool.submit(() -> new Run(items, chunks).sort()).join();
+        }
+        return Collections.unmodifiableList((List<Employee<T>>) (List<?>) Arrays.asList(sorted));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("EmployeeSort[");
+        for (int k = 0; k < keys.length; k++) {
+            text.append(k == 0 ? "" : ", ").append(keys[k]).append(descending[k] ? " desc" : " asc");
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * The arrays of one sort. {@code positions} holds the input position of
+     * the employee at each place of the current order and {@code encoded} its
+     * key; each pass scatters both into the spare arrays, which are then swapped in.
+     */
+    private final class Run {
+        private final Object[] items;
+        private final int chunks;
+        private final int[][] counts;
+        private long[] encoded;
+        private long[] spareEncoded;
+        private int[] positions;
+        private int[] sparePositions;
+
+        Run(Object[] items, int chunks) {
+            this.items = items;
+            this.chunks = chunks;
+            this.counts = new int[chunks][BUCKETS];
+            int n = items.length;
+            encoded = new long[n];
+            spareEncoded = new long[n];
+            positions = new int[n];
+            sparePositions = new int[n];
+        }
+
+        Object[] sort() {
+            int n = items.length;
+            forEachChunk((chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    positions[i] = i;
+                }
+            });
+            for (int k = keys.length - 1; k >= 0; k--) {
+                SortKey key = keys[k];
+                long mask = key.bits() == Long.SIZE ? -1L : (1L << key.bits()) - 1;
+                long flip = descending[k] ? mask : 0L;
+                forEachChunk((chunk, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        encoded[i] = key.encode((Employee<?>) items[positions[i]]) ^ flip;
+                    }
+                });
+                for (int shift = 0; shift < key.bits(); shift += RADIX_BITS) {
+                    pass(shift);
+                }
+            }
+            Object[] sorted = new Object[n];
+            forEachChunk((chunk, from, to) -> {
+                for (int i = from; i < to; i++) {
+                    sorted[i] = items[positions[i]];
+                }
+            });
+            return sorted;
+        }
+
+        /**
+         * Stably sorts by the byte of the keys at {@code shift}, unless every key has the same byte there.
+         */
+        private void pass(int shift) {
+            int n = items.length;
+            if (n < 2) {
+                return;
+            }
+            forEachChunk((chunk, from, to) -> {
+                int[] chunkCounts = counts[chunk];
+                Arrays.fill(chunkCounts, 0);
+                for (int i = from; i < to; i++) {
+                    chunkCounts[(int) (encoded[i] >>> shift) & (BUCKETS - 1)]++;
+                }
+            });
+
+            int first = (int) (encoded[0] >>> shift) & (BUCKETS - 1);
+            int firstTotal = 0;
+            for (int[] chunkCounts : counts) {
+                firstTotal += chunkCounts[first];
+            }
+            if (firstTotal == n) {
+                return;
+            }
+
+            // Turn the counts into each chunk's starting offset for each digit
+            int offset = 0;
+            for (int digit = 0; digit < BUCKETS; digit++) {
+                for (int[] chunkCounts : counts) {
+                    int count = chunkCounts[digit];
+                    chunkCounts[digit] = offset;
+                    offset += count;
+                }
+            }
+
+            long[] targetEncoded = spareEncoded;
+            int[] targetPositions = sparePositions;
+            forEachChunk((chunk, from, to) -> {
+                int[] offsets = counts[chunk];
+                for (int i = from; i < to; i++) {
+                    long value = encoded[i];
+                    int target = offsets[(int) (value >>> shift) & (BUCKETS - 1)]++;
+                    targetEncoded[target] = value;
+                    targetPositions[target] = positions[i];
+                }
+            });
+            spareEncoded = encoded;
+            encoded = targetEncoded;
+            sparePositions = positions;
+            positions = targetPositions;
+        }
+
+        private void forEachChunk(ChunkAction action) {
+            int n = items.length;
+            IntConsumer chunk = c -> action.run(c, (int) ((long) c * n / chunks), (int) ((long) (c + 1) * n / chunks));
+            if (chunks == 1) {
+                chunk.accept(0);
+            } else {
+                IntStream.range(0, chunks).parallel().forEach(chunk);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void run(int chunk, int from, int to);
+    }
+}
@@ -0,0 +1,61 @@
+package gtp.ems.sort;
+
+import gtp.ems.model.Employee;
+
+/**
+ * The primitive fields an {@link EmployeeSort} can sort on.
+ * <p>
+ * Each key encodes a field as an unsigned integer of {@link #bits()} bits
+ * whose unsigned order is the field's natural order, so that a radix sort on
+ * the encoding sorts by the field: doubles in the order of
+ * {@link Double#compare(double, double)}, ints in signed order.
+ * </p>
+ */
+public enum SortKey {
+    SALARY {
+        @Override
+        long encode(Employee<?> employee) {
+            return encodeDouble(employee.getSalary());
+        }
+    },
+    PERFORMANCE_RATING {
+        @Override
+        long encode(Employee<?> employee) {
+            return encodeDouble(employee.getPerformanceRating());
+        }
+    },
+    YEARS_OF_EXPERIENCE {
+        @Override
+        int bits() {
+            return Integer.SIZE;
+        }
+
+        @Override
+        long encode(Employee<?> employee) {
+            return (employee.getYearsOfExperience() ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+    };
+
+    /**
+     * Returns the width of the key's encoding.
+     */
+    int bits() {
+        return Long.SIZE;
+    }
+
+    /**
+     * Encodes the key of an employee, in ascending order.
+     */
+    abstract long encode(Employee<?> employee);
+
+    /**
+     * Maps a double to a long whose unsigned order matches
+     * {@link Double#compare(double, double)}: negative values have all bits
+     * flipped, others only the sign bit. NaNs are collapsed to one value,
+     * which sorts last.
+     */
+    private static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ (bits >> 63 | Long.MIN_VALUE);
+    }
+}
@@ -70,6 +70,7 @@ public class Main {
 
         // Generate department report
         display.generateDepartmentReport(ems.getAllEmployees());
+        display.displayDepartmentStatistics(ems.getDepartmentReport());
 
         // Update and remove
         UUID firstEmployeeId = ems.getAllEmployees().getFirst().getEmployeeId();
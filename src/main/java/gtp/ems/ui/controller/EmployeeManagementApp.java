@@ -1,5 +1,6 @@
 package gtp.ems.ui.controller;
 
+import gtp.ems.jfr.FlightRecording;
 import gtp.ems.ui.util.ColorConsoleFormatter;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -118,6 +119,7 @@ public class EmployeeManagementApp extends Application {
                 LOGGER.log(Level.SEVERE, "Uncaught exception in thread " + thread.getName(), throwable);
             });
 
+            FlightRecording.startIfRequested();
             launch(args);
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Fatal error during application launch", e);
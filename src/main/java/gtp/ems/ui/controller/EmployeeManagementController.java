@@ -1,8 +1,17 @@
 package gtp.ems.ui.controller;
 
 import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.jfr.UiActionEvent;
 import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.query.MaterializedView;
+import gtp.ems.query.MaterializedViews;
+import gtp.ems.sort.EmployeeSort;
+import gtp.ems.sort.SortKey;
+import gtp.ems.service.EmployeeLookupResult;
 import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.EmployeeTransaction;
 import gtp.ems.ui.util.DialogUtils;
 
 
@@ -17,8 +26,12 @@ import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
 
-import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.logging.Level;
@@ -33,8 +46,23 @@ import java.util.stream.Collectors;
 public class EmployeeManagementController {
     private static final Logger LOGGER = Logger.getLogger(EmployeeManagementController.class.getName());
 
+    private static final String ACTIVE_VIEW = "Active Only";
+    private static final int MAX_DEPARTMENT_VIEWS = 8;
+
     private final EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+    private final MaterializedViews<UUID> views = new MaterializedViews<>(ems);
+    private final Map<String, MaterializedView<UUID>> departmentViews = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MaterializedView<UUID>> eldest) {
+            if (size() > MAX_DEPARTMENT_VIEWS) {
+                views.drop(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
     private final ObservableList<Employee<UUID>> employeeData = FXCollections.observableArrayList();
+    private String lastFilterExpression = "salary > 90000 and active";
 
     @FXML private TableView<Employee<UUID>> employeeTable;
     @FXML private TableColumn<Employee<UUID>, UUID> idColumn;
@@ -100,6 +128,11 @@ public class EmployeeManagementController {
             });
             LOGGER.fine("Configured active column cell factory");
 
+            employeeTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+            ems.getMetrics().registerMBeans("employee-management");
+            views.define(ACTIVE_VIEW, Employee::isActive);
+
             // Load sample data
             loadSampleData();
             employeeTable.setItems(employeeData);
@@ -137,6 +170,7 @@ public class EmployeeManagementController {
     @FXML
     private void handleSearch() {
         LOGGER.entering(getClass().getSimpleName(), "handleSearch");
+        UiActionEvent event = UiActionEvent.start("handleSearch");
         String searchTerm = searchField.getText().trim();
 
         if (!searchTerm.isEmpty()) {
@@ -148,6 +182,7 @@ public class EmployeeManagementController {
         } else {
             LOGGER.warning("Empty search term provided");
         }
+        event.complete(employeeData.size());
         LOGGER.exiting(getClass().getSimpleName(), "handleSearch");
     }
     /**
@@ -156,8 +191,10 @@ public class EmployeeManagementController {
     @FXML
     private void handleClearSearch() {
         LOGGER.entering(getClass().getSimpleName(), "handleClearSearch");
+        UiActionEvent event = UiActionEvent.start("handleClearSearch");
         searchField.clear();
         loadSampleData();
+        event.complete(employeeData.size());
         LOGGER.info("Cleared search and reloaded all employees");
         LOGGER.exiting(getClass().getSimpleName(), "handleClearSearch");
     }
@@ -169,6 +206,7 @@ public class EmployeeManagementController {
     @FXML
     private void handleAddEmployee() {
         LOGGER.entering(getClass().getSimpleName(), "handleAddEmployee");
+        UiActionEvent event = UiActionEvent.start("handleAddEmployee");
 
         // Create dialog for adding new employee
         try {
@@ -280,6 +318,7 @@ public class EmployeeManagementController {
             LOGGER.log(Level.SEVERE, "Error adding new employee", e);
             throw e;
         } finally {
+            event.complete(employeeData.size());
             LOGGER.exiting(getClass().getSimpleName(), "handleAddEmployee");
         }
 
@@ -287,21 +326,44 @@ public class EmployeeManagementController {
 
     /**
      * Handles the "Edit Employee" action.
-     * Shows a pre-filled dialog for editing the selected employee's details.
+     * Shows a pre-filled dialog for editing the selected employee's details,
+     * or a bulk edit dialog when several employees are selected.
      */
     @FXML
     private void handleEditEmployee() {
         LOGGER.entering(getClass().getSimpleName(), "handleEditEmployee");
+        UiActionEvent event = UiActionEvent.start("handleEditEmployee");
 
         Employee<UUID> selected = employeeTable.getSelectionModel().getSelectedItem();
         if (selected == null) {
             LOGGER.warning("Edit attempted with no employee selected");
             showAlert("No Selection", "Please select an employee to edit");
+            event.complete(employeeData.size());
+            return;
+        }
+
+        List<Employee<UUID>> selection = List.copyOf(employeeTable.getSelectionModel().getSelectedItems());
+        if (selection.size() > 1) {
+            bulkEdit(selection);
+            event.complete(employeeData.size());
+            LOGGER.exiting(getClass().getSimpleName(), "handleEditEmployee");
             return;
         }
 
         LOGGER.fine(() -> "Editing employee: " + selected.getEmployeeId());
 
+        // Record the version shown in the dialog, so a change by someone else is detected on save
+        EmployeeTransaction<UUID> transaction = ems.beginTransaction();
+        Employee<UUID> original;
+        try {
+            original = transaction.read(selected.getEmployeeId());
+        } catch (EmployeeNotExistException e) {
+            showAlert("Employee Removed", selected.getName() + " has been removed by someone else");
+            employeeData.remove(selected);
+            event.complete(employeeData.size());
+            return;
+        }
+
         // Create dialog for editing employee
         try {
             Dialog<Employee<UUID>> dialog = new Dialog<>();
@@ -321,13 +383,13 @@ public class EmployeeManagementController {
             grid.setPadding(new Insets(20, 150, 10, 10));
 
 
-            TextField nameField = new TextField(selected.getName());
-            TextField deptField = new TextField(selected.getDepartment());
-            TextField salaryField = new TextField(String.valueOf(selected.getSalary()));
-            TextField ratingField = new TextField(String.valueOf(selected.getPerformanceRating()));
-            TextField expField = new TextField(String.valueOf(selected.getYearsOfExperience()));
+            TextField nameField = new TextField(original.getName());
+            TextField deptField = new TextField(original.getDepartment());
+            TextField salaryField = new TextField(String.valueOf(original.getSalary()));
+            TextField ratingField = new TextField(String.valueOf(original.getPerformanceRating()));
+            TextField expField = new TextField(String.valueOf(original.getYearsOfExperience()));
             CheckBox activeCheck = new CheckBox("Active");
-            activeCheck.setSelected(selected.isActive());
+            activeCheck.setSelected(original.isActive());
 
             // Create error labels
             Label nameError = DialogUtils.createErrorLabel();
@@ -381,13 +443,13 @@ public class EmployeeManagementController {
             dialog.setResultConverter(dialogButton -> {
                 if (dialogButton == saveButton) {
                     try {
-                        selected.setName(nameField.getText());
-                        selected.setDepartment(deptField.getText());
-                        selected.setSalary(Double.parseDouble(salaryField.getText()));
-                        selected.setPerformanceRating(Double.parseDouble(ratingField.getText()));
-                        selected.setYearsOfExperience(Integer.parseInt(expField.getText()));
-                        selected.setActive(activeCheck.isSelected());
-                        return selected;
+                        return new Employee<>(original.getEmployeeId(),
+                                nameField.getText(),
+                                deptField.getText(),
+                                Double.parseDouble(salaryField.getText()),
+                                Double.parseDouble(ratingField.getText()),
+                                Integer.parseInt(expField.getText()),
+                                activeCheck.isSelected());
                     } catch (NumberFormatException e) {
                         showAlert("Invalid Input", "Please enter valid numbers for salary, rating and experience");
                         return null;
@@ -398,14 +460,19 @@ public class EmployeeManagementController {
 
             // Process the result
             dialog.showAndWait().ifPresent(employee -> {
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "name", employee.getName());
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "department", employee.getDepartment());
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "salary", employee.getSalary());
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "performanceRating", employee.getPerformanceRating());
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "yearsOfExperience", employee.getYearsOfExperience());
-                ems.updateEmployeeDetails(employee.getEmployeeId(), "isActive", employee.isActive());
-
-                LOGGER.info(() -> "Updated details for employee: " + employee.getEmployeeId());
+                try {
+                    for (EmployeeField field : EmployeeField.values()) {
+                        if (!Objects.equals(field.get(employee), field.get(original))) {
+                            transaction.update(employee.getEmployeeId(), field.getFieldName(), field.get(employee));
+                        }
+                    }
+                    transaction.commit();
+                    LOGGER.info(() -> "Updated details for employee: " + employee.getEmployeeId());
+                } catch (TransactionConflictException | EmployeeNotExistException e) {
+                    LOGGER.warning(() -> "Edit of employee " + employee.getEmployeeId() + " not saved: " + e.getMessage());
+                    showAlert("Edit Conflict", original.getName()
+                            + " was changed by someone else while the dialog was open. Your changes were not saved.");
+                }
 
                 employeeTable.refresh();
             });
@@ -413,47 +480,123 @@ public class EmployeeManagementController {
             LOGGER.log(Level.SEVERE, "Error editing employee", e);
             throw e;
         } finally {
+            event.complete(employeeData.size());
             LOGGER.exiting(getClass().getSimpleName(), "handleEditEmployee");
         }
     }
 
+    /**
+     * Sets one field to the same value on every selected employee, with one
+     * call to the store and one refresh of the table.
+     *
+     * @param selection the selected employees
+     */
+    private void bulkEdit(List<Employee<UUID>> selection) {
+        LOGGER.fine(() -> "Bulk editing " + selection.size() + " employees");
+
+        Map<String, EmployeeField> fields = new LinkedHashMap<>();
+        fields.put("Department", EmployeeField.DEPARTMENT);
+        fields.put("Salary", EmployeeField.SALARY);
+        fields.put("Rating", EmployeeField.PERFORMANCE_RATING);
+        fields.put("Experience", EmployeeField.YEARS_OF_EXPERIENCE);
+        fields.put("Active (true/false)", EmployeeField.ACTIVE);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Edit Employees");
+        dialog.setHeaderText("Set a field on the " + selection.size() + " selected employees");
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+        ChoiceBox<String> fieldChoice = new ChoiceBox<>(FXCollections.observableArrayList(fields.keySet()));
+        fieldChoice.getSelectionModel().selectFirst();
+        TextField valueField = new TextField();
+
+        GridPane grid = new GridPane();
+        DialogUtils.configureGridLayout(grid);
+        grid.add(new Label("Field:"), 0, 0);
+        grid.add(fieldChoice, 1, 0);
+        grid.add(new Label("Value:"), 0, 1);
+        grid.add(valueField, 1, 1);
+        dialog.getDialogPane().setContent(grid);
+        Platform.runLater(valueField::requestFocus);
+
+        if (dialog.showAndWait().filter(ButtonType.OK::equals).isEmpty()) {
+            LOGGER.fine("User cancelled bulk edit");
+            return;
+        }
+
+        EmployeeField field = fields.get(fieldChoice.getValue());
+        String text = valueField.getText().trim();
+        Object value;
+        try {
+            value = switch (field) {
+                case SALARY, PERFORMANCE_RATING -> Double.parseDouble(text);
+                case YEARS_OF_EXPERIENCE -> Integer.parseInt(text);
+                case ACTIVE -> {
+                    if (!text.equalsIgnoreCase("true") && !text.equalsIgnoreCase("false")) {
+                        throw new IllegalArgumentException(text);
+                    }
+                    yield Boolean.parseBoolean(text);
+                }
+                default -> {
+                    if (text.isEmpty()) {
+                        throw new IllegalArgumentException(text);
+                    }
+                    yield text;
+                }
+            };
+        } catch (IllegalArgumentException e) {
+            showAlert("Invalid Input", "'" + text + "' is not a valid value for " + fieldChoice.getValue());
+            return;
+        }
+
+        int updated = ems.updateEmployees(selection.stream().map(Employee::getEmployeeId).toList(),
+                field.getFieldName(), value);
+        employeeTable.refresh();
+        LOGGER.info(() -> "Set " + field.getFieldName() + " on " + updated + " employees");
+    }
+
     /**
      * Handles the "Delete Employee" action.
-     * Shows a confirmation dialog before removing the selected employee.
+     * Shows a confirmation dialog before removing the selected employees in one batch.
      */
     @FXML
     private void handleDeleteEmployee() {
         LOGGER.entering(getClass().getSimpleName(), "handleDeleteEmployee");
+        UiActionEvent event = UiActionEvent.start("handleDeleteEmployee");
 
-        Employee<UUID> selected = employeeTable.getSelectionModel().getSelectedItem();
-        if (selected == null) {
+        List<Employee<UUID>> selection = List.copyOf(employeeTable.getSelectionModel().getSelectedItems());
+        if (selection.isEmpty()) {
             LOGGER.warning("Delete attempted with no employee selected");
             showAlert("No Selection", "Please select an employee to delete");
+            event.complete(employeeData.size());
             return;
         }
 
-        LOGGER.fine(() -> "Attempting to delete employee: " + selected.getEmployeeId());
+        LOGGER.fine(() -> "Attempting to delete " + selection.size() + " employee(s)");
 
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirm Deletion");
-        confirm.setHeaderText("Delete Employee");
-        confirm.setContentText("Are you sure you want to delete " + selected.getName() + "?");
+        confirm.setHeaderText(selection.size() == 1 ? "Delete Employee" : "Delete Employees");
+        confirm.setContentText(selection.size() == 1
+                ? "Are you sure you want to delete " + selection.getFirst().getName() + "?"
+                : "Are you sure you want to delete the " + selection.size() + " selected employees?");
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    ems.removeEmployee(selected.getEmployeeId());
-                    employeeData.remove(selected);
-                    LOGGER.info(() -> "Deleted employee: " + selected.getEmployeeId());
-                } catch (EmployeeNotExistException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to delete non-existent employee", e);
-                    throw new RuntimeException(e);
+                EmployeeLookupResult<UUID> result = ems.removeEmployees(
+                        selection.stream().map(Employee::getEmployeeId).toList());
+                // One change to the table for the whole batch, rather than one per row
+                employeeData.removeAll(new HashSet<>(selection));
+                LOGGER.info(() -> "Deleted " + result.getFound().size() + " employee(s)");
+                if (!result.isComplete()) {
+                    LOGGER.warning(() -> "Already removed: " + result.getMissingIds());
                 }
             } else {
                 LOGGER.fine("User cancelled employee deletion");
             }
         });
 
+        event.complete(employeeData.size());
         LOGGER.exiting(getClass().getSimpleName(), "handleDeleteEmployee");
     }
 
@@ -478,6 +621,7 @@ public class EmployeeManagementController {
      */
     @FXML
     private void handleApplyFilters() {
+        UiActionEvent event = UiActionEvent.start("handleApplyFilters");
         String filterOption = filterComboBox.getValue();
         String sortOption = sortComboBox.getValue();
 
@@ -485,6 +629,28 @@ public class EmployeeManagementController {
         List<Employee<UUID>> sortedEmployees = applySorting(sortOption, filteredEmployees);
 
         employeeData.setAll(sortedEmployees);
+        event.complete(employeeData.size());
+    }
+
+    /**
+     * Returns the employees of a department from its view, defining the view
+     * the first time the department is chosen. Only the views of the
+     * {@value #MAX_DEPARTMENT_VIEWS} most recently chosen departments are
+     * kept; older ones are dropped so that they stop following the store.
+     *
+     * @param department the department, or null for employees without one
+     * @return the employees in the department
+     */
+    private List<Employee<UUID>> departmentView(String department) {
+        String name = department == null ? "No Department" : "Department: " + department.toLowerCase(Locale.ROOT);
+        MaterializedView<UUID> view = departmentViews.get(name);
+        if (view == null) {
+            view = views.define(name, employee -> department == null
+                    ? employee.getDepartment() == null
+                    : department.equalsIgnoreCase(employee.getDepartment()));
+            departmentViews.put(name, view);
+        }
+        return view.open();
     }
 
     /**
@@ -504,9 +670,7 @@ public class EmployeeManagementController {
             case "Active Only" -> {
                 LOGGER.fine("Applying 'Active Only' filter");
 
-                yield ems.getAllEmployees().stream()
-                    .filter(Employee::isActive)
-                    .collect(Collectors.toList());
+                yield views.open(ACTIVE_VIEW);
             }
             case "Department" -> {
                 LOGGER.fine("Applying 'Department' filter");
@@ -522,7 +686,7 @@ public class EmployeeManagementController {
                 dialog.setContentText("Choose department:");
 
                 Optional<String> result = dialog.showAndWait();
-                yield result.map(dept -> ems.getEmployeesByDepartment(dept))
+                yield result.map(this::departmentView)
                         .orElse(ems.getAllEmployees());
             }
             case "Salary Range" -> {
@@ -547,6 +711,26 @@ public class EmployeeManagementController {
                 }
                 yield ems.getAllEmployees();
             }
+            case "Expression" -> {
+                LOGGER.fine("Applying 'Expression' filter");
+
+                TextInputDialog dialog = new TextInputDialog(lastFilterExpression);
+                dialog.setTitle("Filter by Expression");
+                dialog.setHeaderText("Enter a filter, e.g. salary > 90000 and department = 'IT' and active");
+                dialog.setContentText("Filter:");
+
+                Optional<String> result = dialog.showAndWait();
+                if (result.isPresent() && !result.get().isBlank()) {
+                    try {
+                        List<Employee<UUID>> filtered = ems.filterEmployees(result.get());
+                        lastFilterExpression = result.get();
+                        yield filtered;
+                    } catch (IllegalArgumentException e) {
+                        showAlert("Invalid Filter", e.getMessage());
+                    }
+                }
+                yield ems.getAllEmployees();
+            }
             default -> ems.getAllEmployees();
         };
     }
@@ -571,33 +755,23 @@ public class EmployeeManagementController {
             List<Employee<UUID>> sortedEmployees = switch (sortOption) {
                 case "Salary (High to Low)" -> {
                     LOGGER.fine("Sorting by salary (high to low)");
-                    yield employees.stream()
-                            .sorted(Comparator.comparingDouble(Employee<UUID>::getSalary).reversed())
-                            .collect(Collectors.toList());
+                    yield EmployeeSort.descending(SortKey.SALARY).sort(employees);
                 }
                 case "Salary (Low to High)" -> {
                     LOGGER.fine("Sorting by salary (low to high)");
-                    yield employees.stream()
-                            .sorted(Comparator.comparingDouble(Employee<UUID>::getSalary))
-                            .collect(Collectors.toList());
+                    yield EmployeeSort.ascending(SortKey.SALARY).sort(employees);
                 }
                 case "Experience (High to Low)" -> {
                     LOGGER.fine("Sorting by experience (high to low)");
-                    yield employees.stream()
-                            .sorted(Comparator.comparingInt(Employee<UUID>::getYearsOfExperience).reversed())
-                            .collect(Collectors.toList());
+                    yield EmployeeSort.descending(SortKey.YEARS_OF_EXPERIENCE).sort(employees);
                 }
                 case "Experience (Low to High)" -> {
                     LOGGER.fine("Sorting by experience (low to high)");
-                    yield employees.stream()
-                            .sorted(Comparator.comparingInt(Employee<UUID>::getYearsOfExperience))
-                            .collect(Collectors.toList());
+                    yield EmployeeSort.ascending(SortKey.YEARS_OF_EXPERIENCE).sort(employees);
                 }
                 case "Performance Rating" -> {
                     LOGGER.fine("Sorting by performance rating");
-                    yield employees.stream()
-                            .sorted(Comparator.comparingDouble(Employee<UUID>::getPerformanceRating).reversed())
-                            .collect(Collectors.toList());
+                    yield EmployeeSort.descending(SortKey.PERFORMANCE_RATING).sort(employees);
                 }
                 default -> {
                     LOGGER.warning("Unknown sort option: " + sortOption);
@@ -0,0 +1,276 @@
+package gtp.ems.workload;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.service.StoreOperation;
+import gtp.ems.service.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Replays a weighted mix of reads and writes against an
+ * {@link EmployeeManagementSystem} from several threads and reports throughput
+ * and latency percentiles per operation.
+ * <p>
+ * The store is expected to be pre-populated with the first {@code ids.length}
+ * employees of a {@link WorkforceGenerator}; adds continue from the same
+ * generator so that repeated runs with the same seed issue the same requests
+ * per thread.
+ * </p>
+ */
+public class LoadDriver {
+    private static final Logger LOGGER = Logger.getLogger(LoadDriver.class.getName());
+    private static final int BATCH_SIZE = 16;
+    private static final String FILTER_EXPRESSION = "active and rating >= 4.5 and salary > 100000";
+
+    private final EmployeeManagementSystem<UUID> ems;
+    private final WorkforceGenerator generator;
+    private final UUID[] ids;
+    private final LoadMix mix;
+    private final AtomicLong nextIndex;
+
+    /**
+     * Constructs a driver for a populated store.
+     *
+     * @param ems the store under test
+     * @param generator the generator the store was populated from
+     * @param ids the IDs of the employees already in the store
+     * @param mix the operation mix to replay
+     */
+    public LoadDriver(EmployeeManagementSystem<UUID> ems, WorkforceGenerator generator,
+                      UUID[] ids, LoadMix mix) {
+        this.ems = ems;
+        this.generator = generator;
+        this.ids = ids;
+        this.mix = mix;
+        this.nextIndex = new AtomicLong(ids.length);
+    }
+
+    /**
+     * Runs the mix from {@code threads} threads for a fixed duration.
+     *
+     * @param threads the number of concurrent worker threads
+     * @param durationMillis how long to run, in milliseconds
+     * @param seed the seed for request selection; each thread derives its own stream
+     * @return the per-operation results
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public LoadReport run(int threads, long durationMillis, long seed) throws InterruptedException {
+        LOGGER.info(() -> String.format("Running %s on %d threads for %d ms", mix, threads, durationMillis));
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(root.split()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        long deadline = start + durationMillis * 1_000_000L;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Worker worker : workers) {
+                futures.add(executor.submit(() -> worker.run(deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<StoreOperation, LatencyHistogram> latencies = new EnumMap<>(StoreOperation.class);
+        Map<StoreOperation, Long> misses = new EnumMap<>(StoreOperation.class);
+        for (Worker worker : workers) {
+            worker.latencies.forEach((operation, histogram) ->
+                    latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).add(histogram));
+            worker.misses.forEach((operation, count) -> misses.merge(operation, count, Long::sum));
+        }
+        return new LoadReport(threads, elapsedNanos, latencies, misses);
+    }
+
+    /**
+     * One load-generating thread with private latency histograms.
+     */
+    private class Worker {
+        private final SplittableRandom random;
+        private final Map<StoreOperation, LatencyHistogram> latencies = new EnumMap<>(StoreOperation.class);
+        private final Map<StoreOperation, Long> misses = new EnumMap<>(StoreOperation.class);
+
+        Worker(SplittableRandom random) {
+            this.random = random;
+            for (StoreOperation operation : mix.getOperations()) {
+                latencies.put(operation, new LatencyHistogram());
+            }
+        }
+
+        void run(long deadline) {
+            while (System.nanoTime() < deadline) {
+                StoreOperation operation = mix.pick(random.nextDouble());
+                long start = System.nanoTime();
+                boolean hit = execute(operation);
+                latencies.get(operation).record(System.nanoTime() - start);
+                if (!hit) {
+                    misses.merge(operation, 1L, Long::sum);
+                }
+            }
+        }
+
+        private boolean execute(StoreOperation operation) {
+            switch (operation) {
+                case ADD_EMPLOYEE:
+                    return ems.addEmployee(generator.employee(nextIndex.getAndIncrement()));
+                case GET_EMPLOYEE:
+                    return ems.findEmployee(randomId()).isPresent();
+                case GET_EMPLOYEES:
+                    return ems.getEmployees(randomBatch()).isComplete();
+                case REMOVE_EMPLOYEE:
+                    try {
+                        ems.removeEmployee(randomId());
+                        return true;
+                    } catch (EmployeeNotExistException e) {
+                        return false;
+                    }
+                case REMOVE_EMPLOYEES:
+                    return !ems.removeEmployees(randomBatch()).getFound().isEmpty();
+                case UPDATE_EMPLOYEES:
+                    return ems.updateEmployees(randomBatch(), "department", randomDepartment()) > 0;
+                case UPDATE_EMPLOYEE_DETAILS:
+                    return ems.updateEmployeeDetails(randomId(), "salary", 30_000 + random.nextDouble() * 150_000);
+                case COMMIT_TRANSACTION:
+                    return transferBudget(randomId(), randomId());
+                case GET_ALL_EMPLOYEES:
+                    return !ems.getAllEmployees().isEmpty();
+                case GET_EMPLOYEES_BY_DEPARTMENT:
+                    return !ems.getEmployeesByDepartment(randomDepartment()).isEmpty();
+                case SEARCH_EMPLOYEES_BY_NAME:
+                    return !ems.searchEmployeesByName(randomNameFragment()).isEmpty();
+                case GET_HIGH_PERFORMING_EMPLOYEES:
+                    return !ems.getHighPerformingEmployees(4.0 + random.nextInt(10) / 10.0).isEmpty();
+                case GET_EMPLOYEES_IN_SALARY_RANGE:
+                    double min = 30_000 + random.nextDouble() * 120_000;
+                    return !ems.getEmployeesInSalaryRange(min, min + 5_000).isEmpty();
+                case FILTER_EMPLOYEES:
+                    return !ems.filterEmployees(FILTER_EXPRESSION).isEmpty();
+                case SORT_EMPLOYEES_BY_EXPERIENCE:
+                    return !ems.sortEmployeesByExperience().isEmpty();
+                case SORT_EMPLOYEES_BY_SALARY:
+                    return !ems.sortEmployeesBySalary().isEmpty();
+                case SORT_EMPLOYEES_BY_PERFORMANCE:
+                    return !ems.sortEmployeesByPerformance().isEmpty();
+                case GIVE_PERFORMANCE_RAISE:
+                    ems.givePerformanceRaise(4.8, 0.5);
+                    return true;
+                case GET_TOP_PAID_EMPLOYEES:
+                    return !ems.getTopPaidEmployees(10).isEmpty();
+                case GET_AVERAGE_SALARY_BY_DEPARTMENT:
+                    return ems.getAverageSalaryByDepartment(randomDepartment()) > 0;
+                case GET_DEPARTMENT_REPORT:
+                    return !ems.getDepartmentReport().isEmpty();
+                default:
+                    throw new IllegalArgumentException("Unsupported operation: " + operation);
+            }
+        }
+
+        /**
+         * Moves 1,000 of salary from one employee to another in one transaction.
+         */
+        private boolean transferBudget(UUID from, UUID to) {
+            try {
+                return ems.transact(transaction -> {
+                    transaction.update(from, "salary", transaction.read(from).getSalary() - 1_000);
+                    transaction.update(to, "salary", transaction.read(to).getSalary() + 1_000);
+                    return true;
+                });
+            } catch (EmployeeNotExistException | TransactionConflictException e) {
+                return false;
+            }
+        }
+
+        private List<UUID> randomBatch() {
+            List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(randomId());
+            }
+            return batch;
+        }
+
+        private UUID randomId() {
+            return ids[random.nextInt(ids.length)];
+        }
+
+        private String randomDepartment() {
+            return generator.departmentName(random.nextInt(generator.getDepartmentCount()));
+        }
+
+        private String randomNameFragment() {
+            Employee<UUID> sample = generator.employee(random.nextInt(ids.length));
+            String name = sample.getName();
+            int start = random.nextInt(Math.max(1, name.length() - 4));
+            return name.substring(start, Math.min(name.length(), start + 4));
+        }
+    }
+
+    /**
+     * Command-line entry point. Populates a fresh store and runs a mix against it.
+     * <p>
+     * Options: {@code --employees=1000000 --departments=16 --threads=4 --seconds=30
+     * --seed=42 --partitions=0 --mix=getEmployee:70,updateEmployeeDetails:20,searchEmployeesByName:10}
+     * </p>
+     * <p>
+     * With {@code --partitions} greater than zero the store is a
+     * {@link PartitionedEmployeeManagementSystem} with that many partitions.
+     * </p>
+     *
+     * @param args the command-line options
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+
+        int employees = Integer.parseInt(options.getOrDefault("employees", "1000000"));
+        int departments = Integer.parseInt(options.getOrDefault("departments", "16"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "30"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int partitions = Integer.parseInt(options.getOrDefault("partitions", "0"));
+        LoadMix mix = LoadMix.parse(options.getOrDefault("mix",
+                "getEmployee:70,updateEmployeeDetails:15,addEmployee:5,removeEmployee:5,"
+                        + "getEmployeesByDepartment:3,searchEmployeesByName:2"));
+
+        WorkforceGenerator generator = new WorkforceGenerator(seed, departments, 1.1);
+        EmployeeManagementSystem<UUID> ems = partitions > 0
+                ? new PartitionedEmployeeManagementSystem<>(partitions)
+                : new EmployeeManagementSystem<>();
+        long populateStart = System.nanoTime();
+        UUID[] ids = generator.populate(ems, employees);
+        System.out.printf("Populated %,d employees in %,d ms%n",
+                employees, (System.nanoTime() - populateStart) / 1_000_000);
+
+        LoadReport report = new LoadDriver(ems, generator, ids, mix).run(threads, seconds * 1_000, seed);
+        System.out.print(report.format());
+    }
+}
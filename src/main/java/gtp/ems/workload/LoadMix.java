@@ -0,0 +1,100 @@
+package gtp.ems.workload;
+
+import gtp.ems.service.StoreOperation;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A weighted mix of store operations for the {@link LoadDriver}.
+ */
+public class LoadMix {
+    private final Map<StoreOperation, Integer> weights;
+    private final StoreOperation[] operations;
+    private final double[] cumulative;
+
+    /**
+     * Constructs a mix from relative weights.
+     *
+     * @param weights the relative weight of each operation; zero weights are ignored
+     * @throws IllegalArgumentException if no operation has a positive weight
+     */
+    public LoadMix(Map<StoreOperation, Integer> weights) {
+        this.weights = new EnumMap<>(StoreOperation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight > 0) {
+                this.weights.put(operation, weight);
+            }
+        });
+        if (this.weights.isEmpty()) {
+            throw new IllegalArgumentException("Load mix must contain at least one operation");
+        }
+
+        this.operations = this.weights.keySet().toArray(new StoreOperation[0]);
+        this.cumulative = new double[operations.length];
+        double total = this.weights.values().stream().mapToInt(Integer::intValue).sum();
+        double running = 0;
+        for (int i = 0; i < operations.length; i++) {
+            running += this.weights.get(operations[i]);
+            cumulative[i] = running / total;
+        }
+    }
+
+    /**
+     * Parses a mix such as {@code getEmployee:80,updateEmployeeDetails:20},
+     * where names are {@link StoreOperation#getMethodName() method names}.
+     *
+     * @param spec the mix specification
+     * @return the parsed mix
+     * @throws IllegalArgumentException if an operation is unknown or a weight is not a number
+     */
+    public static LoadMix parse(String spec) {
+        Map<String, StoreOperation> byName = Arrays.stream(StoreOperation.values())
+                .collect(Collectors.toMap(StoreOperation::getMethodName, operation -> operation));
+
+        Map<StoreOperation, Integer> weights = new EnumMap<>(StoreOperation.class);
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split(":");
+            StoreOperation operation = byName.get(pair[0].trim());
+            if (operation == null || pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: '" + entry + "'");
+            }
+            weights.merge(operation, Integer.parseInt(pair[1].trim()), Integer::sum);
+        }
+        return new LoadMix(weights);
+    }
+
+    /**
+     * Picks an operation according to the weights.
+     *
+     * @param uniform a uniformly distributed value in [0.0, 1.0)
+     * @return the selected operation
+     */
+    public StoreOperation pick(double uniform) {
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (uniform < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Returns the operations with a positive weight.
+     *
+     * @return the operations in the mix
+     */
+    public Set<StoreOperation> getOperations() {
+        return weights.keySet();
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().getMethodName() + ":" + entry.getValue())
+                .collect(Collectors.joining(",", "mix[", "]"));
+    }
+}
@@ -0,0 +1,85 @@
+package gtp.ems.workload;
+
+import gtp.ems.service.StoreOperation;
+import gtp.ems.service.metrics.LatencyHistogram;
+
+import java.util.Map;
+
+/**
+ * Throughput and latency results of a {@link LoadDriver} run.
+ */
+public class LoadReport {
+    private final int threads;
+    private final long elapsedNanos;
+    private final Map<StoreOperation, LatencyHistogram> latencies;
+    private final Map<StoreOperation, Long> misses;
+
+    /**
+     * Constructs a report.
+     *
+     * @param threads the number of worker threads
+     * @param elapsedNanos the wall-clock duration of the run
+     * @param latencies the merged latency histogram of each operation
+     * @param misses the number of calls per operation that found nothing to act on
+     */
+    public LoadReport(int threads, long elapsedNanos, Map<StoreOperation, LatencyHistogram> latencies,
+                      Map<StoreOperation, Long> misses) {
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+        this.latencies = latencies;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns the total number of completed operations.
+     *
+     * @return the operation count
+     */
+    public long getTotalOperations() {
+        return latencies.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+    }
+
+    /**
+     * Returns the overall throughput across all operations and threads.
+     *
+     * @return operations per second
+     */
+    public double getThroughput() {
+        return getTotalOperations() / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Returns the latency histogram of one operation.
+     *
+     * @param operation the operation
+     * @return its histogram, or null if the operation was not part of the mix
+     */
+    public LatencyHistogram getLatencies(StoreOperation operation) {
+        return latencies.get(operation);
+    }
+
+    /**
+     * Formats the report as a table with one row per operation.
+     *
+     * @return the formatted report
+     */
+    public String format() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nLoad run: %d threads, %.1f s, %,d ops, %,.0f ops/s%n",
+                threads, seconds, getTotalOperations(), getThroughput()));
+        out.append(String.format("%-30s %12s %12s %10s %10s %10s %10s %10s%n",
+                "Operation", "Count", "Ops/s", "Misses", "p50 us", "p99 us", "p999 us", "Max us"));
+        latencies.forEach((operation, histogram) -> out.append(String.format(
+                "%-30s %,12d %,12.0f %,10d %10.1f %10.1f %10.1f %10.1f%n",
+                operation.getMethodName(),
+                histogram.getCount(),
+                histogram.getCount() / seconds,
+                misses.getOrDefault(operation, 0L),
+                histogram.getValueAtQuantile(0.50) / 1e3,
+                histogram.getValueAtQuantile(0.99) / 1e3,
+                histogram.getValueAtQuantile(0.999) / 1e3,
+                histogram.getMaxNanos() / 1e3)));
+        return out.toString();
+    }
+}
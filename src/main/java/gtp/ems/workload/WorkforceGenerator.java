@@ -0,0 +1,188 @@
+package gtp.ems.workload;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates reproducible synthetic workforces for load testing and benchmarking.
+ * <p>
+ * Every employee is derived only from the seed and its index, so a dataset can
+ * be regenerated exactly, in any order or in parallel. The distributions aim to
+ * look like a real company rather than uniform noise:
+ * </p>
+ * <ul>
+ *   <li>department sizes follow a Zipf law, so a few departments hold most staff</li>
+ *   <li>salaries are log-normal around a per-department base and grow with experience</li>
+ *   <li>ratings are normal around 3.6, clamped to 0.0-5.0 and rounded to one decimal</li>
+ *   <li>experience is exponential with a mean of 8 years, capped at 40</li>
+ *   <li>names are drawn from fixed first- and last-name pools, so searches hit realistic fractions</li>
+ * </ul>
+ */
+public class WorkforceGenerator {
+    /**
+     * Department names used for the most populous departments. Further
+     * departments are named {@code Dept-<rank>}.
+     */
+    public static final String[] DEPARTMENTS = {
+            "Engineering", "Sales", "Operations", "Customer Support", "Finance", "Marketing",
+            "HR", "IT", "Legal", "Product", "Research", "Procurement", "Facilities",
+            "Security", "Data", "Design"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Patrick", "Yakubu", "James", "Aaliyah", "Raymond", "Elias", "Oluchi", "Dennis",
+            "Taylor", "Spencer", "Ama", "Kofi", "Esi", "Kwame", "Abena", "Yaw",
+            "Akosua", "Kojo", "Efua", "Kwesi", "Adwoa", "Fiifi", "Afia", "Kwabena",
+            "Maria", "John", "Fatima", "Chen", "Priya", "Lucas", "Sofia", "Noah",
+            "Amara", "Daniel", "Zainab", "Samuel", "Grace", "Ibrahim", "Naomi", "David",
+            "Hannah", "Joseph", "Mariam", "Emmanuel", "Ruth", "Michael", "Leila", "Isaac"
+    };
+    private static final String[] LAST_NAMES = {
+            "Appiah", "Noblet", "Darkwa", "Johnson", "Dutton", "Reddington", "Mensah", "Owusu",
+            "Boateng", "Asante", "Addo", "Ofori", "Quaye", "Tetteh", "Nkrumah", "Danquah",
+            "Agyeman", "Amoah", "Badu", "Frimpong", "Gyamfi", "Kuffour", "Osei", "Sarpong",
+            "Smith", "Garcia", "Okafor", "Wang", "Patel", "Silva", "Rossi", "Muller",
+            "Adeyemi", "Kim", "Hassan", "Cohen", "Nguyen", "Ibrahim", "Mwangi", "Brown",
+            "Lopez", "Martin", "Diallo", "Sato", "Kowalski", "Ahmed", "Moreau", "Evans"
+    };
+
+    private static final double DEFAULT_SKEW = 1.1;
+    private static final double MEAN_RATING = 3.6;
+    private static final double RATING_STDDEV = 0.7;
+    private static final double MEAN_EXPERIENCE = 8.0;
+    private static final int MAX_EXPERIENCE = 40;
+    private static final double SALARY_SIGMA = 0.25;
+    private static final double ACTIVE_RATIO = 0.93;
+
+    private final long seed;
+    private final String[] departments;
+    private final double[] departmentCdf;
+    private final double[] departmentBaseSalary;
+
+    /**
+     * Constructs a generator over the default 16 departments.
+     *
+     * @param seed the seed that determines the whole dataset
+     */
+    public WorkforceGenerator(long seed) {
+        this(seed, DEPARTMENTS.length, DEFAULT_SKEW);
+    }
+
+    /**
+     * Constructs a generator with a custom department layout.
+     *
+     * @param seed the seed that determines the whole dataset
+     * @param departmentCount the number of distinct departments
+     * @param departmentSkew the Zipf exponent of department sizes; 0 gives uniform sizes
+     */
+    public WorkforceGenerator(long seed, int departmentCount, double departmentSkew) {
+        if (departmentCount <= 0) {
+            throw new IllegalArgumentException("departmentCount must be positive: " + departmentCount);
+        }
+        this.seed = seed;
+        this.departments = new String[departmentCount];
+        this.departmentCdf = new double[departmentCount];
+        this.departmentBaseSalary = new double[departmentCount];
+
+        SplittableRandom layout = new SplittableRandom(seed);
+        double total = 0;
+        for (int rank = 0; rank < departmentCount; rank++) {
+            departments[rank] = rank < DEPARTMENTS.length ? DEPARTMENTS[rank] : "Dept-" + rank;
+            total += 1.0 / Math.pow(rank + 1, departmentSkew);
+            departmentCdf[rank] = total;
+            departmentBaseSalary[rank] = 45_000 + layout.nextDouble() * 50_000;
+        }
+        for (int rank = 0; rank < departmentCount; rank++) {
+            departmentCdf[rank] /= total;
+        }
+    }
+
+    /**
+     * Returns the name of the department with the given size rank, where rank 0
+     * is the largest department.
+     *
+     * @param rank the size rank
+     * @return the department name
+     */
+    public String departmentName(int rank) {
+        return departments[rank];
+    }
+
+    /**
+     * Returns the number of departments employees are spread across.
+     *
+     * @return the department count
+     */
+    public int getDepartmentCount() {
+        return departments.length;
+    }
+
+    /**
+     * Returns the employee at the given position in the dataset.
+     *
+     * @param index the position of the employee, starting at 0
+     * @return the employee, identical on every call with the same seed and index
+     */
+    public Employee<UUID> employee(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed + index * 0x9E3779B97F4A7C15L));
+
+        UUID id = new UUID(
+                (random.nextLong() & ~0xF000L) | 0x4000L,
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+        int rank = Arrays.binarySearch(departmentCdf, random.nextDouble());
+        rank = rank >= 0 ? rank : Math.min(-rank - 1, departments.length - 1);
+
+        int experience = (int) Math.min(MAX_EXPERIENCE, -MEAN_EXPERIENCE * Math.log(1.0 - random.nextDouble()));
+        double salary = departmentBaseSalary[rank]
+                * (1 + 0.035 * experience)
+                * Math.exp(SALARY_SIGMA * random.nextGaussian());
+        double rating = Math.round(Math.min(5.0, Math.max(0.0,
+                MEAN_RATING + RATING_STDDEV * random.nextGaussian())) * 10) / 10.0;
+
+        return new Employee<>(id, name, departments[rank],
+                Math.round(salary * 100) / 100.0, rating, experience,
+                random.nextDouble() < ACTIVE_RATIO);
+    }
+
+    /**
+     * Streams the first {@code count} employees of the dataset in index order.
+     *
+     * @param count the number of employees
+     * @return a stream of employees; parallel streams generate the same employees
+     */
+    public Stream<Employee<UUID>> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::employee);
+    }
+
+    /**
+     * Adds the first {@code count} employees of the dataset to a store.
+     *
+     * @param ems the store to fill
+     * @param count the number of employees to add
+     * @return the IDs of the added employees in index order
+     */
+    public UUID[] populate(EmployeeManagementSystem<UUID> ems, int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            Employee<UUID> employee = employee(i);
+            ems.addEmployee(employee);
+            ids[i] = employee.getEmployeeId();
+        }
+        return ids;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -4,6 +4,11 @@ module gtp.ems {
 
     requires org.controlsfx.controls;
     requires java.logging;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires static jdk.incubator.vector;
 
     //opens gtp.ems to javafx.fxml;
     opens gtp.ems.ui.controller to javafx.fxml;
@@ -12,6 +17,18 @@ module gtp.ems {
 
     exports gtp.ems.model;
     exports gtp.ems.service;
+    exports gtp.ems.service.metrics;
+    exports gtp.ems.jfr;
+    exports gtp.ems.workload;
+    exports gtp.ems.server;
+    exports gtp.ems.replication;
+    exports gtp.ems.analytics;
+    exports gtp.ems.history;
+    exports gtp.ems.ingest;
+    exports gtp.ems.query;
+    exports gtp.ems.sort;
+    exports gtp.ems.index;
+    exports gtp.ems.filter;
     exports gtp.ems.ui.util;
     opens gtp.ems.ui.util to javafx.fxml;
 
@@ -0,0 +1,112 @@
+package gtp.ems.test;
+
+import gtp.ems.analytics.ColumnAggregationEngine;
+import gtp.ems.analytics.ColumnAggregator;
+import gtp.ems.analytics.EmployeeColumnStore;
+import gtp.ems.analytics.ScalarColumnAggregator;
+import gtp.ems.analytics.VectorColumnAggregator;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the column store and the scalar and vector column aggregators.
+ */
+@DisplayName("Column Aggregation Tests")
+class ColumnAggregationEngineTest {
+
+    /**
+     * Tests that the vector kernels agree with the scalar ones, including on
+     * lengths that leave a scalar tail.
+     */
+    @Test
+    @DisplayName("Test vector kernels match scalar kernels")
+    void vectorMatchesScalar() {
+        ColumnAggregator scalar = new ScalarColumnAggregator();
+        ColumnAggregator vector = new VectorColumnAggregator();
+        SplittableRandom random = new SplittableRandom(7);
+        double[] values = random.doubles(1_000, 30_000, 200_000).toArray();
+        double[] filter = random.doubles(1_000, 0, 5).toArray();
+        int[] keys = random.ints(1_000, 0, 5).toArray();
+
+        for (int length : new int[]{0, 1, 7, 16, 17, 63, 1_000}) {
+            assertEquals(scalar.sum(values, length), vector.sum(values, length), 1e-6);
+            assertEquals(scalar.min(values, length), vector.min(values, length));
+            assertEquals(scalar.max(values, length), vector.max(values, length));
+            assertEquals(scalar.countAtLeast(filter, length, 2.5), vector.countAtLeast(filter, length, 2.5));
+            assertEquals(scalar.sumWhereAtLeast(values, filter, length, 2.5),
+                    vector.sumWhereAtLeast(values, filter, length, 2.5), 1e-6);
+            assertEquals(scalar.countWhereEquals(keys, length, 3), vector.countWhereEquals(keys, length, 3));
+            assertEquals(scalar.sumWhereEquals(values, keys, length, 3),
+                    vector.sumWhereEquals(values, keys, length, 3), 1e-6);
+        }
+    }
+
+    /**
+     * Tests that the engine's results track additions, updates, raises and
+     * removals made through the store, including employees without a
+     * department.
+     */
+    @Test
+    @DisplayName("Test engine follows store changes")
+    void engineFollowsStore() throws Exception {
+        WorkforceGenerator generator = new WorkforceGenerator(11L);
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        generator.populate(ems, 2_000);
+
+        try (EmployeeColumnStore<UUID> columns = new EmployeeColumnStore<>(ems)) {
+            ColumnAggregationEngine<UUID> engine = new ColumnAggregationEngine<>(columns);
+            assertEngineMatches(ems, engine, generator.departmentName(2));
+
+            List<Employee<UUID>> employees = ems.getAllEmployees();
+            ems.updateEmployeeDetails(employees.get(0).getEmployeeId(), "salary", 1_000_000.0);
+            ems.updateEmployeeDetails(employees.get(1).getEmployeeId(), "department", "analytics");
+            ems.givePerformanceRaise(4.0, 10);
+            for (int i = 2; i < 500; i++) {
+                ems.removeEmployee(employees.get(i).getEmployeeId());
+            }
+            ems.addEmployee(new Employee<>(UUID.randomUUID(), "Ama Mensah", "Analytics", 10.0, 5.0, 3, true));
+
+            assertEquals(1_503, columns.size());
+            assertEquals(ems.getAllEmployees().stream().mapToDouble(Employee::getSalary).max().orElseThrow(),
+                    engine.getMaxSalary());
+            assertEquals(10.0, engine.getMinSalary());
+            assertEngineMatches(ems, engine, "ANALYTICS");
+            assertEngineMatches(ems, engine, generator.departmentName(2));
+        }
+        assertEquals(0.0, new ColumnAggregationEngine<>(new EmployeeColumnStore<>(new EmployeeManagementSystem<UUID>()))
+                .getAverageSalaryByDepartment("Nowhere"));
+
+        EmployeeManagementSystem<UUID> unassigned = new EmployeeManagementSystem<>();
+        unassigned.addEmployee(new Employee<>(UUID.randomUUID(), "Kofi Asare", "IT", 40_000, 3.0, 2, true));
+        try (EmployeeColumnStore<UUID> columns = new EmployeeColumnStore<>(unassigned)) {
+            ColumnAggregationEngine<UUID> engine = new ColumnAggregationEngine<>(columns);
+            UUID id = UUID.randomUUID();
+            unassigned.addEmployee(new Employee<>(id, "Yaw Boateng", null, 60_000, 3.5, 4, true));
+            assertEquals(2, columns.size());
+            assertEquals(60_000, engine.getAverageSalaryByDepartment(null));
+            assertEquals(40_000, engine.getAverageSalaryByDepartment("it"));
+            unassigned.updateEmployeeDetails(id, "salary", 70_000.0);
+            assertEquals(70_000, engine.getAverageSalaryByDepartment(null));
+            assertEquals(110_000, engine.getTotalPayroll(), 1e-9);
+        }
+    }
+
+    private static void assertEngineMatches(EmployeeManagementSystem<UUID> ems, ColumnAggregationEngine<UUID> engine,
+                                            String department) {
+        List<Employee<UUID>> employees = ems.getAllEmployees();
+        assertEquals(employees.stream().mapToDouble(Employee::getSalary).sum(), engine.getTotalPayroll(), 1e-3);
+        assertEquals(ems.getAverageSalaryByDepartment(department), engine.getAverageSalaryByDepartment(department), 1e-6);
+        assertEquals(ems.getHighPerformingEmployees(4.0).size(), engine.countHighPerformers(4.0));
+        assertEquals(ems.getHighPerformingEmployees(4.0).stream().mapToDouble(Employee::getSalary).sum(),
+                engine.getHighPerformerPayroll(4.0), 1e-3);
+    }
+}
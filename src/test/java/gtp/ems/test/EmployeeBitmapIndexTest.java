@@ -0,0 +1,194 @@
+package gtp.ems.test;
+
+import gtp.ems.index.EmployeeBitmapIndex;
+import gtp.ems.index.RoaringBitmap;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RoaringBitmap} and {@link EmployeeBitmapIndex}.
+ */
+@DisplayName("Bitmap Index Tests")
+class EmployeeBitmapIndexTest {
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales"};
+
+    private static RoaringBitmap randomBitmap(Random random, BitSet expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        // Dense and sparse chunks, so that both container kinds take part
+        for (int chunk = 0; chunk < 4; chunk++) {
+            int count = random.nextBoolean() ? 10_000 + random.nextInt(40_000) : random.nextInt(200);
+            for (int i = 0; i < count; i++) {
+                int value = chunk * 65_536 + random.nextInt(65_536);
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        return bitmap;
+    }
+
+    private static void assertSameBits(BitSet expected, RoaringBitmap actual) {
+        assertEquals(expected.cardinality(), actual.getCardinality());
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+    }
+
+    private static void assertMatches(EmployeeManagementSystem<UUID> ems, EmployeeBitmapIndex<UUID> index,
+                                      String department) {
+        Predicate<Employee<UUID>> expected = employee -> employee.isActive()
+                && employee.getDepartment().equalsIgnoreCase(department)
+                && employee.getPerformanceRating() >= 3.7
+                && employee.getYearsOfExperience() <= 12;
+        List<UUID> expectedIds = ems.getAllEmployees().stream().filter(expected)
+                .map(Employee::getEmployeeId).sorted().toList();
+        List<UUID> actualIds = index.select(i -> RoaringBitmap.and(i.active(), i.department(department),
+                        i.ratingAtLeast(3.7), i.experienceBetween(Integer.MIN_VALUE, 12)))
+                .stream().map(Employee::getEmployeeId).sorted().toList();
+        assertEquals(expectedIds, actualIds);
+
+        assertEquals(ems.getAllEmployees().stream().filter(employee -> !employee.isActive()).count(),
+                index.count(i -> i.inactive()));
+        assertEquals(ems.getAllEmployees().stream()
+                        .filter(employee -> employee.getPerformanceRating() >= 4.5
+                                || employee.getYearsOfExperience() >= 20)
+                        .count(),
+                index.count(i -> RoaringBitmap.or(i.ratingAtLeast(4.5), i.experienceAtLeast(20))));
+        assertEquals(ems.getAllEmployees().stream()
+                        .filter(employee -> !employee.getDepartment().equalsIgnoreCase(department))
+                        .count(),
+                index.count(i -> i.all().andNot(i.department(department))));
+    }
+
+    /**
+     * Tests that AND, OR and ANDNOT of bitmaps with array and bitmap
+     * containers match the same operations on bit sets, as do additions and
+     * removals.
+     */
+    @Test
+    @DisplayName("Test bitmap operations match BitSet")
+    void bitmapOperationsMatchBitSet() {
+        Random random = new Random(11);
+        for (int round = 0; round < 5; round++) {
+            BitSet leftBits = new BitSet();
+            BitSet rightBits = new BitSet();
+            RoaringBitmap left = randomBitmap(random, leftBits);
+            RoaringBitmap right = randomBitmap(random, rightBits);
+            assertSameBits(leftBits, left);
+
+            BitSet and = (BitSet) leftBits.clone();
+            and.and(rightBits);
+            assertSameBits(and, left.and(right));
+            BitSet or = (BitSet) leftBits.clone();
+            or.or(rightBits);
+            assertSameBits(or, left.or(right));
+            BitSet andNot = (BitSet) leftBits.clone();
+            andNot.andNot(rightBits);
+            assertSameBits(andNot, left.andNot(right));
+
+            for (int i = 0; i < 30_000; i++) {
+                int value = random.nextInt(4 * 65_536);
+                left.remove(value);
+                leftBits.clear(value);
+            }
+            assertSameBits(leftBits, left);
+            assertEquals(left, left.copy());
+            assertEquals(left.hashCode(), left.copy().hashCode());
+        }
+        assertTrue(RoaringBitmap.of(1, 2, 3).and(RoaringBitmap.of(4, 5)).isEmpty());
+        assertTrue(RoaringBitmap.of(0, Integer.MAX_VALUE).contains(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> RoaringBitmap.of(-1));
+    }
+
+    /**
+     * Tests that combined filters and counts over the index match stream
+     * filters through random updates, additions and removals, and that
+     * employees without a department are indexed.
+     */
+    @Test
+    @DisplayName("Test index follows every change")
+    void indexFollowsChanges() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        WorkforceGenerator generator = new WorkforceGenerator(5L);
+        UUID[] ids = generator.populate(ems, 2_000);
+
+        try (EmployeeBitmapIndex<UUID> index = new EmployeeBitmapIndex<>(ems)) {
+            String department = ems.getAllEmployees().get(0).getDepartment();
+            assertMatches(ems, index, department);
+
+            Random random = new Random(9);
+            for (int i = 0; i < 3_000; i++) {
+                UUID id = ids[random.nextInt(ids.length)];
+                switch (random.nextInt(5)) {
+                    case 0 -> ems.updateEmployeeDetails(id, "isActive", random.nextBoolean());
+                    case 1 -> ems.updateEmployeeDetails(id, "department",
+                            random.nextBoolean() ? department.toUpperCase() : DEPARTMENTS[random.nextInt(4)]);
+                    case 2 -> ems.updateEmployeeDetails(id, "performanceRating", random.nextInt(51) / 10.0);
+                    case 3 -> ems.updateEmployeeDetails(id, "yearsOfExperience", random.nextInt(40));
+                    default -> {
+                        if (ems.findEmployee(id).isPresent()) {
+                            ems.removeEmployee(id);
+                        } else {
+                            ems.addEmployee(generator.employee(10_000 + i));
+                        }
+                    }
+                }
+            }
+            assertMatches(ems, index, department);
+            assertEquals(0, index.count(i -> i.department("Unknown")));
+            assertTrue(index.getSizeInBytes() > 0);
+
+            UUID unassigned = UUID.randomUUID();
+            ems.addEmployee(new Employee<>(unassigned, "Yaw Boateng", null, 64_000, 3.5, 4, true));
+            assertEquals(1, index.count(i -> i.department(null)));
+            ems.updateEmployeeDetails(unassigned, "department", department);
+            assertEquals(0, index.count(i -> i.department(null)));
+        }
+    }
+
+    /**
+     * Tests that the index follows concurrent changes to a partitioned store.
+     */
+    @Test
+    @DisplayName("Test index follows a partitioned store")
+    void followsPartitionedStore() throws Exception {
+        PartitionedEmployeeManagementSystem<UUID> ems = new PartitionedEmployeeManagementSystem<>(4);
+        WorkforceGenerator generator = new WorkforceGenerator(6L);
+        UUID[] ids = generator.populate(ems, 4_000);
+
+        try (EmployeeBitmapIndex<UUID> index = new EmployeeBitmapIndex<>(ems)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    Random random = new Random(offset);
+                    for (int i = offset; i < ids.length; i += 4) {
+                        ems.updateEmployeeDetails(ids[i], "performanceRating", random.nextInt(51) / 10.0);
+                        ems.updateEmployeeDetails(ids[i], "isActive", random.nextBoolean());
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            for (int i = 0; i < ids.length; i += 7) {
+                ems.removeEmployee(ids[i]);
+            }
+            String department = ems.getAllEmployees().stream().map(Employee::getDepartment)
+                    .min(Comparator.naturalOrder()).orElseThrow();
+            assertMatches(ems, index, department);
+            assertEquals(ems.getAllEmployees().size(), index.count(EmployeeBitmapIndex::all));
+        }
+    }
+}
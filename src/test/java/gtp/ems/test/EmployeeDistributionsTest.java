@@ -0,0 +1,144 @@
+package gtp.ems.test;
+
+import gtp.ems.analytics.EmployeeDistributions;
+import gtp.ems.analytics.FixedBucketHistogram;
+import gtp.ems.analytics.QuantileSketch;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the quantile sketch, the fixed-bucket histogram and the
+ * incrementally maintained {@link EmployeeDistributions}.
+ */
+@DisplayName("Employee Distributions Tests")
+class EmployeeDistributionsTest {
+    private static final double[] QUANTILES = {0.01, 0.1, 0.5, 0.9, 0.99};
+
+    private static double exactQuantile(double[] sorted, double quantile) {
+        return sorted[(int) Math.max(1, Math.ceil(quantile * sorted.length)) - 1];
+    }
+
+    private static double[] salaries(List<Employee<UUID>> employees) {
+        return employees.stream().mapToDouble(Employee::getSalary).sorted().toArray();
+    }
+
+    /**
+     * Tests that sketch quantiles stay within the relative accuracy after
+     * additions, removals and merges.
+     */
+    @Test
+    @DisplayName("Test sketch accuracy with removals and merges")
+    void sketchAccuracy() {
+        SplittableRandom random = new SplittableRandom(5);
+        double[] values = random.doubles(100_000).map(u -> 20_000 * Math.exp(2 * u)).toArray();
+        QuantileSketch first = new QuantileSketch(0.01, 1e9);
+        QuantileSketch second = new QuantileSketch(0.01, 1e9);
+        for (int i = 0; i < values.length; i++) {
+            (i % 2 == 0 ? first : second).add(values[i]);
+        }
+        for (int i = 0; i < values.length; i += 4) {
+            first.remove(values[i]);
+        }
+        first.merge(second);
+
+        double[] remaining = new double[values.length - values.length / 4];
+        for (int i = 0, j = 0; i < values.length; i++) {
+            if (i % 4 != 0) {
+                remaining[j++] = values[i];
+            }
+        }
+        Arrays.sort(remaining);
+        assertEquals(remaining.length, first.getCount());
+        for (double quantile : QUANTILES) {
+            double exact = exactQuantile(remaining, quantile);
+            assertEquals(exact, first.getValueAtQuantile(quantile), exact * 0.01 + 1e-9, "q=" + quantile);
+        }
+        assertEquals(0.0, new QuantileSketch(0.01, 1e9).getValueAtQuantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new QuantileSketch(0.02, 1e9)));
+    }
+
+    /**
+     * Tests that histogram quantiles stay within one bucket width.
+     */
+    @Test
+    @DisplayName("Test histogram buckets and quantiles")
+    void histogramQuantiles() {
+        FixedBucketHistogram histogram = new FixedBucketHistogram(0, 5, 50);
+        double[] ratings = new SplittableRandom(9).doubles(10_000, 0, 5).toArray();
+        for (double rating : ratings) {
+            histogram.add(rating);
+        }
+        histogram.add(7.0);
+        histogram.remove(7.0);
+        Arrays.sort(ratings);
+        for (double quantile : QUANTILES) {
+            assertEquals(exactQuantile(ratings, quantile), histogram.getValueAtQuantile(quantile), 0.1);
+        }
+        assertEquals(4.9, histogram.getLowerBound(49), 1e-9);
+        assertEquals(10_000, IntStream.range(0, histogram.getBucketCount()).mapToLong(histogram::getCount).sum());
+    }
+
+    /**
+     * Tests that percentiles track additions, updates, raises and removals made
+     * through the store, including those of employees without a department.
+     */
+    @Test
+    @DisplayName("Test distributions follow store changes")
+    void distributionsFollowStore() throws Exception {
+        WorkforceGenerator generator = new WorkforceGenerator(21L);
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        generator.populate(ems, 5_000);
+        String department = generator.departmentName(0);
+
+        try (EmployeeDistributions<UUID> distributions = new EmployeeDistributions<>(ems)) {
+            assertMatchesStore(ems, distributions, department);
+
+            List<Employee<UUID>> employees = ems.getAllEmployees();
+            ems.givePerformanceRaise(4.0, 15);
+            ems.updateEmployeeDetails(employees.get(0).getEmployeeId(), "department", department.toUpperCase());
+            ems.updateEmployeeDetails(employees.get(1).getEmployeeId(), "performanceRating", 0.5);
+            for (int i = 2; i < 1_000; i++) {
+                ems.removeEmployee(employees.get(i).getEmployeeId());
+            }
+            assertMatchesStore(ems, distributions, department);
+            assertEquals(ems.getAllEmployees().size(), distributions.getSalaryBands(null).getCount());
+        }
+        assertEquals(0.0, new EmployeeDistributions<>(ems).getSalaryAtQuantile("Nowhere", 0.5));
+
+        EmployeeManagementSystem<UUID> unassigned = new EmployeeManagementSystem<>();
+        UUID id = UUID.randomUUID();
+        unassigned.addEmployee(new Employee<>(id, "Yaw Boateng", null, 64_000, 3.5, 4, true));
+        try (EmployeeDistributions<UUID> distributions = new EmployeeDistributions<>(unassigned)) {
+            assertEquals(1, distributions.getSalaryBands(null).getCount());
+            unassigned.updateEmployeeDetails(id, "salary", 70_000.0);
+            unassigned.removeEmployee(id);
+            assertEquals(0, distributions.getSalaryBands(null).getCount());
+        }
+    }
+
+    private static void assertMatchesStore(EmployeeManagementSystem<UUID> ems, EmployeeDistributions<UUID> distributions,
+                                           String department) {
+        double[] all = salaries(ems.getAllEmployees());
+        double[] inDepartment = salaries(ems.getEmployeesByDepartment(department));
+        double[] ratings = ems.getAllEmployees().stream().mapToDouble(Employee::getPerformanceRating).sorted().toArray();
+        for (double quantile : QUANTILES) {
+            double exact = exactQuantile(all, quantile);
+            assertEquals(exact, distributions.getSalaryAtQuantile(quantile), exact * EmployeeDistributions.SALARY_ACCURACY);
+            exact = exactQuantile(inDepartment, quantile);
+            assertEquals(exact, distributions.getSalaryAtQuantile(department.toLowerCase(), quantile),
+                    exact * EmployeeDistributions.SALARY_ACCURACY);
+            assertEquals(exactQuantile(ratings, quantile), distributions.getRatingAtQuantile(quantile), 0.1);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package gtp.ems.test;
+
+import gtp.ems.history.EmployeeHistory;
+import gtp.ems.history.FieldChange;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.service.metrics.StoreMetrics;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EmployeeHistory}.
+ */
+@DisplayName("Employee History Tests")
+class EmployeeHistoryTest {
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+        private Instant now = START;
+
+        void advanceDays(int days) {
+            now = now.plusSeconds(days * 86_400L);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    /**
+     * Tests point-in-time lookups of one employee across updates, a raise, a
+     * removal and a re-addition.
+     */
+    @Test
+    @DisplayName("Test employee as of a time")
+    void employeeAsOf() throws Exception {
+        ManualClock clock = new ManualClock();
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID id = UUID.randomUUID();
+        ems.addEmployee(new Employee<>(id, "Ama", "IT", 80_000, 4.5, 3, true));
+
+        try (EmployeeHistory<UUID> history = new EmployeeHistory<>(ems, clock)) {
+            clock.advanceDays(30);
+            ems.updateEmployeeDetails(id, "department", "Finance");
+            clock.advanceDays(30);
+            ems.givePerformanceRaise(4.0, 10);
+            clock.advanceDays(30);
+            ems.removeEmployee(id);
+            clock.advanceDays(30);
+            ems.addEmployee(new Employee<>(id, "Ama", "HR", 70_000, 3.0, 5, false));
+
+            assertTrue(history.getEmployeeAsOf(id, START.minusMillis(1)).isEmpty());
+            Employee<UUID> initial = history.getEmployeeAsOf(id, START.plusSeconds(86_400)).orElseThrow();
+            assertEquals("IT", initial.getDepartment());
+            assertEquals(80_000, initial.getSalary());
+            assertEquals(id, initial.getEmployeeId());
+
+            Employee<UUID> raised = history.getEmployeeAsOf(id, clock.instant().minusSeconds(45 * 86_400L)).orElseThrow();
+            assertEquals("Finance", raised.getDepartment());
+            assertEquals(80_000 * 1.1, raised.getSalary());
+            assertTrue(history.getEmployeeAsOf(id, clock.instant().minusSeconds(86_400)).isEmpty());
+            assertEquals("HR", history.getEmployeeAsOf(id, clock.instant()).orElseThrow().getDepartment());
+            assertTrue(history.getEmployeeAsOf(UUID.randomUUID(), clock.instant()).isEmpty());
+
+            List<FieldChange> departments = history.getFieldHistory(id, EmployeeField.DEPARTMENT);
+            assertEquals(List.of("IT", "Finance", "HR"), departments.stream().map(FieldChange::getValue).toList());
+            assertEquals(START.plusSeconds(30 * 86_400L), departments.get(1).getTimestamp());
+            assertEquals(List.of(80_000.0, 80_000 * 1.1, 70_000.0), history.getFieldHistory(id, EmployeeField.SALARY)
+                    .stream().map(FieldChange::getValue).toList());
+        }
+    }
+
+    /**
+     * Tests that reconstructing the whole store at several past times matches
+     * snapshots taken at those times, across many checkpoints, and that the
+     * history stays compact.
+     */
+    @Test
+    @DisplayName("Test store as of a time matches snapshots")
+    void storeAsOfMatchesSnapshots() throws Exception {
+        ManualClock clock = new ManualClock();
+        WorkforceGenerator generator = new WorkforceGenerator(33L);
+        EmployeeManagementSystem<UUID> ems = new PartitionedEmployeeManagementSystem<>(4, ForkJoinPool.commonPool(),
+                new StoreMetrics(false));
+        generator.populate(ems, 2_000);
+        EmployeeHistory<UUID> history = new EmployeeHistory<>(ems, clock);
+
+        SplittableRandom random = new SplittableRandom(3);
+        List<Instant> times = new ArrayList<>();
+        List<List<Employee<UUID>>> snapshots = new ArrayList<>();
+        List<Employee<UUID>> employees = ems.getAllEmployees();
+        int nextIndex = 2_000;
+        for (int day = 0; day < 200; day++) {
+            clock.advanceDays(1);
+            for (int i = 0; i < 50; i++) {
+                UUID id = employees.get(random.nextInt(employees.size())).getEmployeeId();
+                switch (random.nextInt(6)) {
+                    case 0 -> ems.updateEmployeeDetails(id, "salary", 30_000 + random.nextInt(150_000) * 1.0);
+                    case 1 -> ems.updateEmployeeDetails(id, "department", generator.departmentName(random.nextInt(5)));
+                    case 2 -> ems.updateEmployeeDetails(id, "performanceRating", random.nextInt(51) / 10.0);
+                    case 3 -> ems.updateEmployeeDetails(id, "yearsOfExperience", random.nextInt(40));
+                    case 4 -> ems.updateEmployeeDetails(id, "isActive", random.nextBoolean());
+                    default -> {
+                        if (ems.findEmployee(id).isPresent()) {
+                            ems.removeEmployee(id);
+                            ems.addEmployee(generator.employee(random.nextInt(2_000, 4_000)));
+                        }
+                    }
+                }
+            }
+            if (day % 20 == 0) {
+                ems.givePerformanceRaise(4.5, 2);
+            }
+            if (day % 40 == 0) {
+                ems.addEmployee(generator.employee(nextIndex++));
+            }
+            if (day % 25 == 24) {
+                times.add(clock.instant());
+                snapshots.add(copies(ems.getAllEmployees()));
+            }
+        }
+        history.close();
+        history.compact();
+
+        for (int i = 0; i < times.size(); i++) {
+            List<Employee<UUID>> expected = snapshots.get(i);
+            List<Employee<UUID>> actual = sorted(history.getEmployeesAsOf(times.get(i)));
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertSameFields(expected.get(j), actual.get(j));
+            }
+            assertEquals(expected.stream().mapToDouble(Employee::getSalary).sum(),
+                    history.getPayrollAsOf(times.get(i)), 1e-3);
+        }
+        assertTrue(history.getRecordCount() > 10_000);
+    }
+
+    /**
+     * Tests that salary updates take a few bytes each, checkpoints included.
+     */
+    @Test
+    @DisplayName("Test updates are delta-encoded")
+    void updatesAreCompact() {
+        ManualClock clock = new ManualClock();
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID id = UUID.randomUUID();
+        ems.addEmployee(new Employee<>(id, "Kofi", "IT", 50_000, 4.0, 1, true));
+        EmployeeHistory<UUID> history = new EmployeeHistory<>(ems, clock);
+        history.compact();
+        long initialSize = history.getSizeInBytes();
+
+        int updates = 10_000;
+        for (int i = 1; i <= updates; i++) {
+            clock.advanceDays(1);
+            ems.updateEmployeeDetails(id, "salary", 50_000.0 + 250 * i);
+        }
+        history.compact();
+        long bytesPerUpdate = (history.getSizeInBytes() - initialSize) / updates;
+        assertTrue(bytesPerUpdate <= 12, bytesPerUpdate + " bytes per update");
+        assertEquals(50_000.0 + 250 * 5_000,
+                history.getEmployeeAsOf(id, START.plusSeconds(5_000 * 86_400L)).orElseThrow().getSalary());
+    }
+
+    private static List<Employee<UUID>> copies(List<Employee<UUID>> employees) {
+        List<Employee<UUID>> copies = new ArrayList<>();
+        for (Employee<UUID> employee : employees) {
+            copies.add(new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                    employee.getSalary(), employee.getPerformanceRating(), employee.getYearsOfExperience(),
+                    employee.isActive()));
+        }
+        return sorted(copies);
+    }
+
+    private static List<Employee<UUID>> sorted(List<Employee<UUID>> employees) {
+        employees.sort(Comparator.comparing(Employee::getEmployeeId));
+        return employees;
+    }
+
+    private static void assertSameFields(Employee<UUID> expected, Employee<UUID> actual) {
+        assertEquals(expected.getEmployeeId(), actual.getEmployeeId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDepartment(), actual.getDepartment());
+        assertEquals(expected.getSalary(), actual.getSalary());
+        assertEquals(expected.getPerformanceRating(), actual.getPerformanceRating());
+        assertEquals(expected.getYearsOfExperience(), actual.getYearsOfExperience());
+        assertEquals(expected.isActive(), actual.isActive());
+    }
+}
@@ -2,12 +2,16 @@ package gtp.ems.test;
 
 import gtp.ems.exception.EmployeeNotExistException;
 import gtp.ems.model.Employee;
+import gtp.ems.service.DepartmentStatistics;
+import gtp.ems.service.EmployeeLookupResult;
 import gtp.ems.service.EmployeeManagementSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -95,6 +99,76 @@ class EmployeeManagementSystemTest {
         assertThrows(EmployeeNotExistException.class, () -> ems.getEmployee(UUID.randomUUID()));
     }
 
+    /**
+     * Tests that the not-found exceptions name the missing ID and keep their
+     * stack trace.
+     */
+    @Test
+    @DisplayName("Test not-found exception names the ID")
+    void getEmployee_notFoundNamesId() {
+        UUID missing = UUID.randomUUID();
+        EmployeeNotExistException e = assertThrows(EmployeeNotExistException.class, () -> ems.getEmployee(missing));
+        assertEquals(missing, e.getEmployeeId());
+        assertEquals(missing, e.getId());
+        assertEquals("Employee with ID " + missing + " does not exist", e.getMessage());
+        assertTrue(e.getStackTrace().length > 0);
+        EmployeeNotExistException removed =
+                assertThrows(EmployeeNotExistException.class, () -> ems.removeEmployee(missing));
+        assertEquals("No employee with id " + missing, removed.getMessage());
+        assertTrue(removed.getStackTrace().length > 0);
+    }
+
+    /**
+     * Tests looking up an employee without an exception.
+     */
+    @Test
+    @DisplayName("Test finding employee")
+    void findEmployee() {
+        assertEquals(Optional.of(emp1), ems.findEmployee(emp1Id));
+        assertTrue(ems.findEmployee(UUID.randomUUID()).isEmpty());
+        assertTrue(ems.findEmployee(null).isEmpty());
+    }
+
+    /**
+     * Tests that a batch lookup returns found employees in order and reports
+     * the missing IDs.
+     */
+    @Test
+    @DisplayName("Test batch lookup")
+    void getEmployees() {
+        UUID missing = UUID.randomUUID();
+        EmployeeLookupResult<UUID> result = ems.getEmployees(List.of(emp3Id, missing, emp1Id));
+        assertEquals(List.of(emp3, emp1), result.getFound());
+        assertEquals(List.of(missing), result.getMissingIds());
+        assertFalse(result.isComplete());
+        assertTrue(ems.getEmployees(List.of(emp2Id)).isComplete());
+    }
+
+    /**
+     * Tests that batch updates and removals apply to every existing employee,
+     * skip missing IDs and reject invalid fields and values.
+     */
+    @Test
+    @DisplayName("Test batch update and removal")
+    void batchUpdateAndRemoval() {
+        UUID missing = UUID.randomUUID();
+        assertEquals(2, ems.updateEmployees(List.of(emp1Id, missing, emp3Id), "department", "Platform"));
+        assertEquals("Platform", emp1.getDepartment());
+        assertEquals("HR", emp2.getDepartment());
+        assertEquals("Platform", emp3.getDepartment());
+        assertEquals(0, ems.updateEmployees(List.of(emp1Id), "salary", "high"));
+        assertEquals(0, ems.updateEmployees(List.of(emp1Id), "bonus", 1.0));
+        assertEquals(0, ems.updateEmployees(List.of(emp1Id), "department", "  "));
+        assertEquals(0, ems.updateEmployees(List.of(emp1Id), "name", null));
+        assertEquals(75000.0, emp1.getSalary());
+        assertEquals("Platform", emp1.getDepartment());
+
+        EmployeeLookupResult<UUID> removed = ems.removeEmployees(List.of(emp3Id, missing, emp2Id));
+        assertEquals(List.of(emp3, emp2), removed.getFound());
+        assertEquals(List.of(missing), removed.getMissingIds());
+        assertEquals(List.of(emp1), ems.getAllEmployees());
+    }
+
     /**
      * Tests successful removal of an employee from the system.
      * @throws EmployeeNotExistException if the employee doesn't exist
@@ -143,6 +217,23 @@ class EmployeeManagementSystemTest {
         assertFalse(ems.updateEmployeeDetails(emp1Id, "salary", "not a number"));
     }
 
+    /**
+     * Tests that a single update rejects a missing or blank name or
+     * department, as the bulk and transactional updates do.
+     */
+    @Test
+    @DisplayName("Test updating employee details with blank text")
+    void updateEmployeeDetails_blankText() throws Exception {
+        String name = ems.getEmployee(emp1Id).getName();
+        String department = ems.getEmployee(emp1Id).getDepartment();
+        assertFalse(ems.updateEmployeeDetails(emp1Id, "name", null));
+        assertFalse(ems.updateEmployeeDetails(emp1Id, "name", "  "));
+        assertFalse(ems.updateEmployeeDetails(emp1Id, "department", ""));
+        assertEquals(0, ems.updateEmployees(List.of(emp1Id), "department", ""));
+        assertEquals(name, ems.getEmployee(emp1Id).getName());
+        assertEquals(department, ems.getEmployee(emp1Id).getDepartment());
+    }
+
     /**
      * Tests retrieval of all employees from the system.
      */
@@ -284,6 +375,37 @@ class EmployeeManagementSystemTest {
         assertEquals(0.0, avgEmpty);
     }
 
+    /**
+     * Tests the single-pass department report, with the employees without a
+     * department reported last under the null key.
+     */
+    @Test
+    @DisplayName("Test getting department report")
+    void getDepartmentReport() {
+        ems.addEmployee(new Employee<>(UUID.randomUUID(), "Ama", "engineering", 95000.0, 3.0, 3, false));
+        ems.addEmployee(new Employee<>(UUID.randomUUID(), "Esi", null, 40000.0, 2.0, 1, true));
+        Map<String, DepartmentStatistics> report = ems.getDepartmentReport();
+        assertEquals(3, report.size());
+        assertNull(report.keySet().stream().toList().get(2));
+        assertEquals(40000.0, report.get(null).getSalarySum());
+
+        DepartmentStatistics engineering = report.get("ENGINEERING");
+        assertEquals(3, engineering.getCount());
+        assertEquals(2, engineering.getActiveCount());
+        assertEquals(255000.0, engineering.getSalarySum());
+        assertEquals(75000.0, engineering.getSalaryMin());
+        assertEquals(95000.0, engineering.getSalaryMax());
+        assertEquals(ems.getAverageSalaryByDepartment("Engineering"), engineering.getSalaryMean(), 1e-9);
+        assertEquals(Math.sqrt(200_000_000.0 / 3), engineering.getSalaryStandardDeviation(), 1e-6);
+        assertEquals(4.1, engineering.getRatingMean(), 1e-9);
+        assertEquals(5.0, engineering.getExperienceMean());
+
+        DepartmentStatistics hr = report.get("HR");
+        assertEquals(1, hr.getCount());
+        assertEquals(0.0, hr.getSalaryStandardDeviation());
+        assertEquals(1, ems.getEmployeesByDepartment("HR").size());
+    }
+
     /**
      * Tests the employee iterator functionality.
      */
@@ -0,0 +1,205 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.EmployeeQueryPublisher;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming queries of {@link EmployeeManagementSystem}.
+ */
+@DisplayName("Employee Query Publisher Tests")
+class EmployeeQueryPublisherTest {
+    private static final Object COMPLETE = new Object();
+
+    /**
+     * Records every signal in arrival order and requests nothing by itself.
+     */
+    private static final class RecordingSubscriber implements Flow.Subscriber<Employee<UUID>> {
+        final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+        final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(Employee<UUID> employee) {
+            signals.add(employee);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            signals.add(COMPLETE);
+        }
+
+        Object next() throws InterruptedException {
+            Object signal = signals.poll(10, TimeUnit.SECONDS);
+            assertNotNull(signal, "Timed out waiting for a signal");
+            return signal;
+        }
+
+        void assertQuiet() throws InterruptedException {
+            assertNull(signals.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<UUID> drain(EmployeeQueryPublisher<UUID> publisher) throws Exception {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.get().request(Long.MAX_VALUE);
+        Set<UUID> ids = new HashSet<>();
+        for (Object signal = subscriber.next(); signal != COMPLETE; signal = subscriber.next()) {
+            ids.add(((Employee<UUID>) signal).getEmployeeId());
+        }
+        return ids;
+    }
+
+    private static Set<UUID> idsOf(List<Employee<UUID>> employees) {
+        Set<UUID> result = new HashSet<>();
+        employees.forEach(employee -> result.add(employee.getEmployeeId()));
+        return result;
+    }
+
+    /**
+     * Tests that each streaming query emits the same employees as its
+     * list-returning counterpart, on a single and a partitioned store.
+     */
+    @Test
+    @DisplayName("Test streaming queries match list queries")
+    void streamingMatchesLists() throws Exception {
+        for (EmployeeManagementSystem<UUID> ems : List.<EmployeeManagementSystem<UUID>>of(
+                new EmployeeManagementSystem<>(), new PartitionedEmployeeManagementSystem<>(4))) {
+            new WorkforceGenerator(5L).populate(ems, 3_000);
+            String department = ems.getAllEmployees().get(0).getDepartment();
+
+            assertEquals(idsOf(ems.getAllEmployees()), drain(ems.publishAllEmployees()));
+            assertEquals(idsOf(ems.getEmployeesByDepartment(department)),
+                    drain(ems.publishEmployeesByDepartment(department.toUpperCase())));
+            assertEquals(idsOf(ems.searchEmployeesByName("an")), drain(ems.publishEmployeesByName("AN")));
+            assertEquals(idsOf(ems.getHighPerformingEmployees(4.0)), drain(ems.publishHighPerformingEmployees(4.0)));
+            assertEquals(idsOf(ems.getEmployeesInSalaryRange(50_000, 80_000)),
+                    drain(ems.publishEmployeesInSalaryRange(50_000, 80_000)));
+        }
+    }
+
+    /**
+     * Tests that no more employees are emitted than requested, that the scan
+     * resumes on further demand, and that the stream completes at the end.
+     */
+    @Test
+    @DisplayName("Test demand is honored")
+    void honorsDemand() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        new WorkforceGenerator(6L).populate(ems, 5);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ems.publishAllEmployees().subscribe(subscriber);
+        Flow.Subscription subscription = subscriber.subscription.get();
+        subscriber.assertQuiet();
+
+        subscription.request(2);
+        assertInstanceOf(Employee.class, subscriber.next());
+        assertInstanceOf(Employee.class, subscriber.next());
+        subscriber.assertQuiet();
+
+        subscription.request(3);
+        for (int i = 0; i < 3; i++) {
+            assertInstanceOf(Employee.class, subscriber.next());
+        }
+        subscription.request(1);
+        assertSame(COMPLETE, subscriber.next());
+        subscription.request(1);
+        subscriber.assertQuiet();
+    }
+
+    /**
+     * Tests that cancelling in the middle of a scan stops it, even between
+     * two matches, and that a non-positive request is reported as an error.
+     */
+    @Test
+    @DisplayName("Test cancellation and invalid requests")
+    void cancelAndInvalidRequest() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        new WorkforceGenerator(7L).populate(ems, 1_000);
+        AtomicInteger received = new AtomicInteger();
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        ems.publishAllEmployees().subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Employee<UUID> employee) {
+                if (received.incrementAndGet() == 10) {
+                    subscription.cancel();
+                    cancelled.complete(null);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                cancelled.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                cancelled.completeExceptionally(new AssertionError("Completed after cancel"));
+            }
+        });
+        cancelled.get(10, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        assertEquals(10, received.get());
+
+        RecordingSubscriber scanning = new RecordingSubscriber();
+        AtomicInteger scanned = new AtomicInteger();
+        EmployeeManagementSystem<UUID> unmatched = new EmployeeManagementSystem<>();
+        for (int i = 0; i < 1_000; i++) {
+            unmatched.addEmployee(new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", 50_000, 3.0, 1, true) {
+                @Override
+                public String getDepartment() {
+                    if (scanning.subscription.isDone() && scanned.incrementAndGet() == 10) {
+                        scanning.subscription.join().cancel();
+                    }
+                    return super.getDepartment();
+                }
+            });
+        }
+        unmatched.publishEmployeesByDepartment("Sales").deliverOn(Runnable::run).subscribe(scanning);
+        scanning.subscription.get().request(1);
+        assertEquals(10, scanned.get());
+        scanning.assertQuiet();
+
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        ems.publishAllEmployees().subscribe(subscriber);
+        subscriber.subscription.get().request(0);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.next());
+        subscriber.assertQuiet();
+    }
+}
@@ -0,0 +1,120 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.server.EmployeeQueryServer;
+import gtp.ems.service.EmployeeManagementSystem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link EmployeeQueryServer} over a real localhost socket.
+ */
+@DisplayName("Employee Query Server Tests")
+class EmployeeQueryServerTest {
+    private EmployeeManagementSystem<UUID> ems;
+    private EmployeeQueryServer server;
+    private HttpClient client;
+    private String baseUrl;
+    private Employee<UUID> alice;
+
+    /**
+     * Starts a server on a free port with two employees.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        ems = new EmployeeManagementSystem<>();
+        alice = new Employee<>(UUID.randomUUID(), "Alice \"Al\" Smith", "Engineering", 85000.0, 4.5, 8, true);
+        ems.addEmployee(alice);
+        ems.addEmployee(new Employee<>(UUID.randomUUID(), "Bob Jones", "Sales", 62000.0, 3.2, 3, true));
+
+        server = new EmployeeQueryServer(ems, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpResponse<String> send(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Tests looking up one employee, including JSON escaping of the name and
+     * a rating that is not a number.
+     */
+    @Test
+    @DisplayName("Test get employee by ID")
+    void getEmployeeById() throws Exception {
+        HttpResponse<String> response = send("GET", "/employees/" + alice.getEmployeeId());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"employeeId\":\"" + alice.getEmployeeId() + "\""));
+        assertTrue(response.body().contains("\"name\":\"Alice \\\"Al\\\" Smith\""));
+        assertTrue(response.body().contains("\"salary\":85000.0"));
+
+        Employee<UUID> unrated = new Employee<>(UUID.randomUUID(), "Esi Owusu", "Sales", 50000.0, Double.NaN, 1, true);
+        ems.addEmployee(unrated);
+        response = send("GET", "/employees/" + unrated.getEmployeeId());
+        assertTrue(response.body().contains("\"performanceRating\":null"), response.body());
+
+        assertEquals(404, send("GET", "/employees/" + UUID.randomUUID()).statusCode());
+        assertEquals(400, send("GET", "/employees/not-a-uuid").statusCode());
+    }
+
+    /**
+     * Tests listing a department and the average salary endpoint.
+     */
+    @Test
+    @DisplayName("Test department queries")
+    void departmentQueries() throws Exception {
+        HttpResponse<String> response = send("GET", "/employees?department=engineering");
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("["));
+        assertTrue(response.body().contains("Alice"));
+        assertFalse(response.body().contains("Bob"));
+
+        response = send("GET", "/departments/Sales/average-salary");
+        assertEquals(200, response.statusCode());
+        assertEquals("{\"averageSalary\":62000.0}", response.body());
+    }
+
+    /**
+     * Tests adding, updating and removing an employee over HTTP.
+     */
+    @Test
+    @DisplayName("Test mutations")
+    void mutations() throws Exception {
+        HttpResponse<String> created = send("POST",
+                "/employees?name=Carol%20White&department=HR&salary=50000&rating=3.9&experience=5");
+        assertEquals(201, created.statusCode());
+        assertEquals(3, ems.getAllEmployees().size());
+
+        assertEquals(204, send("PATCH", "/employees/" + alice.getEmployeeId() + "?field=salary&value=90000").statusCode());
+        assertEquals(90000.0, ems.getEmployee(alice.getEmployeeId()).getSalary());
+        assertEquals(400, send("PATCH", "/employees/" + alice.getEmployeeId() + "?field=salary&value=abc").statusCode());
+
+        assertEquals(204, send("DELETE", "/employees/" + alice.getEmployeeId()).statusCode());
+        assertEquals(404, send("DELETE", "/employees/" + alice.getEmployeeId()).statusCode());
+        assertEquals(2, ems.getAllEmployees().size());
+    }
+}
@@ -0,0 +1,97 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.sort.EmployeeSort;
+import gtp.ems.sort.SortKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EmployeeSort}.
+ */
+@DisplayName("Employee Sort Tests")
+class EmployeeSortTest {
+
+    private static List<Employee<UUID>> employees(int count, long seed) {
+        Random random = new Random(seed);
+        double[] specialValues = {0.0, -0.0, -1.5, Double.NaN, Double.MAX_VALUE, -Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, Double.MIN_VALUE};
+        List<Employee<UUID>> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double salary = i % 97 == 0 ? specialValues[i / 97 % specialValues.length]
+                    : 30_000 + random.nextInt(200) * 500.0;
+            employees.add(new Employee<>(new UUID(0, i), "Employee " + i, "IT", salary,
+                    random.nextInt(11) / 2.0, random.nextInt(41) - (i % 50 == 0 ? 100 : 0), random.nextBoolean()));
+        }
+        return employees;
+    }
+
+    private static void assertSameOrder(List<Employee<UUID>> expected, List<Employee<UUID>> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "position " + i);
+        }
+    }
+
+    /**
+     * Tests that single and compound sorts, ascending and descending, give the
+     * same order as a stable comparator sort, including for special doubles,
+     * negative ints and ties.
+     */
+    @Test
+    @DisplayName("Test sorts match a stable comparator sort")
+    void matchesComparatorSort() {
+        List<Employee<UUID>> employees = employees(5_000, 1L);
+        Comparator<Employee<UUID>> bySalary = Comparator.comparingDouble(Employee::getSalary);
+        Comparator<Employee<UUID>> byRating = Comparator.comparingDouble(Employee::getPerformanceRating);
+        Comparator<Employee<UUID>> byYears = Comparator.comparingInt(Employee::getYearsOfExperience);
+
+        assertSameOrder(employees.stream().sorted(bySalary).toList(),
+                EmployeeSort.ascending(SortKey.SALARY).sort(employees));
+        assertSameOrder(employees.stream().sorted(bySalary.reversed()).toList(),
+                EmployeeSort.descending(SortKey.SALARY).sort(employees));
+        assertSameOrder(employees.stream().sorted(byYears.reversed()).toList(),
+                EmployeeSort.descending(SortKey.YEARS_OF_EXPERIENCE).sort(employees));
+
+        EmployeeSort compound = EmployeeSort.descending(SortKey.PERFORMANCE_RATING)
+                .thenAscending(SortKey.YEARS_OF_EXPERIENCE)
+                .thenDescending(SortKey.SALARY);
+        List<Employee<UUID>> expected = employees.stream()
+                .sorted(byRating.reversed().thenComparing(byYears).thenComparing(bySalary.reversed()))
+                .toList();
+        assertSameOrder(expected, compound.sort(employees));
+        assertSameOrder(expected, employees.stream().sorted(compound.comparator()).toList());
+        assertEquals("EmployeeSort[PERFORMANCE_RATING desc, YEARS_OF_EXPERIENCE asc, SALARY desc]",
+                compound.toString());
+
+        assertTrue(EmployeeSort.ascending(SortKey.SALARY).sort(List.of()).isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+                () -> EmployeeSort.ascending(SortKey.SALARY).sort(employees).set(0, null));
+    }
+
+    /**
+     * Tests that a parallel sort on a pool gives the same order as a sequential one.
+     */
+    @Test
+    @DisplayName("Test parallel sort matches sequential sort")
+    void parallelMatchesSequential() {
+        List<Employee<UUID>> employees = employees(200_003, 2L);
+        ForkJoinPool pool = ScanExecutor.newScanPool(4);
+        try {
+            EmployeeSort sort = EmployeeSort.descending(SortKey.YEARS_OF_EXPERIENCE).thenAscending(SortKey.SALARY);
+            assertSameOrder(sort.sort(employees), sort.sort(employees, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
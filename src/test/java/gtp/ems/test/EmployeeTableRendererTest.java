@@ -0,0 +1,93 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeTableRenderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EmployeeTableRenderer}.
+ */
+@DisplayName("Employee Table Renderer Tests")
+class EmployeeTableRendererTest {
+    private static final String RULE = "-".repeat(104) + System.lineSeparator();
+    private static final String HEADER = RULE + String.format(Locale.ROOT, "%-36s %-20s %-12s %-12s %-6s %-6s %-6s%n",
+            "ID", "Name", "Department", "Salary", "Rating", "Exp", "Active") + RULE;
+
+    private static String printfRow(Employee<UUID> employee) {
+        return String.format(Locale.ROOT, "%-36s %-20s %-12s %-12s %-6.1f %-6d %-6s%n",
+                employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                String.format(Locale.ROOT, "%.2f", employee.getSalary()), employee.getPerformanceRating(),
+                employee.getYearsOfExperience(), employee.isActive() ? "Yes" : "No");
+    }
+
+    /**
+     * Tests that the rendered table is identical to the printf output, including
+     * rounding ties, negative and huge numbers, overlong names and chunking.
+     */
+    @Test
+    @DisplayName("Test output matches printf")
+    void matchesPrintf() throws IOException {
+        List<Employee<UUID>> employees = new ArrayList<>();
+        double[] salaries = {0.125, 1.005, 2.675, 0.005, 99_999.995, -0.001, -0.0, -1_234.5, 1e12 + 0.125, 3e20};
+        double[] ratings = {0.15, 0.25, 0.35, 4.45, 4.95, 5.0, -0.04, Double.NaN, 0.05, 2.5};
+        for (int i = 0; i < salaries.length; i++) {
+            employees.add(new Employee<>(UUID.randomUUID(), "Employee " + i, "Dept", salaries[i], ratings[i], i, i % 2 == 0));
+        }
+        employees.add(new Employee<>(UUID.randomUUID(), "A name that is much longer than twenty characters",
+                "Engineering and Research", 75_000, 4.5, 12, true));
+        employees.add(new Employee<>(UUID.randomUUID(), null, "HR", 60_000, 3.0, 1, false));
+        SplittableRandom random = new SplittableRandom(17);
+        for (int i = 0; i < 20_000; i++) {
+            double salary = i % 2 == 0 ? random.nextDouble(0, 1_000_000) : random.nextInt(100_000_000) / 1000.0;
+            employees.add(new Employee<>(UUID.randomUUID(), "Random " + i, "Dept-" + i % 7, salary,
+                    random.nextInt(51) / 10.0 + (i % 3 == 0 ? random.nextDouble(0, 0.1) : 0), random.nextInt(41), true));
+        }
+
+        StringBuilder expected = new StringBuilder(HEADER);
+        employees.forEach(employee -> expected.append(printfRow(employee)));
+        StringWriter out = new StringWriter();
+        assertEquals(employees.size(), new EmployeeTableRenderer<UUID>(out, 1_000).render(employees));
+        assertEquals(expected.toString(), out.toString());
+    }
+
+    /**
+     * Tests that paging repeats the header on every page and stops when the
+     * pager declines.
+     */
+    @Test
+    @DisplayName("Test paging")
+    void paging() throws IOException {
+        List<Employee<UUID>> employees = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            employees.add(new Employee<>(UUID.randomUUID(), "Employee " + i, "IT", 50_000, 4.0, 2, true));
+        }
+        AtomicInteger prompts = new AtomicInteger();
+        StringWriter out = new StringWriter();
+        long rows = new EmployeeTableRenderer<UUID>(out)
+                .withPaging(4, () -> prompts.incrementAndGet() < 2)
+                .render(employees);
+
+        assertEquals(8, rows);
+        assertEquals(2, prompts.get());
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            if (i % 4 == 0) {
+                expected.append(HEADER);
+            }
+            expected.append(printfRow(employees.get(i)));
+        }
+        assertEquals(expected.toString(), out.toString());
+    }
+}
@@ -0,0 +1,205 @@
+package gtp.ems.test;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.exception.TransactionConflictException;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.EmployeeTransaction;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link EmployeeTransaction}.
+ */
+@DisplayName("Employee Transaction Tests")
+class EmployeeTransactionTest {
+
+    private static UUID[] populate(EmployeeManagementSystem<UUID> ems, int count) {
+        UUID[] ids = new UUID[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new UUID(0, i);
+            ems.addEmployee(new Employee<>(ids[i], "Employee " + i, "IT", 50_000, 4.0, 5, true));
+        }
+        return ids;
+    }
+
+    /**
+     * Tests that a commit applies every staged update and notifies listeners,
+     * that a conflicting change or removal fails the commit with nothing
+     * applied, and that reads see the transaction's own staged updates.
+     */
+    @Test
+    @DisplayName("Test commit is all or nothing")
+    void commitIsAllOrNothing() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID[] ids = populate(ems, 3);
+        List<String> changes = new ArrayList<>();
+        ems.addChangeListener(new EmployeeChangeListener<>() {
+            @Override
+            public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue,
+                                        Object newValue) {
+                changes.add(employee.getName() + " " + field + " " + oldValue + "->" + newValue);
+            }
+        });
+
+        EmployeeTransaction<UUID> move = ems.beginTransaction();
+        move.update(ids[0], "department", "Finance");
+        move.update(ids[1], "department", "Finance");
+        assertEquals("IT", ems.getEmployee(ids[0]).getDepartment());
+        long version = ems.getEmployee(ids[0]).getVersion();
+        move.commit();
+        assertEquals(List.of("Employee 0 DEPARTMENT IT->Finance", "Employee 1 DEPARTMENT IT->Finance"), changes);
+        assertEquals(version + 1, ems.getEmployee(ids[0]).getVersion());
+        assertThrows(IllegalStateException.class, move::commit);
+
+        EmployeeTransaction<UUID> raise = ems.beginTransaction();
+        raise.update(ids[0], "salary", raise.read(ids[0]).getSalary() * 1.1);
+        raise.update(ids[2], "salary", raise.read(ids[2]).getSalary() * 1.1);
+        ems.updateEmployeeDetails(ids[2], "performanceRating", 2.0);
+        TransactionConflictException conflict = assertThrows(TransactionConflictException.class, raise::commit);
+        assertEquals(ids[2], conflict.getId());
+        assertEquals(50_000, ems.getEmployee(ids[0]).getSalary());
+
+        EmployeeTransaction<UUID> removed = ems.beginTransaction();
+        removed.read(ids[1]);
+        ems.removeEmployee(ids[1]);
+        ems.addEmployee(new Employee<>(ids[1], "Employee 1", "IT", 50_000, 4.0, 5, true));
+        assertThrows(TransactionConflictException.class, removed::commit);
+
+        EmployeeTransaction<UUID> own = ems.beginTransaction();
+        own.update(ids[0], "salary", 60_000.0);
+        own.update(ids[0], "salary", own.read(ids[0]).getSalary() + 1_000);
+        own.read(ids[0]).setSalary(0);
+        assertEquals(50_000, ems.getEmployee(ids[0]).getSalary());
+        own.commit();
+        assertEquals(61_000, ems.getEmployee(ids[0]).getSalary());
+
+        EmployeeTransaction<UUID> invalid = ems.beginTransaction();
+        assertThrows(IllegalArgumentException.class, () -> invalid.update(ids[0], "bonus", 1.0));
+        assertThrows(IllegalArgumentException.class, () -> invalid.update(ids[0], "salary", "high"));
+        assertThrows(IllegalArgumentException.class, () -> invalid.update(ids[0], "isActive", null));
+        assertThrows(IllegalArgumentException.class, () -> invalid.update(ids[0], "name", ""));
+        assertThrows(EmployeeNotExistException.class, () -> invalid.update(new UUID(1, 1), "salary", 1.0));
+        assertEquals(0, invalid.getUpdateCount());
+    }
+
+    /**
+     * Tests that a listener that throws neither stops the other listeners
+     * nor leaves a commit half applied.
+     */
+    @Test
+    @DisplayName("Test a failing listener does not break a commit")
+    void failingListenerDoesNotBreakCommit() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID[] ids = populate(ems, 2);
+        ems.addChangeListener(new EmployeeChangeListener<>() {
+            @Override
+            public void employeeAdded(Employee<UUID> employee) {
+                throw new IllegalStateException("added");
+            }
+
+            @Override
+            public void employeeRemoved(Employee<UUID> employee) {
+                throw new IllegalStateException("removed");
+            }
+
+            @Override
+            public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue,
+                                        Object newValue) {
+                throw new IllegalStateException("updated");
+            }
+        });
+        List<String> changes = new ArrayList<>();
+        ems.addChangeListener(new EmployeeChangeListener<>() {
+            @Override
+            public void employeeAdded(Employee<UUID> employee) {
+                changes.add("added " + employee.getName());
+            }
+
+            @Override
+            public void employeeRemoved(Employee<UUID> employee) {
+                changes.add("removed " + employee.getName());
+            }
+
+            @Override
+            public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue,
+                                        Object newValue) {
+                changes.add(employee.getName() + " " + field + " " + oldValue + "->" + newValue);
+            }
+        });
+
+        EmployeeTransaction<UUID> move = ems.beginTransaction();
+        move.update(ids[0], "department", "Finance");
+        move.update(ids[1], "department", "Finance");
+        move.commit();
+        assertEquals("Finance", ems.getEmployee(ids[0]).getDepartment());
+        assertEquals("Finance", ems.getEmployee(ids[1]).getDepartment());
+
+        UUID id = new UUID(1, 1);
+        assertTrue(ems.addEmployee(new Employee<>(id, "Employee 2", "IT", 50_000, 4.0, 5, true)));
+        assertTrue(ems.updateEmployeeDetails(id, "salary", 55_000.0));
+        ems.removeEmployee(id);
+        assertEquals(List.of("Employee 0 DEPARTMENT IT->Finance", "Employee 1 DEPARTMENT IT->Finance",
+                "added Employee 2", "Employee 2 SALARY 50000.0->55000.0", "removed Employee 2"), changes);
+        assertThrows(EmployeeNotExistException.class, () -> ems.getEmployee(id));
+    }
+
+    /**
+     * Tests that concurrent read-modify-write transactions retried on
+     * conflict lose no update, on a plain and a partitioned store.
+     */
+    @Test
+    @DisplayName("Test concurrent transactions lose no update")
+    void concurrentTransactionsLoseNoUpdate() throws Exception {
+        for (EmployeeManagementSystem<UUID> ems : List.of(new EmployeeManagementSystem<UUID>(),
+                new PartitionedEmployeeManagementSystem<UUID>(4))) {
+            UUID[] ids = populate(ems, 8);
+            AtomicInteger failures = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        UUID from = ids[(offset + i) % ids.length];
+                        UUID to = ids[(offset + i * 3 + 1) % ids.length];
+                        try {
+                            ems.transact(transaction -> {
+                                Employee<UUID> payer = transaction.read(from);
+                                transaction.update(from, "salary", payer.getSalary() - 10);
+                                Employee<UUID> payee = transaction.read(to);
+                                transaction.update(to, "salary", payee.getSalary() + 10);
+                                transaction.update(to, "yearsOfExperience", payee.getYearsOfExperience() + 1);
+                                return null;
+                            }, 1_000);
+                        } catch (EmployeeNotExistException | TransactionConflictException e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, failures.get());
+            double total = 0;
+            int years = 0;
+            for (UUID id : ids) {
+                total += ems.getEmployee(id).getSalary();
+                years += ems.getEmployee(id).getYearsOfExperience();
+            }
+            assertEquals(8 * 50_000, total, 1e-6);
+            assertEquals(8 * 5 + 4 * 500, years);
+        }
+    }
+}
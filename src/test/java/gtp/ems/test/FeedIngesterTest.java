@@ -0,0 +1,190 @@
+package gtp.ems.test;
+
+import gtp.ems.ingest.FeedIngester;
+import gtp.ems.ingest.FeedRecord;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeManagementSystem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FeedIngester} and the {@link FeedRecord} format.
+ */
+@DisplayName("Feed Ingester Tests")
+class FeedIngesterTest {
+    @TempDir
+    Path directory;
+
+    private static String add(UUID id, String name, double salary) {
+        return String.format(Locale.ROOT, "ADD,%s,\"%s\",IT,%.2f,4.0,3,true%n", id, name, salary);
+    }
+
+    private static String update(UUID id, String field, Object value) {
+        return "UPDATE," + id + "," + field + "," + value + System.lineSeparator();
+    }
+
+    private static void write(Path file, List<String> lines, StandardOpenOption... options) throws IOException {
+        Files.writeString(file, String.join("", lines), StandardCharsets.UTF_8, options);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the ingester");
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * Tests parsing of each record type, quoting, comments and invalid lines.
+     */
+    @Test
+    @DisplayName("Test record parsing")
+    void parseRecords() {
+        UUID id = UUID.randomUUID();
+        FeedRecord add = FeedRecord.parse("add, " + id + ", \"Mensah, Ama \"\"Kiki\"\"\", HR, 55000, 4.2, 7, TRUE");
+        assertEquals(FeedRecord.Type.ADD, add.getType());
+        assertEquals("Mensah, Ama \"Kiki\"", add.getEmployee().getName());
+        assertEquals(55_000, add.getEmployee().getSalary());
+        assertTrue(add.getEmployee().isActive());
+
+        FeedRecord update = FeedRecord.parse("UPDATE," + id + ",yearsOfExperience,8");
+        assertEquals(EmployeeField.YEARS_OF_EXPERIENCE, update.getField());
+        assertEquals(8, update.getValue());
+        assertEquals(FeedRecord.Type.DELETE, FeedRecord.parse("DELETE," + id + "\r").getType());
+        assertNull(FeedRecord.parse("  # header"));
+        assertNull(FeedRecord.parse(""));
+
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("MOVE," + id));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("DELETE,not-a-uuid"));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("UPDATE," + id + ",salary,NaN"));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("UPDATE," + id + ",title,CEO"));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("UPDATE," + id + ",department, "));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("ADD," + id + ",,HR,1,1,1,true"));
+        assertThrows(IllegalArgumentException.class, () -> FeedRecord.parse("ADD," + id + ",\"Open,IT,1,1,1,true"));
+    }
+
+    /**
+     * Tests that files already present and files dropped later are applied,
+     * with each employee's changes applied in file and line order, and that
+     * invalid lines are skipped.
+     */
+    @Test
+    @DisplayName("Test ingesting files in order per employee")
+    void ingestInOrder() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        List<UUID> ids = new ArrayList<>();
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            first.add(add(id, "Employee " + i, 40_000));
+            for (int raise = 1; raise <= 5; raise++) {
+                first.add(update(id, "salary", 40_000 + raise * 1_000));
+                second.add(update(id, "salary", 50_000 + raise * 1_000));
+            }
+        }
+        first.add(1, "this is not a record" + System.lineSeparator());
+        second.add("DELETE," + ids.get(0) + System.lineSeparator());
+        write(directory.resolve("feed-001.csv"), first);
+        write(directory.resolve("feed-002.csv"), second);
+
+        try (FeedIngester ingester = new FeedIngester(ems, directory, directory.resolve("offsets"), 4, 7)) {
+            ingester.start();
+            assertTrue(ingester.awaitIdle(20, TimeUnit.SECONDS));
+            assertEquals(499, ems.getAllEmployees().size());
+            for (UUID id : ids.subList(1, ids.size())) {
+                assertEquals(55_000, ems.getEmployee(id).getSalary());
+            }
+            assertEquals(500 * 11 + 1, ingester.getAppliedRecords());
+            assertEquals(1, ingester.getRejectedRecords());
+
+            UUID late = UUID.randomUUID();
+            write(directory.resolve("feed-003.csv"), List.of(add(late, "Late Joiner", 61_000)));
+            await(() -> ems.findEmployee(late).isPresent());
+            assertEquals(61_000, ems.getEmployee(late).getSalary());
+        }
+    }
+
+    /**
+     * Tests that a restarted ingester resumes from the checkpoint without
+     * applying any record twice, and that a line is only read once complete.
+     */
+    @Test
+    @DisplayName("Test resuming from checkpoint")
+    void resumeFromCheckpoint() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        Path feed = directory.resolve("feed.csv");
+        Path offsets = directory.resolve("offsets");
+        UUID id = UUID.randomUUID();
+        write(feed, List.of(add(id, "Kwame", 45_000), update(id, "department", "Sales")));
+        write(feed, List.of("UPDATE," + id + ",salary,47"), StandardOpenOption.APPEND);
+
+        try (FeedIngester ingester = new FeedIngester(ems, directory, offsets, 2, 1)) {
+            ingester.start();
+            assertTrue(ingester.awaitIdle(20, TimeUnit.SECONDS));
+            assertEquals(2, ingester.getAppliedRecords());
+            assertEquals(45_000, ems.getEmployee(id).getSalary());
+        }
+
+        write(feed, List.of("000" + System.lineSeparator(), update(id, "isActive", false)), StandardOpenOption.APPEND);
+        try (FeedIngester ingester = new FeedIngester(ems, directory, offsets, 2, 1)) {
+            ingester.start();
+            assertTrue(ingester.awaitIdle(20, TimeUnit.SECONDS));
+            assertEquals(2, ingester.getAppliedRecords());
+            assertEquals(0, ingester.getRejectedRecords());
+            Employee<UUID> employee = ems.getEmployee(id);
+            assertEquals(47_000, employee.getSalary());
+            assertEquals("Sales", employee.getDepartment());
+            assertFalse(employee.isActive());
+        }
+        assertEquals(Files.size(feed), Long.parseLong(Files.readAllLines(offsets).stream()
+                .filter(line -> line.startsWith("feed.csv=")).findFirst().orElseThrow().substring(9)));
+    }
+
+    /**
+     * Tests that a checkpoint that cannot be saved leaves the lanes running,
+     * and that the offset is saved with the next batch once it can be.
+     */
+    @Test
+    @DisplayName("Test checkpoint save failure")
+    void checkpointSaveFailure() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        Path feed = directory.resolve("feed.csv");
+        Path offsets = directory.resolve("offsets");
+        // The checkpoint is written to offsets.tmp first, which cannot be opened as a file while it is a directory
+        Path temporary = Files.createDirectory(directory.resolve("offsets.tmp"));
+        UUID id = UUID.randomUUID();
+        write(feed, List.of(add(id, "Kwame", 45_000)));
+
+        try (FeedIngester ingester = new FeedIngester(ems, directory, offsets, 1, 1)) {
+            ingester.start();
+            assertTrue(ingester.awaitIdle(20, TimeUnit.SECONDS));
+            assertEquals(1, ingester.getAppliedRecords());
+            assertFalse(Files.exists(offsets));
+
+            Files.delete(temporary);
+            write(feed, List.of(update(id, "salary", 50_000)), StandardOpenOption.APPEND);
+            await(() -> ingester.getAppliedRecords() == 2);
+            assertTrue(ingester.awaitIdle(20, TimeUnit.SECONDS));
+        }
+        assertTrue(Files.readString(offsets).contains("feed.csv=" + Files.size(feed)));
+    }
+}
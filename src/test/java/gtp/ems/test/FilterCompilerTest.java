@@ -0,0 +1,156 @@
+package gtp.ems.test;
+
+import gtp.ems.filter.FilterCompiler;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FilterCompiler}.
+ */
+@DisplayName("Filter Compiler Tests")
+class FilterCompilerTest {
+
+    private static List<Employee<UUID>> employees() {
+        List<Employee<UUID>> employees = new ArrayList<>();
+        WorkforceGenerator generator = new WorkforceGenerator(8L);
+        for (int i = 0; i < 2_000; i++) {
+            employees.add(generator.employee(i));
+        }
+        employees.add(new Employee<>(UUID.randomUUID(), "Ama O'Neil", "it", Double.NaN, Double.NaN, 0, true));
+        employees.add(new Employee<>(UUID.randomUUID(), "Kofi Mensah", "Sales", 90_000, 4.5, -1, false));
+        return employees;
+    }
+
+    /**
+     * Tests that compiled predicates agree with hand-written ones and with
+     * interpretation, including short-circuit combinations and NaN values,
+     * that text matching does not depend on the default locale and that a
+     * missing text field contains nothing.
+     */
+    @Test
+    @DisplayName("Test compiled filters match hand-written predicates")
+    void compiledMatchesHandWritten() {
+        FilterCompiler compiler = new FilterCompiler();
+        String department = employees().get(0).getDepartment();
+        Map<String, Predicate<Employee<UUID>>> expected = Map.of(
+                "salary > 90000 and department = '" + department + "' and active",
+                employee -> employee.getSalary() > 90_000 && employee.getDepartment().equalsIgnoreCase(department)
+                        && employee.isActive(),
+                "rating >= 4.5 or (experience < 3 and not active)",
+                employee -> employee.getPerformanceRating() >= 4.5
+                        || employee.getYearsOfExperience() < 3 && !employee.isActive(),
+                "NOT (salary <= 60_000 || salary != 90000) && isActive = false",
+                employee -> !(employee.getSalary() <= 60_000 || employee.getSalary() != 90_000) && !employee.isActive(),
+                "name contains 'o''n' or name contains \"MENSAH\"",
+                employee -> employee.getName().toLowerCase().contains("o'n")
+                        || employee.getName().toLowerCase().contains("mensah"),
+                "department <> 'IT' and yearsOfExperience == 0 or performanceRating < 1",
+                employee -> !employee.getDepartment().equalsIgnoreCase("IT") && employee.getYearsOfExperience() == 0
+                        || employee.getPerformanceRating() < 1,
+                "salary = 90000 and active != true",
+                employee -> employee.getSalary() == 90_000 && !employee.isActive());
+
+        List<Employee<UUID>> employees = employees();
+        expected.forEach((expression, predicate) -> {
+            Predicate<Employee<UUID>> compiled = compiler.compile(expression);
+            Predicate<Employee<UUID>> interpreted = compiler.interpret(expression);
+            assertEquals(expression, compiled.toString());
+            long matches = 0;
+            for (Employee<UUID> employee : employees) {
+                boolean want = predicate.test(employee);
+                assertEquals(want, compiled.test(employee), expression + " on " + employee);
+                assertEquals(want, interpreted.test(employee), expression + " on " + employee);
+                matches += want ? 1 : 0;
+            }
+            assertTrue(matches > 0, "no employee matches " + expression);
+        });
+
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            Employee<UUID> admin = new Employee<>(UUID.randomUUID(), "Ivy Addo", "IT", 1, 1, 1, true);
+            assertTrue(new FilterCompiler().<UUID>compile("department contains 'it'").test(admin));
+            assertTrue(compiler.<UUID>interpret("name contains 'IVY'").test(admin));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        Employee<UUID> unassigned = new Employee<>(UUID.randomUUID(), "Esi Boateng", null, 1, 1, 1, true);
+        for (String expression : List.of("department contains 'i'", "not department contains 'i' and active",
+                "department != 'IT'")) {
+            boolean want = !expression.startsWith("department contains");
+            assertEquals(want, compiler.<UUID>compile(expression).test(unassigned), expression);
+            assertEquals(want, compiler.<UUID>interpret(expression).test(unassigned), expression);
+        }
+    }
+
+    /**
+     * Tests that predicates are cached by text, that the cache is bounded and
+     * that invalid and too deeply nested expressions are rejected with
+     * their position.
+     */
+    @Test
+    @DisplayName("Test caching and syntax errors")
+    void cachesAndRejects() {
+        FilterCompiler compiler = new FilterCompiler(2);
+        Predicate<Employee<UUID>> first = compiler.compile("active");
+        assertSame(first, compiler.compile("active"));
+        compiler.compile("salary > 1");
+        compiler.compile("salary > 2");
+        assertEquals(2, compiler.getCachedCount());
+        assertNotSame(first, compiler.compile("active"));
+
+        for (String invalid : List.of("", "salary", "salary > 'high'", "bonus > 1", "department > 'IT'",
+                "salary > 1 and", "(active", "name = 'open", "active = maybe", "salary contains 1", "active active")) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> compiler.compile(invalid), invalid);
+            assertTrue(e.getMessage().contains("position") || invalid.isEmpty(), e.getMessage());
+        }
+
+        assertTrue(compiler.compile("(".repeat(32) + "not ".repeat(32) + "active" + ")".repeat(32))
+                .test(new Employee<>(UUID.randomUUID(), "Ama", "IT", 1, 1, 1, true)));
+        for (String deep : List.of("(".repeat(100_000) + "active" + ")".repeat(100_000), "!".repeat(100_000) + "active",
+                "active or ".repeat(100_000) + "active")) {
+            assertThrows(IllegalArgumentException.class, () -> compiler.compile(deep));
+            assertThrows(IllegalArgumentException.class, () -> compiler.interpret(deep));
+        }
+    }
+
+    /**
+     * Tests that filterEmployees gives the same results on a plain and a
+     * partitioned store as a stream filter.
+     */
+    @Test
+    @DisplayName("Test filterEmployees on plain and partitioned stores")
+    void filterEmployees() {
+        String expression = "active and rating >= 3.5 and salary between";
+        EmployeeManagementSystem<UUID> plain = new EmployeeManagementSystem<>();
+        PartitionedEmployeeManagementSystem<UUID> partitioned = new PartitionedEmployeeManagementSystem<>(4);
+        new WorkforceGenerator(3L).populate(plain, 3_000);
+        new WorkforceGenerator(3L).populate(partitioned, 3_000);
+        assertThrows(IllegalArgumentException.class, () -> plain.filterEmployees(expression));
+
+        String valid = "active and rating >= 3.5 and salary < 80000";
+        for (EmployeeManagementSystem<UUID> ems : List.of(plain, partitioned)) {
+            List<UUID> expected = ems.getAllEmployees().stream()
+                    .filter(employee -> employee.isActive() && employee.getPerformanceRating() >= 3.5
+                            && employee.getSalary() < 80_000)
+                    .map(Employee::getEmployeeId).sorted().toList();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, ems.filterEmployees(valid).stream().map(Employee::getEmployeeId).sorted().toList());
+        }
+    }
+}
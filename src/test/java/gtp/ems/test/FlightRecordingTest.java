@@ -0,0 +1,77 @@
+package gtp.ems.test;
+
+import gtp.ems.jfr.FlightRecording;
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the flight recorder profile and store events.
+ */
+@DisplayName("Flight Recording Tests")
+class FlightRecordingTest {
+
+    /**
+     * Tests that the shipped profile enables the EMS events on top of the JDK defaults.
+     */
+    @Test
+    @DisplayName("Test profile enables EMS events")
+    void profileEnablesEvents() throws Exception {
+        Map<String, String> settings = FlightRecording.loadSettings();
+
+        assertEquals("true", settings.get("gtp.ems.StoreOperation#enabled"));
+        assertEquals("true", settings.get("gtp.ems.UiAction#enabled"));
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    /**
+     * Tests that store operations are recorded with their operation, size and ID.
+     */
+    @Test
+    @DisplayName("Test store operations are recorded")
+    void storeOperationsRecorded(@TempDir Path dir) throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID id = UUID.randomUUID();
+        Path file = dir.resolve("ems.jfr");
+
+        try (Recording recording = new Recording(FlightRecording.loadSettings())) {
+            recording.enable("gtp.ems.StoreOperation").withoutThreshold();
+            recording.start();
+
+            ems.addEmployee(new Employee<>(id, "Yakubu", "Engineering", 75000.0, 4.5, 5, true));
+            ems.getEmployeesByDepartment("Engineering");
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("gtp.ems.StoreOperation"))
+                .toList();
+
+        RecordedEvent add = events.stream()
+                .filter(event -> event.getString("operation").equals("addEmployee"))
+                .findFirst().orElseThrow();
+        assertTrue(add.getBoolean("write"));
+        assertEquals(1, add.getInt("resultSize"));
+        assertEquals(id.toString(), add.getString("employeeId"));
+
+        RecordedEvent byDepartment = events.stream()
+                .filter(event -> event.getString("operation").equals("getEmployeesByDepartment"))
+                .findFirst().orElseThrow();
+        assertFalse(byDepartment.getBoolean("write"));
+        assertEquals(1, byDepartment.getInt("resultSize"));
+    }
+}
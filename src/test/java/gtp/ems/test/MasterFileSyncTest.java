@@ -0,0 +1,142 @@
+package gtp.ems.test;
+
+import gtp.ems.ingest.MasterFileSync;
+import gtp.ems.ingest.SyncPlan;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.service.EmployeeChangeListener;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MasterFileSync}.
+ */
+@DisplayName("Master File Sync Tests")
+class MasterFileSyncTest {
+    @TempDir
+    Path directory;
+
+    private static String line(Employee<UUID> employee) {
+        return String.format(Locale.ROOT, "%s,\"%s\",%s,%s,%s,%d,%b", employee.getEmployeeId(), employee.getName(),
+                employee.getDepartment(), employee.getSalary(), employee.getPerformanceRating(),
+                employee.getYearsOfExperience(), employee.isActive());
+    }
+
+    private Path write(List<String> lines) throws IOException {
+        return Files.write(directory.resolve("master.csv"), lines);
+    }
+
+    /**
+     * Tests that a sync inserts, updates and deletes only the employees that
+     * differ, changing only the differing fields, and that a second sync of
+     * the same file changes nothing.
+     */
+    @Test
+    @DisplayName("Test sync applies only the differences")
+    void syncAppliesDifferences() throws Exception {
+        WorkforceGenerator generator = new WorkforceGenerator(8L);
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        generator.populate(ems, 2_000);
+        List<Employee<UUID>> employees = ems.getAllEmployees();
+        double salary = employees.get(15).getSalary();
+
+        List<String> lines = new ArrayList<>();
+        lines.add("id,name,department,salary,performanceRating,yearsOfExperience,isActive");
+        for (int i = 0; i < employees.size(); i++) {
+            Employee<UUID> employee = employees.get(i);
+            if (i < 10) {
+                continue;
+            }
+            if (i < 30) {
+                employee = new Employee<>(employee.getEmployeeId(), employee.getName(), employee.getDepartment(),
+                        employee.getSalary() + 1_000, employee.getPerformanceRating(),
+                        employee.getYearsOfExperience(), employee.isActive());
+            }
+            lines.add(i == 30 ? employee.getEmployeeId() + ",broken" : line(employee));
+        }
+        for (int i = 0; i < 5; i++) {
+            lines.add(line(generator.employee(10_000 + i)));
+        }
+        Path master = write(lines);
+
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        AtomicInteger updated = new AtomicInteger();
+        ems.addChangeListener(new EmployeeChangeListener<>() {
+            @Override
+            public void employeeAdded(Employee<UUID> employee) {
+                added.incrementAndGet();
+            }
+
+            @Override
+            public void employeeRemoved(Employee<UUID> employee) {
+                removed.incrementAndGet();
+            }
+
+            @Override
+            public void employeeUpdated(Employee<UUID> employee, EmployeeField field, Object oldValue, Object newValue) {
+                assertEquals(EmployeeField.SALARY, field);
+                updated.incrementAndGet();
+            }
+        });
+
+        try (MasterFileSync sync = new MasterFileSync(ems)) {
+            SyncPlan plan = sync.plan(master);
+            assertEquals(5, plan.getInserts().size());
+            assertEquals(20, plan.getUpdates().size());
+            assertEquals(10, plan.getDeletes().size());
+            assertEquals(1_969, plan.getUnchanged());
+            assertEquals(1, plan.getInvalidLines());
+            assertEquals(0, added.get() + removed.get() + updated.get());
+
+            assertEquals(35, sync.apply(plan));
+            assertEquals(List.of(5, 10, 20), List.of(added.get(), removed.get(), updated.get()));
+            assertEquals(1_995, ems.getAllEmployees().size());
+            assertEquals(salary + 1_000, ems.getEmployee(employees.get(15).getEmployeeId()).getSalary());
+            assertTrue(ems.findEmployee(employees.get(30).getEmployeeId()).isPresent());
+            assertTrue(ems.findEmployee(employees.get(5).getEmployeeId()).isEmpty());
+
+            assertTrue(sync.sync(master).isEmpty());
+        }
+    }
+
+    /**
+     * Tests that changes made to the store outside the sync are detected and
+     * reverted by the next sync.
+     */
+    @Test
+    @DisplayName("Test sync reverts changes made to the store")
+    void syncRevertsStoreChanges() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        Employee<UUID> ama = new Employee<>(UUID.randomUUID(), "Ama Owusu", "IT", 75_000, 4.5, 6, true);
+        Employee<UUID> yaw = new Employee<>(UUID.randomUUID(), "Yaw Boateng", "HR", 52_000, 3.5, 2, true);
+        Path master = write(List.of(line(ama), line(yaw)));
+
+        try (MasterFileSync sync = new MasterFileSync(ems)) {
+            assertEquals(2, sync.sync(master).getInserts().size());
+            ems.updateEmployeeDetails(ama.getEmployeeId(), "department", "Finance");
+            ems.givePerformanceRaise(4.0, 10);
+
+            SyncPlan plan = sync.sync(master);
+            assertEquals(1, plan.getUpdates().size());
+            Employee<UUID> reverted = ems.getEmployee(ama.getEmployeeId());
+            assertEquals("IT", reverted.getDepartment());
+            assertEquals(75_000, reverted.getSalary());
+            assertTrue(sync.plan(master).isEmpty());
+        }
+    }
+}
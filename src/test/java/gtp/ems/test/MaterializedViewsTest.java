@@ -0,0 +1,141 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.query.MaterializedView;
+import gtp.ems.query.MaterializedViews;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MaterializedViews}.
+ */
+@DisplayName("Materialized Views Tests")
+class MaterializedViewsTest {
+    private static final Comparator<Employee<UUID>> BY_SALARY_DESCENDING =
+            Comparator.comparingDouble(Employee<UUID>::getSalary).reversed();
+
+    private static List<Double> salaries(List<Employee<UUID>> employees) {
+        return employees.stream().map(Employee::getSalary).toList();
+    }
+
+    /**
+     * Tests that an ordered view matches a fresh filter and sort of the store
+     * through random additions, updates, raises and removals.
+     */
+    @Test
+    @DisplayName("Test ordered view follows every change")
+    void orderedViewFollowsChanges() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        WorkforceGenerator generator = new WorkforceGenerator(21L);
+        UUID[] ids = generator.populate(ems, 1_000);
+        Predicate<Employee<UUID>> activeWellPaid = employee -> employee.isActive() && employee.getSalary() > 60_000;
+
+        try (MaterializedViews<UUID> views = new MaterializedViews<>(ems)) {
+            MaterializedView<UUID> view = views.define("active-well-paid", activeWellPaid, BY_SALARY_DESCENDING);
+            assertThrows(IllegalArgumentException.class, () -> views.define("active-well-paid", activeWellPaid));
+
+            Random random = new Random(3);
+            for (int i = 0; i < 2_000; i++) {
+                UUID id = ids[random.nextInt(ids.length)];
+                switch (random.nextInt(4)) {
+                    case 0 -> ems.updateEmployeeDetails(id, "salary", 30_000 + random.nextInt(60_000) * 1.0);
+                    case 1 -> ems.updateEmployeeDetails(id, "isActive", random.nextBoolean());
+                    case 2 -> ems.updateEmployeeDetails(id, "name", "Renamed " + i);
+                    default -> {
+                        if (ems.findEmployee(id).isPresent()) {
+                            ems.removeEmployee(id);
+                        } else {
+                            ems.addEmployee(generator.employee(10_000 + i));
+                        }
+                    }
+                }
+            }
+            ems.givePerformanceRaise(4.0, 10);
+
+            List<Employee<UUID>> expected = ems.getAllEmployees().stream()
+                    .filter(activeWellPaid)
+                    .sorted(BY_SALARY_DESCENDING)
+                    .toList();
+            List<Employee<UUID>> opened = views.open("active-well-paid");
+            assertEquals(expected.size(), view.size());
+            assertEquals(salaries(expected), salaries(opened));
+            assertTrue(opened.containsAll(expected));
+        }
+    }
+
+    /**
+     * Tests unordered views, lookup by name and dropping a view.
+     */
+    @Test
+    @DisplayName("Test unordered views and dropping")
+    void unorderedViewsAndDrop() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        Employee<UUID> ama = new Employee<>(UUID.randomUUID(), "Ama", "IT", 70_000, 4.0, 5, true);
+        Employee<UUID> kofi = new Employee<>(UUID.randomUUID(), "Kofi", "HR", 50_000, 3.0, 2, false);
+        ems.addEmployee(ama);
+
+        try (MaterializedViews<UUID> views = new MaterializedViews<>(ems)) {
+            MaterializedView<UUID> active = views.define("active", Employee::isActive);
+            assertFalse(active.isOrdered());
+            ems.addEmployee(kofi);
+            assertEquals(List.of(ama), active.open());
+
+            ems.updateEmployeeDetails(kofi.getEmployeeId(), "isActive", true);
+            ems.updateEmployeeDetails(ama.getEmployeeId(), "salary", 75_000.0);
+            assertEquals(List.of(ama, kofi), views.open("active"));
+            assertTrue(active.contains(kofi.getEmployeeId()));
+
+            assertEquals(active, views.getView("active").orElseThrow());
+            assertTrue(views.drop("active"));
+            assertTrue(views.getView("active").isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> views.open("active"));
+            ems.removeEmployee(ama.getEmployeeId());
+            assertEquals(2, active.size());
+        }
+    }
+
+    /**
+     * Tests that a view over a partitioned store stays exact under concurrent writers.
+     */
+    @Test
+    @DisplayName("Test view over a partitioned store with concurrent writers")
+    void concurrentWriters() throws Exception {
+        PartitionedEmployeeManagementSystem<UUID> ems = new PartitionedEmployeeManagementSystem<>(4);
+        UUID[] ids = new WorkforceGenerator(22L).populate(ems, 4_000);
+        try (MaterializedViews<UUID> views = new MaterializedViews<>(ems)) {
+            views.define("top-rated", employee -> employee.getPerformanceRating() >= 4.0,
+                    Comparator.comparingDouble(Employee<UUID>::getPerformanceRating));
+
+            Thread[] writers = new Thread[4];
+            for (int w = 0; w < writers.length; w++) {
+                int offset = w;
+                writers[w] = new Thread(() -> {
+                    for (int i = offset; i < ids.length; i += writers.length) {
+                        ems.updateEmployeeDetails(ids[i], "performanceRating", (i * 7 % 51) / 10.0);
+                    }
+                });
+                writers[w].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            List<Double> expected = ems.getHighPerformingEmployees(4.0).stream()
+                    .map(Employee::getPerformanceRating)
+                    .sorted()
+                    .toList();
+            assertEquals(expected, views.open("top-rated").stream().map(Employee::getPerformanceRating).toList());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package gtp.ems.test;
+
+import gtp.ems.analytics.EmployeeColumnStore;
+import gtp.ems.analytics.EmployeeDistributions;
+import gtp.ems.index.EmployeeBitmapIndex;
+import gtp.ems.ingest.MasterFileSync;
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.query.MatchListener;
+import gtp.ems.query.MaterializedViews;
+import gtp.ems.query.StandingQueries;
+import gtp.ems.query.StandingQuery;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.service.metrics.MemoryFootprint;
+import gtp.ems.service.metrics.MemoryLayout;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MemoryFootprint} and the store's memory accounting.
+ */
+@DisplayName("Memory Footprint Tests")
+class MemoryFootprintTest {
+
+    private static void populate(EmployeeManagementSystem<UUID> ems, int count) {
+        WorkforceGenerator generator = new WorkforceGenerator(5L);
+        for (int i = 0; i < count; i++) {
+            ems.addEmployee(generator.employee(i));
+        }
+    }
+
+    private static long departmentBytes(EmployeeManagementSystem<UUID> ems) {
+        List<String> departments = ems.getAllEmployees().stream().map(Employee::getDepartment).distinct().toList();
+        return departments.stream().mapToLong(MemoryLayout::stringSize).sum()
+                + MemoryLayout.hashMapSize(departments.size()) + departments.size() * MemoryLayout.valueSize(0);
+    }
+
+    /**
+     * Returns the heap in use after collecting garbage until it stops shrinking.
+     */
+    private static long usedHeap() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            Thread.sleep(20);
+            long now = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (now >= used - 64 * 1024) {
+                return Math.min(now, used);
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    private static void assertWithin(double tolerance, long estimate, long measured, String what) {
+        double error = (double) (estimate - measured) / measured;
+        assertTrue(Math.abs(error) <= tolerance, String.format("%s estimated %,d bytes but measured %,d (%+.1f%%)",
+                what, estimate, measured, error * 100));
+    }
+
+    /**
+     * Tests the per-component accounting, that a partitioned store counts
+     * shared departments and listeners once, that the store's totals follow
+     * its updates and removals with equal departments counted once, and that
+     * the estimate is published over JMX.
+     */
+    @Test
+    @DisplayName("Test components, partitions and JMX attribute")
+    void componentsPartitionsAndJmx() throws Exception {
+        EmployeeManagementSystem<UUID> plain = new EmployeeManagementSystem<>();
+        PartitionedEmployeeManagementSystem<UUID> partitioned = new PartitionedEmployeeManagementSystem<>(4);
+        populate(plain, 5_000);
+        populate(partitioned, 5_000);
+        for (EmployeeManagementSystem<UUID> ems : List.of(plain, partitioned)) {
+            MaterializedViews<UUID> views = new MaterializedViews<>(ems);
+            views.define("active", Employee::isActive, Comparator.comparingDouble(Employee::getSalary));
+        }
+
+        MemoryFootprint footprint = plain.getMemoryFootprint();
+        assertEquals(5_000 * MemoryLayout.EMPLOYEE, footprint.getBytes(MemoryFootprint.EMPLOYEES));
+        assertEquals(5_000 * MemoryLayout.objectSize(0, 16), footprint.getBytes(MemoryFootprint.EMPLOYEE_IDS));
+        assertEquals(departmentBytes(plain), footprint.getBytes(MemoryFootprint.DEPARTMENTS));
+        assertTrue(footprint.getBytes("materializedViews") > 2_500 * MemoryLayout.EMPLOYEE);
+        assertEquals(MemoryLayout.stringSize("Kofi"), MemoryLayout.align(MemoryLayout.OBJECT_HEADER
+                + MemoryLayout.REFERENCE + 6) + MemoryLayout.arraySize(4, 1));
+        assertTrue(MemoryLayout.stringSize("Kofi€") > MemoryLayout.stringSize("Kofi!"));
+
+        MemoryFootprint partitionedFootprint = partitioned.getMemoryFootprint();
+        for (String component : List.of(MemoryFootprint.EMPLOYEES, MemoryFootprint.EMPLOYEE_IDS,
+                MemoryFootprint.NAMES, "materializedViews")) {
+            assertEquals(footprint.getBytes(component), partitionedFootprint.getBytes(component), component);
+        }
+        assertTrue(partitionedFootprint.getBytes(MemoryFootprint.DEPARTMENTS)
+                < 4 * footprint.getBytes(MemoryFootprint.DEPARTMENTS));
+        assertTrue(partitionedFootprint.getBytes(MemoryFootprint.EMPLOYEE_DATABASE)
+                < 2 * footprint.getBytes(MemoryFootprint.EMPLOYEE_DATABASE));
+
+        List<UUID> ids = plain.getAllEmployees().stream().map(Employee::getEmployeeId).toList();
+        assertTrue(plain.updateEmployeeDetails(ids.get(0), "name", "Akosua Ɛfua Mensah"));
+        assertEquals(1_000, plain.updateEmployees(ids.subList(0, 1_000), "department", "Research"));
+        for (UUID id : ids.subList(1_000, 2_000)) {
+            plain.updateEmployeeDetails(id, "department", new String("Research"));
+        }
+        assertEquals(500, plain.removeEmployees(ids.subList(500, 1_000)).getFound().size());
+        MemoryFootprint updated = plain.getMemoryFootprint();
+        assertEquals(plain.getAllEmployees().stream().map(Employee::getName).mapToLong(MemoryLayout::stringSize).sum(),
+                updated.getBytes(MemoryFootprint.NAMES));
+        assertEquals(departmentBytes(plain), updated.getBytes(MemoryFootprint.DEPARTMENTS));
+        assertEquals(4_500 * MemoryLayout.EMPLOYEE, updated.getBytes(MemoryFootprint.EMPLOYEES));
+
+        plain.getMetrics().registerMBeans("footprint-test");
+        try {
+            ObjectName name = new ObjectName("gtp.ems:type=StoreMetrics,name=" + ObjectName.quote("footprint-test"));
+            Object total = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EstimatedRetainedBytes");
+            assertEquals(plain.getMemoryFootprint().getTotalBytes(), total);
+            TabularData components = (TabularData) ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(name, "EstimatedRetainedBytesByComponent");
+            assertEquals(footprint.getComponents().size(), components.size());
+        } finally {
+            plain.getMetrics().unregisterMBeans("footprint-test");
+        }
+    }
+
+    /**
+     * Tests that the estimates of a store and of the structures following it
+     * are close to the heap they are measured to retain after a full GC. The
+     * test is tagged {@code heap}, which the build runs alone in its own JVM;
+     * the store is small and the tolerance wide, and {@code MemoryFootprintCheck}
+     * in the benchmarks module makes the precise measurement.
+     */
+    @Test
+    @Tag("heap")
+    @DisplayName("Test estimates against the measured heap")
+    void estimatesMatchMeasuredHeap() throws Exception {
+        // Load and initialize every class involved before taking the baseline
+        EmployeeManagementSystem<UUID> warmUp = new EmployeeManagementSystem<>();
+        populate(warmUp, 1_000);
+        new EmployeeBitmapIndex<>(warmUp).close();
+        new EmployeeColumnStore<>(warmUp).close();
+        new EmployeeDistributions<>(warmUp).close();
+        new MasterFileSync(warmUp).close();
+        new StandingQueries<>(warmUp).close();
+        warmUp.getMemoryFootprint();
+        warmUp = null;
+
+        long empty = usedHeap();
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        populate(ems, 50_000);
+        long populated = usedHeap();
+        MemoryFootprint footprint = ems.getMemoryFootprint();
+        assertWithin(0.15, footprint.getBytes(MemoryFootprint.EMPLOYEE_DATABASE)
+                + footprint.getBytes(MemoryFootprint.EMPLOYEES) + footprint.getBytes(MemoryFootprint.EMPLOYEE_IDS)
+                + footprint.getBytes(MemoryFootprint.NAMES) + footprint.getBytes(MemoryFootprint.DEPARTMENTS),
+                populated - empty, "store");
+
+        EmployeeBitmapIndex<UUID> index = new EmployeeBitmapIndex<>(ems);
+        EmployeeColumnStore<UUID> columns = new EmployeeColumnStore<>(ems);
+        EmployeeDistributions<UUID> distributions = new EmployeeDistributions<>(ems);
+        MasterFileSync sync = new MasterFileSync(ems);
+        StandingQueries<UUID> queries = new StandingQueries<>(ems);
+        StandingQuery<UUID> active = queries.register(Employee::isActive, new MatchListener<>() {
+        }, EmployeeField.ACTIVE);
+        long followed = usedHeap();
+        footprint = ems.getMemoryFootprint();
+        long estimate = 0;
+        for (String component : List.of("bitmapIndex", "columnStore", "distributions", "masterFileSync",
+                "standingQueries")) {
+            assertTrue(footprint.getBytes(component) > 0, component);
+            estimate += footprint.getBytes(component);
+        }
+        assertWithin(0.15, estimate, followed - populated, "followers");
+        Reference.reachabilityFence(index);
+        Reference.reachabilityFence(columns);
+        Reference.reachabilityFence(distributions);
+        Reference.reachabilityFence(sync);
+        Reference.reachabilityFence(active);
+    }
+}
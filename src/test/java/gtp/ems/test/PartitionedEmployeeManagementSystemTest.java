@@ -0,0 +1,153 @@
+package gtp.ems.test;
+
+import gtp.ems.exception.EmployeeNotExistException;
+import gtp.ems.model.Employee;
+import gtp.ems.service.DepartmentStatistics;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link PartitionedEmployeeManagementSystem} answers every query
+ * the same way as a single {@link EmployeeManagementSystem} holding the same employees.
+ */
+@DisplayName("Partitioned Employee Management System Tests")
+class PartitionedEmployeeManagementSystemTest {
+    private EmployeeManagementSystem<UUID> reference;
+    private PartitionedEmployeeManagementSystem<UUID> partitioned;
+    private WorkforceGenerator generator;
+    private UUID[] ids;
+
+    /**
+     * Populates both stores with the same generated employees.
+     */
+    @BeforeEach
+    void setUp() {
+        generator = new WorkforceGenerator(11L);
+        reference = new EmployeeManagementSystem<>();
+        partitioned = new PartitionedEmployeeManagementSystem<>(4);
+        ids = generator.populate(reference, 5_000);
+        generator.populate(partitioned, 5_000);
+    }
+
+    private static Set<UUID> idsOf(List<Employee<UUID>> employees) {
+        Set<UUID> result = new HashSet<>();
+        employees.forEach(employee -> result.add(employee.getEmployeeId()));
+        return result;
+    }
+
+    private static void assertSortedBy(List<Employee<UUID>> expected, List<Employee<UUID>> actual,
+                                       ToDoubleFunction<Employee<UUID>> key) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(key.applyAsDouble(expected.get(i)), key.applyAsDouble(actual.get(i)), "position " + i);
+        }
+    }
+
+    /**
+     * Tests that finders return the same employees.
+     */
+    @Test
+    @DisplayName("Test finders match the unpartitioned store")
+    void findersMatch() {
+        assertEquals(4, partitioned.getPartitionCount());
+        assertEquals(idsOf(reference.getAllEmployees()), idsOf(partitioned.getAllEmployees()));
+        assertEquals(idsOf(reference.getHighPerformingEmployees(4.2)), idsOf(partitioned.getHighPerformingEmployees(4.2)));
+        assertEquals(idsOf(reference.searchEmployeesByName("an")), idsOf(partitioned.searchEmployeesByName("an")));
+        assertEquals(idsOf(reference.getEmployeesInSalaryRange(50_000, 70_000)),
+                idsOf(partitioned.getEmployeesInSalaryRange(50_000, 70_000)));
+
+        String department = generator.departmentName(0);
+        assertEquals(idsOf(reference.getEmployeesByDepartment(department)),
+                idsOf(partitioned.getEmployeesByDepartment(department)));
+        assertEquals(reference.getAverageSalaryByDepartment(department),
+                partitioned.getAverageSalaryByDepartment(department), 1e-6);
+
+        Map<String, DepartmentStatistics> expected = reference.getDepartmentReport();
+        Map<String, DepartmentStatistics> actual = partitioned.getDepartmentReport();
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((name, statistics) -> {
+            assertEquals(statistics.getCount(), actual.get(name).getCount());
+            assertEquals(statistics.getSalaryMean(), actual.get(name).getSalaryMean(), 1e-6);
+            assertEquals(statistics.getSalaryStandardDeviation(), actual.get(name).getSalaryStandardDeviation(), 1e-6);
+        });
+    }
+
+    /**
+     * Tests that merged sorts and top-N keep the unpartitioned ordering.
+     */
+    @Test
+    @DisplayName("Test sorts and top-N match the unpartitioned store")
+    void sortsMatch() {
+        assertSortedBy(reference.sortEmployeesBySalary(), partitioned.sortEmployeesBySalary(), Employee::getSalary);
+        assertSortedBy(reference.sortEmployeesByPerformance(), partitioned.sortEmployeesByPerformance(),
+                Employee::getPerformanceRating);
+        assertSortedBy(reference.sortEmployeesByExperience(), partitioned.sortEmployeesByExperience(),
+                Employee::getYearsOfExperience);
+        assertSortedBy(reference.getTopPaidEmployees(25), partitioned.getTopPaidEmployees(25), Employee::getSalary);
+    }
+
+    /**
+     * Tests that single-employee operations reach the owning partition.
+     */
+    @Test
+    @DisplayName("Test point operations")
+    void pointOperations() throws EmployeeNotExistException {
+        UUID id = ids[42];
+        assertEquals(reference.getEmployee(id).getName(), partitioned.getEmployee(id).getName());
+        assertFalse(partitioned.addEmployee(generator.employee(42)));
+
+        assertTrue(partitioned.updateEmployeeDetails(id, "salary", 123_456.0));
+        assertEquals(123_456.0, partitioned.getEmployee(id).getSalary());
+
+        partitioned.removeEmployee(id);
+        assertThrows(EmployeeNotExistException.class, () -> partitioned.getEmployee(id));
+        assertThrows(EmployeeNotExistException.class, () -> partitioned.removeEmployee(id));
+        assertEquals(4_999, partitioned.getAllEmployees().size());
+        assertTrue(partitioned.findEmployee(id).isEmpty());
+        assertEquals(List.of(id), partitioned.getEmployees(List.of(ids[1], id, ids[2])).getMissingIds());
+        assertEquals(2, partitioned.getEmployees(List.of(ids[1], id, ids[2])).getFound().size());
+    }
+
+    /**
+     * Tests that batch updates and removals spanning partitions give the same
+     * results as on a single store.
+     */
+    @Test
+    @DisplayName("Test batch operations across partitions")
+    void batchOperations() {
+        List<UUID> batch = List.of(ids).subList(100, 1_100);
+        assertEquals(1_000, reference.updateEmployees(batch, "isActive", false));
+        assertEquals(1_000, partitioned.updateEmployees(batch, "isActive", false));
+        assertEquals(idsOf(reference.filterEmployees("not active")), idsOf(partitioned.filterEmployees("not active")));
+
+        List<UUID> removal = List.of(ids).subList(500, 2_500);
+        assertEquals(reference.removeEmployees(removal).getFound().stream().map(Employee::getEmployeeId).toList(),
+                partitioned.removeEmployees(removal).getFound().stream().map(Employee::getEmployeeId).toList());
+        assertEquals(removal, partitioned.removeEmployees(removal).getMissingIds());
+        assertEquals(idsOf(reference.getAllEmployees()), idsOf(partitioned.getAllEmployees()));
+    }
+
+    /**
+     * Tests that a raise applied across partitions touches every qualifying employee.
+     */
+    @Test
+    @DisplayName("Test performance raise across partitions")
+    void performanceRaise() {
+        reference.givePerformanceRaise(4.0, 10);
+        partitioned.givePerformanceRaise(4.0, 10);
+        assertSortedBy(reference.sortEmployeesBySalary(), partitioned.sortEmployeesBySalary(), Employee::getSalary);
+    }
+}
@@ -0,0 +1,122 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.replication.ReplicationFollower;
+import gtp.ems.replication.ReplicationLeader;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests leader/follower replication over a localhost socket.
+ */
+@DisplayName("Replication Tests")
+class ReplicationTest {
+    private WorkforceGenerator generator;
+    private EmployeeManagementSystem<UUID> primary;
+    private EmployeeManagementSystem<UUID> replica;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
+    private UUID[] ids;
+
+    /**
+     * Starts a leader over a populated store and a follower over an empty one.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        generator = new WorkforceGenerator(5L);
+        primary = new EmployeeManagementSystem<>();
+        ids = generator.populate(primary, 2_000);
+        leader = new ReplicationLeader(primary, 32, 50);
+        leader.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        replica = new EmployeeManagementSystem<>();
+        follower = new ReplicationFollower(replica,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), leader.getPort()), 2_000);
+        follower.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        follower.close();
+        leader.close();
+    }
+
+    private void awaitCaughtUp() throws InterruptedException {
+        assertTrue(follower.awaitSequence(leader.getJournal().getHeadSequence(), 10, TimeUnit.SECONDS),
+                "follower did not catch up");
+    }
+
+    private void assertReplicaMatches() {
+        Map<UUID, Employee<UUID>> expected = primary.getAllEmployees().stream()
+                .collect(Collectors.toMap(Employee::getEmployeeId, Function.identity()));
+        Map<UUID, Employee<UUID>> actual = replica.getAllEmployees().stream()
+                .collect(Collectors.toMap(Employee::getEmployeeId, Function.identity()));
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((id, employee) -> assertEquals(employee.toString(), actual.get(id).toString()));
+    }
+
+    /**
+     * Tests the initial snapshot followed by streamed changes.
+     */
+    @Test
+    @DisplayName("Test snapshot then log tail")
+    void snapshotThenTail() throws Exception {
+        awaitCaughtUp();
+        assertEquals(1, follower.getSnapshotCount());
+        assertReplicaMatches();
+
+        primary.addEmployee(generator.employee(10_000));
+        primary.removeEmployee(ids[0]);
+        primary.updateEmployeeDetails(ids[1], "department", "Audit");
+        primary.updateEmployeeDetails(ids[2], "isActive", false);
+        primary.givePerformanceRaise(4.5, 5);
+
+        awaitCaughtUp();
+        assertReplicaMatches();
+        assertTrue(follower.isConnected());
+        assertEquals(0, follower.getLagRecords());
+        assertEquals(0, follower.getLagMillis());
+    }
+
+    /**
+     * Tests that a restarted follower resumes from the journal when it can,
+     * and reloads a snapshot when it has fallen too far behind.
+     */
+    @Test
+    @DisplayName("Test resume from tail and from snapshot")
+    void resume() throws Exception {
+        awaitCaughtUp();
+        follower.close();
+
+        primary.updateEmployeeDetails(ids[3], "salary", 99_999.0);
+        primary.updateEmployeeDetails(ids[4], "name", "Renamed Person");
+        follower.start();
+        awaitCaughtUp();
+        assertEquals(1, follower.getSnapshotCount());
+        assertReplicaMatches();
+
+        follower.close();
+        for (int i = 0; i < 100; i++) {
+            primary.updateEmployeeDetails(ids[i], "yearsOfExperience", i);
+        }
+        follower.start();
+        awaitCaughtUp();
+        assertEquals(2, follower.getSnapshotCount());
+        assertReplicaMatches();
+    }
+}
@@ -0,0 +1,105 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.DepartmentStatistics;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.ScanExecutor;
+import gtp.ems.service.metrics.StoreMetrics;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link ScanExecutor} and the parallel scans of {@link EmployeeManagementSystem}.
+ */
+@DisplayName("Scan Executor Tests")
+class ScanExecutorTest {
+    private ForkJoinPool pool;
+    private ScanExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        pool = ScanExecutor.newScanPool(4);
+        executor = new ScanExecutor(pool, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private static Set<UUID> idsOf(List<Employee<UUID>> employees) {
+        return employees.stream().map(Employee::getEmployeeId).collect(Collectors.toSet());
+    }
+
+    /**
+     * Tests that scans go parallel on the dedicated pool only above the threshold.
+     */
+    @Test
+    @DisplayName("Test threshold and dedicated pool")
+    void thresholdAndPool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        executor.scan(List.of(1, 2, 3), numbers -> numbers.peek(n -> threads.add(Thread.currentThread().getName())).toList());
+        assertEquals(Set.of(Thread.currentThread().getName()), threads);
+
+        threads.clear();
+        List<Integer> large = IntStream.range(0, 100_000).boxed().toList();
+        long sum = executor.scan(large, numbers -> numbers
+                .peek(n -> threads.add(Thread.currentThread().getName()))
+                .mapToLong(Integer::longValue).sum());
+        assertEquals(4_999_950_000L, sum);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("ems-scan-")), threads.toString());
+        assertEquals(4, executor.getParallelism());
+        assertEquals(1, ScanExecutor.sequential().getParallelism());
+    }
+
+    /**
+     * Tests that parallel scans return the same results as sequential ones.
+     */
+    @Test
+    @DisplayName("Test parallel scans match sequential scans")
+    void parallelMatchesSequential() {
+        WorkforceGenerator generator = new WorkforceGenerator(3L);
+        EmployeeManagementSystem<UUID> sequential =
+                new EmployeeManagementSystem<>(new StoreMetrics(false), ScanExecutor.sequential());
+        EmployeeManagementSystem<UUID> parallel = new EmployeeManagementSystem<>(new StoreMetrics(false), executor);
+        generator.populate(sequential, 20_000);
+        generator.populate(parallel, 20_000);
+
+        assertEquals(idsOf(sequential.getHighPerformingEmployees(4.0)), idsOf(parallel.getHighPerformingEmployees(4.0)));
+        assertEquals(idsOf(sequential.searchEmployeesByName("son")), idsOf(parallel.searchEmployeesByName("son")));
+        assertEquals(idsOf(sequential.getEmployeesInSalaryRange(40_000, 60_000)),
+                idsOf(parallel.getEmployeesInSalaryRange(40_000, 60_000)));
+        assertEquals(sequential.getAverageSalaryByDepartment(generator.departmentName(1)),
+                parallel.getAverageSalaryByDepartment(generator.departmentName(1)), 1e-6);
+
+        List<Employee<UUID>> expected = sequential.sortEmployeesBySalary();
+        List<Employee<UUID>> actual = parallel.sortEmployeesBySalary();
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getSalary(), actual.get(i).getSalary());
+        }
+        assertEquals(idsOf(sequential.getTopPaidEmployees(50)), idsOf(parallel.getTopPaidEmployees(50)));
+
+        Map<String, DepartmentStatistics> expectedReport = sequential.getDepartmentReport();
+        Map<String, DepartmentStatistics> actualReport = parallel.getDepartmentReport();
+        assertEquals(expectedReport.keySet(), actualReport.keySet());
+        expectedReport.forEach((name, statistics) -> {
+            assertEquals(statistics.getActiveCount(), actualReport.get(name).getActiveCount());
+            assertEquals(statistics.getSalaryMax(), actualReport.get(name).getSalaryMax());
+            assertEquals(statistics.getSalaryStandardDeviation(), actualReport.get(name).getSalaryStandardDeviation(), 1e-6);
+        });
+    }
+}
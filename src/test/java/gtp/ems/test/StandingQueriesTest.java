@@ -0,0 +1,147 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.model.EmployeeField;
+import gtp.ems.query.MatchListener;
+import gtp.ems.query.StandingQueries;
+import gtp.ems.query.StandingQuery;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.PartitionedEmployeeManagementSystem;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StandingQueries}.
+ */
+@DisplayName("Standing Queries Tests")
+class StandingQueriesTest {
+
+    /**
+     * Records the notifications of one query as "+name" and "-name".
+     */
+    private static final class RecordingListener implements MatchListener<UUID> {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void entered(Employee<UUID> employee) {
+            events.add("+" + employee.getName());
+        }
+
+        @Override
+        public void left(Employee<UUID> employee) {
+            events.add("-" + employee.getName());
+        }
+    }
+
+    /**
+     * Tests enter and leave notifications for additions, updates and removals,
+     * and that existing matches are seeded without notification.
+     */
+    @Test
+    @DisplayName("Test enter and leave notifications")
+    void enterAndLeave() throws Exception {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        Employee<UUID> ama = new Employee<>(UUID.randomUUID(), "Ama", "IT", 90_000, 3.5, 6, true);
+        Employee<UUID> kofi = new Employee<>(UUID.randomUUID(), "Kofi", "HR", 50_000, 3.0, 2, true);
+        ems.addEmployee(ama);
+
+        try (StandingQueries<UUID> standing = new StandingQueries<>(ems)) {
+            RecordingListener wellPaid = new RecordingListener();
+            RecordingListener stars = new RecordingListener();
+            StandingQuery<UUID> salaryQuery = standing.registerSalaryRange(60_000, 100_000, wellPaid);
+            standing.registerHighPerforming(4.0, stars);
+            assertTrue(salaryQuery.matches(ama.getEmployeeId()));
+            assertEquals(1, salaryQuery.getMatchCount());
+
+            ems.addEmployee(kofi);
+            ems.updateEmployeeDetails(kofi.getEmployeeId(), "salary", 65_000.0);
+            ems.updateEmployeeDetails(kofi.getEmployeeId(), "salary", 70_000.0);
+            ems.updateEmployeeDetails(kofi.getEmployeeId(), "performanceRating", 4.2);
+            ems.givePerformanceRaise(4.0, 50);
+            ems.removeEmployee(kofi.getEmployeeId());
+
+            assertEquals(List.of("+Kofi", "-Kofi"), wellPaid.events);
+            assertEquals(List.of("+Kofi", "-Kofi"), stars.events);
+            assertEquals(1, salaryQuery.getMatchCount());
+
+            salaryQuery.close();
+            ems.updateEmployeeDetails(ama.getEmployeeId(), "salary", 200_000.0);
+            assertEquals(2, wellPaid.events.size());
+            assertEquals(1, standing.getQueryCount());
+        }
+    }
+
+    /**
+     * Tests that a field update is evaluated only against the queries that read that field.
+     */
+    @Test
+    @DisplayName("Test updates evaluate only affected queries")
+    void updatesEvaluateOnlyAffectedQueries() {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID[] ids = new WorkforceGenerator(3L).populate(ems, 100);
+        try (StandingQueries<UUID> standing = new StandingQueries<>(ems)) {
+            for (int i = 0; i < 50; i++) {
+                standing.registerSalaryRange(i * 1_000, i * 1_000 + 50_000, new RecordingListener());
+            }
+            standing.register(employee -> employee.getDepartment().equals("Legal") && employee.isActive(),
+                    new RecordingListener(), EmployeeField.DEPARTMENT, EmployeeField.ACTIVE);
+
+            ems.updateEmployeeDetails(ids[0], "name", "Renamed");
+            assertEquals(0, standing.getEvaluationCount());
+            ems.updateEmployeeDetails(ids[0], "department", "Legal");
+            assertEquals(1, standing.getEvaluationCount());
+            ems.updateEmployeeDetails(ids[0], "salary", 1.0);
+            assertEquals(51, standing.getEvaluationCount());
+        }
+    }
+
+    /**
+     * Tests that the matches of a query on a partitioned store track the list
+     * query through concurrent updates.
+     */
+    @Test
+    @DisplayName("Test matches track the list query on a partitioned store")
+    void tracksPartitionedStore() throws Exception {
+        PartitionedEmployeeManagementSystem<UUID> ems = new PartitionedEmployeeManagementSystem<>(4);
+        UUID[] ids = new WorkforceGenerator(4L).populate(ems, 2_000);
+        try (StandingQueries<UUID> standing = new StandingQueries<>(ems)) {
+            Set<UUID> entered = ConcurrentHashMap.newKeySet();
+            StandingQuery<UUID> query = standing.registerHighPerforming(4.0, new MatchListener<>() {
+                @Override
+                public void entered(Employee<UUID> employee) {
+                    entered.add(employee.getEmployeeId());
+                }
+            });
+
+            Thread[] writers = new Thread[4];
+            for (int w = 0; w < writers.length; w++) {
+                int offset = w;
+                writers[w] = new Thread(() -> {
+                    for (int i = offset; i < ids.length; i += writers.length) {
+                        ems.updateEmployeeDetails(ids[i], "performanceRating", (i % 50) / 10.0);
+                    }
+                });
+                writers[w].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+
+            Set<UUID> expected = new HashSet<>();
+            ems.getHighPerformingEmployees(4.0).forEach(employee -> expected.add(employee.getEmployeeId()));
+            assertEquals(expected.size(), query.getMatchCount());
+            expected.forEach(id -> assertTrue(query.matches(id)));
+            assertFalse(entered.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.StoreOperation;
+import gtp.ems.service.metrics.LatencyHistogram;
+import gtp.ems.service.metrics.StoreMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StoreMetrics} and {@link LatencyHistogram}.
+ */
+@DisplayName("Store Metrics Tests")
+class StoreMetricsTest {
+
+    /**
+     * Tests that quantiles are reported within the histogram's bucket precision.
+     */
+    @Test
+    @DisplayName("Test histogram quantiles")
+    void histogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5_000_000, histogram.getValueAtQuantile(0.50), 5_000_000 * 0.0625);
+        assertEquals(9_900_000, histogram.getValueAtQuantile(0.99), 9_900_000 * 0.0625);
+        assertEquals(9_990_000, histogram.getValueAtQuantile(0.999), 9_990_000 * 0.0625);
+        assertEquals(10_000_000, histogram.getMaxNanos());
+        assertTrue(histogram.getValueAtQuantile(0.50) >= 5_000_000);
+    }
+
+    /**
+     * Tests that an empty histogram reports zeros.
+     */
+    @Test
+    @DisplayName("Test empty histogram")
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtQuantile(0.99));
+        assertEquals(0.0, histogram.getMeanNanos());
+    }
+
+    /**
+     * Tests that enabled metrics count every call of an operation.
+     */
+    @Test
+    @DisplayName("Test operations are counted when enabled")
+    void recordsWhenEnabled() {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>(new StoreMetrics(true));
+        ems.addEmployee(new Employee<>(UUID.randomUUID(), "Yakubu", "Engineering",
+                75000.0, 4.5, 5, true));
+
+        ems.searchEmployeesByName("yak");
+        ems.searchEmployeesByName("none");
+        ems.givePerformanceRaise(4.0, 5.0);
+
+        StoreMetrics metrics = ems.getMetrics();
+        assertEquals(1, metrics.get(StoreOperation.ADD_EMPLOYEE).getCount());
+        assertEquals(2, metrics.get(StoreOperation.SEARCH_EMPLOYEES_BY_NAME).getCount());
+        assertEquals(1, metrics.get(StoreOperation.GIVE_PERFORMANCE_RAISE).getCount());
+        assertEquals(4, metrics.getTotalCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getTotalCount());
+    }
+
+    /**
+     * Tests that disabled metrics record nothing.
+     */
+    @Test
+    @DisplayName("Test nothing is recorded when disabled")
+    void silentWhenDisabled() {
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>(new StoreMetrics(false));
+        ems.getAllEmployees();
+        ems.sortEmployeesBySalary();
+
+        assertEquals(0, ems.getMetrics().getTotalCount());
+    }
+}
@@ -0,0 +1,99 @@
+package gtp.ems.test;
+
+import gtp.ems.model.Employee;
+import gtp.ems.service.EmployeeManagementSystem;
+import gtp.ems.service.StoreOperation;
+import gtp.ems.workload.LoadDriver;
+import gtp.ems.workload.LoadMix;
+import gtp.ems.workload.LoadReport;
+import gtp.ems.workload.WorkforceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link WorkforceGenerator} and {@link LoadDriver}.
+ */
+@DisplayName("Workload Tests")
+class WorkloadTest {
+
+    /**
+     * Tests that the same seed always yields the same employees.
+     */
+    @Test
+    @DisplayName("Test generator is deterministic")
+    void generatorIsDeterministic() {
+        WorkforceGenerator first = new WorkforceGenerator(7L);
+        WorkforceGenerator second = new WorkforceGenerator(7L);
+
+        for (long i = 0; i < 100; i++) {
+            Employee<UUID> a = first.employee(i);
+            Employee<UUID> b = second.employee(i);
+            assertEquals(a.getEmployeeId(), b.getEmployeeId());
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getDepartment(), b.getDepartment());
+            assertEquals(a.getSalary(), b.getSalary());
+            assertEquals(a.getPerformanceRating(), b.getPerformanceRating());
+        }
+        assertNotEquals(first.employee(0).getEmployeeId(), new WorkforceGenerator(8L).employee(0).getEmployeeId());
+    }
+
+    /**
+     * Tests that generated values stay in range and departments are skewed.
+     */
+    @Test
+    @DisplayName("Test generator distributions")
+    void generatorDistributions() {
+        WorkforceGenerator generator = new WorkforceGenerator(42L);
+        List<Employee<UUID>> employees = generator.stream(20_000).toList();
+
+        assertTrue(employees.stream().allMatch(e -> e.getPerformanceRating() >= 0.0 && e.getPerformanceRating() <= 5.0));
+        assertTrue(employees.stream().allMatch(e -> e.getYearsOfExperience() >= 0 && e.getYearsOfExperience() <= 40));
+        assertTrue(employees.stream().allMatch(e -> e.getSalary() > 0));
+
+        Map<String, Long> sizes = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting()));
+        long largest = sizes.get(generator.departmentName(0));
+        long smallest = sizes.get(generator.departmentName(generator.getDepartmentCount() - 1));
+        assertTrue(largest > 5 * smallest, "expected a skewed department distribution: " + sizes);
+
+        assertEquals(employees.size(), employees.stream()
+                .map(Employee::getEmployeeId).collect(Collectors.toMap(Function.identity(), id -> 1)).size());
+    }
+
+    /**
+     * Tests a short concurrent mixed run against a shared store.
+     */
+    @Test
+    @DisplayName("Test concurrent load run")
+    void concurrentLoadRun() throws InterruptedException {
+        WorkforceGenerator generator = new WorkforceGenerator(42L);
+        EmployeeManagementSystem<UUID> ems = new EmployeeManagementSystem<>();
+        UUID[] ids = generator.populate(ems, 5_000);
+
+        LoadMix mix = LoadMix.parse("getEmployee:50,updateEmployeeDetails:20,addEmployee:10,"
+                + "removeEmployee:10,getEmployeesByDepartment:5,givePerformanceRaise:5");
+        LoadReport report = new LoadDriver(ems, generator, ids, mix).run(4, 300, 1L);
+
+        assertTrue(report.getTotalOperations() > 0);
+        assertTrue(report.getLatencies(StoreOperation.GET_EMPLOYEE).getCount() > 0);
+        assertNull(report.getLatencies(StoreOperation.SORT_EMPLOYEES_BY_SALARY));
+        assertTrue(report.format().contains("getEmployee"));
+    }
+
+    /**
+     * Tests that an unknown operation in a mix is rejected.
+     */
+    @Test
+    @DisplayName("Test invalid load mix")
+    void invalidMix() {
+        assertThrows(IllegalArgumentException.class, () -> LoadMix.parse("fetchEverything:10"));
+    }
+}